@@ -0,0 +1,58 @@
+package com.meriosol.jaxb.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs (un-)marshalling benchmarks on 1, 2, 4... N (number of CPUs) threads with GC profiler (allocation rate),
+ * so throughput, latency percentiles and allocation are reported per thread count.
+ * <code>coldContext</code> benchmarks (they clear process-wide caches) are run on single thread only.
+ * Results are saved as <code>jmh-result-{threads}t.json</code>.<br>
+ * Usage: <code>java -cp target/benchmarks.jar com.meriosol.jaxb.benchmarks.BenchmarkRunner [benchmark regex]</code>
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class BenchmarkRunner {
+    private static final String DEFAULT_INCLUDE = "\\.(Marshall|Unmarshall)Benchmark\\.";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        final String include = args.length > 0 ? args[0] : DEFAULT_INCLUDE;
+        for (int threads : getThreadCounts(Runtime.getRuntime().availableProcessors())) {
+            final OptionsBuilder optionsBuilder = new OptionsBuilder();
+            optionsBuilder.include(include);
+            if (threads > 1) {
+                // Explicit thread count overrides @Threads(1)
+                optionsBuilder.exclude("\\.coldContext$");
+            }
+            final Options options = optionsBuilder
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("jmh-result-" + threads + "t.json")
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+    static List<Integer> getThreadCounts(int maxThreads) {
+        final List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(maxThreads);
+        return threadCounts;
+    }
+
+}
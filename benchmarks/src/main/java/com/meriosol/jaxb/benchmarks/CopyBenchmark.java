@@ -0,0 +1,66 @@
+package com.meriosol.jaxb.benchmarks;
+
+import com.meriosol.jaxb.JaxbCopier;
+import com.meriosol.jaxb.MarshallHelper;
+import com.meriosol.jaxb.UnmarshallHelper;
+import com.meriosol.jaxb.XmlBuffer;
+import com.meriosol.jaxb.benchmarks.model.Catalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deep copy of catalog:
+ * <ul>
+ * <li>xmlRoundTrip - <code>marshallToBuffer</code> and <code>unmarshall</code> of its bytes by pooled helpers;</li>
+ * <li>copier - <code>JaxbCopier.copy</code> (cached copy plans, no XML).</li>
+ * </ul>
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CopyBenchmark {
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private Payloads.PayloadSize size;
+
+    private Catalog catalog;
+    private MarshallHelper<Catalog> marshallHelper;
+    private UnmarshallHelper<Catalog> unmarshallHelper;
+
+    @Setup
+    public void setUp() {
+        this.catalog = Payloads.catalog(this.size.getItemCount());
+        this.marshallHelper = MarshallHelper.builder(Catalog.class).build();
+        this.unmarshallHelper = UnmarshallHelper.builder(Catalog.class).build();
+    }
+
+    @Benchmark
+    public Catalog xmlRoundTrip() {
+        try (XmlBuffer xmlBuffer = this.marshallHelper.marshallToBuffer(this.catalog)) {
+            return this.unmarshallHelper.unmarshall(xmlBuffer.asByteBuffer());
+        }
+    }
+
+    @Benchmark
+    public Catalog copier() {
+        return JaxbCopier.getInstance().copy(this.catalog);
+    }
+
+}
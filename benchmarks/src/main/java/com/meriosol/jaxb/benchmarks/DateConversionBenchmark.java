@@ -0,0 +1,115 @@
+package com.meriosol.jaxb.benchmarks;
+
+import com.meriosol.jaxb.XMLCalendarConverter;
+import com.meriosol.jaxb.XmlTimeAdapters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import java.time.Instant;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date conversions, time per single date (so nanoseconds per date are milliseconds per million dates):
+ * <ul>
+ * <li>legacyToXml - DatatypeFactory lookup on every conversion, as XMLCalendarConverter used to do;</li>
+ * <li>dateToXml/instantToXml - XMLCalendarConverter with cached factory;</li>
+ * <li>xmlCalendarParse vs instantAdapterParse - reading xs:dateTime text through XMLGregorianCalendar
+ * (what JAXB does by default) and by java.time adapter;</li>
+ * <li>instantAdapterFormat - writing xs:dateTime text by java.time adapter.</li>
+ * </ul>
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateConversionBenchmark {
+    private static final int DATES = 1000;
+
+    private final Date[] dates = new Date[DATES];
+    private final Instant[] instants = new Instant[DATES];
+    private final String[] xmlDateTimes = new String[DATES];
+    private final XmlTimeAdapters.InstantAdapter instantAdapter = new XmlTimeAdapters.InstantAdapter();
+
+    @Setup
+    public void setUp() {
+        long millis = 1397000000123L;
+        for (int i = 0; i < DATES; i++) {
+            this.dates[i] = new Date(millis);
+            this.instants[i] = Instant.ofEpochMilli(millis);
+            this.xmlDateTimes[i] = XMLCalendarConverter.convertToXmlDate(this.instants[i]).toXMLFormat();
+            millis += 3600123L;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DATES)
+    public void legacyToXml(Blackhole blackhole) throws DatatypeConfigurationException {
+        for (Date date : this.dates) {
+            GregorianCalendar gregorianCalendar = new GregorianCalendar();
+            gregorianCalendar.setTime(date);
+            blackhole.consume(DatatypeFactory.newInstance().newXMLGregorianCalendar(gregorianCalendar));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DATES)
+    public void dateToXml(Blackhole blackhole) {
+        for (Date date : this.dates) {
+            blackhole.consume(XMLCalendarConverter.convertToXmlDate(date));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DATES)
+    public void instantToXml(Blackhole blackhole) {
+        for (Instant instant : this.instants) {
+            blackhole.consume(XMLCalendarConverter.convertToXmlDate(instant));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DATES)
+    public void xmlCalendarParse(Blackhole blackhole) {
+        final DatatypeFactory datatypeFactory = XMLCalendarConverter.getDatatypeFactory();
+        for (String xmlDateTime : this.xmlDateTimes) {
+            blackhole.consume(datatypeFactory.newXMLGregorianCalendar(xmlDateTime).toGregorianCalendar().getTime());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DATES)
+    public void instantAdapterParse(Blackhole blackhole) {
+        for (String xmlDateTime : this.xmlDateTimes) {
+            blackhole.consume(this.instantAdapter.unmarshal(xmlDateTime));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DATES)
+    public void instantAdapterFormat(Blackhole blackhole) {
+        for (Instant instant : this.instants) {
+            blackhole.consume(this.instantAdapter.marshal(instant));
+        }
+    }
+
+}
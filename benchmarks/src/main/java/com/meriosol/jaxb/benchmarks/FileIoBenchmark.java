@@ -0,0 +1,107 @@
+package com.meriosol.jaxb.benchmarks;
+
+import com.meriosol.jaxb.JaxbContextRegistry;
+import com.meriosol.jaxb.MarshallHelper;
+import com.meriosol.jaxb.UnmarshallHelper;
+import com.meriosol.jaxb.benchmarks.model.Catalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.bind.JAXBContext;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * File read/write paths on large (100 MB by default) documents:
+ * <ul>
+ * <li>UNBUFFERED - raw FileInputStream/FileOutputStream as helpers used to open files (but closed here);</li>
+ * <li>BUFFERED - NIO streams with 64 KB buffers used by helpers now;</li>
+ * <li>MAPPED - memory-mapped reads (<code>mappedReadThreshold</code>), writes are the same as BUFFERED.</li>
+ * </ul>
+ * Number of syscalls is seen by running single mode under strace, e.g.
+ * <code>strace -f -c -e trace=read,write,mmap java -jar target/benchmarks.jar FileIoBenchmark -p mode=UNBUFFERED -f 1</code>.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FileIoBenchmark {
+    public enum IoMode {
+        UNBUFFERED, BUFFERED, MAPPED
+    }
+
+    @Param({"UNBUFFERED", "BUFFERED", "MAPPED"})
+    private IoMode mode;
+    @Param({"100"})
+    private int sizeMb;
+
+    private File sourceFile;
+    private File targetFile;
+    private Catalog catalog;
+    private JAXBContext catalogJaxbContext;
+    private UnmarshallHelper<Catalog> catalogUnmarshallHelper;
+    private MarshallHelper<Catalog> catalogMarshallHelper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.sourceFile = Payloads.catalogFile(this.sizeMb * 1024L * 1024L, "benchmark.io.source");
+        this.targetFile = File.createTempFile("benchmark.io.target", ".xml");
+        this.targetFile.deleteOnExit();
+        this.catalogJaxbContext = JaxbContextRegistry.getInstance().getContext(Catalog.class);
+        this.catalogUnmarshallHelper = UnmarshallHelper.builder(Catalog.class)
+                .mappedReadThreshold(this.mode == IoMode.MAPPED ? 0L : -1L).build();
+        this.catalogMarshallHelper = MarshallHelper.builder(Catalog.class).build();
+        this.catalog = this.catalogUnmarshallHelper.unmarshall(this.sourceFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.sourceFile.delete();
+        this.targetFile.delete();
+    }
+
+    @Benchmark
+    public Catalog unmarshallFile() throws IOException {
+        if (this.mode == IoMode.UNBUFFERED) {
+            try (InputStream inputStream = new FileInputStream(this.sourceFile)) {
+                return this.catalogUnmarshallHelper.unmarshall(inputStream, this.catalogJaxbContext);
+            }
+        }
+        return this.catalogUnmarshallHelper.unmarshall(this.sourceFile);
+    }
+
+    @Benchmark
+    public long marshallFile() throws IOException {
+        if (this.mode == IoMode.UNBUFFERED) {
+            try (OutputStream outputStream = new FileOutputStream(this.targetFile)) {
+                this.catalogMarshallHelper.marshall(outputStream, this.catalogJaxbContext, this.catalog);
+            }
+        } else {
+            this.catalogMarshallHelper.marshall(this.targetFile, this.catalog);
+        }
+        return this.targetFile.length();
+    }
+
+}
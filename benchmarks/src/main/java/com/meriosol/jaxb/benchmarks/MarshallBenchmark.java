@@ -0,0 +1,96 @@
+package com.meriosol.jaxb.benchmarks;
+
+import com.meriosol.jaxb.JaxbContextRegistry;
+import com.meriosol.jaxb.MarshallHelper;
+import com.meriosol.jaxb.XmlSchemaRegistry;
+import com.meriosol.jaxb.benchmarks.model.Catalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>MarshallHelper.marshall</code> hot paths, the same as in {@link UnmarshallBenchmark}, with formatted and compact output.
+ * Like there, coldContext clears process-wide caches, so it's single-threaded only.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarshallBenchmark {
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private Payloads.PayloadSize size;
+    @Param({"false", "true"})
+    private boolean validation;
+    @Param({"false", "true"})
+    private boolean formatted;
+
+    private Catalog catalog;
+    private MarshallHelper<Catalog> pooledHelper;
+
+    /**
+     * Output buffer reused by thread.
+     */
+    @State(Scope.Thread)
+    public static class Output {
+        private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        ByteArrayOutputStream reset() {
+            this.outputStream.reset();
+            return this.outputStream;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        this.catalog = Payloads.catalog(this.size.getItemCount());
+        this.pooledHelper = MarshallHelper.builder(Catalog.class)
+                .validationErrorTolerant(!this.validation).xmlSchemaResourceUrl(Payloads.CATALOG_SCHEMA)
+                .xmlSchemaNameSpace(Payloads.NAMESPACE).formattedOutput(this.formatted).build();
+    }
+
+    @Benchmark
+    public int pooled(Output output) {
+        return marshall(this.pooledHelper, output.reset());
+    }
+
+    @Benchmark
+    public int warmContext(Output output) {
+        return marshall(newHelper(), output.reset());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int coldContext(Output output) {
+        JaxbContextRegistry.getInstance().clear();
+        XmlSchemaRegistry.getInstance().clear();
+        return marshall(newHelper(), output.reset());
+    }
+
+    private int marshall(MarshallHelper<Catalog> helper, ByteArrayOutputStream outputStream) {
+        helper.marshall(outputStream, JaxbContextRegistry.getInstance().getContext(Catalog.class), this.catalog);
+        return outputStream.size();
+    }
+
+    private MarshallHelper<Catalog> newHelper() {
+        return new MarshallHelper<>(!this.validation, Payloads.CATALOG_SCHEMA, this.formatted, Payloads.NAMESPACE);
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.meriosol.jaxb.benchmarks;
+
+import com.meriosol.jaxb.UnmarshallHelper;
+import com.meriosol.jaxb.XmlParsers;
+import com.meriosol.jaxb.benchmarks.model.Catalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.stream.XMLInputFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>UnmarshallHelper.unmarshall</code> (pooled helper) by different parsers:
+ * <ul>
+ * <li>JAXB_SAX - JAXB provider parses document itself (SAX, default of helpers);</li>
+ * <li>JDK_STAX - JDK StAX parser (cached factory);</li>
+ * <li>WOODSTOX, AALTO - alternative StAX parsers (cached factories).</li>
+ * </ul>
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+    public enum Parser {
+        JAXB_SAX(null),
+        JDK_STAX(null),
+        WOODSTOX("com.ctc.wstx.stax.WstxInputFactory"),
+        AALTO("com.fasterxml.aalto.stax.InputFactoryImpl");
+
+        private final String factoryClassName;
+
+        Parser(String factoryClassName) {
+            this.factoryClassName = factoryClassName;
+        }
+
+        XMLInputFactory createXmlInputFactory() throws ReflectiveOperationException {
+            if (this == JAXB_SAX) {
+                return null;
+            }
+            if (this == JDK_STAX) {
+                // Java 9+: XMLInputFactory.newDefaultFactory(), service lookup would find Woodstox or Aalto
+                return XmlParsers.configure((XMLInputFactory) XMLInputFactory.class.getMethod("newDefaultFactory").invoke(null));
+            }
+            return XmlParsers.newXmlInputFactory(this.factoryClassName);
+        }
+    }
+
+    @Param({"JAXB_SAX", "JDK_STAX", "WOODSTOX", "AALTO"})
+    private Parser parser;
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private Payloads.PayloadSize size;
+    @Param({"false", "true"})
+    private boolean validation;
+
+    private byte[] payload;
+    private UnmarshallHelper<Catalog> helper;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        this.payload = Payloads.catalogBytes(this.size.getItemCount());
+        this.helper = UnmarshallHelper.builder(Catalog.class)
+                .validationErrorTolerant(!this.validation).xmlSchemaResourceUrl(Payloads.CATALOG_SCHEMA)
+                .xmlInputFactory(this.parser.createXmlInputFactory()).build();
+    }
+
+    @Benchmark
+    public Catalog unmarshall() {
+        return this.helper.unmarshall(this.payload);
+    }
+
+}
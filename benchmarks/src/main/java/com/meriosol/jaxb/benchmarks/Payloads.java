@@ -0,0 +1,142 @@
+package com.meriosol.jaxb.benchmarks;
+
+import com.meriosol.jaxb.JaxbContextRegistry;
+import com.meriosol.jaxb.JaxbRuntimeException;
+import com.meriosol.jaxb.MarshallHelper;
+import com.meriosol.jaxb.XmlRecordWriter;
+import com.meriosol.jaxb.benchmarks.model.Catalog;
+import com.meriosol.jaxb.benchmarks.model.Item;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Generates deterministic benchmark payloads: catalogs of items in memory and catalog files of given size.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class Payloads {
+    public static final String NAMESPACE = "http://com/meriosol/benchmark/schema";
+    public static final QName CATALOG_ELEMENT_NAME = new QName(NAMESPACE, "catalog");
+    public static final String CATALOG_SCHEMA = "catalog.xsd";
+    private static final int SIZE_CHECK_INTERVAL = 1000;
+    private static final XMLGregorianCalendar CREATED;
+
+    static {
+        try {
+            CREATED = DatatypeFactory.newInstance().newXMLGregorianCalendar("2017-10-26T10:15:30.000Z");
+        } catch (DatatypeConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Document sizes used by benchmarks.
+     */
+    public enum PayloadSize {
+        /**
+         * Single item, ~300 bytes.
+         */
+        SMALL(1),
+        /**
+         * ~30 KB.
+         */
+        MEDIUM(100),
+        /**
+         * ~6 MB.
+         */
+        LARGE(20000);
+
+        private final int itemCount;
+
+        PayloadSize(int itemCount) {
+            this.itemCount = itemCount;
+        }
+
+        public int getItemCount() {
+            return itemCount;
+        }
+    }
+
+    private Payloads() {
+    }
+
+    /**
+     * @param id Item id.
+     * @return Item of ~300 bytes in XML.
+     */
+    public static Item item(long id) {
+        final Item item = new Item();
+        item.setId(id);
+        item.setCreated(CREATED);
+        item.setName("Item #" + id);
+        item.setDescription("Benchmark item " + id + " with description long enough to look like real text content of record");
+        item.setPrice(BigDecimal.valueOf(id % 100000, 2));
+        item.getTags().add("tag" + (id % 10));
+        item.getTags().add("group" + (id % 100));
+        return item;
+    }
+
+    /**
+     * @param itemCount Number of items.
+     * @return Catalog of <code>itemCount</code> items.
+     */
+    public static Catalog catalog(int itemCount) {
+        final Catalog catalog = new Catalog();
+        for (int i = 0; i < itemCount; i++) {
+            catalog.getItems().add(item(i));
+        }
+        return catalog;
+    }
+
+    /**
+     * @param itemCount Number of items.
+     * @return Compact XML of catalog of <code>itemCount</code> items.
+     */
+    public static byte[] catalogBytes(int itemCount) throws JaxbRuntimeException {
+        final Catalog catalog = catalog(itemCount);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(itemCount * 320 + 256);
+        MarshallHelper.builder(Catalog.class).build().marshall(outputStream
+                , JaxbContextRegistry.getInstance().getContext(Catalog.class), catalog);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Streams items into temp file (deleted on exit) until it reaches <code>minBytes</code>, so memory usage doesn't depend on size.
+     *
+     * @param minBytes Min file size.
+     * @param prefix   Temp file name prefix.
+     * @return Catalog file.
+     */
+    public static File catalogFile(long minBytes, String prefix) throws JaxbRuntimeException {
+        final File file;
+        try {
+            file = File.createTempFile(prefix, ".xml");
+        } catch (IOException e) {
+            throw new JaxbRuntimeException("[JU560918301] Can't create payload file: " + e.getMessage(), e);
+        }
+        file.deleteOnExit();
+        final MarshallHelper<Item> itemMarshallHelper = MarshallHelper.builder(Item.class).build();
+        try (XmlRecordWriter<Item> items = itemMarshallHelper.marshallStreaming(file, Item.class, CATALOG_ELEMENT_NAME)) {
+            long id = 0;
+            do {
+                for (int i = 0; i < SIZE_CHECK_INTERVAL; i++) {
+                    items.write(item(id++));
+                }
+                items.flush();
+            } while (file.length() < minBytes);
+        } catch (IOException e) {
+            throw new JaxbRuntimeException("[JU560918302] Can't write payload file: " + e.getMessage(), e);
+        }
+        return file;
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.meriosol.jaxb.benchmarks;
+
+import com.meriosol.jaxb.JaxbContextRegistry;
+import com.meriosol.jaxb.UnmarshallHelper;
+import com.meriosol.jaxb.XmlSchemaRegistry;
+import com.meriosol.jaxb.benchmarks.model.Catalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>UnmarshallHelper.unmarshall</code> hot paths:
+ * <ul>
+ * <li>pooled - shared immutable helper: cached context and schema, pooled unmarshallers;</li>
+ * <li>warmContext - new helper per operation: cached context and schema, but new unmarshaller every time;</li>
+ * <li>coldContext - caches are cleared before every operation, so context (and schema) are built every time.
+ * Caches are process-wide, so it runs on single thread only (it would clear warm state of other threads):
+ * don't run it with <code>-t</code> greater than 1 or together with other benchmarks.</li>
+ * </ul>
+ * Thread count is set by JMH <code>-t</code> option (see {@link BenchmarkRunner} for 1..N threads run).
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnmarshallBenchmark {
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private Payloads.PayloadSize size;
+    @Param({"false", "true"})
+    private boolean validation;
+
+    private byte[] payload;
+    private UnmarshallHelper<Catalog> pooledHelper;
+
+    @Setup
+    public void setUp() {
+        this.payload = Payloads.catalogBytes(this.size.getItemCount());
+        this.pooledHelper = UnmarshallHelper.builder(Catalog.class)
+                .validationErrorTolerant(!this.validation).xmlSchemaResourceUrl(Payloads.CATALOG_SCHEMA).build();
+    }
+
+    @Benchmark
+    public Catalog pooled() {
+        return this.pooledHelper.unmarshall(new ByteArrayInputStream(this.payload));
+    }
+
+    @Benchmark
+    public Catalog warmContext() {
+        return newHelper().unmarshall(new ByteArrayInputStream(this.payload), Catalog.class);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Catalog coldContext() {
+        JaxbContextRegistry.getInstance().clear();
+        XmlSchemaRegistry.getInstance().clear();
+        return newHelper().unmarshall(new ByteArrayInputStream(this.payload), Catalog.class);
+    }
+
+    private UnmarshallHelper<Catalog> newHelper() {
+        return new UnmarshallHelper<>(!this.validation, Payloads.CATALOG_SCHEMA);
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.meriosol.jaxb.benchmarks.model;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark payload root: list of items.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {
+        "items"
+})
+@XmlRootElement(name = "catalog")
+public class Catalog {
+    @XmlElement(name = "item")
+    protected List<Item> items;
+
+    /**
+     * @return Live list of items.
+     */
+    public List<Item> getItems() {
+        if (items == null) {
+            items = new ArrayList<>();
+        }
+        return this.items;
+    }
+
+}
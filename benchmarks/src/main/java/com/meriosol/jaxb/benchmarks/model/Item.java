@@ -0,0 +1,94 @@
+package com.meriosol.jaxb.benchmarks.model;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlSchemaType;
+import javax.xml.bind.annotation.XmlType;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark payload record. It's root element too, so it can be streamed.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {
+        "name",
+        "description",
+        "price",
+        "tags"
+})
+@XmlRootElement(name = "item")
+public class Item {
+    @XmlElement(required = true)
+    protected String name;
+    protected String description;
+    @XmlElement(required = true)
+    protected BigDecimal price;
+    @XmlElement(name = "tag")
+    protected List<String> tags;
+    @XmlAttribute(name = "id", required = true)
+    protected long id;
+    @XmlAttribute(name = "created")
+    @XmlSchemaType(name = "dateTime")
+    protected XMLGregorianCalendar created;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String value) {
+        this.name = value;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String value) {
+        this.description = value;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal value) {
+        this.price = value;
+    }
+
+    /**
+     * @return Live list of tags.
+     */
+    public List<String> getTags() {
+        if (tags == null) {
+            tags = new ArrayList<>();
+        }
+        return this.tags;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long value) {
+        this.id = value;
+    }
+
+    public XMLGregorianCalendar getCreated() {
+        return created;
+    }
+
+    public void setCreated(XMLGregorianCalendar value) {
+        this.created = value;
+    }
+
+}
@@ -0,0 +1,2 @@
+@javax.xml.bind.annotation.XmlSchema(namespace = "http://com/meriosol/benchmark/schema", elementFormDefault = javax.xml.bind.annotation.XmlNsForm.QUALIFIED)
+package com.meriosol.jaxb.benchmarks.model;
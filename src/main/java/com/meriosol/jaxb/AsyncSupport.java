@@ -0,0 +1,176 @@
+package com.meriosol.jaxb;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Runs (un-)marshalling asynchronously, see <code>marshallAsync</code>/<code>unmarshallAsync</code> helper methods.<br>
+ * NOTE1: Default executor uses virtual threads if JVM has them (Java 21+), otherwise cached pool of daemon threads.<br>
+ * NOTE2: Cancellation (and timeout) interrupts running task. Parsing itself doesn't check interruption,
+ * so blocked I/O is stopped only for interruptible channels, but returned future completes right away anyway.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+final class AsyncSupport {
+    private static final Class<AsyncSupport> MODULE = AsyncSupport.class;
+    private static final Logger LOG = Logger.getLogger(MODULE.getName());
+
+    private AsyncSupport() {
+    }
+
+    /**
+     * @return Shared default executor of async operations.
+     */
+    static Executor getDefaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * @param task     (Un-)marshalling to run.
+     * @param executor Executor to run on (default one if null).
+     * @param <R>      Result type.
+     * @return Future completed with task result or with {@link JaxbRuntimeException} (or with <code>Error</code> thrown
+     * by task as it is). Its cancellation interrupts the task.
+     */
+    static <R> CompletableFuture<R> supplyAsync(final Callable<R> task, Executor executor) {
+        final InterruptibleFuture<R> future = new InterruptibleFuture<>();
+        final FutureTask<Void> runningTask = new FutureTask<>(() -> {
+            if (!future.isDone()) {
+                try {
+                    future.complete(task.call());
+                } catch (Error e) {
+                    // Running FutureTask would swallow it: reported by future only
+                    future.completeExceptionally(e);
+                } catch (Throwable e) {
+                    future.completeExceptionally(toJaxbRuntimeException(e));
+                }
+            }
+            return null;
+        });
+        future.runningTask = runningTask;
+        try {
+            (executor == null ? getDefaultExecutor() : executor).execute(runningTask);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new JaxbRuntimeException("[JU129750461] Async (un-)marshalling was rejected by executor", e));
+        }
+        return future;
+    }
+
+    /**
+     * @param future  Future of async operation.
+     * @param timeout Max time for operation.
+     * @param unit    Time unit of <code>timeout</code>.
+     * @param <R>     Result type.
+     * @return The same future, which will be completed with {@link JaxbRuntimeException} (caused by {@link TimeoutException})
+     * and its task interrupted unless it finishes in time.
+     */
+    static <R> CompletableFuture<R> withTimeout(final CompletableFuture<R> future, final long timeout, final TimeUnit unit) {
+        if (timeout < 0 || unit == null) {
+            throw new IllegalArgumentException("[JU129750462] Timeout should not be negative and its unit should not be null!");
+        }
+        final Future<?> timeoutTask = TimeoutSchedulerHolder.SCHEDULER.schedule(() -> {
+            if (future.completeExceptionally(new JaxbRuntimeException(
+                    String.format("[JU129750463] Async (un-)marshalling has not finished in %d %s", timeout, unit)
+                    , new TimeoutException()))) {
+                if (future instanceof InterruptibleFuture) {
+                    ((InterruptibleFuture<R>) future).interruptTask();
+                }
+            }
+        }, timeout, unit);
+        future.whenComplete((result, error) -> timeoutTask.cancel(false));
+        return future;
+    }
+
+    private static JaxbRuntimeException toJaxbRuntimeException(Throwable e) {
+        if (e instanceof JaxbRuntimeException) {
+            return (JaxbRuntimeException) e;
+        }
+        if (e instanceof InterruptedException) {
+            return new JaxbRuntimeException("[JU129750464] Async (un-)marshalling was interrupted", (Exception) e);
+        }
+        if (e instanceof Exception) {
+            return new JaxbRuntimeException("[JU129750465] Async (un-)marshalling failed: " + e.getMessage(), (Exception) e);
+        }
+        // Throwable which is neither Exception nor Error
+        return new JaxbRuntimeException("[JU129750466] Async (un-)marshalling failed: " + e);
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    /**
+     * Future which interrupts its task once cancelled.
+     */
+    private static final class InterruptibleFuture<R> extends CompletableFuture<R> {
+        private volatile FutureTask<Void> runningTask;
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            final boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                interruptTask();
+            }
+            return cancelled;
+        }
+
+        void interruptTask() {
+            final FutureTask<Void> task = this.runningTask;
+            if (task != null) {
+                task.cancel(true);
+            }
+        }
+    }
+
+    private static final class DefaultExecutorHolder {
+        private static final Executor EXECUTOR = createDefaultExecutor();
+
+        private static Executor createDefaultExecutor() {
+            try {
+                // Java 21+: Executors.newVirtualThreadPerTaskExecutor()
+                final Method factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                final ExecutorService virtualThreadExecutor = (ExecutorService) factoryMethod.invoke(null);
+                LOG.fine("Virtual threads are used for async (un-)marshalling");
+                return virtualThreadExecutor;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return Executors.newCachedThreadPool(new DaemonThreadFactory("async"));
+            }
+        }
+    }
+
+    private static final class TimeoutSchedulerHolder {
+        private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+                new DaemonThreadFactory("timeout"));
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+        private final String role;
+
+        DaemonThreadFactory(String role) {
+            this.role = role;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "jaxbutil-" + this.role + "-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
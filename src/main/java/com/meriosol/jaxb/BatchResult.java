@@ -0,0 +1,170 @@
+package com.meriosol.jaxb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of batch (un-)marshalling: per-item results or errors (in input order) and aggregate throughput.
+ *
+ * @param <S> Item source type (file, stream etc).
+ * @param <R> Item result type.
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class BatchResult<S, R> {
+    private final List<Item<S, R>> items;
+    private final long elapsedNanos;
+    private final int failureCount;
+    private final long totalBytes;
+
+    BatchResult(List<Item<S, R>> items, long elapsedNanos) {
+        this.items = Collections.unmodifiableList(items);
+        this.elapsedNanos = elapsedNanos;
+        int failures = 0;
+        long bytes = 0;
+        for (Item<S, R> item : items) {
+            if (item.isFailed()) {
+                failures++;
+            }
+            bytes += item.getBytes();
+        }
+        this.failureCount = failures;
+        this.totalBytes = bytes;
+    }
+
+    /**
+     * @return All items in input order.
+     */
+    public List<Item<S, R>> getItems() {
+        return items;
+    }
+
+    /**
+     * @return Results of successful items in input order.
+     */
+    public List<R> getResults() {
+        final List<R> results = new ArrayList<>(this.items.size() - this.failureCount);
+        for (Item<S, R> item : this.items) {
+            if (!item.isFailed()) {
+                results.add(item.getResult());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return Failed items in input order.
+     */
+    public List<Item<S, R>> getFailures() {
+        final List<Item<S, R>> failures = new ArrayList<>(this.failureCount);
+        for (Item<S, R> item : this.items) {
+            if (item.isFailed()) {
+                failures.add(item);
+            }
+        }
+        return failures;
+    }
+
+    public boolean hasFailures() {
+        return this.failureCount > 0;
+    }
+
+    public int getSuccessCount() {
+        return this.items.size() - this.failureCount;
+    }
+
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * @return Wall clock time of the whole batch, nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return Size of processed (read or written) files (0 for streams since their size is not known).
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return Throughput: items (successful and failed) per second.
+     */
+    public double getItemsPerSecond() {
+        return this.elapsedNanos == 0 ? 0d : this.items.size() * 1e9d / this.elapsedNanos;
+    }
+
+    /**
+     * @return Throughput: bytes per second (see {@link #getTotalBytes()}).
+     */
+    public double getBytesPerSecond() {
+        return this.elapsedNanos == 0 ? 0d : this.totalBytes * 1e9d / this.elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchResult{items=%d, failures=%d, elapsedMs=%d, itemsPerSecond=%.1f, bytesPerSecond=%.1f}"
+                , this.items.size(), this.failureCount, this.elapsedNanos / 1000000L, getItemsPerSecond(), getBytesPerSecond());
+    }
+
+    //---------------------------------------
+    // Item:
+
+    /**
+     * Result or error of single batch item.
+     *
+     * @param <S> Item source type.
+     * @param <R> Item result type.
+     */
+    public static final class Item<S, R> {
+        private final S source;
+        private final R result;
+        private final RuntimeException error;
+        private final long bytes;
+
+        Item(S source, R result, RuntimeException error, long bytes) {
+            this.source = source;
+            this.result = result;
+            this.error = error;
+            this.bytes = bytes;
+        }
+
+        public S getSource() {
+            return source;
+        }
+
+        /**
+         * @return Result (null for failed item or if operation has no result).
+         */
+        public R getResult() {
+            return result;
+        }
+
+        /**
+         * @return Error or null for successful item.
+         */
+        public RuntimeException getError() {
+            return error;
+        }
+
+        public boolean isFailed() {
+            return error != null;
+        }
+
+        long getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public String toString() {
+            return "Item{source=" + source + (error == null ? ", ok" : ", error=" + error.getMessage()) + "}";
+        }
+    }
+
+}
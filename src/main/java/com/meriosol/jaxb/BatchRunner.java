@@ -0,0 +1,132 @@
+package com.meriosol.jaxb;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs (un-)marshalling task for every batch item on given executor, never having more than given number
+ * of items in progress (and so files open).
+ *
+ * @param <S> Item source type.
+ * @param <R> Item result type.
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+final class BatchRunner<S, R> {
+    static final int DEFAULT_MAX_OPEN_FILES = 64;
+
+    /**
+     * Processing of single item.
+     */
+    interface ItemTask<S, R> {
+        R process(S source) throws JaxbRuntimeException;
+
+        /**
+         * Called once item is processed (so written file has its size already).
+         *
+         * @return Item size in bytes or 0 if not known.
+         */
+        long getSize(S source);
+    }
+
+    private final ItemTask<S, R> itemTask;
+    private final Executor executor;
+    private final int maxItemsInProgress;
+
+    /**
+     * @param itemTask           Processing of single item.
+     * @param executor           Executor to run items on. If null, items are processed in caller thread.
+     * @param maxItemsInProgress Max number of items processed at the same time.
+     */
+    BatchRunner(ItemTask<S, R> itemTask, Executor executor, int maxItemsInProgress) {
+        if (maxItemsInProgress <= 0) {
+            throw new IllegalArgumentException("[JU487302615] Max number of items in progress should be positive!");
+        }
+        this.itemTask = itemTask;
+        this.executor = executor;
+        this.maxItemsInProgress = maxItemsInProgress;
+    }
+
+    /**
+     * @param sources Batch items.
+     * @return Per-item results (in <code>sources</code> order).
+     * @throws JaxbRuntimeException if interrupted.
+     */
+    BatchResult<S, R> run(Collection<? extends S> sources) throws JaxbRuntimeException {
+        if (sources == null) {
+            throw new IllegalArgumentException("[JU487302616] Batch items should not be null!");
+        }
+        final long start = System.nanoTime();
+        final List<FutureTask<BatchResult.Item<S, R>>> itemTasks = new ArrayList<>(sources.size());
+        final Semaphore itemsInProgress = new Semaphore(this.maxItemsInProgress);
+        try {
+            for (final S source : sources) {
+                final FutureTask<BatchResult.Item<S, R>> itemTask = new FutureTask<BatchResult.Item<S, R>>(
+                        new Callable<BatchResult.Item<S, R>>() {
+                            @Override
+                            public BatchResult.Item<S, R> call() {
+                                return processItem(source);
+                            }
+                        }) {
+                    @Override
+                    protected void done() {
+                        itemsInProgress.release();
+                    }
+                };
+                itemTasks.add(itemTask);
+                itemsInProgress.acquire();
+                if (this.executor == null) {
+                    itemTask.run();
+                } else {
+                    try {
+                        this.executor.execute(itemTask);
+                    } catch (RejectedExecutionException e) {
+                        // Saturated executor, process item in caller thread
+                        itemTask.run();
+                    }
+                }
+            }
+
+            final List<BatchResult.Item<S, R>> items = new ArrayList<>(itemTasks.size());
+            for (FutureTask<BatchResult.Item<S, R>> itemTask : itemTasks) {
+                items.add(itemTask.get());
+            }
+            return new BatchResult<>(items, System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            cancel(itemTasks);
+            Thread.currentThread().interrupt();
+            throw new JaxbRuntimeException("[JU487302617] Interrupted while processing batch", e);
+        } catch (ExecutionException e) {
+            // Item errors are caught in processItem, so it's not expected
+            cancel(itemTasks);
+            throw new JaxbRuntimeException("[JU487302618] Unexpected error while processing batch", e);
+        }
+    }
+
+    private BatchResult.Item<S, R> processItem(S source) {
+        try {
+            if (source == null) {
+                throw new IllegalArgumentException("[JU487302619] Batch item should not be null!");
+            }
+            final R result = this.itemTask.process(source);
+            return new BatchResult.Item<>(source, result, null, this.itemTask.getSize(source));
+        } catch (RuntimeException e) {
+            return new BatchResult.Item<>(source, null, e, source == null ? 0L : this.itemTask.getSize(source));
+        }
+    }
+
+    private static void cancel(List<? extends FutureTask<?>> tasks) {
+        for (FutureTask<?> task : tasks) {
+            task.cancel(true);
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.meriosol.jaxb;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads remaining bytes of heap or direct buffer without copying them to another array first.
+ * Position of original buffer is not changed (its duplicate is read). Not synchronized.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+        this.buffer = buffer.duplicate();
+    }
+
+    @Override
+    public int read() {
+        return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        if (!this.buffer.hasRemaining()) {
+            return -1;
+        }
+        final int count = Math.min(length, this.buffer.remaining());
+        this.buffer.get(bytes, offset, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long count) {
+        final int skipped = (int) Math.max(0L, Math.min(count, this.buffer.remaining()));
+        this.buffer.position(this.buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return this.buffer.remaining();
+    }
+
+}
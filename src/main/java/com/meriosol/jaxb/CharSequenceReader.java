@@ -0,0 +1,58 @@
+package com.meriosol.jaxb;
+
+import java.io.Reader;
+
+/**
+ * Reads characters of any CharSequence (String, StringBuilder, CharBuffer) without converting it to String first.
+ * Not synchronized (unlike <code>StringReader</code>).
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+final class CharSequenceReader extends Reader {
+    private final CharSequence text;
+    private int position;
+
+    CharSequenceReader(CharSequence text) {
+        this.text = text;
+    }
+
+    @Override
+    public int read() {
+        return this.position < this.text.length() ? this.text.charAt(this.position++) : -1;
+    }
+
+    @Override
+    public int read(char[] chars, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        final int end = Math.min(this.text.length(), this.position + length);
+        if (this.position >= end) {
+            return -1;
+        }
+        final int count = end - this.position;
+        if (this.text instanceof String) {
+            ((String) this.text).getChars(this.position, end, chars, offset);
+        } else {
+            for (int i = 0; i < count; i++) {
+                chars[offset + i] = this.text.charAt(this.position + i);
+            }
+        }
+        this.position = end;
+        return count;
+    }
+
+    @Override
+    public long skip(long count) {
+        final int skipped = (int) Math.max(0L, Math.min(count, this.text.length() - this.position));
+        this.position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public void close() {
+    }
+
+}
@@ -1,46 +1,237 @@
 package com.meriosol.jaxb;
 
 import javax.xml.bind.ValidationEvent;
+import javax.xml.bind.ValidationEventHandler;
 import javax.xml.bind.ValidationEventLocator;
-import javax.xml.bind.util.ValidationEventCollector;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
- * Gathers validation errors and returns assembled error message.
+ * Gathers validation errors and returns assembled error message.<br>
+ * NOTE1: Events are kept as compact records (severity, message, line, column) and not more than
+ * given number of them is stored, the rest is only counted. Nothing is allocated until first event comes
+ * and message is built only once it's requested.<br>
+ * NOTE2: Events below severity threshold are counted but neither stored nor reported. Parsing is aborted
+ * once given number of errors occurred (fatal error always aborts it), see {@link ValidationPolicy}.
+ *
  * @author meriosol
  * @version 0.1
  * @since 05/04/14
  */
-class CollectingValidationEventHandler extends ValidationEventCollector {
+class CollectingValidationEventHandler implements ValidationEventHandler {
+    static final int DEFAULT_MAX_STORED_EVENTS = 100;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final int severityThreshold;
+    private final int maxErrors;
+    private final int maxStoredEvents;
+    // Stored event records (parallel arrays, allocated on first event):
+    private int[] severities;
+    private String[] messages;
+    private int[] lineNumbers;
+    private int[] columnNumbers;
+    private int storedCount;
+    // Counters:
+    private int warningCount;
+    private int errorCount;
+    private int fatalErrorCount;
+    private int reportedCount;
+    private boolean aborted;
+    private int abortLineNumber;
+    private int abortColumnNumber;
+
     /**
-     * @return Validation errors assembled info.
+     * Collects all events (up to {@value #DEFAULT_MAX_STORED_EVENTS}), parsing is aborted only by fatal error.
      */
-    String getCombinedEventsMessage() {
-        final StringBuilder stringBuilder = new StringBuilder();
-        final ValidationEvent[] validationEvents = getEvents();
-        if ((validationEvents != null) && (validationEvents.length > 0)) {
-            final List<String> eventMessages = new ArrayList<>(validationEvents.length);
-            for (final ValidationEvent validationEvent : validationEvents) {
-                final String severityLevel = getSeverityName(validationEvent.getSeverity());
-                final ValidationEventLocator locator = validationEvent.getLocator();
-                final String eventCoords = "Column is '" + locator.getColumnNumber()
-                        + "' at line number '" + locator.getLineNumber() + "'.";
-                eventMessages.add(" ** Message: [" + severityLevel + "] "
-                        + validationEvent.getMessage() + ". " + eventCoords);
+    CollectingValidationEventHandler() {
+        this(ValidationEvent.WARNING, 0, DEFAULT_MAX_STORED_EVENTS);
+    }
+
+    /**
+     * @param severityThreshold Min severity ({@link ValidationEvent#WARNING}, {@link ValidationEvent#ERROR} or
+     *                          {@link ValidationEvent#FATAL_ERROR}) of reported events.
+     * @param maxErrors         Number of errors (ERROR or FATAL_ERROR) parsing is aborted at, 0 - only fatal error aborts it.
+     * @param maxStoredEvents   Max number of stored events (the rest is only counted).
+     */
+    CollectingValidationEventHandler(int severityThreshold, int maxErrors, int maxStoredEvents) {
+        if (severityThreshold < ValidationEvent.WARNING || severityThreshold > ValidationEvent.FATAL_ERROR) {
+            throw new IllegalArgumentException("[JU615209471] Unknown validation event severity: " + severityThreshold);
+        }
+        if (maxStoredEvents < 0) {
+            throw new IllegalArgumentException("[JU615209472] Max number of stored validation events should not be negative!");
+        }
+        this.severityThreshold = severityThreshold;
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("[JU615209474] Max number of errors should not be negative!");
+        }
+        this.maxErrors = maxErrors;
+        this.maxStoredEvents = maxStoredEvents;
+    }
+
+    @Override
+    public boolean handleEvent(ValidationEvent validationEvent) {
+        if (validationEvent == null) {
+            throw new IllegalArgumentException("[JU615209473] Validation event should not be null!");
+        }
+        final int severity = validationEvent.getSeverity();
+        switch (severity) {
+            case ValidationEvent.WARNING:
+                this.warningCount++;
+                break;
+            case ValidationEvent.ERROR:
+                this.errorCount++;
+                break;
+            default:
+                this.fatalErrorCount++;
+                break;
+        }
+        if (severity >= this.severityThreshold) {
+            this.reportedCount++;
+            if (this.storedCount < this.maxStoredEvents) {
+                store(severity, validationEvent);
             }
-            stringBuilder.append("Messages: \n" + JaxbUtils.join(eventMessages, "\n")
-                    + "\n ==========");
         }
-        return stringBuilder.toString();
+        if (severity == ValidationEvent.WARNING || (severity == ValidationEvent.ERROR
+                && (this.maxErrors == 0 || this.errorCount < this.maxErrors))) {
+            return true;
+        }
+        this.aborted = true;
+        final ValidationEventLocator locator = validationEvent.getLocator();
+        this.abortLineNumber = locator == null ? -1 : locator.getLineNumber();
+        this.abortColumnNumber = locator == null ? -1 : locator.getColumnNumber();
+        return false;
+    }
+
+    /**
+     * @return True if parsing was aborted by this handler (by fatal error or errors limit).
+     */
+    boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * @return Why and where parsing was aborted, with collected events.
+     */
+    String getAbortMessage() {
+        return "Validation aborted at line " + this.abortLineNumber + ", column " + this.abortColumnNumber
+                + " after " + (this.errorCount + this.fatalErrorCount) + " error(s). " + getCombinedEventsMessage();
+    }
+
+    /**
+     * @return True if there were events at or above severity threshold.
+     */
+    boolean hasEvents() {
+        return this.reportedCount > 0;
+    }
+
+    /**
+     * @return Number of events at or above severity threshold (stored and dropped).
+     */
+    int getReportedCount() {
+        return reportedCount;
+    }
+
+    int getWarningCount() {
+        return warningCount;
+    }
+
+    int getErrorCount() {
+        return errorCount;
+    }
+
+    int getFatalErrorCount() {
+        return fatalErrorCount;
+    }
+
+    /**
+     * @return Number of stored events (see {@link #getReportedCount()} for all of them).
+     */
+    int getStoredCount() {
+        return storedCount;
+    }
+
+    int getStoredSeverity(int index) {
+        return this.severities[index];
+    }
+
+    String getStoredMessage(int index) {
+        return this.messages[index];
+    }
+
+    int getStoredLineNumber(int index) {
+        return this.lineNumbers[index];
+    }
+
+    int getStoredColumnNumber(int index) {
+        return this.columnNumbers[index];
+    }
+
+    /**
+     * Forgets collected events, so handler can be reused. Storage is kept.
+     */
+    void reset() {
+        if (this.messages != null) {
+            Arrays.fill(this.messages, 0, this.storedCount, null);
+        }
+        this.storedCount = 0;
+        this.warningCount = 0;
+        this.errorCount = 0;
+        this.fatalErrorCount = 0;
+        this.reportedCount = 0;
+        this.aborted = false;
     }
 
     /**
+     * NOTE: Message is built on every call, check {@link #hasEvents()} first.
      *
+     * @return Validation errors assembled info (empty if there were no reported events).
+     */
+    String getCombinedEventsMessage() {
+        if (!hasEvents()) {
+            return "";
+        }
+        final StringBuilder stringBuilder = new StringBuilder(64 + this.storedCount * 128).append("Messages: \n");
+        for (int i = 0; i < this.storedCount; i++) {
+            if (i > 0) {
+                stringBuilder.append('\n');
+            }
+            stringBuilder.append(" ** Message: [").append(getSeverityName(this.severities[i])).append("] ")
+                    .append(this.messages[i]).append(". Column is '").append(this.columnNumbers[i])
+                    .append("' at line number '").append(this.lineNumbers[i]).append("'.");
+        }
+        final int droppedCount = this.reportedCount - this.storedCount;
+        if (droppedCount > 0) {
+            stringBuilder.append("\n ** ... and ").append(droppedCount).append(" more event(s)");
+        }
+        return stringBuilder.append("\n ==========").toString();
+    }
+
+    private void store(int severity, ValidationEvent validationEvent) {
+        if (this.messages == null) {
+            final int capacity = Math.min(INITIAL_CAPACITY, this.maxStoredEvents);
+            this.severities = new int[capacity];
+            this.messages = new String[capacity];
+            this.lineNumbers = new int[capacity];
+            this.columnNumbers = new int[capacity];
+        } else if (this.storedCount == this.messages.length) {
+            final int capacity = (int) Math.min((long) this.messages.length * 2, this.maxStoredEvents);
+            this.severities = Arrays.copyOf(this.severities, capacity);
+            this.messages = Arrays.copyOf(this.messages, capacity);
+            this.lineNumbers = Arrays.copyOf(this.lineNumbers, capacity);
+            this.columnNumbers = Arrays.copyOf(this.columnNumbers, capacity);
+        }
+        final ValidationEventLocator locator = validationEvent.getLocator();
+        this.severities[this.storedCount] = severity;
+        this.messages[this.storedCount] = validationEvent.getMessage();
+        this.lineNumbers[this.storedCount] = locator == null ? -1 : locator.getLineNumber();
+        this.columnNumbers[this.storedCount] = locator == null ? -1 : locator.getColumnNumber();
+        this.storedCount++;
+    }
+
+    /**
      * @param severityLevel
      * @return String value of severity constant (use it for better readability).
      */
-    private String getSeverityName(int severityLevel) {
+    static String getSeverityName(int severityLevel) {
         String severityName = "NA";
         switch (severityLevel) {
             case ValidationEvent.WARNING:
@@ -0,0 +1,67 @@
+package com.meriosol.jaxb;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts bytes read (for metrics). Mark/reset is not supported, so count is exact.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+final class CountingInputStream extends FilterInputStream {
+    private long count;
+
+    CountingInputStream(InputStream inputStream) {
+        super(inputStream);
+    }
+
+    /**
+     * @return Bytes read (or skipped) so far.
+     */
+    long getCount() {
+        return count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int result = this.in.read();
+        if (result >= 0) {
+            this.count++;
+        }
+        return result;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        final int result = this.in.read(buffer, offset, length);
+        if (result > 0) {
+            this.count += result;
+        }
+        return result;
+    }
+
+    @Override
+    public long skip(long length) throws IOException {
+        final long result = this.in.skip(length);
+        this.count += result;
+        return result;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("[JU730584231] Mark/reset is not supported");
+    }
+
+}
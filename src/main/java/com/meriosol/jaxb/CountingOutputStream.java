@@ -0,0 +1,41 @@
+package com.meriosol.jaxb;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Counts bytes written (for metrics).
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+final class CountingOutputStream extends FilterOutputStream {
+    private long count;
+
+    CountingOutputStream(OutputStream outputStream) {
+        super(outputStream);
+    }
+
+    /**
+     * @return Bytes written so far.
+     */
+    long getCount() {
+        return count;
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        this.out.write(value);
+        this.count++;
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) throws IOException {
+        // FilterOutputStream writes byte by byte
+        this.out.write(buffer, offset, length);
+        this.count += length;
+    }
+
+}
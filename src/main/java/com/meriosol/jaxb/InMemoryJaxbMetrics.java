@@ -0,0 +1,133 @@
+package com.meriosol.jaxb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps metrics in memory as {@link OperationStatistics} per operation and entity class (by class name,
+ * so classes are not pinned). Handy for tests and own reporting.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class InMemoryJaxbMetrics implements JaxbMetrics {
+    private final ConcurrentMap<StatisticsKey, OperationStatistics> statistics = new ConcurrentHashMap<>();
+
+    @Override
+    public void contextAcquired(Class<?> entityClass, long nanos) {
+        getOrCreateStatistics(Operation.CONTEXT_ACQUISITION, entityClass.getName()).record(nanos, 0L, true);
+    }
+
+    @Override
+    public void schemaLoaded(String xmlSchemaResourceUrl, long nanos) {
+        getOrCreateStatistics(Operation.SCHEMA_LOAD, String.valueOf(xmlSchemaResourceUrl)).record(nanos, 0L, true);
+    }
+
+    @Override
+    public void unmarshalled(Class<?> entityClass, long nanos, long bytesRead, boolean succeeded) {
+        getOrCreateStatistics(Operation.UNMARSHALL, entityClass.getName()).record(nanos, bytesRead, succeeded);
+    }
+
+    @Override
+    public void marshalled(Class<?> entityClass, long nanos, long bytesWritten, boolean succeeded) {
+        getOrCreateStatistics(Operation.MARSHALL, entityClass.getName()).record(nanos, bytesWritten, succeeded);
+    }
+
+    @Override
+    public void validationEventsCollected(Operation operation, Class<?> entityClass, int warnings, int errors, int fatalErrors) {
+        getOrCreateStatistics(operation, entityClass.getName()).recordValidationEvents(warnings, errors, fatalErrors);
+    }
+
+    /**
+     * @param operation   Operation.
+     * @param entityClass Entity class.
+     * @return Statistics or null if operation was not performed for this class.
+     */
+    public OperationStatistics getStatistics(Operation operation, Class<?> entityClass) {
+        return getStatistics(operation, entityClass.getName());
+    }
+
+    /**
+     * @param operation Operation.
+     * @param name      Entity class name (schema name for {@link Operation#SCHEMA_LOAD}).
+     * @return Statistics or null if nothing was recorded.
+     */
+    public OperationStatistics getStatistics(Operation operation, String name) {
+        return this.statistics.get(new StatisticsKey(operation, name));
+    }
+
+    /**
+     * @return Statistics of all operations and entity classes.
+     */
+    public List<OperationStatistics> getAllStatistics() {
+        return new ArrayList<>(this.statistics.values());
+    }
+
+    /**
+     * Forgets all statistics.
+     */
+    public void clear() {
+        this.statistics.clear();
+    }
+
+    /**
+     * Called once statistics of new operation/entity class pair is created.
+     *
+     * @param statistics New statistics.
+     */
+    protected void onStatisticsCreated(OperationStatistics statistics) {
+    }
+
+    private OperationStatistics getOrCreateStatistics(Operation operation, String name) {
+        final StatisticsKey key = new StatisticsKey(operation, name);
+        OperationStatistics operationStatistics = this.statistics.get(key);
+        if (operationStatistics == null) {
+            final OperationStatistics newStatistics = new OperationStatistics(operation, name);
+            operationStatistics = this.statistics.putIfAbsent(key, newStatistics);
+            if (operationStatistics == null) {
+                operationStatistics = newStatistics;
+                onStatisticsCreated(newStatistics);
+            }
+        }
+        return operationStatistics;
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryJaxbMetrics{statistics=" + this.statistics.values() + "}";
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    private static final class StatisticsKey {
+        private final Operation operation;
+        private final String name;
+
+        StatisticsKey(Operation operation, String name) {
+            this.operation = operation;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof StatisticsKey)) {
+                return false;
+            }
+            final StatisticsKey other = (StatisticsKey) obj;
+            return this.operation == other.operation && this.name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.operation.hashCode() + this.name.hashCode();
+        }
+    }
+
+}
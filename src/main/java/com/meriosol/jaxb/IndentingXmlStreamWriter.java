@@ -0,0 +1,239 @@
+package com.meriosol.jaxb;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Adds line breaks and indentation to elements written to delegate writer.
+ * JAXB ignores formatted output setting for StAX output, so streaming writer formats the document with it.<br>
+ * NOTE: Mixed content (text along with child elements) is not indented.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+class IndentingXmlStreamWriter implements XMLStreamWriter {
+    private static final String LINE_SEPARATOR = "\n";
+    private static final String INDENT = "    ";
+
+    private enum State {
+        SEEN_NOTHING, SEEN_ELEMENT, SEEN_DATA
+    }
+
+    private final XMLStreamWriter delegate;
+    private final Deque<State> stateStack = new ArrayDeque<>();
+    private State state = State.SEEN_NOTHING;
+    private int depth;
+
+    IndentingXmlStreamWriter(XMLStreamWriter delegate) {
+        this.delegate = delegate;
+    }
+
+    private void onStartElement() throws XMLStreamException {
+        this.stateStack.push(State.SEEN_ELEMENT);
+        this.state = State.SEEN_NOTHING;
+        if (this.depth > 0) {
+            writeIndent(this.depth);
+        }
+        this.depth++;
+    }
+
+    private void onEndElement() throws XMLStreamException {
+        this.depth--;
+        if (this.state == State.SEEN_ELEMENT) {
+            writeIndent(this.depth);
+        }
+        this.state = this.stateStack.isEmpty() ? State.SEEN_ELEMENT : this.stateStack.pop();
+    }
+
+    private void onEmptyElement() throws XMLStreamException {
+        this.state = State.SEEN_ELEMENT;
+        if (this.depth > 0) {
+            writeIndent(this.depth);
+        }
+    }
+
+    private void writeIndent(int level) throws XMLStreamException {
+        this.delegate.writeCharacters(LINE_SEPARATOR);
+        for (int i = 0; i < level; i++) {
+            this.delegate.writeCharacters(INDENT);
+        }
+    }
+
+    @Override
+    public void writeStartElement(String localName) throws XMLStreamException {
+        onStartElement();
+        this.delegate.writeStartElement(localName);
+    }
+
+    @Override
+    public void writeStartElement(String namespaceURI, String localName) throws XMLStreamException {
+        onStartElement();
+        this.delegate.writeStartElement(namespaceURI, localName);
+    }
+
+    @Override
+    public void writeStartElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+        onStartElement();
+        this.delegate.writeStartElement(prefix, localName, namespaceURI);
+    }
+
+    @Override
+    public void writeEmptyElement(String namespaceURI, String localName) throws XMLStreamException {
+        onEmptyElement();
+        this.delegate.writeEmptyElement(namespaceURI, localName);
+    }
+
+    @Override
+    public void writeEmptyElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+        onEmptyElement();
+        this.delegate.writeEmptyElement(prefix, localName, namespaceURI);
+    }
+
+    @Override
+    public void writeEmptyElement(String localName) throws XMLStreamException {
+        onEmptyElement();
+        this.delegate.writeEmptyElement(localName);
+    }
+
+    @Override
+    public void writeEndElement() throws XMLStreamException {
+        onEndElement();
+        this.delegate.writeEndElement();
+    }
+
+    @Override
+    public void writeEndDocument() throws XMLStreamException {
+        this.delegate.writeEndDocument();
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        this.delegate.close();
+    }
+
+    @Override
+    public void flush() throws XMLStreamException {
+        this.delegate.flush();
+    }
+
+    @Override
+    public void writeAttribute(String localName, String value) throws XMLStreamException {
+        this.delegate.writeAttribute(localName, value);
+    }
+
+    @Override
+    public void writeAttribute(String prefix, String namespaceURI, String localName, String value) throws XMLStreamException {
+        this.delegate.writeAttribute(prefix, namespaceURI, localName, value);
+    }
+
+    @Override
+    public void writeAttribute(String namespaceURI, String localName, String value) throws XMLStreamException {
+        this.delegate.writeAttribute(namespaceURI, localName, value);
+    }
+
+    @Override
+    public void writeNamespace(String prefix, String namespaceURI) throws XMLStreamException {
+        this.delegate.writeNamespace(prefix, namespaceURI);
+    }
+
+    @Override
+    public void writeDefaultNamespace(String namespaceURI) throws XMLStreamException {
+        this.delegate.writeDefaultNamespace(namespaceURI);
+    }
+
+    @Override
+    public void writeComment(String data) throws XMLStreamException {
+        this.delegate.writeComment(data);
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target) throws XMLStreamException {
+        this.delegate.writeProcessingInstruction(target);
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target, String data) throws XMLStreamException {
+        this.delegate.writeProcessingInstruction(target, data);
+    }
+
+    @Override
+    public void writeCData(String data) throws XMLStreamException {
+        this.state = State.SEEN_DATA;
+        this.delegate.writeCData(data);
+    }
+
+    @Override
+    public void writeDTD(String dtd) throws XMLStreamException {
+        this.delegate.writeDTD(dtd);
+    }
+
+    @Override
+    public void writeEntityRef(String name) throws XMLStreamException {
+        this.delegate.writeEntityRef(name);
+    }
+
+    @Override
+    public void writeStartDocument() throws XMLStreamException {
+        this.delegate.writeStartDocument();
+        this.delegate.writeCharacters(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void writeStartDocument(String version) throws XMLStreamException {
+        this.delegate.writeStartDocument(version);
+        this.delegate.writeCharacters(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void writeStartDocument(String encoding, String version) throws XMLStreamException {
+        this.delegate.writeStartDocument(encoding, version);
+        this.delegate.writeCharacters(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void writeCharacters(String text) throws XMLStreamException {
+        this.state = State.SEEN_DATA;
+        this.delegate.writeCharacters(text);
+    }
+
+    @Override
+    public void writeCharacters(char[] text, int start, int len) throws XMLStreamException {
+        this.state = State.SEEN_DATA;
+        this.delegate.writeCharacters(text, start, len);
+    }
+
+    @Override
+    public String getPrefix(String uri) throws XMLStreamException {
+        return this.delegate.getPrefix(uri);
+    }
+
+    @Override
+    public void setPrefix(String prefix, String uri) throws XMLStreamException {
+        this.delegate.setPrefix(prefix, uri);
+    }
+
+    @Override
+    public void setDefaultNamespace(String uri) throws XMLStreamException {
+        this.delegate.setDefaultNamespace(uri);
+    }
+
+    @Override
+    public void setNamespaceContext(NamespaceContext context) throws XMLStreamException {
+        this.delegate.setNamespaceContext(context);
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return this.delegate.getNamespaceContext();
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        return this.delegate.getProperty(name);
+    }
+
+}
@@ -0,0 +1,263 @@
+package com.meriosol.jaxb;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide registry of JAXB contexts.<br>
+ * <code>JAXBContext.newInstance</code> is the most expensive JAXB operation (reflection over the whole bound model),
+ * while created context is thread-safe and can be shared. Registry keeps one context per bound class set and class loader.<br>
+ * NOTE1: Concurrent callers asking for the same class set share single context creation.<br>
+ * NOTE2: Class loader is held weakly and contexts softly, so redeployed applications can be unloaded.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class JaxbContextRegistry {
+    private static final Class<JaxbContextRegistry> MODULE = JaxbContextRegistry.class;
+    private static final Logger LOG = Logger.getLogger(MODULE.getName());
+
+    private static final JaxbContextRegistry INSTANCE = new JaxbContextRegistry();
+
+    private final ConcurrentMap<ContextKey, ContextEntry> contexts = new ConcurrentHashMap<>();
+    private final ReferenceQueue<ClassLoader> staleClassLoaders = new ReferenceQueue<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong buildTimeNanos = new AtomicLong();
+
+    JaxbContextRegistry() {
+    }
+
+    /**
+     * @return Registry shared by all helpers of this process (class loader of this library, strictly speaking).
+     */
+    public static JaxbContextRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param classes JAXB bound classes. Order is not important.
+     * @return Cached (or newly created) context for <code>classes</code>.
+     * @throws JaxbRuntimeException if context can't be created.
+     */
+    public JAXBContext getContext(final Class<?>... classes) throws JaxbRuntimeException {
+        if (classes == null || classes.length == 0) {
+            throw new IllegalArgumentException("[JU550381264] Classes for JAXBContext should not be null or empty!");
+        }
+        for (Class<?> clazz : classes) {
+            if (clazz == null) {
+                throw new IllegalArgumentException("[JU550381265] Class for JAXBContext should not be null!");
+            }
+        }
+        expungeStaleEntries();
+
+        final ContextKey key = new ContextKey(classes, this.staleClassLoaders);
+        while (true) {
+            ContextEntry entry = this.contexts.get(key);
+            if (entry != null) {
+                final JAXBContext context = entry.get(key);
+                if (context != null) {
+                    this.hitCount.incrementAndGet();
+                    return context;
+                }
+                // Softly referenced context was collected, build it once more:
+                this.contexts.remove(key, entry);
+                continue;
+            }
+
+            final ContextEntry newEntry = new ContextEntry(classes);
+            entry = this.contexts.putIfAbsent(key, newEntry);
+            if (entry == null) {
+                this.missCount.incrementAndGet();
+                final long start = System.nanoTime();
+                try {
+                    return newEntry.build(key);
+                } catch (JaxbRuntimeException e) {
+                    // Don't cache failures, next caller will retry:
+                    this.contexts.remove(key, newEntry);
+                    throw e;
+                } finally {
+                    this.buildTimeNanos.addAndGet(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return How many times context was found in registry.
+     */
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    /**
+     * @return How many times context had to be created.
+     */
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    /**
+     * @return Total time spent in <code>JAXBContext.newInstance</code>, nanoseconds.
+     */
+    public long getBuildTimeNanos() {
+        return this.buildTimeNanos.get();
+    }
+
+    /**
+     * @return Number of currently registered contexts (including ones being built).
+     */
+    public int size() {
+        expungeStaleEntries();
+        return this.contexts.size();
+    }
+
+    /**
+     * Drops all cached contexts. Statistics are kept.
+     */
+    public void clear() {
+        this.contexts.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "JaxbContextRegistry{size=" + this.contexts.size() + ", hits=" + getHitCount() + ", misses="
+                + getMissCount() + ", buildTimeMs=" + (getBuildTimeNanos() / 1000000L) + "}";
+    }
+
+    private void expungeStaleEntries() {
+        Reference<? extends ClassLoader> staleRef;
+        while ((staleRef = this.staleClassLoaders.poll()) != null) {
+            this.contexts.remove((ContextKey) staleRef);
+        }
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    /**
+     * Bound class set + class loader. Class names (not classes) are kept to not pin class loader in memory.
+     */
+    private static final class ContextKey extends WeakReference<ClassLoader> {
+        private final boolean bootstrapClassLoader;
+        private final String[] classNames;
+        private final int hashCode;
+
+        ContextKey(Class<?>[] classes, ReferenceQueue<ClassLoader> queue) {
+            super(classes[0].getClassLoader(), queue);
+            this.bootstrapClassLoader = classes[0].getClassLoader() == null;
+            this.classNames = new String[classes.length];
+            for (int i = 0; i < classes.length; i++) {
+                this.classNames[i] = classes[i].getName();
+            }
+            Arrays.sort(this.classNames);
+            this.hashCode = 31 * System.identityHashCode(classes[0].getClassLoader()) + Arrays.hashCode(this.classNames);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ContextKey)) {
+                return false;
+            }
+            final ContextKey other = (ContextKey) obj;
+            final ClassLoader classLoader = get();
+            if (classLoader == null && !this.bootstrapClassLoader) {
+                // Stale key equals only to itself
+                return false;
+            }
+            return this.hashCode == other.hashCode && this.bootstrapClassLoader == other.bootstrapClassLoader
+                    && classLoader == other.get() && Arrays.equals(this.classNames, other.classNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(this.classNames);
+        }
+    }
+
+    /**
+     * Context being built (shared by concurrent callers) and then softly referenced.
+     */
+    private static final class ContextEntry {
+        private volatile FutureTask<JAXBContext> creation;
+        private volatile SoftReference<JAXBContext> contextRef;
+
+        ContextEntry(final Class<?>[] classes) {
+            this.creation = new FutureTask<>(new Callable<JAXBContext>() {
+                @Override
+                public JAXBContext call() throws JAXBException {
+                    return JAXBContext.newInstance(classes);
+                }
+            });
+        }
+
+        /**
+         * @return Context (waits if it's being built) or null if it was already collected.
+         */
+        JAXBContext get(ContextKey key) {
+            final FutureTask<JAXBContext> pendingCreation = this.creation;
+            if (pendingCreation != null) {
+                return await(pendingCreation, key);
+            }
+            final SoftReference<JAXBContext> ref = this.contextRef;
+            return ref == null ? null : ref.get();
+        }
+
+        JAXBContext build(ContextKey key) {
+            final FutureTask<JAXBContext> pendingCreation = this.creation;
+            pendingCreation.run();
+            final JAXBContext context = await(pendingCreation, key);
+            // From now on context is referenced only softly:
+            this.contextRef = new SoftReference<>(context);
+            this.creation = null;
+            LOG.fine("JAXBContext was created for " + key);
+            return context;
+        }
+
+        private static JAXBContext await(FutureTask<JAXBContext> creation, ContextKey key) {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return creation.get();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        final Throwable cause = e.getCause();
+                        throw new JaxbRuntimeException(
+                                String.format("[JU904826543] Error occurred while getting JAXBContext for classes %s. Message: %s"
+                                        , key, cause.getMessage()), cause instanceof Exception ? (Exception) cause : e
+                        );
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+}
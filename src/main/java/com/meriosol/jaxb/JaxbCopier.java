@@ -0,0 +1,388 @@
+package com.meriosol.jaxb;
+
+import org.w3c.dom.Node;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.datatype.Duration;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Deep copies of JAXB bound objects in memory, without marshalling them to XML and back.<br>
+ * Copy plan (constructor and fields of class, or how to copy collection, <code>JAXBElement</code>,
+ * <code>XMLGregorianCalendar</code> etc) is built once per class and cached, so copying is only field reads and writes.
+ * Shared objects (e.g. <code>@XmlIDREF</code> targets) stay shared in copy and cycles are kept.<br>
+ * NOTE1: Bound classes need no-arg constructor (JAXB requires it anyway). Root entity classes are checked
+ * to be bound by {@link JaxbContextRegistry} (cached context is reused).<br>
+ * NOTE2: Strings, numbers, enums, <code>QName</code>, <code>java.time</code> values and other immutable values are shared,
+ * not copied. JDK classes which are neither immutable nor handled collections/dates can't be copied.
+ * Usage sample:
+ * <pre>
+ * Sample copy = JaxbCopier.getInstance().copy(sample);
+ * </pre>
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class JaxbCopier {
+    private static final JaxbCopier INSTANCE = new JaxbCopier();
+    private static final Set<Class<?>> IMMUTABLE_CLASSES = new HashSet<>(Arrays.<Class<?>>asList(String.class, Boolean.class
+            , Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, BigInteger.class
+            , BigDecimal.class, QName.class, UUID.class, Class.class, java.net.URI.class, java.net.URL.class, Object.class));
+
+    private final ClassValue<CopyPlan> copyPlans = new ClassValue<CopyPlan>() {
+        @Override
+        protected CopyPlan computeValue(Class<?> type) {
+            return createCopyPlan(type);
+        }
+    };
+
+    private JaxbCopier() {
+    }
+
+    public static JaxbCopier getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param entity Bound object (or JAXBElement) to copy.
+     * @param <T>    Entity type.
+     * @return Deep copy of entity (null if entity is null).
+     * @throws JaxbRuntimeException if entity graph has objects which can't be copied.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T copy(T entity) throws JaxbRuntimeException {
+        if (entity == null) {
+            return null;
+        }
+        return (T) copyValue(entity, new IdentityHashMap<Object, Object>());
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    private Object copyValue(Object value, IdentityHashMap<Object, Object> copies) {
+        if (value == null) {
+            return null;
+        }
+        final CopyPlan copyPlan = this.copyPlans.get(value.getClass());
+        if (copyPlan.kind == CopyKind.IMMUTABLE) {
+            return value;
+        }
+        final Object existingCopy = copies.get(value);
+        if (existingCopy != null) {
+            return existingCopy;
+        }
+        switch (copyPlan.kind) {
+            case BEAN:
+                return copyBean(copyPlan, value, copies);
+            case COLLECTION:
+                return copyCollection(copyPlan, (Collection<?>) value, copies);
+            case MAP:
+                return copyMap(copyPlan, (Map<?, ?>) value, copies);
+            case ARRAY:
+                return copyArray(value, copies);
+            case JAXB_ELEMENT:
+                return copyJaxbElement((JAXBElement<?>) value, copies);
+            case XML_CALENDAR:
+                return remember(value, ((XMLGregorianCalendar) value).clone(), copies);
+            case DATE:
+                return remember(value, ((Date) value).clone(), copies);
+            case CALENDAR:
+                return remember(value, ((Calendar) value).clone(), copies);
+            case DOM_NODE:
+                return remember(value, ((Node) value).cloneNode(true), copies);
+            default:
+                throw new JaxbRuntimeException("[JU562118407] Objects of class '" + value.getClass().getName()
+                        + "' can't be copied: it's neither bound class nor known JDK value");
+        }
+    }
+
+    private Object copyBean(CopyPlan copyPlan, Object bean, IdentityHashMap<Object, Object> copies) {
+        final Object copy = copyPlan.newInstance();
+        copies.put(bean, copy);
+        try {
+            for (FieldCopier fieldCopier : copyPlan.fieldCopiers) {
+                fieldCopier.copy(bean, copy, copies);
+            }
+        } catch (IllegalAccessException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU562118401] Error occurred while copying object of class '%s'. Message: %s"
+                            , bean.getClass().getName(), e.getMessage()), e
+            );
+        } catch (IllegalArgumentException e) {
+            // E.g. collection field of class without public no-arg constructor got default collection copy
+            throw new JaxbRuntimeException(
+                    String.format("[JU562118408] Copy of field value doesn't fit field type in class '%s'. Message: %s"
+                            , bean.getClass().getName(), e.getMessage()), e
+            );
+        }
+        return copy;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object copyCollection(CopyPlan copyPlan, Collection<?> collection, IdentityHashMap<Object, Object> copies) {
+        if (collection instanceof EnumSet) {
+            // Enums are shared anyway
+            return remember(collection, ((EnumSet) collection).clone(), copies);
+        }
+        final Collection<Object> copy;
+        if (collection instanceof SortedSet) {
+            // Sorted plan has (Comparator) constructor, no-arg one would lose comparator
+            final Comparator<Object> comparator = ((SortedSet<Object>) collection).comparator();
+            copy = copyPlan.constructor != null ? (Collection<Object>) copyPlan.newInstance(comparator)
+                    : new TreeSet<>(comparator);
+        } else if (copyPlan.constructor != null) {
+            copy = (Collection<Object>) copyPlan.newInstance();
+        } else if (collection instanceof Set) {
+            copy = new LinkedHashSet<>();
+        } else {
+            copy = new ArrayList<>(collection.size());
+        }
+        copies.put(collection, copy);
+        for (Object element : collection) {
+            copy.add(copyValue(element, copies));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object copyMap(CopyPlan copyPlan, Map<?, ?> map, IdentityHashMap<Object, Object> copies) {
+        final Map<Object, Object> copy;
+        if (map instanceof EnumMap) {
+            // Key type is taken from original map, so it's copied empty and filled
+            copy = new EnumMap((EnumMap) map);
+            copy.clear();
+        } else if (map instanceof SortedMap) {
+            final Comparator<Object> comparator = ((SortedMap<Object, Object>) map).comparator();
+            copy = copyPlan.constructor != null ? (Map<Object, Object>) copyPlan.newInstance(comparator)
+                    : new TreeMap<>(comparator);
+        } else if (copyPlan.constructor != null) {
+            copy = (Map<Object, Object>) copyPlan.newInstance();
+        } else {
+            copy = new LinkedHashMap<>();
+        }
+        copies.put(map, copy);
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            copy.put(copyValue(entry.getKey(), copies), copyValue(entry.getValue(), copies));
+        }
+        return copy;
+    }
+
+    private Object copyArray(Object array, IdentityHashMap<Object, Object> copies) {
+        final Class<?> componentType = array.getClass().getComponentType();
+        final int length = Array.getLength(array);
+        if (componentType.isPrimitive()) {
+            final Object copy = Array.newInstance(componentType, length);
+            System.arraycopy(array, 0, copy, 0, length);
+            return remember(array, copy, copies);
+        }
+        final Object[] elements = (Object[]) array;
+        final Object[] copy = (Object[]) Array.newInstance(componentType, length);
+        copies.put(array, copy);
+        for (int i = 0; i < length; i++) {
+            copy[i] = copyValue(elements[i], copies);
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copyJaxbElement(JAXBElement<?> element, IdentityHashMap<Object, Object> copies) {
+        final JAXBElement<Object> copy = new JAXBElement<>(element.getName(), (Class<Object>) element.getDeclaredType()
+                , element.getScope(), null);
+        copies.put(element, copy);
+        copy.setValue(copyValue(element.getValue(), copies));
+        copy.setNil(element.isNil());
+        return copy;
+    }
+
+    private static Object remember(Object original, Object copy, IdentityHashMap<Object, Object> copies) {
+        copies.put(original, copy);
+        return copy;
+    }
+
+    private static CopyPlan createCopyPlan(Class<?> type) {
+        if (type.isPrimitive() || type.isEnum() || (type.getSuperclass() != null && type.getSuperclass().isEnum())
+                || IMMUTABLE_CLASSES.contains(type) || Duration.class.isAssignableFrom(type) || isJavaTimeValue(type)) {
+            return new CopyPlan(CopyKind.IMMUTABLE, null, null);
+        }
+        if (type.isArray()) {
+            return new CopyPlan(CopyKind.ARRAY, null, null);
+        }
+        if (JAXBElement.class.isAssignableFrom(type)) {
+            return new CopyPlan(CopyKind.JAXB_ELEMENT, null, null);
+        }
+        if (XMLGregorianCalendar.class.isAssignableFrom(type)) {
+            return new CopyPlan(CopyKind.XML_CALENDAR, null, null);
+        }
+        if (Date.class.isAssignableFrom(type)) {
+            return new CopyPlan(CopyKind.DATE, null, null);
+        }
+        if (Calendar.class.isAssignableFrom(type)) {
+            return new CopyPlan(CopyKind.CALENDAR, null, null);
+        }
+        if (Node.class.isAssignableFrom(type)) {
+            return new CopyPlan(CopyKind.DOM_NODE, null, null);
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return new CopyPlan(CopyKind.COLLECTION, SortedSet.class.isAssignableFrom(type)
+                    ? findPublicConstructor(type, Comparator.class) : findPublicConstructor(type), null);
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return new CopyPlan(CopyKind.MAP, SortedMap.class.isAssignableFrom(type)
+                    ? findPublicConstructor(type, Comparator.class) : findPublicConstructor(type), null);
+        }
+        if (isJdkClass(type)) {
+            return new CopyPlan(CopyKind.UNSUPPORTED, null, null);
+        }
+        if (type.isAnnotationPresent(XmlRootElement.class)) {
+            JaxbContextRegistry.getInstance().getContext(type);
+        }
+        return new CopyPlan(CopyKind.BEAN, findBeanConstructor(type), createFieldCopiers(type));
+    }
+
+    private static FieldCopier[] createFieldCopiers(Class<?> type) {
+        final List<FieldCopier> fieldCopiers = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                field.setAccessible(true);
+                fieldCopiers.add(createFieldCopier(field));
+            }
+        }
+        return fieldCopiers.toArray(new FieldCopier[0]);
+    }
+
+    private static FieldCopier createFieldCopier(final Field field) {
+        final Class<?> fieldType = field.getType();
+        if (fieldType == int.class) {
+            return (source, target, copies) -> field.setInt(target, field.getInt(source));
+        }
+        if (fieldType == long.class) {
+            return (source, target, copies) -> field.setLong(target, field.getLong(source));
+        }
+        if (fieldType == boolean.class) {
+            return (source, target, copies) -> field.setBoolean(target, field.getBoolean(source));
+        }
+        if (fieldType == double.class) {
+            return (source, target, copies) -> field.setDouble(target, field.getDouble(source));
+        }
+        if (fieldType.isPrimitive()) {
+            // float, short, byte, char: rare in bound classes, boxing is fine
+            return (source, target, copies) -> field.set(target, field.get(source));
+        }
+        if (Modifier.isFinal(fieldType.getModifiers()) && (fieldType.isEnum() || IMMUTABLE_CLASSES.contains(fieldType))) {
+            // Known immutable value: no plan lookup
+            return (source, target, copies) -> field.set(target, field.get(source));
+        }
+        return (source, target, copies) -> field.set(target, INSTANCE.copyValue(field.get(source), copies));
+    }
+
+    private static Constructor<?> findBeanConstructor(Class<?> type) {
+        if (Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            final Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Constructor<?> findPublicConstructor(Class<?> type, Class<?>... parameterTypes) {
+        if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            return type.getConstructor(parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static boolean isJavaTimeValue(Class<?> type) {
+        return type.getName().startsWith("java.time.");
+    }
+
+    private static boolean isJdkClass(Class<?> type) {
+        final String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.") || name.startsWith("com.sun.")
+                || name.startsWith("jdk.");
+    }
+
+    private enum CopyKind {
+        IMMUTABLE, BEAN, COLLECTION, MAP, ARRAY, JAXB_ELEMENT, XML_CALENDAR, DATE, CALENDAR, DOM_NODE, UNSUPPORTED
+    }
+
+    /**
+     * How objects of single class are copied.
+     */
+    private static final class CopyPlan {
+        private final CopyKind kind;
+        /**
+         * No-arg constructor ((Comparator) one for sorted collections and maps), null if there is no accessible one.
+         */
+        private final Constructor<?> constructor;
+        private final FieldCopier[] fieldCopiers;
+
+        CopyPlan(CopyKind kind, Constructor<?> constructor, FieldCopier[] fieldCopiers) {
+            this.kind = kind;
+            this.constructor = constructor;
+            this.fieldCopiers = fieldCopiers;
+        }
+
+        Object newInstance(Object... arguments) {
+            if (this.constructor == null) {
+                throw new JaxbRuntimeException("[JU562118402] Class has no accessible no-arg constructor to copy it by");
+            }
+            try {
+                return this.constructor.newInstance(arguments);
+            } catch (ReflectiveOperationException e) {
+                throw new JaxbRuntimeException(
+                        String.format("[JU562118403] Error occurred while creating copy of class '%s'. Message: %s"
+                                , this.constructor.getDeclaringClass().getName(), e.getMessage()), e
+                );
+            }
+        }
+    }
+
+    /**
+     * Copies value of single field.
+     */
+    private interface FieldCopier {
+        void copy(Object source, Object target, IdentityHashMap<Object, Object> copies) throws IllegalAccessException;
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.meriosol.jaxb;
+
+/**
+ * Metrics SPI of helpers (see <code>metrics</code> builder option). Methods are called in thread which performed operation,
+ * right after it's finished, so implementations should be fast and thread-safe. Tracing adapters can use it too
+ * to attach timings to current span.<br>
+ * Adapters: {@link InMemoryJaxbMetrics} (tests, own reporting) and {@link JmxJaxbMetrics} (JMX MBeans).
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public interface JaxbMetrics {
+    /**
+     * Default metrics: nothing is recorded and helpers don't even measure.
+     */
+    JaxbMetrics NO_OP = new JaxbMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    /**
+     * Measured operations.
+     */
+    enum Operation {
+        CONTEXT_ACQUISITION, SCHEMA_LOAD, UNMARSHALL, MARSHALL
+    }
+
+    /**
+     * @return If false, helpers skip measuring (and don't call other methods).
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * @param entityClass Class context is for.
+     * @param nanos       Time of getting context (from registry or built).
+     */
+    default void contextAcquired(Class<?> entityClass, long nanos) {
+    }
+
+    /**
+     * @param xmlSchemaResourceUrl Schema name.
+     * @param nanos                Time of loading schema (from registry or compiled).
+     */
+    default void schemaLoaded(String xmlSchemaResourceUrl, long nanos) {
+    }
+
+    /**
+     * @param entityClass Class of unmarshalled entity (bound entity class or {@link Object} if failed and not known).
+     * @param nanos       Unmarshalling duration.
+     * @param bytesRead   Bytes read from input.
+     * @param succeeded   False if unmarshalling failed.
+     */
+    default void unmarshalled(Class<?> entityClass, long nanos, long bytesRead, boolean succeeded) {
+    }
+
+    /**
+     * @param entityClass  Class of marshalled entity.
+     * @param nanos        Marshalling duration.
+     * @param bytesWritten Bytes written to output.
+     * @param succeeded    False if marshalling failed.
+     */
+    default void marshalled(Class<?> entityClass, long nanos, long bytesWritten, boolean succeeded) {
+    }
+
+    /**
+     * Called only if there were validation events.
+     *
+     * @param operation   {@link Operation#UNMARSHALL} or {@link Operation#MARSHALL}.
+     * @param entityClass Entity class.
+     * @param warnings    Number of warnings.
+     * @param errors      Number of errors.
+     * @param fatalErrors Number of fatal errors.
+     */
+    default void validationEventsCollected(Operation operation, Class<?> entityClass, int warnings, int errors, int fatalErrors) {
+    }
+
+}
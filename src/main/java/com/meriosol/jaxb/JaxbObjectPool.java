@@ -0,0 +1,164 @@
+package com.meriosol.jaxb;
+
+import javax.xml.bind.JAXBException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of preconfigured JAXB objects (marshallers, unmarshallers etc), which are not thread-safe
+ * but are expensive enough to not create them per call.<br>
+ * NOTE1: Borrowed object is confined to borrowing thread until released.<br>
+ * NOTE2: No thread locals and no monitors are used, so pool is fine for virtual threads as well.
+ *
+ * @param <E> Pooled object type.
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+abstract class JaxbObjectPool<E> {
+    private final String name;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final Semaphore permits;
+    private final Queue<E> idleObjects = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed;
+
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong borrowWaitNanos = new AtomicLong();
+    private final AtomicLong maxBorrowWaitNanos = new AtomicLong();
+    private final AtomicLong borrowTimeoutCount = new AtomicLong();
+
+    /**
+     * @param name                Pool name (for diagnostics).
+     * @param maxSize             Max number of objects borrowed at the same time.
+     * @param borrowTimeoutMillis How long to wait for free object.
+     */
+    JaxbObjectPool(String name, int maxSize, long borrowTimeoutMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("[JU231657709] Pool size should be positive!");
+        }
+        if (borrowTimeoutMillis < 0) {
+            throw new IllegalArgumentException("[JU231657710] Pool borrow timeout should not be negative!");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.permits = new Semaphore(maxSize);
+    }
+
+    /**
+     * @return New fully configured object.
+     */
+    protected abstract E create() throws JAXBException;
+
+    /**
+     * Clears per-use state of object being returned to pool.
+     *
+     * @param pooledObject Object to reset.
+     */
+    protected void reset(E pooledObject) throws JAXBException {
+    }
+
+    /**
+     * @return Idle object or new one if there is no idle one. Caller must {@link #release} or {@link #invalidate} it.
+     * @throws JaxbRuntimeException if there was no free object in time or object can't be created.
+     */
+    E borrow() throws JaxbRuntimeException {
+        final long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = this.permits.tryAcquire(this.borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JaxbRuntimeException("[JU231657711] Interrupted while waiting for pooled object of '" + this.name + "'", e);
+        }
+        final long waitNanos = System.nanoTime() - start;
+        if (!acquired) {
+            this.borrowTimeoutCount.incrementAndGet();
+            throw new JaxbRuntimeException(String.format("[JU231657712] No free object in pool '%s' (size %d) after %d ms"
+                    , this.name, this.maxSize, this.borrowTimeoutMillis));
+        }
+        this.borrowCount.incrementAndGet();
+        this.borrowWaitNanos.addAndGet(waitNanos);
+        updateMaxBorrowWait(waitNanos);
+
+        E pooledObject = this.idleObjects.poll();
+        if (pooledObject == null) {
+            try {
+                pooledObject = create();
+                this.createdCount.incrementAndGet();
+            } catch (JAXBException e) {
+                this.permits.release();
+                throw new JaxbRuntimeException(
+                        String.format("[JU231657713] Error occurred while creating pooled object of '%s'. Message: %s"
+                                , this.name, e.getMessage()), e
+                );
+            } catch (RuntimeException e) {
+                this.permits.release();
+                throw e;
+            }
+        }
+        return pooledObject;
+    }
+
+    /**
+     * Returns borrowed object back into pool.
+     *
+     * @param pooledObject Object taken by {@link #borrow()}.
+     */
+    void release(E pooledObject) {
+        try {
+            reset(pooledObject);
+            if (!this.closed) {
+                this.idleObjects.offer(pooledObject);
+            }
+        } catch (JAXBException e) {
+            // Object is broken, just forget it
+        } finally {
+            this.permits.release();
+        }
+    }
+
+    /**
+     * Forgets borrowed object (e.g. it can be in inconsistent state after failure).
+     *
+     * @param pooledObject Object taken by {@link #borrow()}.
+     */
+    void invalidate(E pooledObject) {
+        this.permits.release();
+    }
+
+    /**
+     * Drops idle objects. Objects borrowed at the moment won't be returned to pool.
+     */
+    void close() {
+        this.closed = true;
+        this.idleObjects.clear();
+    }
+
+    /**
+     * @return Current pool statistics.
+     */
+    PoolStatistics getStatistics() {
+        final int idleCount = this.idleObjects.size();
+        return new PoolStatistics(this.maxSize, this.maxSize - this.permits.availablePermits(), idleCount
+                , this.createdCount.get(), this.borrowCount.get(), this.borrowWaitNanos.get()
+                , this.maxBorrowWaitNanos.get(), this.borrowTimeoutCount.get());
+    }
+
+    private void updateMaxBorrowWait(long waitNanos) {
+        long currentMax = this.maxBorrowWaitNanos.get();
+        while (waitNanos > currentMax && !this.maxBorrowWaitNanos.compareAndSet(currentMax, waitNanos)) {
+            currentMax = this.maxBorrowWaitNanos.get();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JaxbObjectPool{" + this.name + ", " + getStatistics() + "}";
+    }
+}
@@ -2,15 +2,17 @@ package com.meriosol.jaxb;
 
 import org.xml.sax.SAXException;
 
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlSchema;
+import javax.xml.namespace.QName;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
-import java.io.IOException;
+import java.beans.Introspector;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.logging.Logger;
 
 /**
  * Common utils used in a few classes of this package.<br>
@@ -22,27 +24,36 @@ import java.util.logging.Logger;
  */
 public class JaxbUtils {
     private static final Class<JaxbUtils> MODULE = JaxbUtils.class;
-    private static final Logger LOG = Logger.getLogger(MODULE.getName());
+    private static final String ANNOTATION_DEFAULT = "##default";
 
     private JaxbUtils() {
     }
 
     /**
+     * NOTE: Schema is compiled once and then taken from process-wide {@link XmlSchemaRegistry}.
+     *
      * @return XML schema object for validation
      */
     public static Schema loadXmlSchema(String xmlSchemaResourceUrlStr) {
+        return XmlSchemaRegistry.getInstance().getSchema(xmlSchemaResourceUrlStr);
+    }
+
+    /**
+     * Compiles schema without any caching. Prefer {@link #loadXmlSchema(String)}.
+     *
+     * @param xmlSchemaResourceUrl Schema location.
+     * @return XML schema object for validation
+     */
+    public static Schema compileXmlSchema(URL xmlSchemaResourceUrl) {
+        if (xmlSchemaResourceUrl == null) {
+            throw new IllegalArgumentException("[JU74527198] Schema URL should not be null!");
+        }
+        // NOTE: SchemaFactory is not thread-safe, while compiled Schema is.
         final SchemaFactory sfSchemaFactory = SchemaFactory
                 .newInstance(javax.xml.XMLConstants.W3C_XML_SCHEMA_NS_URI);
         if (sfSchemaFactory == null) {
             throw new IllegalArgumentException("[JU875673622] SchemaFactory should not be null!");
         }
-        if (xmlSchemaResourceUrlStr == null || "".equals(xmlSchemaResourceUrlStr)) {
-            throw new IllegalArgumentException("[JU19033223] XML schema URL should not be null or empty!");
-        }
-        final URL xmlSchemaResourceUrl = getResourceURL(xmlSchemaResourceUrlStr);
-        if (xmlSchemaResourceUrl == null) {
-            throw new IllegalArgumentException("[JU74527197] Schema URL is null for xml schema " + xmlSchemaResourceUrl);
-        }
         Schema schema = null;
         try {
             schema = sfSchemaFactory.newSchema(xmlSchemaResourceUrl);
@@ -53,35 +64,58 @@ public class JaxbUtils {
     }
 
     /**
+     * NOTE: Resource is looked up once and then taken from process-wide {@link ResourceCache}.
+     *
      * @param resourcePath
      * @return InputStream for <code>resourcePath</code>.
+     * @throws IllegalArgumentException if there is no such resource.
      */
     public static InputStream getResourceInputStream(String resourcePath) {
-        InputStream inputStream = null;
-        final URL url = getResourceURL(resourcePath);
-        if (url == null) {
-            LOG.warning("URL is null for resource " + resourcePath);
-        } else {
-            try {
-                inputStream = url.openStream();
-            } catch (IOException e) {
-                throw new JaxbRuntimeException("[JU68832239] ",e);
-            }
+        if (resourcePath == null) {
+            throw new IllegalArgumentException("[JU165035212] ResourcePath should not be null!");
         }
-
-        return inputStream;
+        return ResourceCache.getInstance().getResourceInputStream(resourcePath, MODULE.getClassLoader());
     }
 
     /**
+     * NOTE: Resource is looked up once and then taken from process-wide {@link ResourceCache}.
      *
      * @param resourcePath
-     * @return URL loaded using module class loader.
+     * @return URL loaded using module class loader (null if there is no such resource).
      */
     public static URL getResourceURL(String resourcePath) {
         if (resourcePath == null) {
             throw new IllegalArgumentException("[JU165035211] ResourcePath should not be null!");
         }
-        return MODULE.getClassLoader().getResource(resourcePath);
+        return ResourceCache.getInstance().getResourceURL(resourcePath, MODULE.getClassLoader());
+    }
+
+    /**
+     * Resolves XML element name of JAXB class the same way JAXB does for <code>XmlRootElement</code> defaults.
+     *
+     * @param entityClass Class annotated with <code>XmlRootElement</code>.
+     * @return Element name.
+     */
+    public static QName getXmlRootElementName(Class<?> entityClass) {
+        if (entityClass == null) {
+            throw new IllegalArgumentException("[JU209461873] Entity class should not be null!");
+        }
+        final XmlRootElement xmlRootElement = entityClass.getAnnotation(XmlRootElement.class);
+        if (xmlRootElement == null) {
+            throw new IllegalArgumentException("[JU209461874] Class '" + entityClass.getName()
+                    + "' is not annotated with XmlRootElement, element name should be given explicitly!");
+        }
+        String localName = xmlRootElement.name();
+        if (ANNOTATION_DEFAULT.equals(localName)) {
+            localName = Introspector.decapitalize(entityClass.getSimpleName());
+        }
+        String namespace = xmlRootElement.namespace();
+        if (ANNOTATION_DEFAULT.equals(namespace)) {
+            final Package entityPackage = entityClass.getPackage();
+            final XmlSchema xmlSchema = entityPackage == null ? null : entityPackage.getAnnotation(XmlSchema.class);
+            namespace = xmlSchema == null ? "" : xmlSchema.namespace();
+        }
+        return new QName(namespace, localName);
     }
 
     /**
@@ -0,0 +1,393 @@
+package com.meriosol.jaxb;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Startup warm-up: builds (in parallel) JAXB contexts and compiled XML schemas, so they are cached in
+ * {@link JaxbContextRegistry}/{@link XmlSchemaRegistry} before first request, and optionally runs synthetic
+ * marshall/unmarshall round trips to fill helper pools and let JIT compile (un-)marshalling code.<br>
+ * NOTE1: Warm-up doesn't throw on failed steps, they are reported (and logged), so startup can decide itself.<br>
+ * NOTE2: Default instances of root entity classes are round-tripped only if neither helper has XML schema
+ * (empty instances are rarely valid), otherwise only given sample entities are.
+ * Usage sample:
+ * <pre>
+ * JaxbWarmup.Report report = JaxbWarmup.builder().entityClasses(Sample.class).xmlSchemaResourceUrls("sample.xsd")
+ *         .roundTrips(200).helpers(sampleMarshallHelper, sampleUnmarshallHelper).build().run();
+ * </pre>
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class JaxbWarmup {
+    private static final Class<JaxbWarmup> MODULE = JaxbWarmup.class;
+    private static final Logger LOG = Logger.getLogger(MODULE.getName());
+
+    /**
+     * Kind of warm-up step.
+     */
+    public enum StepKind {
+        CONTEXT, SCHEMA, ROUND_TRIP
+    }
+
+    private final List<Class<?>> entityClasses;
+    private final List<String> xmlSchemaResourceUrls;
+    private final List<Object> sampleEntities;
+    private final int roundTrips;
+    private final MarshallHelper<Object> marshallHelper;
+    private final UnmarshallHelper<Object> unmarshallHelper;
+    private final Executor executor;
+
+    @SuppressWarnings("unchecked")
+    private JaxbWarmup(Builder builder) {
+        this.entityClasses = Collections.unmodifiableList(new ArrayList<>(builder.entityClasses));
+        this.xmlSchemaResourceUrls = Collections.unmodifiableList(new ArrayList<>(builder.xmlSchemaResourceUrls));
+        this.sampleEntities = Collections.unmodifiableList(new ArrayList<>(builder.sampleEntities));
+        this.roundTrips = builder.roundTrips;
+        this.marshallHelper = builder.marshallHelper == null ? new MarshallHelper<>()
+                : (MarshallHelper<Object>) builder.marshallHelper;
+        this.unmarshallHelper = builder.unmarshallHelper == null ? new UnmarshallHelper<>()
+                : (UnmarshallHelper<Object>) builder.unmarshallHelper;
+        this.executor = builder.executor == null ? AsyncSupport.getDefaultExecutor() : builder.executor;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builds contexts and schemas (all at once), then runs round trips (per entity class at once).
+     *
+     * @return Timings and errors of all steps.
+     * @throws JaxbRuntimeException if interrupted.
+     */
+    public Report run() throws JaxbRuntimeException {
+        final long start = System.nanoTime();
+        final List<Step> steps = new ArrayList<>();
+        final List<Step> loadSteps = new ArrayList<>();
+        for (Class<?> entityClass : this.entityClasses) {
+            loadSteps.add(new Step(StepKind.CONTEXT, entityClass.getName(), entityClass));
+        }
+        for (String xmlSchemaResourceUrl : this.xmlSchemaResourceUrls) {
+            loadSteps.add(new Step(StepKind.SCHEMA, xmlSchemaResourceUrl, xmlSchemaResourceUrl));
+        }
+        steps.addAll(runSteps(loadSteps));
+
+        if (this.roundTrips > 0) {
+            final List<Step> roundTripSteps = new ArrayList<>();
+            for (Object sampleEntity : resolveSampleEntities()) {
+                roundTripSteps.add(new Step(StepKind.ROUND_TRIP, sampleEntity.getClass().getName(), sampleEntity));
+            }
+            steps.addAll(runSteps(roundTripSteps));
+        }
+
+        final Report report = new Report(steps, System.nanoTime() - start);
+        if (report.hasFailures()) {
+            if (LOG.isLoggable(Level.WARNING)) {
+                LOG.warning("JAXB warm-up has failed steps: " + report);
+            }
+        } else if (LOG.isLoggable(Level.INFO)) {
+            LOG.info("JAXB warm-up is done: " + report);
+        }
+        return report;
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    private List<Step> runSteps(List<Step> steps) {
+        final BatchResult<Step, Long> result = new BatchRunner<>(new BatchRunner.ItemTask<Step, Long>() {
+            @Override
+            public Long process(Step step) {
+                final long stepStart = System.nanoTime();
+                runStep(step);
+                return System.nanoTime() - stepStart;
+            }
+
+            @Override
+            public long getSize(Step step) {
+                return 0L;
+            }
+        }, this.executor, Math.max(1, steps.size())).run(steps);
+        final List<Step> doneSteps = new ArrayList<>(steps.size());
+        for (BatchResult.Item<Step, Long> item : result.getItems()) {
+            doneSteps.add(item.getSource().done(item.isFailed() ? 0L : item.getResult(), item.getError()));
+        }
+        return doneSteps;
+    }
+
+    private void runStep(Step step) {
+        switch (step.kind) {
+            case CONTEXT:
+                JaxbContextRegistry.getInstance().getContext((Class<?>) step.subject);
+                break;
+            case SCHEMA:
+                XmlSchemaRegistry.getInstance().getSchema((String) step.subject);
+                break;
+            default:
+                final Object entity = step.subject;
+                final JAXBContext entityJaxbContext = this.marshallHelper.resolveJAXBContext(entity.getClass());
+                for (int i = 0; i < this.roundTrips; i++) {
+                    try (XmlBuffer xmlBuffer = this.marshallHelper.marshallToBuffer(entityJaxbContext, entity)) {
+                        this.unmarshallHelper.unmarshall(xmlBuffer.asByteBuffer(), entityJaxbContext);
+                    }
+                }
+        }
+    }
+
+    /**
+     * @return Given sample entities plus default instances of root entity classes without samples
+     * (if helpers don't validate).
+     */
+    private List<Object> resolveSampleEntities() {
+        final List<Object> entities = new ArrayList<>(this.sampleEntities);
+        if (this.marshallHelper.getXmlSchemaResourceUrl() != null
+                || this.unmarshallHelper.getXmlSchemaResourceUrl() != null) {
+            LOG.fine("No round trips of default instances, helpers validate by XML schema");
+            return entities;
+        }
+        final Set<Class<?>> sampledClasses = new LinkedHashSet<>();
+        for (Object sampleEntity : this.sampleEntities) {
+            sampledClasses.add(sampleEntity.getClass());
+        }
+        for (Class<?> entityClass : this.entityClasses) {
+            if (!sampledClasses.contains(entityClass) && entityClass.isAnnotationPresent(XmlRootElement.class)) {
+                try {
+                    entities.add(entityClass.getDeclaredConstructor().newInstance());
+                } catch (ReflectiveOperationException e) {
+                    LOG.fine("No round trip for class without default constructor: " + entityClass.getName());
+                }
+            }
+        }
+        return entities;
+    }
+
+    //---------------------------------------
+    // Report:
+
+    /**
+     * Single warm-up step: what was done, how long it took and how it ended.
+     */
+    public static final class Step {
+        private final StepKind kind;
+        private final String name;
+        private final Object subject;
+        private final long elapsedNanos;
+        private final RuntimeException error;
+
+        private Step(StepKind kind, String name, Object subject) {
+            this(kind, name, subject, 0L, null);
+        }
+
+        private Step(StepKind kind, String name, Object subject, long elapsedNanos, RuntimeException error) {
+            this.kind = kind;
+            this.name = name;
+            this.subject = subject;
+            this.elapsedNanos = elapsedNanos;
+            this.error = error;
+        }
+
+        private Step done(long stepElapsedNanos, RuntimeException stepError) {
+            return new Step(this.kind, this.name, this.subject, stepElapsedNanos, stepError);
+        }
+
+        public StepKind getKind() {
+            return kind;
+        }
+
+        /**
+         * @return Entity class name or schema URL.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return Step duration, nanoseconds (0 for failed step).
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return Error or null for successful step.
+         */
+        public RuntimeException getError() {
+            return error;
+        }
+
+        public boolean isFailed() {
+            return error != null;
+        }
+
+        @Override
+        public String toString() {
+            return this.kind + " " + this.name + (this.error == null ? ": " + this.elapsedNanos / 1000000L + " ms"
+                    : ": error=" + this.error.getMessage());
+        }
+    }
+
+    /**
+     * Outcome of warm-up.
+     */
+    public static final class Report {
+        private final List<Step> steps;
+        private final long elapsedNanos;
+
+        private Report(List<Step> steps, long elapsedNanos) {
+            this.steps = Collections.unmodifiableList(steps);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return Steps in run order: contexts, schemas, round trips.
+         */
+        public List<Step> getSteps() {
+            return steps;
+        }
+
+        /**
+         * @param kind Step kind.
+         * @return Steps of given kind.
+         */
+        public List<Step> getSteps(StepKind kind) {
+            final List<Step> kindSteps = new ArrayList<>();
+            for (Step step : this.steps) {
+                if (step.kind == kind) {
+                    kindSteps.add(step);
+                }
+            }
+            return kindSteps;
+        }
+
+        /**
+         * @return Failed steps.
+         */
+        public List<Step> getFailures() {
+            final List<Step> failures = new ArrayList<>();
+            for (Step step : this.steps) {
+                if (step.isFailed()) {
+                    failures.add(step);
+                }
+            }
+            return failures;
+        }
+
+        public boolean hasFailures() {
+            return !getFailures().isEmpty();
+        }
+
+        /**
+         * @return Wall clock time of the whole warm-up, nanoseconds.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Report{elapsedMs=" + this.elapsedNanos / 1000000L + ", steps=" + this.steps + "}";
+        }
+    }
+
+    //---------------------------------------
+    // Builder:
+
+    public static final class Builder {
+        private final List<Class<?>> entityClasses = new ArrayList<>();
+        private final List<String> xmlSchemaResourceUrls = new ArrayList<>();
+        private final List<Object> sampleEntities = new ArrayList<>();
+        private int roundTrips;
+        private MarshallHelper<?> marshallHelper;
+        private UnmarshallHelper<?> unmarshallHelper;
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        /**
+         * @param entityClasses JAXB classes to build contexts of.
+         * @return this builder
+         */
+        public Builder entityClasses(Class<?>... entityClasses) {
+            if (entityClasses == null || Arrays.asList(entityClasses).contains(null)) {
+                throw new IllegalArgumentException("[JU620845301] Warm-up entity classes should not be null!");
+            }
+            this.entityClasses.addAll(Arrays.asList(entityClasses));
+            return this;
+        }
+
+        /**
+         * @param xmlSchemaResourceUrls Schemas to compile (class path resources, see {@link JaxbUtils#loadXmlSchema(String)}).
+         * @return this builder
+         */
+        public Builder xmlSchemaResourceUrls(String... xmlSchemaResourceUrls) {
+            if (xmlSchemaResourceUrls == null || Arrays.asList(xmlSchemaResourceUrls).contains(null)) {
+                throw new IllegalArgumentException("[JU620845302] Warm-up schema URLs should not be null!");
+            }
+            this.xmlSchemaResourceUrls.addAll(Arrays.asList(xmlSchemaResourceUrls));
+            return this;
+        }
+
+        /**
+         * @param roundTrips Number of marshall/unmarshall round trips per entity class (0 - none, default).
+         * @return this builder
+         */
+        public Builder roundTrips(int roundTrips) {
+            if (roundTrips < 0) {
+                throw new IllegalArgumentException("[JU620845303] Number of warm-up round trips should not be negative!");
+            }
+            this.roundTrips = roundTrips;
+            return this;
+        }
+
+        /**
+         * @param sampleEntities Entities of round trips (realistic ones warm up more code). Root entity classes without
+         *                       samples are round-tripped as new instances made by default constructor, unless
+         *                       helpers have XML schema (such instances would fail validation).
+         * @return this builder
+         */
+        public Builder sampleEntities(Object... sampleEntities) {
+            if (sampleEntities == null || Arrays.asList(sampleEntities).contains(null)) {
+                throw new IllegalArgumentException("[JU620845304] Warm-up sample entities should not be null!");
+            }
+            this.sampleEntities.addAll(Arrays.asList(sampleEntities));
+            return this;
+        }
+
+        /**
+         * @param marshallHelper   Helper of round trips (application one, so its pools are filled). New default one if null.
+         * @param unmarshallHelper Helper of round trips. New default one if null.
+         * @return this builder
+         */
+        public Builder helpers(MarshallHelper<?> marshallHelper, UnmarshallHelper<?> unmarshallHelper) {
+            this.marshallHelper = marshallHelper;
+            this.unmarshallHelper = unmarshallHelper;
+            return this;
+        }
+
+        /**
+         * @param executor Executor to run steps on. If null, default async executor (daemon or virtual threads) is used.
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public JaxbWarmup build() {
+            return new JaxbWarmup(this);
+        }
+    }
+
+}
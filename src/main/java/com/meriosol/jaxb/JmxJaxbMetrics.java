@@ -0,0 +1,91 @@
+package com.meriosol.jaxb;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Publishes {@link InMemoryJaxbMetrics} statistics as MXBeans named
+ * <code>{domain}:type=JaxbMetrics,operation={operation},name={entity class}</code>.
+ * NOTE: Close metrics to unregister its MBeans (e.g. on application undeploy).
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class JmxJaxbMetrics extends InMemoryJaxbMetrics implements Closeable {
+    private static final Class<JmxJaxbMetrics> MODULE = JmxJaxbMetrics.class;
+    private static final Logger LOG = Logger.getLogger(MODULE.getName());
+    public static final String DEFAULT_DOMAIN = "com.meriosol.jaxb";
+
+    private final MBeanServer mBeanServer;
+    private final String domain;
+    private final Set<ObjectName> registeredNames = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Publishes into platform MBean server under {@value #DEFAULT_DOMAIN} domain.
+     */
+    public JmxJaxbMetrics() {
+        this(ManagementFactory.getPlatformMBeanServer(), DEFAULT_DOMAIN);
+    }
+
+    /**
+     * @param mBeanServer MBean server.
+     * @param domain      Domain of MBean names (e.g. to separate applications).
+     */
+    public JmxJaxbMetrics(MBeanServer mBeanServer, String domain) {
+        if (mBeanServer == null || domain == null || domain.isEmpty()) {
+            throw new IllegalArgumentException("[JU730584221] MBean server and domain should not be null or empty!");
+        }
+        this.mBeanServer = mBeanServer;
+        this.domain = domain;
+    }
+
+    /**
+     * @param statistics Statistics.
+     * @return Name of MBean of <code>statistics</code>.
+     */
+    public ObjectName getObjectName(OperationStatistics statistics) throws JMException {
+        return new ObjectName(this.domain + ":type=JaxbMetrics,operation=" + statistics.getOperation()
+                + ",name=" + ObjectName.quote(statistics.getName()));
+    }
+
+    @Override
+    protected void onStatisticsCreated(OperationStatistics statistics) {
+        try {
+            final ObjectName objectName = getObjectName(statistics);
+            this.mBeanServer.registerMBean(statistics, objectName);
+            this.registeredNames.add(objectName);
+        } catch (JMException e) {
+            // Metrics should never break (un-)marshalling
+            LOG.warning(String.format("[JU730584222] Can't register MBean of %s. Message: %s", statistics, e.getMessage()));
+        }
+    }
+
+    /**
+     * Unregisters all MBeans (statistics are kept).
+     */
+    @Override
+    public void close() {
+        for (ObjectName objectName : this.registeredNames) {
+            try {
+                this.mBeanServer.unregisterMBean(objectName);
+            } catch (JMException e) {
+                LOG.warning(String.format("[JU730584223] Can't unregister MBean '%s'. Message: %s", objectName, e.getMessage()));
+            }
+            this.registeredNames.remove(objectName);
+        }
+    }
+
+    @Override
+    public void clear() {
+        close();
+        super.clear();
+    }
+
+}
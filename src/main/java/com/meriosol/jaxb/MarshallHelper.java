@@ -1,12 +1,20 @@
 package com.meriosol.jaxb;
 
 import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
+import javax.xml.namespace.QName;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -22,8 +30,12 @@ public class MarshallHelper<T> extends MarshallingHelperBase {
     private static final Class<MarshallHelper> MODULE = MarshallHelper.class;
     private static final Logger LOG = Logger.getLogger(MODULE.getName());
 
-    private String xmlSchemaNameSpace;
-    private boolean formattedOutput;
+    private volatile String xmlSchemaNameSpace;
+    private volatile boolean formattedOutput;
+    private volatile XmlCompression compression = XmlCompression.NONE;
+    private volatile int compressionLevel = XmlCompression.DEFAULT_LEVEL;
+    private final ConcurrentMap<JAXBContext, JaxbObjectPool<Marshaller>> marshallerPools = new ConcurrentHashMap<>();
+    private final ConcurrentMap<JAXBContext, JaxbObjectPool<Marshaller>> fragmentMarshallerPools = new ConcurrentHashMap<>();
 
     public MarshallHelper() {
         super();
@@ -60,6 +72,29 @@ public class MarshallHelper<T> extends MarshallingHelperBase {
         this.xmlSchemaNameSpace = xmlSchemaNameSpace;
     }
 
+    private MarshallHelper(Builder<T> builder) {
+        super(builder);
+        this.formattedOutput = builder.formattedOutput;
+        this.xmlSchemaNameSpace = builder.xmlSchemaNameSpace;
+        this.compression = builder.compression;
+        this.compressionLevel = builder.compressionLevel;
+    }
+
+    /**
+     * Usage sample:
+     * <pre>
+     * MarshallHelper&lt;Sample&gt; helper = MarshallHelper.builder(Sample.class)
+     *         .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd").formattedOutput(true).build();
+     * </pre>
+     *
+     * @param entityClass Class of entities to marshall.
+     * @param <T>         Entity type.
+     * @return Builder of immutable helper which is safe to be shared between threads.
+     */
+    public static <T> Builder<T> builder(Class<T> entityClass) {
+        return new Builder<>(entityClass);
+    }
+
     /**
      * @param filePath
      * @param entity
@@ -70,7 +105,7 @@ public class MarshallHelper<T> extends MarshallingHelperBase {
         if (entity == null) {
             throw new IllegalArgumentException("[JU492934122] Entity marshalling should not be null!");
         }
-        marshall(filePath, getJAXBContext(entity.getClass()), entity);
+        marshall(filePath, resolveJAXBContext(entity.getClass()), entity);
     }
 
     /**
@@ -84,7 +119,21 @@ public class MarshallHelper<T> extends MarshallingHelperBase {
             throw new IllegalArgumentException("[JU841231130] Entity marshalling should not be null!");
         }
 
-        marshall(file, getJAXBContext(entity.getClass()), entity);
+        marshall(file, resolveJAXBContext(entity.getClass()), entity);
+    }
+
+    /**
+     * @param file
+     * @param entity
+     * @param compression File compression ({@link XmlCompression#AUTO} - by file extension).
+     * @throws JaxbRuntimeException
+     */
+    public void marshall(File file, T entity, XmlCompression compression)
+            throws JaxbRuntimeException {
+        if (entity == null) {
+            throw new IllegalArgumentException("[JU841231131] Entity marshalling should not be null!");
+        }
+        marshall(file, resolveJAXBContext(entity.getClass()), entity, compression, this.compressionLevel);
     }
 
     /**
@@ -109,6 +158,19 @@ public class MarshallHelper<T> extends MarshallingHelperBase {
      */
     public void marshall(File file, JAXBContext entityJaxbContext, T entity)
             throws JaxbRuntimeException {
+        marshall(file, entityJaxbContext, entity, this.compression, this.compressionLevel);
+    }
+
+    /**
+     * @param file
+     * @param entityJaxbContext
+     * @param entity
+     * @param compression       File compression ({@link XmlCompression#AUTO} - by file extension).
+     * @param compressionLevel  Compression level: 0-9 or {@link XmlCompression#DEFAULT_LEVEL}.
+     * @throws JaxbRuntimeException
+     */
+    public void marshall(File file, JAXBContext entityJaxbContext, T entity, XmlCompression compression, int compressionLevel)
+            throws JaxbRuntimeException {
         if (file == null) {
             throw new IllegalArgumentException("[JU72932651] File for entity marshalling should not be null!");
         }
@@ -118,11 +180,15 @@ public class MarshallHelper<T> extends MarshallingHelperBase {
         if (entity == null) {
             throw new IllegalArgumentException("[JU68468773] Entity for marshalling should not be null!");
         }
-        try {
-            marshall(new FileOutputStream(file), entityJaxbContext, entity);
-        } catch (FileNotFoundException e) {
+        if (compression == null) {
+            throw new IllegalArgumentException("[JU730412668] Compression of file for marshalling should not be null!");
+        }
+        XmlCompression.checkLevel(compressionLevel);
+        try (OutputStream outputStream = XmlFiles.newOutputStream(file, compression, compressionLevel)) {
+            marshall(outputStream, entityJaxbContext, entity);
+        } catch (IOException e) {
             throw new JaxbRuntimeException(
-                    String.format("FileNotFoundException error occurred while marshall entity of class '%s' into file '%s'. Message: %s"
+                    String.format("[JU68468774] IOException error occurred while marshall entity of class '%s' into file '%s'. Message: %s"
                             , entity.getClass().getName(), file.getAbsolutePath(), e.getMessage()), e
             );
         }
@@ -131,7 +197,7 @@ public class MarshallHelper<T> extends MarshallingHelperBase {
     /**
      * @param outputStream
      * @param entityJaxbContext
-     * @throws FileNotFoundException
+     * @throws JaxbRuntimeException
      */
     public void marshall(OutputStream outputStream, JAXBContext entityJaxbContext, T entity)
             throws JaxbRuntimeException {
@@ -145,43 +211,451 @@ public class MarshallHelper<T> extends MarshallingHelperBase {
             throw new IllegalArgumentException("[JU312936345] Entity for marshalling should not be null!");
         }
 
-        final Marshaller marshaller;
+        final JaxbMetrics metrics = getMetrics();
+        final long start = metrics.isEnabled() ? System.nanoTime() : 0L;
+        final CountingOutputStream countingOutputStream = metrics.isEnabled() ? new CountingOutputStream(outputStream) : null;
+        boolean succeeded = false;
+        final JaxbObjectPool<Marshaller> marshallerPool = getMarshallerPool(entityJaxbContext);
+        final Marshaller marshaller = marshallerPool.borrow();
+        boolean marshallerReusable = false;
+        CollectingValidationEventHandler eventHandler = null;
         try {
-            marshaller = entityJaxbContext.createMarshaller();
-            final CollectingValidationEventHandler eventHandler = new CollectingValidationEventHandler();
-            marshaller.setEventHandler(eventHandler);
+            eventHandler = (CollectingValidationEventHandler) marshaller.getEventHandler();
+            marshaller.marshal(entity, countingOutputStream == null ? outputStream : countingOutputStream);
+            marshallerReusable = true;
 
-            if (!isValidationErrorTolerant()) {
-                loadXmlSchema();
-                marshaller.setSchema(getXmlSchema());
+            // Validate marshall
+            handleValidationEvents(eventHandler);
+            succeeded = true;
+        } catch (JAXBException e) {
+            final JaxbRuntimeException validationAbortedException = toValidationAbortedException(eventHandler, e);
+            if (validationAbortedException != null) {
+                throw validationAbortedException;
             }
+            throw new JaxbRuntimeException(
+                    String.format("[JU42523482] Error occurred while marshalling entity of class '%s'. Message: %s"
+                            , entity.getClass().getName(), e.getMessage()), e
+            );
 
-            // TODO: add schema validation..
-            if (this.xmlSchemaNameSpace != null && getXmlSchemaResourceUrl() != null) {
-                marshaller.setProperty(Marshaller.JAXB_SCHEMA_LOCATION, this.xmlSchemaNameSpace + " "
-                        + getXmlSchemaResourceUrl());
+        } finally {
+            if (countingOutputStream != null) {
+                if (eventHandler != null) {
+                    recordValidationEvents(JaxbMetrics.Operation.MARSHALL, entity.getClass(), eventHandler);
+                }
+                metrics.marshalled(entity.getClass(), System.nanoTime() - start, countingOutputStream.getCount(), succeeded);
             }
+            if (marshallerReusable) {
+                marshallerPool.release(marshaller);
+            } else {
+                marshallerPool.invalidate(marshaller);
+            }
+        }
 
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, this.formattedOutput);
-            marshaller.marshal(entity, outputStream);
+    }
 
-            // Validate marshall
-            final String marshallCombinedEventsMessage = eventHandler.getCombinedEventsMessage();
-            if (!"".equals(marshallCombinedEventsMessage)) {
-                if (isValidationErrorTolerant()) {
-                    LOG.warning("There are warns/errors while marshalling: [[ " + marshallCombinedEventsMessage + " ]]");
-                } else {
-                    throw new JaxbRuntimeException("[JU932763254] " + marshallCombinedEventsMessage);
+    /**
+     * Marshalls entity into pooled in-memory buffer.
+     * NOTE: Returned buffer should be closed once its content is consumed, so it can be reused.
+     *
+     * @param entity
+     * @return Buffer with XML document.
+     * @throws JaxbRuntimeException
+     */
+    public XmlBuffer marshallToBuffer(T entity)
+            throws JaxbRuntimeException {
+        if (entity == null) {
+            throw new IllegalArgumentException("[JU312936346] Entity for marshalling should not be null!");
+        }
+        return marshallToBuffer(resolveJAXBContext(entity.getClass()), entity);
+    }
+
+    /**
+     * Marshalls entity into pooled in-memory buffer.
+     * NOTE: Returned buffer should be closed once its content is consumed, so it can be reused.
+     *
+     * @param entityJaxbContext
+     * @param entity
+     * @return Buffer with XML document.
+     * @throws JaxbRuntimeException
+     */
+    public XmlBuffer marshallToBuffer(JAXBContext entityJaxbContext, T entity)
+            throws JaxbRuntimeException {
+        final XmlBuffer xmlBuffer = XmlBuffer.acquire();
+        boolean marshalled = false;
+        try {
+            marshall(xmlBuffer, entityJaxbContext, entity);
+            marshalled = true;
+            return xmlBuffer;
+        } finally {
+            if (!marshalled) {
+                xmlBuffer.close();
+            }
+        }
+    }
+
+    /**
+     * Opens XML document for many records: only one record is marshalled (and kept in memory) at a time.
+     * NOTE: Returned writer should be closed, it writes document end and closes <code>outputStream</code>.
+     *
+     * @param outputStream    Target stream.
+     * @param recordClass     Record JAXB class.
+     * @param rootElementName Name of root element records are written into.
+     * @return Records writer.
+     * @throws JaxbRuntimeException
+     */
+    public XmlRecordWriter<T> marshallStreaming(OutputStream outputStream, Class<T> recordClass, QName rootElementName)
+            throws JaxbRuntimeException {
+        if (outputStream == null) {
+            throw new IllegalArgumentException("[JU358013498] OutputStream for records marshalling should not be null!");
+        }
+        if (recordClass == null) {
+            throw new IllegalArgumentException("[JU358013499] Record class for marshalling should not be null!");
+        }
+        if (rootElementName == null) {
+            throw new IllegalArgumentException("[JU358013500] Root element name for records marshalling should not be null!");
+        }
+        return new XmlRecordWriter<>(this, getFragmentMarshallerPool(resolveJAXBContext(recordClass)), outputStream
+                , rootElementName, getSchemaLocation());
+    }
+
+    /**
+     * @param file            Target file.
+     * @param recordClass     Record JAXB class.
+     * @param rootElementName Name of root element records are written into.
+     * @return Records writer (should be closed).
+     * @throws JaxbRuntimeException
+     * @see #marshallStreaming(OutputStream, Class, QName)
+     */
+    public XmlRecordWriter<T> marshallStreaming(File file, Class<T> recordClass, QName rootElementName)
+            throws JaxbRuntimeException {
+        if (file == null) {
+            throw new IllegalArgumentException("[JU358013501] File for records marshalling should not be null!");
+        }
+        final OutputStream outputStream;
+        try {
+            outputStream = openFile(file);
+        } catch (IOException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU358013502] IOException error occurred while marshalling records into file '%s'. Message: %s"
+                            , file.getAbsolutePath(), e.getMessage()), e
+            );
+        }
+        try {
+            return marshallStreaming(outputStream, recordClass, rootElementName);
+        } catch (RuntimeException e) {
+            XmlFiles.closeQuietly(outputStream);
+            throw e;
+        }
+    }
+
+    /**
+     * Marshalls many entities into their files on <code>executor</code> reusing JAXB contexts and pooled marshallers.
+     * Not more than {@value BatchRunner#DEFAULT_MAX_OPEN_FILES} files are open at the same time.
+     *
+     * @param entitiesByFile Entities to marshall by target file.
+     * @param executor       Executor to run on. If null, entities are marshalled in caller thread.
+     * @return Per-file errors and throughput.
+     * @throws JaxbRuntimeException if interrupted.
+     */
+    public BatchResult<File, Void> marshallFiles(Map<File, ? extends T> entitiesByFile, Executor executor)
+            throws JaxbRuntimeException {
+        return marshallFiles(entitiesByFile, executor, BatchRunner.DEFAULT_MAX_OPEN_FILES);
+    }
+
+    /**
+     * @param entitiesByFile Entities to marshall by target file.
+     * @param executor       Executor to run on. If null, entities are marshalled in caller thread.
+     * @param maxOpenFiles   Max number of files open (and marshalled) at the same time.
+     * @return Per-file errors and throughput.
+     * @throws JaxbRuntimeException if interrupted.
+     * @see #marshallFiles(Map, Executor)
+     */
+    public BatchResult<File, Void> marshallFiles(final Map<File, ? extends T> entitiesByFile, Executor executor
+            , int maxOpenFiles) throws JaxbRuntimeException {
+        if (entitiesByFile == null) {
+            throw new IllegalArgumentException("[JU487302624] Entities for batch marshalling should not be null!");
+        }
+        return new BatchRunner<>(new BatchRunner.ItemTask<File, Void>() {
+            @Override
+            public Void process(File file) {
+                final T entity = entitiesByFile.get(file);
+                if (entity == null) {
+                    throw new IllegalArgumentException("[JU487302625] Entity for marshalling should not be null!");
+                }
+                try (OutputStream outputStream = openFile(file)) {
+                    marshall(outputStream, resolveJAXBContext(entity.getClass()), entity);
+                } catch (IOException e) {
+                    throw new JaxbRuntimeException(
+                            String.format("[JU487302626] IOException error occurred while marshall entity of class '%s' into file '%s'. Message: %s"
+                                    , entity.getClass().getName(), file.getAbsolutePath(), e.getMessage()), e
+                    );
                 }
+                return null;
+            }
+
+            @Override
+            public long getSize(File file) {
+                return file.length();
             }
+        }, executor, maxOpenFiles).run(entitiesByFile.keySet());
+    }
+
+    /**
+     * Marshalls many entities into their streams on <code>executor</code> reusing JAXB contexts and pooled marshallers.
+     * NOTE: Every stream is closed once entity is marshalled.
+     *
+     * @param entitiesByStream Entities to marshall by target stream.
+     * @param executor         Executor to run on. If null, entities are marshalled in caller thread.
+     * @return Per-stream errors and throughput.
+     * @throws JaxbRuntimeException if interrupted.
+     */
+    public BatchResult<OutputStream, Void> marshallStreams(final Map<? extends OutputStream, ? extends T> entitiesByStream
+            , Executor executor) throws JaxbRuntimeException {
+        if (entitiesByStream == null) {
+            throw new IllegalArgumentException("[JU487302627] Entities for batch marshalling should not be null!");
+        }
+        return new BatchRunner<>(new BatchRunner.ItemTask<OutputStream, Void>() {
+            @Override
+            public Void process(OutputStream outputStream) {
+                final T entity = entitiesByStream.get(outputStream);
+                if (entity == null) {
+                    throw new IllegalArgumentException("[JU487302628] Entity for marshalling should not be null!");
+                }
+                try (OutputStream closedOutputStream = outputStream) {
+                    marshall(closedOutputStream, resolveJAXBContext(entity.getClass()), entity);
+                } catch (IOException e) {
+                    throw new JaxbRuntimeException("[JU487302629] IOException error occurred while closing stream: "
+                            + e.getMessage(), e);
+                }
+                return null;
+            }
+
+            @Override
+            public long getSize(OutputStream outputStream) {
+                return 0L;
+            }
+        }, executor, BatchRunner.DEFAULT_MAX_OPEN_FILES).run(entitiesByStream.keySet());
+    }
+
+    /**
+     * Marshalls entity into file on async executor (see {@link #setAsyncExecutor(Executor)}), caller thread is not blocked.
+     *
+     * @param file   File to marshall into.
+     * @param entity Entity to marshall.
+     * @return Future completed once file is written. It's completed with {@link JaxbRuntimeException} on error,
+     * its cancellation interrupts marshalling.
+     */
+    public CompletableFuture<Void> marshallAsync(final File file, final T entity) {
+        if (file == null) {
+            throw new IllegalArgumentException("[JU129750480] File for entity marshalling should not be null!");
+        }
+        if (entity == null) {
+            throw new IllegalArgumentException("[JU129750481] Entity for marshalling should not be null!");
+        }
+        return supplyAsync(() -> {
+            marshall(file, entity);
+            return null;
+        });
+    }
+
+    /**
+     * @param file    File to marshall into.
+     * @param entity  Entity to marshall.
+     * @param timeout Max marshalling time.
+     * @param unit    Time unit of <code>timeout</code>.
+     * @return Future completed once file is written. Unless it's done in time, it's completed with {@link JaxbRuntimeException}
+     * caused by {@link java.util.concurrent.TimeoutException} and marshalling is interrupted.
+     * @see #marshallAsync(File, Object)
+     */
+    public CompletableFuture<Void> marshallAsync(File file, T entity, long timeout, TimeUnit unit) {
+        return AsyncSupport.withTimeout(marshallAsync(file, entity), timeout, unit);
+    }
+
+    /**
+     * NOTE: Stream is not closed.
+     *
+     * @param outputStream Stream to marshall into.
+     * @param entity       Entity to marshall.
+     * @return Future completed once entity is written.
+     * @see #marshallAsync(File, Object)
+     */
+    public CompletableFuture<Void> marshallAsync(final OutputStream outputStream, final T entity) {
+        if (outputStream == null) {
+            throw new IllegalArgumentException("[JU129750482] OutputStream for entity marshalling should not be null!");
+        }
+        if (entity == null) {
+            throw new IllegalArgumentException("[JU129750483] Entity for marshalling should not be null!");
+        }
+        return supplyAsync(() -> {
+            marshall(outputStream, resolveJAXBContext(entity.getClass()), entity);
+            return null;
+        });
+    }
+
+    /**
+     * @return Statistics of marshaller pools of this helper (summed over all used JAXB contexts).
+     */
+    public PoolStatistics getPoolStatistics() {
+        PoolStatistics statistics = PoolStatistics.empty();
+        for (JaxbObjectPool<Marshaller> marshallerPool : this.marshallerPools.values()) {
+            statistics = statistics.plus(marshallerPool.getStatistics());
+        }
+        for (JaxbObjectPool<Marshaller> marshallerPool : this.fragmentMarshallerPools.values()) {
+            statistics = statistics.plus(marshallerPool.getStatistics());
+        }
+        return statistics;
+    }
+
+    @Override
+    protected void onConfigurationChanged() {
+        for (JaxbObjectPool<Marshaller> marshallerPool : this.marshallerPools.values()) {
+            marshallerPool.close();
+        }
+        this.marshallerPools.clear();
+        for (JaxbObjectPool<Marshaller> marshallerPool : this.fragmentMarshallerPools.values()) {
+            marshallerPool.close();
+        }
+        this.fragmentMarshallerPools.clear();
+    }
+
+    /**
+     * Logs (if tolerant) or throws collected validation events.
+     *
+     * @param eventHandler Handler of just finished marshalling.
+     * @throws JaxbRuntimeException if there are events and helper is not tolerant to validation errors.
+     */
+    void handleValidationEvents(CollectingValidationEventHandler eventHandler) throws JaxbRuntimeException {
+        // Success path: nothing is built
+        if (eventHandler.hasEvents()) {
+            if (isValidationErrorTolerant()) {
+                if (LOG.isLoggable(Level.WARNING)) {
+                    LOG.warning("There are warns/errors while marshalling: [[ " + eventHandler.getCombinedEventsMessage() + " ]]");
+                }
+            } else {
+                throw new JaxbRuntimeException("[JU932763254] " + eventHandler.getCombinedEventsMessage());
+            }
+        }
+    }
+
+    /**
+     * Marshalls entity as document fragment (no XML declaration and schema location), e.g. into spliced document.
+     *
+     * @param outputStream Target stream (not closed).
+     * @param entity       Root entity or <code>JAXBElement</code>.
+     * @throws JaxbRuntimeException
+     */
+    void marshallFragment(OutputStream outputStream, Object entity) throws JaxbRuntimeException {
+        final Class<?> entityClass = entity instanceof JAXBElement ? ((JAXBElement<?>) entity).getDeclaredType() : entity.getClass();
+        final JaxbObjectPool<Marshaller> marshallerPool = getFragmentMarshallerPool(resolveJAXBContext(entityClass));
+        final Marshaller marshaller = marshallerPool.borrow();
+        boolean marshallerReusable = false;
+        CollectingValidationEventHandler eventHandler = null;
+        try {
+            eventHandler = (CollectingValidationEventHandler) marshaller.getEventHandler();
+            marshaller.marshal(entity, outputStream);
+            marshallerReusable = true;
+            handleValidationEvents(eventHandler);
         } catch (JAXBException e) {
+            final JaxbRuntimeException validationAbortedException = toValidationAbortedException(eventHandler, e);
+            if (validationAbortedException != null) {
+                throw validationAbortedException;
+            }
             throw new JaxbRuntimeException(
-                    String.format("[JU42523482] Error occurred while marshalling entity of class '%s'. Message: %s"
-                            , entity.getClass().getName(), e.getMessage()), e
+                    String.format("[JU42523483] Error occurred while marshalling fragment of class '%s'. Message: %s"
+                            , entityClass.getName(), e.getMessage()), e
             );
+        } finally {
+            if (marshallerReusable) {
+                marshallerPool.release(marshaller);
+            } else {
+                marshallerPool.invalidate(marshaller);
+            }
+        }
+    }
+
+    /**
+     * @return Value of schemaLocation attribute or null if namespace or schema URL is not set.
+     */
+    String getSchemaLocation() {
+        final String xmlSchemaResourceUrl = getXmlSchemaResourceUrl();
+        if (this.xmlSchemaNameSpace != null && xmlSchemaResourceUrl != null) {
+            return this.xmlSchemaNameSpace + " " + xmlSchemaResourceUrl;
+        }
+        return null;
+    }
+
+    /**
+     * @param entityJaxbContext
+     * @return Pool of marshallers preconfigured with current helper settings.
+     */
+    JaxbObjectPool<Marshaller> getMarshallerPool(JAXBContext entityJaxbContext) {
+        return getMarshallerPool(this.marshallerPools, entityJaxbContext, false);
+    }
+
+    /**
+     * @param entityJaxbContext
+     * @return Pool of marshallers writing document fragments (no document start and schema location).
+     */
+    JaxbObjectPool<Marshaller> getFragmentMarshallerPool(JAXBContext entityJaxbContext) {
+        return getMarshallerPool(this.fragmentMarshallerPools, entityJaxbContext, true);
+    }
+
+    private JaxbObjectPool<Marshaller> getMarshallerPool(ConcurrentMap<JAXBContext, JaxbObjectPool<Marshaller>> pools
+            , final JAXBContext entityJaxbContext, final boolean fragment) {
+        JaxbObjectPool<Marshaller> marshallerPool = pools.get(entityJaxbContext);
+        if (marshallerPool == null) {
+            final JaxbObjectPool<Marshaller> newMarshallerPool = new JaxbObjectPool<Marshaller>(
+                    fragment ? "fragment marshallers" : "marshallers", getPoolSize(), getPoolBorrowTimeoutMillis()) {
+                @Override
+                protected Marshaller create() throws JAXBException {
+                    return createMarshaller(entityJaxbContext, fragment);
+                }
+
+                @Override
+                protected void reset(Marshaller marshaller) throws JAXBException {
+                    ((CollectingValidationEventHandler) marshaller.getEventHandler()).reset();
+                }
+            };
+            marshallerPool = pools.putIfAbsent(entityJaxbContext, newMarshallerPool);
+            if (marshallerPool == null) {
+                marshallerPool = newMarshallerPool;
+            }
+        }
+        return marshallerPool;
+    }
+
+    /**
+     * @param entityJaxbContext
+     * @param fragment          If true, marshaller writes document fragments.
+     * @return New marshaller with schema, event handler and properties applied.
+     */
+    private Marshaller createMarshaller(JAXBContext entityJaxbContext, boolean fragment) throws JAXBException {
+        final Marshaller marshaller = entityJaxbContext.createMarshaller();
+        marshaller.setEventHandler(getValidationPolicy().createEventHandler());
+
+        if (!isValidationErrorTolerant()) {
+            loadXmlSchema();
+            marshaller.setSchema(getXmlSchema());
+        }
 
+        final String schemaLocation = getSchemaLocation();
+        if (fragment) {
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+        } else if (schemaLocation != null) {
+            marshaller.setProperty(Marshaller.JAXB_SCHEMA_LOCATION, schemaLocation);
         }
 
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, this.formattedOutput);
+        return marshaller;
+    }
+
+    /**
+     * @param file File to write.
+     * @return Buffered (and compressing, see {@link #setCompression(XmlCompression)}) stream of file.
+     * @throws IOException if file can't be opened.
+     */
+    private OutputStream openFile(File file) throws IOException {
+        return XmlFiles.newOutputStream(file, this.compression, this.compressionLevel);
     }
 
     public String getXmlSchemaNameSpace() {
@@ -189,7 +663,9 @@ public class MarshallHelper<T> extends MarshallingHelperBase {
     }
 
     public void setXmlSchemaNameSpace(String xmlSchemaNameSpace) {
+        checkMutable();
         this.xmlSchemaNameSpace = xmlSchemaNameSpace;
+        onConfigurationChanged();
     }
 
     public boolean isFormattedOutput() {
@@ -197,8 +673,111 @@ public class MarshallHelper<T> extends MarshallingHelperBase {
     }
 
     public void setFormattedOutput(boolean formattedOutput) {
+        checkMutable();
         this.formattedOutput = formattedOutput;
+        onConfigurationChanged();
     }
 
+    /**
+     * @return Compression of files written by this helper.
+     */
+    public XmlCompression getCompression() {
+        return compression;
+    }
+
+    /**
+     * @param compression Compression of files written by this helper (default is {@link XmlCompression#NONE}).
+     */
+    public void setCompression(XmlCompression compression) {
+        checkMutable();
+        if (compression == null) {
+            throw new IllegalArgumentException("[JU730412670] Compression should not be null!");
+        }
+        this.compression = compression;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * @param compressionLevel Compression level: 0-9 or {@link XmlCompression#DEFAULT_LEVEL} (default).
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        checkMutable();
+        XmlCompression.checkLevel(compressionLevel);
+        this.compressionLevel = compressionLevel;
+    }
+
+    //---------------------------------------
+    // Builder:
+
+    /**
+     * Builder of immutable {@link MarshallHelper}.
+     *
+     * @param <T> Entity type.
+     */
+    public static final class Builder<T> extends MarshallingHelperBase.Builder<T, MarshallHelper<T>, Builder<T>> {
+        private String xmlSchemaNameSpace;
+        private boolean formattedOutput;
+        private XmlCompression compression = XmlCompression.NONE;
+        private int compressionLevel = XmlCompression.DEFAULT_LEVEL;
+
+        private Builder(Class<T> entityClass) {
+            super(entityClass);
+        }
+
+        /**
+         * @param xmlSchemaNameSpace Your XSD namespace (used in schemaLocation).
+         * @return this builder
+         */
+        public Builder<T> xmlSchemaNameSpace(String xmlSchemaNameSpace) {
+            this.xmlSchemaNameSpace = xmlSchemaNameSpace;
+            return this;
+        }
+
+        /**
+         * @param formattedOutput If true, output XML will be formatted.
+         * @return this builder
+         */
+        public Builder<T> formattedOutput(boolean formattedOutput) {
+            this.formattedOutput = formattedOutput;
+            return this;
+        }
+
+        /**
+         * @param compression Compression of written files (all file based methods, including streaming ones),
+         *                    {@link XmlCompression#AUTO} means by file extension.
+         * @return this builder
+         */
+        public Builder<T> compression(XmlCompression compression) {
+            if (compression == null) {
+                throw new IllegalArgumentException("[JU730412671] Compression should not be null!");
+            }
+            this.compression = compression;
+            return this;
+        }
+
+        /**
+         * @param compressionLevel Compression level: 0-9 or {@link XmlCompression#DEFAULT_LEVEL} (default),
+         *                         e.g. <code>Deflater.BEST_SPEED</code> for throughput.
+         * @return this builder
+         */
+        public Builder<T> compressionLevel(int compressionLevel) {
+            XmlCompression.checkLevel(compressionLevel);
+            this.compressionLevel = compressionLevel;
+            return this;
+        }
+
+        @Override
+        protected Builder<T> self() {
+            return this;
+        }
+
+        @Override
+        public MarshallHelper<T> build() throws JaxbRuntimeException {
+            return new MarshallHelper<>(this);
+        }
+    }
 
 }
@@ -1,11 +1,17 @@
 package com.meriosol.jaxb;
 
 import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBException;
 import javax.xml.validation.Schema;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Common part of JAXB [XML / Object POJO] handling ((un-)marshall).<br>
+ * NOTE1: Helpers created by builder are immutable: schema and JAXB context are resolved once while building
+ * and helper can be shared by any number of threads.<br>
+ * NOTE2: Helpers created by constructors are mutable. They are safe for concurrent (un-)marshalling
+ * as long as settings are not changed while helper is in use.
  *
  * @author meriosol
  * @version 0.1
@@ -13,10 +19,20 @@ import javax.xml.validation.Schema;
  */
 class MarshallingHelperBase {
     private static final boolean DEFAULT_VALIDATION_ERR_TOLERANCE = true;
+    static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+    static final long DEFAULT_POOL_BORROW_TIMEOUT_MILLIS = 30000L;
 
-    private boolean validationErrorTolerant;
-    private String xmlSchemaResourceUrl;
-    private Schema xmlSchema;
+    private final boolean immutable;
+    private final Class<?> boundEntityClass;
+    private final JAXBContext boundJaxbContext;
+    private volatile boolean validationErrorTolerant;
+    private volatile String xmlSchemaResourceUrl;
+    private volatile Schema xmlSchema;
+    private volatile int poolSize = DEFAULT_POOL_SIZE;
+    private volatile long poolBorrowTimeoutMillis = DEFAULT_POOL_BORROW_TIMEOUT_MILLIS;
+    private volatile Executor asyncExecutor;
+    private volatile JaxbMetrics metrics = JaxbMetrics.NO_OP;
+    private volatile ValidationPolicy validationPolicy = ValidationPolicy.collectAll();
 
     public MarshallingHelperBase() {
         this(DEFAULT_VALIDATION_ERR_TOLERANCE, null);
@@ -37,22 +53,94 @@ class MarshallingHelperBase {
     }
 
     public MarshallingHelperBase(boolean validationErrorTolerant, String xmlSchemaResourceUrl) {
+        this.immutable = false;
+        this.boundEntityClass = null;
+        this.boundJaxbContext = null;
         this.validationErrorTolerant = validationErrorTolerant;
         this.xmlSchemaResourceUrl = xmlSchemaResourceUrl;
     }
 
     /**
+     * Creates immutable helper. JAXB context and (if validation is on) XML schema are loaded right here.
+     *
+     * @param builder Settings.
+     * @throws JaxbRuntimeException if context or schema can't be loaded.
+     */
+    MarshallingHelperBase(Builder<?, ?, ?> builder) throws JaxbRuntimeException {
+        this.immutable = true;
+        this.validationErrorTolerant = builder.validationErrorTolerant;
+        this.xmlSchemaResourceUrl = builder.xmlSchemaResourceUrl;
+        this.poolSize = builder.poolSize;
+        this.poolBorrowTimeoutMillis = builder.poolBorrowTimeoutMillis;
+        this.asyncExecutor = builder.asyncExecutor;
+        this.metrics = builder.metrics;
+        this.validationPolicy = builder.validationPolicy;
+        this.boundEntityClass = builder.entityClass;
+        this.boundJaxbContext = acquireJAXBContext(builder.entityClass);
+        if (!this.validationErrorTolerant) {
+            loadXmlSchema();
+        }
+    }
+
+    /**
+     * NOTE: Context is taken from process-wide {@link JaxbContextRegistry}, so it's created only once per class.
+     *
      * @param clazz JAXB generated class.
      * @return JAXB context. Avoid using it directly to eliminate dependencies from JAXB API.
      */
     public static JAXBContext getJAXBContext(Class clazz) throws JaxbRuntimeException {
-        try {
-            return JAXBContext.newInstance(clazz);
-        } catch (JAXBException e) {
-            throw new JaxbRuntimeException(
-                    String.format("[JU904826543] Error occurred while getting JAXBContext for class '%s'. Message: %s"
-                            , clazz.getName(), e.getMessage()), e
-            );
+        if (clazz == null) {
+            throw new IllegalArgumentException("[JU904826544] Class for JAXBContext should not be null!");
+        }
+        return JaxbContextRegistry.getInstance().getContext(clazz);
+    }
+
+    /**
+     * @param clazz Entity class.
+     * @return Context resolved while building helper (if it's for <code>clazz</code>) or one from registry.
+     */
+    protected JAXBContext resolveJAXBContext(Class<?> clazz) throws JaxbRuntimeException {
+        if (clazz != null && clazz == this.boundEntityClass) {
+            return this.boundJaxbContext;
+        }
+        return acquireJAXBContext(clazz);
+    }
+
+    private JAXBContext acquireJAXBContext(Class<?> clazz) throws JaxbRuntimeException {
+        final JaxbMetrics currentMetrics = this.metrics;
+        if (!currentMetrics.isEnabled()) {
+            return getJAXBContext(clazz);
+        }
+        final long start = System.nanoTime();
+        final JAXBContext context = getJAXBContext(clazz);
+        currentMetrics.contextAcquired(clazz, System.nanoTime() - start);
+        return context;
+    }
+
+    /**
+     * @return Context of entity class helper was built for.
+     * @throws IllegalStateException if helper was not created by builder.
+     */
+    protected JAXBContext getBoundJaxbContext() {
+        if (this.boundJaxbContext == null) {
+            throw new IllegalStateException("[JU618093527] Helper is not bound to entity class, use builder to create such helper!");
+        }
+        return this.boundJaxbContext;
+    }
+
+    /**
+     * @return True if helper was created by builder and its settings can't be changed.
+     */
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    /**
+     * @throws IllegalStateException if helper is immutable.
+     */
+    protected void checkMutable() {
+        if (this.immutable) {
+            throw new IllegalStateException("[JU618093528] Helper created by builder is immutable!");
         }
     }
 
@@ -64,7 +152,42 @@ class MarshallingHelperBase {
     }
 
     public void setValidationErrorTolerant(boolean validationErrorTolerant) {
+        checkMutable();
         this.validationErrorTolerant = validationErrorTolerant;
+        onConfigurationChanged();
+    }
+
+    /**
+     * @return How validation events are handled (collect all, fail fast etc).
+     */
+    public ValidationPolicy getValidationPolicy() {
+        return validationPolicy;
+    }
+
+    /**
+     * NOTE: already pooled (un-)marshallers will be dropped.
+     *
+     * @param validationPolicy How validation events are handled (collect all, fail fast etc).
+     */
+    public void setValidationPolicy(ValidationPolicy validationPolicy) {
+        checkMutable();
+        if (validationPolicy == null) {
+            throw new IllegalArgumentException("[JU615209484] Validation policy should not be null!");
+        }
+        this.validationPolicy = validationPolicy;
+        onConfigurationChanged();
+    }
+
+    /**
+     * @param eventHandler Handler of failed operation.
+     * @param cause        JAXB error.
+     * @return Error reporting location of aborting event if handler aborted operation, otherwise null.
+     */
+    protected JaxbRuntimeException toValidationAbortedException(CollectingValidationEventHandler eventHandler, Exception cause) {
+        if (eventHandler == null || !eventHandler.isAborted()) {
+            return null;
+        }
+        return new JaxbRuntimeException("[JU615209485] " + eventHandler.getAbortMessage(), cause);
     }
 
     /**
@@ -79,24 +202,263 @@ class MarshallingHelperBase {
     }
 
     /**
-     * NOTE: once new name set, old XML schema cache will be invalidated.
+     * NOTE: once new name set, helper forgets old XML schema (compiled schemas themselves stay in {@link XmlSchemaRegistry}).
      * New value will be loaded once client enforces validation and unmarshalls 1st time after it.
      *
      * @param xmlSchemaResourceUrl
      */
     public void setXmlSchemaResourceUrl(String xmlSchemaResourceUrl) {
+        checkMutable();
         this.xmlSchemaResourceUrl = xmlSchemaResourceUrl;
         this.xmlSchema = null; // Reset XML validation schema
+        onConfigurationChanged();
+    }
+
+    /**
+     * @return Max number of pooled (un-)marshallers used at the same time per JAXB context.
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * NOTE: already pooled (un-)marshallers will be dropped.
+     *
+     * @param poolSize Max number of pooled (un-)marshallers used at the same time per JAXB context.
+     */
+    public void setPoolSize(int poolSize) {
+        checkMutable();
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("[JU231657714] Pool size should be positive!");
+        }
+        this.poolSize = poolSize;
+        onConfigurationChanged();
+    }
+
+    /**
+     * @return How long (milliseconds) to wait for free pooled (un-)marshaller before failing.
+     */
+    public long getPoolBorrowTimeoutMillis() {
+        return poolBorrowTimeoutMillis;
+    }
+
+    /**
+     * @param poolBorrowTimeoutMillis How long (milliseconds) to wait for free pooled (un-)marshaller before failing.
+     */
+    public void setPoolBorrowTimeoutMillis(long poolBorrowTimeoutMillis) {
+        checkMutable();
+        if (poolBorrowTimeoutMillis < 0) {
+            throw new IllegalArgumentException("[JU231657715] Pool borrow timeout should not be negative!");
+        }
+        this.poolBorrowTimeoutMillis = poolBorrowTimeoutMillis;
+        onConfigurationChanged();
+    }
+
+    /**
+     * @return Executor of async operations (null means shared default one, see {@link AsyncSupport}).
+     */
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    /**
+     * @param asyncExecutor Executor of async operations (null means shared default one). Caller is responsible for its shutdown.
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        checkMutable();
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * @return Metrics of this helper ({@link JaxbMetrics#NO_OP} by default).
+     */
+    public JaxbMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @param metrics Metrics of this helper (null means no metrics).
+     */
+    public void setMetrics(JaxbMetrics metrics) {
+        checkMutable();
+        this.metrics = metrics == null ? JaxbMetrics.NO_OP : metrics;
+    }
+
+    /**
+     * @return Class failed operations are reported for: bound entity class or {@link Object} for helpers without it.
+     */
+    protected Class<?> getMetricsEntityClass() {
+        return this.boundEntityClass == null ? Object.class : this.boundEntityClass;
+    }
+
+    /**
+     * Reports validation events (if any) collected by just finished operation to metrics.
+     *
+     * @param operation    {@link JaxbMetrics.Operation#UNMARSHALL} or {@link JaxbMetrics.Operation#MARSHALL}.
+     * @param entityClass  Entity class.
+     * @param eventHandler Handler of just finished operation.
+     */
+    protected void recordValidationEvents(JaxbMetrics.Operation operation, Class<?> entityClass
+            , CollectingValidationEventHandler eventHandler) {
+        final JaxbMetrics currentMetrics = this.metrics;
+        final int warnings = eventHandler.getWarningCount();
+        final int errors = eventHandler.getErrorCount();
+        final int fatalErrors = eventHandler.getFatalErrorCount();
+        if (currentMetrics.isEnabled() && warnings + errors + fatalErrors > 0) {
+            currentMetrics.validationEventsCollected(operation, entityClass, warnings, errors, fatalErrors);
+        }
+    }
+
+    /**
+     * @param task (Un-)marshalling to run on async executor.
+     * @param <R>  Result type.
+     * @return Future of task result, see {@link AsyncSupport#supplyAsync(Callable, Executor)}.
+     */
+    protected <R> CompletableFuture<R> supplyAsync(Callable<R> task) {
+        return AsyncSupport.supplyAsync(task, this.asyncExecutor);
+    }
+
+    /**
+     * Called once any setting affecting (un-)marshaller configuration is changed.
+     * Pooled (un-)marshallers configured with old settings should be dropped here.
+     */
+    protected void onConfigurationChanged() {
     }
 
     /**
      * One time validation schema lazy loading
      */
     protected void loadXmlSchema() {
-        // Lazy load of schema:
+        // Lazy load of schema (double-checked, schema is volatile):
         if (this.xmlSchema == null) {
-            this.xmlSchema = JaxbUtils.loadXmlSchema(this.xmlSchemaResourceUrl);
+            synchronized (this) {
+                if (this.xmlSchema == null) {
+                    final long start = System.nanoTime();
+                    this.xmlSchema = JaxbUtils.loadXmlSchema(this.xmlSchemaResourceUrl);
+                    final JaxbMetrics currentMetrics = this.metrics;
+                    if (currentMetrics.isEnabled()) {
+                        currentMetrics.schemaLoaded(this.xmlSchemaResourceUrl, System.nanoTime() - start);
+                    }
+                }
+            }
+        }
+    }
+
+    //---------------------------------------
+    // Builder:
+
+    /**
+     * Common settings of immutable helpers.
+     *
+     * @param <T> Entity class helper is built for.
+     * @param <H> Helper type.
+     * @param <B> Concrete builder type.
+     */
+    abstract static class Builder<T, H extends MarshallingHelperBase, B extends Builder<T, H, B>> {
+        private final Class<T> entityClass;
+        private boolean validationErrorTolerant = DEFAULT_VALIDATION_ERR_TOLERANCE;
+        private String xmlSchemaResourceUrl;
+        private int poolSize = DEFAULT_POOL_SIZE;
+        private long poolBorrowTimeoutMillis = DEFAULT_POOL_BORROW_TIMEOUT_MILLIS;
+        private Executor asyncExecutor;
+        private JaxbMetrics metrics = JaxbMetrics.NO_OP;
+        private ValidationPolicy validationPolicy = ValidationPolicy.collectAll();
+
+        Builder(Class<T> entityClass) {
+            if (entityClass == null) {
+                throw new IllegalArgumentException("[JU618093529] Entity class for helper should not be null!");
+            }
+            this.entityClass = entityClass;
+        }
+
+        /**
+         * @param validationErrorTolerant If true, despite on validation errors operation will be finished.
+         * @return this builder
+         */
+        public B validationErrorTolerant(boolean validationErrorTolerant) {
+            this.validationErrorTolerant = validationErrorTolerant;
+            return self();
+        }
+
+        /**
+         * @param xmlSchemaResourceUrl Schema name (assuming schema in classpath).
+         * @return this builder
+         */
+        public B xmlSchemaResourceUrl(String xmlSchemaResourceUrl) {
+            this.xmlSchemaResourceUrl = xmlSchemaResourceUrl;
+            return self();
+        }
+
+        /**
+         * @param poolSize Max number of pooled (un-)marshallers used at the same time.
+         * @return this builder
+         */
+        public B poolSize(int poolSize) {
+            if (poolSize <= 0) {
+                throw new IllegalArgumentException("[JU618093530] Pool size should be positive!");
+            }
+            this.poolSize = poolSize;
+            return self();
+        }
+
+        /**
+         * @param poolBorrowTimeoutMillis How long (milliseconds) to wait for free pooled (un-)marshaller.
+         * @return this builder
+         */
+        public B poolBorrowTimeoutMillis(long poolBorrowTimeoutMillis) {
+            if (poolBorrowTimeoutMillis < 0) {
+                throw new IllegalArgumentException("[JU618093531] Pool borrow timeout should not be negative!");
+            }
+            this.poolBorrowTimeoutMillis = poolBorrowTimeoutMillis;
+            return self();
+        }
+
+        /**
+         * @param asyncExecutor Executor of async operations (by default virtual threads if available,
+         *                      otherwise shared cached pool). Caller is responsible for its shutdown.
+         * @return this builder
+         */
+        public B asyncExecutor(Executor asyncExecutor) {
+            this.asyncExecutor = asyncExecutor;
+            return self();
         }
+
+        /**
+         * @param metrics Metrics of helper, e.g. {@link InMemoryJaxbMetrics} or {@link JmxJaxbMetrics} (null means no metrics).
+         * @return this builder
+         */
+        public B metrics(JaxbMetrics metrics) {
+            this.metrics = metrics == null ? JaxbMetrics.NO_OP : metrics;
+            return self();
+        }
+
+        /**
+         * @param validationPolicy How validation events are handled: {@link ValidationPolicy#collectAll()} (default),
+         *                         {@link ValidationPolicy#failFast()} or {@link ValidationPolicy#stopAfterErrors(int)}.
+         * @return this builder
+         */
+        public B validationPolicy(ValidationPolicy validationPolicy) {
+            if (validationPolicy == null) {
+                throw new IllegalArgumentException("[JU615209486] Validation policy should not be null!");
+            }
+            this.validationPolicy = validationPolicy;
+            return self();
+        }
+
+        /**
+         * @return Entity class helper is built for.
+         */
+        public Class<T> getEntityClass() {
+            return entityClass;
+        }
+
+        protected abstract B self();
+
+        /**
+         * @return Immutable helper.
+         * @throws JaxbRuntimeException if JAXB context or XML schema can't be loaded.
+         */
+        public abstract H build() throws JaxbRuntimeException;
     }
 
 }
@@ -0,0 +1,168 @@
+package com.meriosol.jaxb;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live statistics of one operation (e.g. unmarshalling) of one entity class, see {@link InMemoryJaxbMetrics}.<br>
+ * NOTE: Durations are kept in power-of-two buckets, so percentiles are approximate (bucket upper bound, but not above max).
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class OperationStatistics implements OperationStatisticsMXBean {
+    private static final int BUCKET_COUNT = 64;
+
+    private final JaxbMetrics.Operation operation;
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder warningCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder fatalErrorCount = new LongAdder();
+    private final LongAdder[] durationBuckets = new LongAdder[BUCKET_COUNT];
+
+    OperationStatistics(JaxbMetrics.Operation operation, String name) {
+        this.operation = operation;
+        this.name = name;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.durationBuckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos, long operationBytes, boolean succeeded) {
+        final long duration = Math.max(0L, nanos);
+        this.count.increment();
+        if (!succeeded) {
+            this.failureCount.increment();
+        }
+        this.totalNanos.add(duration);
+        this.maxNanos.accumulate(duration);
+        this.bytes.add(operationBytes);
+        // Bucket i keeps durations in [2^(i-1), 2^i)
+        this.durationBuckets[Math.min(BUCKET_COUNT - 1, BUCKET_COUNT - Long.numberOfLeadingZeros(duration))].increment();
+    }
+
+    void recordValidationEvents(int warnings, int errors, int fatalErrors) {
+        this.warningCount.add(warnings);
+        this.errorCount.add(errors);
+        this.fatalErrorCount.add(fatalErrors);
+    }
+
+    public JaxbMetrics.Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return Entity class name (or schema name for {@link JaxbMetrics.Operation#SCHEMA_LOAD}).
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    @Override
+    public long getFailureCount() {
+        return this.failureCount.sum();
+    }
+
+    @Override
+    public long getTotalNanos() {
+        return this.totalNanos.sum();
+    }
+
+    @Override
+    public long getMeanNanos() {
+        final long operationCount = getCount();
+        return operationCount == 0 ? 0L : getTotalNanos() / operationCount;
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    @Override
+    public long getP50Nanos() {
+        return getPercentileNanos(50d);
+    }
+
+    @Override
+    public long getP90Nanos() {
+        return getPercentileNanos(90d);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return getPercentileNanos(99d);
+    }
+
+    /**
+     * @param percentile Percentile (0..100).
+     * @return Approximate duration percentile, nanoseconds (0 if nothing recorded).
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0d || percentile > 100d) {
+            throw new IllegalArgumentException("[JU730584211] Percentile should be in 0..100 range!");
+        }
+        final long[] bucketCounts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            bucketCounts[i] = this.durationBuckets[i].sum();
+            total += bucketCounts[i];
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        final long rank = Math.max(1L, (long) Math.ceil(total * percentile / 100d));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += bucketCounts[i];
+            if (seen >= rank) {
+                final long bucketUpperBound = i == 0 ? 0L : (i >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+                return Math.min(bucketUpperBound, getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * @return Bytes read (unmarshalling) or written (marshalling).
+     */
+    @Override
+    public long getBytes() {
+        return this.bytes.sum();
+    }
+
+    @Override
+    public long getWarningCount() {
+        return this.warningCount.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return this.errorCount.sum();
+    }
+
+    @Override
+    public long getFatalErrorCount() {
+        return this.fatalErrorCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OperationStatistics{operation=%s, name=%s, count=%d, failures=%d, meanNanos=%d, p99Nanos=%d"
+                        + ", maxNanos=%d, bytes=%d, warnings=%d, errors=%d, fatalErrors=%d}"
+                , this.operation, this.name, getCount(), getFailureCount(), getMeanNanos(), getP99Nanos()
+                , getMaxNanos(), getBytes(), getWarningCount(), getErrorCount(), getFatalErrorCount());
+    }
+
+}
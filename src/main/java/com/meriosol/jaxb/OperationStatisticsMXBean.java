@@ -0,0 +1,34 @@
+package com.meriosol.jaxb;
+
+/**
+ * JMX view of {@link OperationStatistics}, see {@link JmxJaxbMetrics}.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public interface OperationStatisticsMXBean {
+    long getCount();
+
+    long getFailureCount();
+
+    long getTotalNanos();
+
+    long getMeanNanos();
+
+    long getMaxNanos();
+
+    long getP50Nanos();
+
+    long getP90Nanos();
+
+    long getP99Nanos();
+
+    long getBytes();
+
+    long getWarningCount();
+
+    long getErrorCount();
+
+    long getFatalErrorCount();
+}
@@ -0,0 +1,154 @@
+package com.meriosol.jaxb;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Settings of parallel (chunked) records unmarshalling, see {@link UnmarshallHelper#unmarshallParallel}.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class ParallelUnmarshallOptions {
+    static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private final Executor executor;
+    private final int parallelism;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+    private final boolean ordered;
+
+    private ParallelUnmarshallOptions(Builder builder) {
+        this.executor = builder.executor;
+        this.parallelism = builder.parallelism;
+        this.chunkSize = builder.chunkSize;
+        this.maxChunksInFlight = builder.maxChunksInFlight > 0 ? builder.maxChunksInFlight : builder.parallelism * 2;
+        this.ordered = builder.ordered;
+    }
+
+    /**
+     * @return Options with default values: own pool of {@link #getParallelism()} threads, ordered results.
+     */
+    public static ParallelUnmarshallOptions defaults() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return Executor to unmarshall chunks on. If null, own thread pool is created (and shut down once records are read).
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return Size of own thread pool (used only if no executor given).
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @return Number of records in chunk given to single unmarshalling task.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return Max number of chunks read ahead but not yet consumed (it bounds memory usage).
+     */
+    public int getMaxChunksInFlight() {
+        return maxChunksInFlight;
+    }
+
+    /**
+     * @return If true, records are returned in document order, otherwise as soon as their chunk is unmarshalled.
+     */
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelUnmarshallOptions{executor=" + executor + ", parallelism=" + parallelism + ", chunkSize="
+                + chunkSize + ", maxChunksInFlight=" + maxChunksInFlight + ", ordered=" + ordered + "}";
+    }
+
+    //---------------------------------------
+    // Builder:
+
+    public static final class Builder {
+        private Executor executor;
+        private int parallelism = DEFAULT_PARALLELISM;
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+        private int maxChunksInFlight;
+        private boolean ordered = true;
+
+        private Builder() {
+        }
+
+        /**
+         * @param executor Executor to unmarshall chunks on (e.g. fork-join pool). Caller is responsible for its shutdown.
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * @param parallelism Size of own thread pool (used only if no executor given).
+         * @return this builder
+         */
+        public Builder parallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("[JU906627341] Parallelism should be positive!");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * @param chunkSize Number of records in chunk given to single unmarshalling task.
+         * @return this builder
+         */
+        public Builder chunkSize(int chunkSize) {
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("[JU906627342] Chunk size should be positive!");
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * @param maxChunksInFlight Max number of chunks read ahead but not yet consumed (default is twice parallelism).
+         * @return this builder
+         */
+        public Builder maxChunksInFlight(int maxChunksInFlight) {
+            if (maxChunksInFlight <= 0) {
+                throw new IllegalArgumentException("[JU906627343] Max chunks in flight should be positive!");
+            }
+            this.maxChunksInFlight = maxChunksInFlight;
+            return this;
+        }
+
+        /**
+         * @param ordered If true, records are returned in document order.
+         * @return this builder
+         */
+        public Builder ordered(boolean ordered) {
+            this.ordered = ordered;
+            return this;
+        }
+
+        public ParallelUnmarshallOptions build() {
+            return new ParallelUnmarshallOptions(this);
+        }
+    }
+
+}
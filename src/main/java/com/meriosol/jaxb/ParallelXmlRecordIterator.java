@@ -0,0 +1,465 @@
+package com.meriosol.jaxb;
+
+import javax.xml.XMLConstants;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Iterates over repeated (record) elements of XML document unmarshalling them on many threads.<br>
+ * Single reader thread splits document at record boundaries into chunks of {@link ParallelUnmarshallOptions#getChunkSize()}
+ * self-contained records (in-scope namespaces are copied), executor threads unmarshall chunks concurrently.
+ * Consumer gets records in document order or in order of chunks completion.<br>
+ * NOTE1: Iterator itself is not thread-safe (single consumer). It should be closed, it closes input stream as well.<br>
+ * NOTE2: Memory usage is bounded by {@link ParallelUnmarshallOptions#getMaxChunksInFlight()} chunks.<br>
+ * NOTE3: Reader thread parses and re-serializes records, so it pays off when binding (and validation) dominates.
+ *
+ * @param <T> Record type.
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class ParallelXmlRecordIterator<T> implements Iterator<T>, Closeable {
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+    private static final String CHUNK_ELEMENT_NAME = "chunk";
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final UnmarshallHelper<?> helper;
+    private final JaxbObjectPool<Unmarshaller> unmarshallerPool;
+    private final Class<T> recordClass;
+    private final QName recordElementName;
+    private final InputStream inputStream;
+    private final ParallelUnmarshallOptions options;
+    private final Executor executor;
+    private final ExecutorService ownExecutorService;
+    private final Semaphore chunksInFlight;
+    private final BlockingQueue<Future<List<T>>> chunkResults = new LinkedBlockingQueue<>();
+    private final AtomicInteger pendingProducers = new AtomicInteger(1);
+    private final Future<List<T>> endOfChunks;
+    private final Thread readerThread;
+
+    private Iterator<T> currentChunk = Collections.<T>emptyList().iterator();
+    private volatile boolean closed;
+    private boolean exhausted;
+    private long recordCount;
+
+    ParallelXmlRecordIterator(UnmarshallHelper<?> helper, JaxbObjectPool<Unmarshaller> unmarshallerPool
+            , InputStream inputStream, Class<T> recordClass, QName recordElementName, ParallelUnmarshallOptions options) {
+        this.helper = helper;
+        this.unmarshallerPool = unmarshallerPool;
+        this.recordClass = recordClass;
+        this.recordElementName = recordElementName;
+        this.inputStream = inputStream;
+        this.options = options;
+        if (options.getExecutor() != null) {
+            this.executor = options.getExecutor();
+            this.ownExecutorService = null;
+        } else {
+            this.ownExecutorService = Executors.newFixedThreadPool(options.getParallelism(), new DaemonThreadFactory("worker"));
+            this.executor = this.ownExecutorService;
+        }
+        this.chunksInFlight = new Semaphore(options.getMaxChunksInFlight());
+        final FutureTask<List<T>> endMarker = new FutureTask<>(new Callable<List<T>>() {
+            @Override
+            public List<T> call() {
+                return null;
+            }
+        });
+        endMarker.run();
+        this.endOfChunks = endMarker;
+        this.readerThread = new DaemonThreadFactory("splitter").newThread(new Runnable() {
+            @Override
+            public void run() {
+                splitIntoChunks();
+            }
+        });
+        this.readerThread.start();
+    }
+
+    @Override
+    public boolean hasNext() throws JaxbRuntimeException {
+        while (!this.currentChunk.hasNext()) {
+            if (this.exhausted || this.closed) {
+                return false;
+            }
+            final Future<List<T>> chunkResult;
+            try {
+                chunkResult = this.chunkResults.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new JaxbRuntimeException("[JU906627344] Interrupted while waiting for records '" + this.recordElementName + "'", e);
+            }
+            if (chunkResult == this.endOfChunks) {
+                this.exhausted = true;
+                close();
+                return false;
+            }
+            this.currentChunk = getChunkRecords(chunkResult).iterator();
+            this.chunksInFlight.release();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() throws JaxbRuntimeException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("[JU906627345] No more records '" + this.recordElementName + "'");
+        }
+        this.recordCount++;
+        return this.currentChunk.next();
+    }
+
+    /**
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("[JU906627346] Records can't be removed from XML stream!");
+    }
+
+    /**
+     * @return Number of records returned so far.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Stops reader thread and own executor (if any), closes underlying stream. Safe to be called more than once.
+     */
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.readerThread.interrupt();
+        if (this.ownExecutorService != null) {
+            this.ownExecutorService.shutdownNow();
+        }
+        this.chunkResults.clear();
+        closeQuietly(this.inputStream);
+    }
+
+    private List<T> getChunkRecords(Future<List<T>> chunkResult) {
+        try {
+            return chunkResult.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new JaxbRuntimeException("[JU906627347] Interrupted while waiting for records '" + this.recordElementName + "'", e);
+        } catch (ExecutionException e) {
+            close();
+            final Throwable cause = e.getCause();
+            if (cause instanceof JaxbRuntimeException) {
+                throw (JaxbRuntimeException) cause;
+            }
+            throw new JaxbRuntimeException(
+                    String.format("[JU906627348] Error occurred while unmarshalling records '%s' after %d records. Message: %s"
+                            , this.recordElementName, this.recordCount, cause.getMessage())
+                    , cause instanceof Exception ? (Exception) cause : e
+            );
+        }
+    }
+
+    //---------------------------------------
+    // Reader thread:
+
+    private void splitIntoChunks() {
+        XMLStreamReader xmlStreamReader = null;
+        try {
+            xmlStreamReader = this.helper.resolveXmlInputFactory().createXMLStreamReader(this.inputStream);
+            final Deque<Map<String, String>> namespaceScopes = new ArrayDeque<>();
+            Chunk chunk = null;
+            while (xmlStreamReader.hasNext() && !this.closed) {
+                final int event = xmlStreamReader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (isRecordStart(xmlStreamReader)) {
+                        if (chunk == null) {
+                            chunk = new Chunk();
+                        }
+                        chunk.copyRecord(xmlStreamReader, namespaceScopes);
+                        if (chunk.recordCount >= this.options.getChunkSize()) {
+                            submit(chunk);
+                            chunk = null;
+                        }
+                    } else {
+                        namespaceScopes.push(getNamespaceDeclarations(xmlStreamReader));
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    namespaceScopes.poll();
+                }
+            }
+            if (chunk != null) {
+                submit(chunk);
+            }
+        } catch (InterruptedException e) {
+            // Iterator was closed
+        } catch (XMLStreamException | RuntimeException e) {
+            publishFailure(e);
+        } finally {
+            if (xmlStreamReader != null) {
+                try {
+                    xmlStreamReader.close();
+                } catch (XMLStreamException e) {
+                    // Nothing to do
+                }
+            }
+            if (this.options.isOrdered()) {
+                this.chunkResults.offer(this.endOfChunks);
+            } else {
+                producerFinished();
+            }
+        }
+    }
+
+    private boolean isRecordStart(XMLStreamReader xmlStreamReader) {
+        final String namespace = xmlStreamReader.getNamespaceURI();
+        return this.recordElementName.getLocalPart().equals(xmlStreamReader.getLocalName())
+                && this.recordElementName.getNamespaceURI().equals(namespace == null ? "" : namespace);
+    }
+
+    private void submit(Chunk chunk) throws InterruptedException, XMLStreamException {
+        final byte[] chunkBytes = chunk.finish();
+        this.chunksInFlight.acquire();
+        final FutureTask<List<T>> chunkTask = new FutureTask<List<T>>(new Callable<List<T>>() {
+            @Override
+            public List<T> call() {
+                return unmarshallChunk(chunkBytes);
+            }
+        }) {
+            @Override
+            protected void done() {
+                if (!ParallelXmlRecordIterator.this.options.isOrdered()) {
+                    chunkResults.offer(this);
+                    producerFinished();
+                }
+            }
+        };
+        if (!this.options.isOrdered()) {
+            this.pendingProducers.incrementAndGet();
+        }
+        try {
+            this.executor.execute(chunkTask);
+        } catch (RejectedExecutionException e) {
+            // Task never runs: nothing should wait for it, failure is published by reader
+            this.chunksInFlight.release();
+            if (!this.options.isOrdered()) {
+                this.pendingProducers.decrementAndGet();
+            }
+            throw e;
+        }
+        if (this.options.isOrdered()) {
+            // Queued only once accepted by executor (chunks are submitted by single reader thread, so order is kept)
+            this.chunkResults.put(chunkTask);
+        }
+    }
+
+    private List<T> unmarshallChunk(byte[] chunkBytes) {
+        final List<T> records = new ArrayList<>(this.options.getChunkSize());
+        try (XmlRecordIterator<T> chunkRecords = new XmlRecordIterator<>(this.helper, this.unmarshallerPool
+                , new ByteArrayInputStream(chunkBytes), this.recordClass, XmlProjection.elements(this.recordElementName))) {
+            while (chunkRecords.hasNext()) {
+                records.add(chunkRecords.next());
+            }
+        }
+        return records;
+    }
+
+    private void publishFailure(final Exception e) {
+        if (this.closed) {
+            return;
+        }
+        final FutureTask<List<T>> failure = new FutureTask<>(new Callable<List<T>>() {
+            @Override
+            public List<T> call() throws Exception {
+                throw e;
+            }
+        });
+        failure.run();
+        this.chunkResults.offer(failure);
+    }
+
+    /**
+     * In unordered mode end marker is published by the last finished producer (reader or chunk task).
+     */
+    private void producerFinished() {
+        if (this.pendingProducers.decrementAndGet() == 0) {
+            this.chunkResults.offer(this.endOfChunks);
+        }
+    }
+
+    private static Map<String, String> getNamespaceDeclarations(XMLStreamReader xmlStreamReader) {
+        final int namespaceCount = xmlStreamReader.getNamespaceCount();
+        if (namespaceCount == 0) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> namespaces = new LinkedHashMap<>(namespaceCount * 2);
+        for (int i = 0; i < namespaceCount; i++) {
+            namespaces.put(nullToEmpty(xmlStreamReader.getNamespacePrefix(i)), nullToEmpty(xmlStreamReader.getNamespaceURI(i)));
+        }
+        return namespaces;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Nothing to do
+        }
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    /**
+     * Records serialized into standalone XML: &lt;chunk&gt;record...record&lt;/chunk&gt;.
+     */
+    private static final class Chunk {
+        private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(8192);
+        private final XMLStreamWriter xmlStreamWriter;
+        private int recordCount;
+
+        Chunk() throws XMLStreamException {
+            this.xmlStreamWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(this.outputStream, "UTF-8");
+            this.xmlStreamWriter.writeStartDocument("UTF-8", "1.0");
+            this.xmlStreamWriter.writeStartElement(CHUNK_ELEMENT_NAME);
+        }
+
+        /**
+         * Copies record subtree. Reader is left at record end element.
+         */
+        void copyRecord(XMLStreamReader xmlStreamReader, Deque<Map<String, String>> namespaceScopes) throws XMLStreamException {
+            int depth = 0;
+            int event = xmlStreamReader.getEventType();
+            while (true) {
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        this.xmlStreamWriter.writeStartElement(nullToEmpty(xmlStreamReader.getPrefix())
+                                , xmlStreamReader.getLocalName(), nullToEmpty(xmlStreamReader.getNamespaceURI()));
+                        if (depth == 0) {
+                            writeNamespaces(getInScopeNamespaces(xmlStreamReader, namespaceScopes));
+                        } else {
+                            writeNamespaces(getNamespaceDeclarations(xmlStreamReader));
+                        }
+                        writeAttributes(xmlStreamReader);
+                        depth++;
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        this.xmlStreamWriter.writeEndElement();
+                        depth--;
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        this.xmlStreamWriter.writeCharacters(xmlStreamReader.getTextCharacters()
+                                , xmlStreamReader.getTextStart(), xmlStreamReader.getTextLength());
+                        break;
+                    default:
+                        // Comments and processing instructions are not needed for binding
+                        break;
+                }
+                if (depth == 0) {
+                    break;
+                }
+                event = xmlStreamReader.next();
+            }
+            this.recordCount++;
+        }
+
+        byte[] finish() throws XMLStreamException {
+            this.xmlStreamWriter.writeEndElement();
+            this.xmlStreamWriter.writeEndDocument();
+            this.xmlStreamWriter.close();
+            return this.outputStream.toByteArray();
+        }
+
+        private void writeNamespaces(Map<String, String> namespaces) throws XMLStreamException {
+            for (Map.Entry<String, String> namespace : namespaces.entrySet()) {
+                if (XMLConstants.DEFAULT_NS_PREFIX.equals(namespace.getKey())) {
+                    this.xmlStreamWriter.writeDefaultNamespace(namespace.getValue());
+                } else {
+                    this.xmlStreamWriter.writeNamespace(namespace.getKey(), namespace.getValue());
+                }
+            }
+        }
+
+        private void writeAttributes(XMLStreamReader xmlStreamReader) throws XMLStreamException {
+            for (int i = 0; i < xmlStreamReader.getAttributeCount(); i++) {
+                final String namespace = nullToEmpty(xmlStreamReader.getAttributeNamespace(i));
+                if (namespace.isEmpty()) {
+                    this.xmlStreamWriter.writeAttribute(xmlStreamReader.getAttributeLocalName(i), xmlStreamReader.getAttributeValue(i));
+                } else {
+                    this.xmlStreamWriter.writeAttribute(nullToEmpty(xmlStreamReader.getAttributePrefix(i)), namespace
+                            , xmlStreamReader.getAttributeLocalName(i), xmlStreamReader.getAttributeValue(i));
+                }
+            }
+        }
+
+        /**
+         * @return Namespaces declared by record ancestors (nearest wins) and record itself.
+         */
+        private static Map<String, String> getInScopeNamespaces(XMLStreamReader xmlStreamReader
+                , Deque<Map<String, String>> namespaceScopes) {
+            final Map<String, String> namespaces = new LinkedHashMap<>();
+            final Iterator<Map<String, String>> outermostFirst = namespaceScopes.descendingIterator();
+            while (outermostFirst.hasNext()) {
+                namespaces.putAll(outermostFirst.next());
+            }
+            namespaces.putAll(getNamespaceDeclarations(xmlStreamReader));
+            return namespaces;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final String role;
+
+        DaemonThreadFactory(String role) {
+            this.role = role;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "jaxbutil-parallel-" + this.role + "-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.meriosol.jaxb;
+
+/**
+ * Immutable snapshot of (un-)marshaller pool metrics.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class PoolStatistics {
+    private final int maxSize;
+    private final int activeCount;
+    private final int idleCount;
+    private final long createdCount;
+    private final long borrowCount;
+    private final long borrowWaitNanos;
+    private final long maxBorrowWaitNanos;
+    private final long borrowTimeoutCount;
+
+    PoolStatistics(int maxSize, int activeCount, int idleCount, long createdCount, long borrowCount
+            , long borrowWaitNanos, long maxBorrowWaitNanos, long borrowTimeoutCount) {
+        this.maxSize = maxSize;
+        this.activeCount = activeCount;
+        this.idleCount = idleCount;
+        this.createdCount = createdCount;
+        this.borrowCount = borrowCount;
+        this.borrowWaitNanos = borrowWaitNanos;
+        this.maxBorrowWaitNanos = maxBorrowWaitNanos;
+        this.borrowTimeoutCount = borrowTimeoutCount;
+    }
+
+    /**
+     * @return Empty statistics (no pools yet).
+     */
+    static PoolStatistics empty() {
+        return new PoolStatistics(0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * @param other Statistics of another pool.
+     * @return Sum of this and <code>other</code> statistics (max wait is max of both).
+     */
+    PoolStatistics plus(PoolStatistics other) {
+        return new PoolStatistics(this.maxSize + other.maxSize, this.activeCount + other.activeCount
+                , this.idleCount + other.idleCount, this.createdCount + other.createdCount
+                , this.borrowCount + other.borrowCount, this.borrowWaitNanos + other.borrowWaitNanos
+                , Math.max(this.maxBorrowWaitNanos, other.maxBorrowWaitNanos)
+                , this.borrowTimeoutCount + other.borrowTimeoutCount);
+    }
+
+    /**
+     * @return Max number of objects borrowed at the same time.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return Number of currently borrowed objects.
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * @return Number of created objects waiting in pool for reuse.
+     */
+    public int getIdleCount() {
+        return idleCount;
+    }
+
+    /**
+     * @return How many objects were created so far (ideally close to max size).
+     */
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * @return How many times objects were borrowed.
+     */
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    /**
+     * @return Total time borrowers waited for free object, nanoseconds.
+     */
+    public long getBorrowWaitNanos() {
+        return borrowWaitNanos;
+    }
+
+    /**
+     * @return Longest single wait for free object, nanoseconds.
+     */
+    public long getMaxBorrowWaitNanos() {
+        return maxBorrowWaitNanos;
+    }
+
+    /**
+     * @return How many borrowers gave up waiting.
+     */
+    public long getBorrowTimeoutCount() {
+        return borrowTimeoutCount;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStatistics{maxSize=" + maxSize + ", active=" + activeCount + ", idle=" + idleCount
+                + ", created=" + createdCount + ", borrowed=" + borrowCount + ", borrowWaitNanos=" + borrowWaitNanos
+                + ", maxBorrowWaitNanos=" + maxBorrowWaitNanos + ", timeouts=" + borrowTimeoutCount + "}";
+    }
+}
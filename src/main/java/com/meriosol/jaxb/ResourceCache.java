@@ -0,0 +1,297 @@
+package com.meriosol.jaxb;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide bounded (LRU) cache of classpath resource lookups.<br>
+ * <code>ClassLoader.getResource</code> scans class path entries on every call, which is slow for fat jars with many
+ * nested jars. Cache keeps resolved URL per resource path and class loader.<br>
+ * NOTE1: Optionally small resources (not larger than {@link #getMaxResourceBytes()}) are kept in memory, so reading them
+ * skips jar inflation as well. It's disabled by default.<br>
+ * NOTE2: Missing resources are not cached (class path may be extended later), every miss is looked up again.<br>
+ * NOTE3: Class loader is held weakly, entries of unloaded class loaders are evicted as least recently used.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class ResourceCache {
+    static final int DEFAULT_MAX_ENTRIES = 256;
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+
+    private static final ResourceCache INSTANCE = new ResourceCache();
+
+    private final Map<ResourceKey, ResourceEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private volatile int maxEntries = DEFAULT_MAX_ENTRIES;
+    private volatile int maxResourceBytes;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong bytesHitCount = new AtomicLong();
+
+    ResourceCache() {
+    }
+
+    /**
+     * @return Cache shared by all helpers of this process (class loader of this library, strictly speaking).
+     */
+    public static ResourceCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param resourcePath Resource path (as for <code>ClassLoader.getResource</code>).
+     * @param classLoader  Class loader to look resource up by.
+     * @return Cached (or just resolved) URL of resource or null if there is no such resource.
+     */
+    public URL getResourceURL(String resourcePath, ClassLoader classLoader) {
+        final ResourceEntry entry = getEntry(resourcePath, classLoader);
+        return entry == null ? null : entry.url;
+    }
+
+    /**
+     * @param resourcePath Resource path (as for <code>ClassLoader.getResource</code>).
+     * @param classLoader  Class loader to look resource up by.
+     * @return New stream of resource (in-memory one if resource content is cached).
+     * @throws IllegalArgumentException if there is no such resource.
+     * @throws JaxbRuntimeException     if resource can't be read.
+     */
+    public InputStream getResourceInputStream(String resourcePath, ClassLoader classLoader) throws JaxbRuntimeException {
+        final ResourceEntry entry = getEntry(resourcePath, classLoader);
+        if (entry == null) {
+            throw new IllegalArgumentException(String.format("[JU306618743] Resource '%s' is not found by class loader %s"
+                    , resourcePath, classLoader));
+        }
+        final byte[] content = entry.content;
+        if (content != null) {
+            this.bytesHitCount.incrementAndGet();
+            return new ByteArrayInputStream(content);
+        }
+        try {
+            final InputStream inputStream = entry.url.openStream();
+            final int maxBytes = this.maxResourceBytes;
+            if (maxBytes <= 0 || entry.tooLarge) {
+                return inputStream;
+            }
+            return readContent(entry, inputStream, maxBytes);
+        } catch (IOException e) {
+            throw new JaxbRuntimeException(String.format("[JU306618744] Error occurred while opening resource '%s'. Message: %s"
+                    , entry.url, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * @return Max number of cached resources.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @param maxEntries Max number of cached resources, least recently used ones are evicted.
+     */
+    public void setMaxEntries(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("[JU306618745] Max number of cached resources should be positive!");
+        }
+        this.maxEntries = maxEntries;
+        synchronized (this.entries) {
+            evictEldestEntries();
+        }
+    }
+
+    /**
+     * @return Max size of resource kept in memory (0 - resource content is not cached).
+     */
+    public int getMaxResourceBytes() {
+        return maxResourceBytes;
+    }
+
+    /**
+     * @param maxResourceBytes Max size of resource kept in memory, 0 disables in-memory mode (default).
+     *                         Memory used is up to <code>maxEntries * maxResourceBytes</code>.
+     */
+    public void setMaxResourceBytes(int maxResourceBytes) {
+        if (maxResourceBytes < 0) {
+            throw new IllegalArgumentException("[JU306618746] Max size of cached resource should not be negative!");
+        }
+        this.maxResourceBytes = maxResourceBytes;
+        synchronized (this.entries) {
+            for (ResourceEntry entry : this.entries.values()) {
+                final byte[] content = entry.content;
+                if (content != null && content.length > maxResourceBytes) {
+                    entry.content = null;
+                }
+                entry.tooLarge = false;
+            }
+        }
+    }
+
+    /**
+     * @return How many times resource was found in cache.
+     */
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    /**
+     * @return How many times resource had to be looked up by class loader.
+     */
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    /**
+     * @return How many streams were served from memory.
+     */
+    public long getBytesHitCount() {
+        return this.bytesHitCount.get();
+    }
+
+    /**
+     * @return Number of cached resources.
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Drops all cached resources. Statistics are kept.
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceCache{size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", bytesHits=" + getBytesHitCount() + "}";
+    }
+
+    private ResourceEntry getEntry(String resourcePath, ClassLoader classLoader) {
+        if (resourcePath == null) {
+            throw new IllegalArgumentException("[JU306618741] Resource path should not be null!");
+        }
+        if (classLoader == null) {
+            throw new IllegalArgumentException("[JU306618742] Class loader should not be null!");
+        }
+        final ResourceKey key = new ResourceKey(resourcePath, classLoader);
+        synchronized (this.entries) {
+            final ResourceEntry entry = this.entries.get(key);
+            if (entry != null) {
+                this.hitCount.incrementAndGet();
+                return entry;
+            }
+        }
+        // Lookup is done out of lock, concurrent callers may resolve the same resource twice:
+        this.missCount.incrementAndGet();
+        final URL url = classLoader.getResource(resourcePath);
+        if (url == null) {
+            return null;
+        }
+        final ResourceEntry newEntry = new ResourceEntry(url);
+        synchronized (this.entries) {
+            final ResourceEntry entry = this.entries.get(key);
+            if (entry != null) {
+                return entry;
+            }
+            this.entries.put(key, newEntry);
+            evictEldestEntries();
+        }
+        return newEntry;
+    }
+
+    private void evictEldestEntries() {
+        while (this.entries.size() > this.maxEntries) {
+            this.entries.remove(this.entries.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Reads resource up to <code>maxBytes</code> + 1 bytes. Content of small resource is stored in entry,
+     * large resource is marked as such and returned stream continues with not read rest.
+     */
+    private static InputStream readContent(ResourceEntry entry, InputStream inputStream, int maxBytes) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.min(maxBytes, READ_BUFFER_SIZE));
+        final byte[] buffer = new byte[READ_BUFFER_SIZE];
+        try {
+            int count;
+            while ((count = inputStream.read(buffer, 0
+                    , (int) Math.min(buffer.length, (long) maxBytes + 1 - outputStream.size()))) > 0) {
+                outputStream.write(buffer, 0, count);
+                if (outputStream.size() > maxBytes) {
+                    entry.tooLarge = true;
+                    return new SequenceInputStream(new ByteArrayInputStream(outputStream.toByteArray()), inputStream);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            XmlFiles.closeQuietly(inputStream);
+            throw e;
+        }
+        inputStream.close();
+        final byte[] content = outputStream.toByteArray();
+        entry.content = content;
+        return new ByteArrayInputStream(content);
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    /**
+     * Resource path + class loader (held weakly).
+     */
+    private static final class ResourceKey extends WeakReference<ClassLoader> {
+        private final String resourcePath;
+        private final int hashCode;
+
+        ResourceKey(String resourcePath, ClassLoader classLoader) {
+            super(classLoader);
+            this.resourcePath = resourcePath;
+            this.hashCode = 31 * System.identityHashCode(classLoader) + resourcePath.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ResourceKey)) {
+                return false;
+            }
+            final ResourceKey other = (ResourceKey) obj;
+            final ClassLoader classLoader = get();
+            // Stale key equals only to itself
+            return classLoader != null && this.hashCode == other.hashCode && classLoader == other.get()
+                    && this.resourcePath.equals(other.resourcePath);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    private static final class ResourceEntry {
+        private final URL url;
+        private volatile byte[] content;
+        private volatile boolean tooLarge;
+
+        ResourceEntry(URL url) {
+            this.url = url;
+        }
+    }
+
+}
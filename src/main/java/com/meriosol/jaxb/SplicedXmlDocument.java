@@ -0,0 +1,625 @@
+package com.meriosol.jaxb;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * XML document kept as raw bytes with byte ranges of root element children, so only edited children are
+ * (un-)marshalled: untouched children, comments, whitespace and document prolog are copied to output as they are.
+ * Re-marshalling cost depends on size of edited children, not on size of document.<br>
+ * NOTE1: Only children of root element can be edited. They are bound on demand (others are never parsed by JAXB,
+ * only scanned for their bounds). Document should be UTF-8 encoded and not larger than 2 GB.<br>
+ * NOTE2: Edited children are written by fragment marshaller under their original element names
+ * (so child classes don't need <code>@XmlRootElement</code>): they get their own namespace declarations.<br>
+ * NOTE3: Document is not thread-safe.
+ * Usage sample:
+ * <pre>
+ * SplicedXmlDocument document = SplicedXmlDocument.read(file);
+ * Header header = document.editChild(document.indexOf("header"), unmarshallHelper, Header.class);
+ * header.setRevision(header.getRevision() + 1);
+ * document.writeTo(outputFile, marshallHelper);
+ * </pre>
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class SplicedXmlDocument {
+    private static final byte[] COMMENT_START = ascii("<!--");
+    private static final byte[] COMMENT_END = ascii("-->");
+    private static final byte[] CDATA_START = ascii("<![CDATA[");
+    private static final byte[] CDATA_END = ascii("]]>");
+    private static final byte[] PI_START = ascii("<?");
+    private static final byte[] PI_END = ascii("?>");
+    private static final byte[] DOCTYPE_START = ascii("<!DOCTYPE");
+    private static final byte[] END_TAG_START = ascii("</");
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final Pattern ENCODING_PATTERN = Pattern.compile("encoding\\s*=\\s*[\"']([^\"']*)[\"']");
+    private static final XmlProjection ROOT_CHILD_PROJECTION = XmlProjection.path("/*/*");
+
+    private final ByteBuffer content;
+    private final File sourceFile;
+    private final int rootStartTagEnd;
+    private final byte[] rootEndTag;
+    private final int childCount;
+    private final int[] childStarts;
+    private final int[] childEnds;
+    private final String[] childNames;
+    private final Object[] editedChildren;
+
+    private SplicedXmlDocument(ByteBuffer content, File sourceFile) {
+        this.content = content;
+        this.sourceFile = sourceFile;
+        final Scanner scanner = new Scanner(content);
+        scanner.scan();
+        this.rootStartTagEnd = scanner.rootStartTagEnd;
+        this.rootEndTag = ("</" + scanner.rootName + ">").getBytes(StandardCharsets.UTF_8);
+        this.childCount = scanner.childCount;
+        this.childStarts = scanner.childStarts;
+        this.childEnds = scanner.childEnds;
+        this.childNames = scanner.childNames;
+        this.editedChildren = new Object[scanner.childCount];
+    }
+
+    /**
+     * @param bytes Document (not copied, so it should not be changed while document is in use).
+     * @return Scanned document.
+     * @throws JaxbRuntimeException if document is malformed or not UTF-8.
+     */
+    public static SplicedXmlDocument of(byte[] bytes) throws JaxbRuntimeException {
+        if (bytes == null) {
+            throw new IllegalArgumentException("[JU190772301] Document bytes should not be null!");
+        }
+        return new SplicedXmlDocument(ByteBuffer.wrap(bytes), null);
+    }
+
+    /**
+     * @param buffer Document: remaining bytes of heap or direct buffer (not copied, buffer position is not changed).
+     * @return Scanned document.
+     * @throws JaxbRuntimeException if document is malformed or not UTF-8.
+     */
+    public static SplicedXmlDocument of(ByteBuffer buffer) throws JaxbRuntimeException {
+        if (buffer == null) {
+            throw new IllegalArgumentException("[JU190772302] Document buffer should not be null!");
+        }
+        return new SplicedXmlDocument(buffer.slice(), null);
+    }
+
+    /**
+     * @param file Document file. It's memory-mapped (not read into heap), so it should not be changed while document
+     *             is in use (write result into another file).
+     * @return Scanned document.
+     * @throws JaxbRuntimeException if file can't be read, is malformed or not UTF-8.
+     */
+    public static SplicedXmlDocument read(File file) throws JaxbRuntimeException {
+        if (file == null) {
+            throw new IllegalArgumentException("[JU190772303] Document file should not be null!");
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new JaxbRuntimeException("[JU190772304] Spliced document can't be larger than 2 GB: " + file.getAbsolutePath());
+            }
+            return new SplicedXmlDocument(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file);
+        } catch (IOException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU190772305] IOException error occurred while reading document '%s'. Message: %s"
+                            , file.getAbsolutePath(), e.getMessage()), e
+            );
+        }
+    }
+
+    /**
+     * @return Number of root element children.
+     */
+    public int getChildCount() {
+        return childCount;
+    }
+
+    /**
+     * @param index Child index.
+     * @return Child element name as written (with prefix if any).
+     */
+    public String getChildName(int index) {
+        checkIndex(index);
+        return this.childNames[index];
+    }
+
+    /**
+     * @param localName Child element local name.
+     * @return Index of first child with given name or -1 if there is no one.
+     */
+    public int indexOf(String localName) {
+        if (localName == null) {
+            throw new IllegalArgumentException("[JU190772306] Child name should not be null!");
+        }
+        for (int i = 0; i < this.childCount; i++) {
+            final String childName = this.childNames[i];
+            final int prefixEnd = childName.indexOf(':');
+            if (childName.regionMatches(prefixEnd + 1, localName, 0, localName.length())
+                    && childName.length() - prefixEnd - 1 == localName.length()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Binds child without marking it edited (changes of returned object are not written).
+     *
+     * @param index      Child index.
+     * @param helper     Helper to unmarshall by (its validation settings apply).
+     * @param childClass JAXB class of child.
+     * @param <E>        Child type.
+     * @return Bound child (edited one if it was edited or replaced).
+     * @throws JaxbRuntimeException
+     */
+    public <E> E unmarshallChild(int index, UnmarshallHelper<?> helper, Class<E> childClass) throws JaxbRuntimeException {
+        checkIndex(index);
+        if (helper == null) {
+            throw new IllegalArgumentException("[JU190772307] Helper for child unmarshalling should not be null!");
+        }
+        if (childClass == null) {
+            throw new IllegalArgumentException("[JU190772308] Child class should not be null!");
+        }
+        final Object editedChild = this.editedChildren[index];
+        if (editedChild != null) {
+            if (editedChild instanceof JAXBElement && !childClass.isInstance(editedChild)) {
+                return childClass.cast(((JAXBElement<?>) editedChild).getValue());
+            }
+            return childClass.cast(editedChild);
+        }
+        return helper.unmarshallFirstProjected(childDocument(index), childClass, ROOT_CHILD_PROJECTION);
+    }
+
+    /**
+     * Binds child and marks it edited: returned object is marshalled into output instead of original bytes.
+     *
+     * @param index      Child index.
+     * @param helper     Helper to unmarshall by.
+     * @param childClass JAXB class of child.
+     * @param <E>        Child type.
+     * @return Bound child to change.
+     * @throws JaxbRuntimeException
+     */
+    public <E> E editChild(int index, UnmarshallHelper<?> helper, Class<E> childClass) throws JaxbRuntimeException {
+        final E child = unmarshallChild(index, helper, childClass);
+        if (this.editedChildren[index] == null) {
+            // Written under original element name, not under root element name of its class (if it has any)
+            this.editedChildren[index] = child instanceof JAXBElement ? child
+                    : new JAXBElement<>(resolveChildName(index), childClass, child);
+        }
+        return child;
+    }
+
+    /**
+     * @param index Child index.
+     * @param child New child: root entity (written under its root element name) or <code>JAXBElement</code>
+     *              (null reverts child to original bytes).
+     */
+    public void replaceChild(int index, Object child) {
+        checkIndex(index);
+        this.editedChildren[index] = child;
+    }
+
+    /**
+     * @param index Child index.
+     * @return True if child is written by marshaller.
+     */
+    public boolean isEdited(int index) {
+        checkIndex(index);
+        return this.editedChildren[index] != null;
+    }
+
+    /**
+     * Writes document: original bytes except edited children.
+     *
+     * @param outputStream Target stream (not closed).
+     * @param helper       Helper to marshall edited children by.
+     * @throws JaxbRuntimeException
+     */
+    public void writeTo(OutputStream outputStream, MarshallHelper<?> helper) throws JaxbRuntimeException {
+        if (outputStream == null) {
+            throw new IllegalArgumentException("[JU190772309] OutputStream for spliced document should not be null!");
+        }
+        if (helper == null) {
+            throw new IllegalArgumentException("[JU190772310] Helper for spliced document should not be null!");
+        }
+        try {
+            final byte[] copyBuffer = this.content.hasArray() ? null : new byte[XmlFiles.BUFFER_SIZE];
+            int position = 0;
+            for (int i = 0; i < this.childCount; i++) {
+                if (this.editedChildren[i] != null) {
+                    write(outputStream, position, this.childStarts[i], copyBuffer);
+                    helper.marshallFragment(outputStream, this.editedChildren[i]);
+                    position = this.childEnds[i];
+                }
+            }
+            write(outputStream, position, this.content.limit(), copyBuffer);
+        } catch (IOException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU190772311] IOException error occurred while writing spliced document. Message: %s"
+                            , e.getMessage()), e
+            );
+        }
+    }
+
+    /**
+     * @param file   Target file (created or truncated).
+     * @param helper Helper to marshall edited children by.
+     * @throws IllegalArgumentException if file is the one document was read from (its mapping would be truncated).
+     * @throws JaxbRuntimeException
+     */
+    public void writeTo(File file, MarshallHelper<?> helper) throws JaxbRuntimeException {
+        if (file == null) {
+            throw new IllegalArgumentException("[JU190772312] File for spliced document should not be null!");
+        }
+        if (isSourceFile(file)) {
+            throw new IllegalArgumentException("[JU190772318] Spliced document can't be written into file it was read from: "
+                    + file.getAbsolutePath());
+        }
+        try (OutputStream outputStream = XmlFiles.newOutputStream(file)) {
+            writeTo(outputStream, helper);
+        } catch (IOException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU190772313] IOException error occurred while writing spliced document into file '%s'. Message: %s"
+                            , file.getAbsolutePath(), e.getMessage()), e
+            );
+        }
+    }
+
+    @Override
+    public String toString() {
+        int editedCount = 0;
+        for (Object editedChild : this.editedChildren) {
+            if (editedChild != null) {
+                editedCount++;
+            }
+        }
+        return "SplicedXmlDocument{size=" + this.content.limit() + ", children=" + this.childCount + ", edited=" + editedCount + "}";
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.childCount) {
+            throw new IndexOutOfBoundsException("[JU190772314] Child index " + index + " is out of range [0, " + this.childCount + ")");
+        }
+    }
+
+    /**
+     * @return Root start tag (it keeps namespace declarations child may depend on), child and root end tag.
+     */
+    private InputStream childDocument(int index) {
+        return new SequenceInputStream(Collections.enumeration(Arrays.asList(
+                range(0, this.rootStartTagEnd), range(this.childStarts[index], this.childEnds[index])
+                , new ByteBufferInputStream(ByteBuffer.wrap(this.rootEndTag)))));
+    }
+
+    /**
+     * @return Namespace qualified name of child: only root and child start tags are parsed.
+     */
+    private QName resolveChildName(int index) throws JaxbRuntimeException {
+        XMLStreamReader xmlStreamReader = null;
+        try {
+            xmlStreamReader = XmlParsers.getDefaultXmlInputFactory().createXMLStreamReader(childDocument(index));
+            int depth = 0;
+            while (xmlStreamReader.hasNext()) {
+                if (xmlStreamReader.next() == XMLStreamConstants.START_ELEMENT && ++depth == 2) {
+                    return xmlStreamReader.getName();
+                }
+            }
+            throw new JaxbRuntimeException("[JU190772319] Child " + index + " has no start tag");
+        } catch (XMLStreamException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU190772320] Error occurred while reading name of child %d. Message: %s"
+                            , index, e.getMessage()), e
+            );
+        } finally {
+            if (xmlStreamReader != null) {
+                try {
+                    xmlStreamReader.close();
+                } catch (XMLStreamException e) {
+                    // Nothing to release: child document is in memory
+                }
+            }
+        }
+    }
+
+    private boolean isSourceFile(File file) {
+        if (this.sourceFile == null || !file.exists()) {
+            return false;
+        }
+        try {
+            return Files.isSameFile(file.toPath(), this.sourceFile.toPath());
+        } catch (IOException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU190772321] IOException error occurred while checking file '%s'. Message: %s"
+                            , file.getAbsolutePath(), e.getMessage()), e
+            );
+        }
+    }
+
+    private InputStream range(int start, int end) {
+        final ByteBuffer range = this.content.duplicate();
+        range.limit(end).position(start);
+        return new ByteBufferInputStream(range);
+    }
+
+    /**
+     * Copies raw bytes: straight from array of heap buffer, through copy buffer otherwise (mapped file).
+     */
+    private void write(OutputStream outputStream, int start, int end, byte[] copyBuffer) throws IOException {
+        if (copyBuffer == null) {
+            outputStream.write(this.content.array(), this.content.arrayOffset() + start, end - start);
+            return;
+        }
+        final ByteBuffer range = this.content.duplicate();
+        range.limit(end).position(start);
+        while (range.hasRemaining()) {
+            final int count = Math.min(copyBuffer.length, range.remaining());
+            range.get(copyBuffer, 0, count);
+            outputStream.write(copyBuffer, 0, count);
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Finds bounds of root element children without parsing them: only markup that can hide '&lt;' or '&gt;'
+     * (comments, CDATA sections, processing instructions, quoted attribute values) is taken into account.
+     */
+    private static final class Scanner {
+        private final ByteBuffer content;
+        private final int limit;
+        private String rootName;
+        private int rootStartTagEnd;
+        private int childCount;
+        private int[] childStarts = new int[16];
+        private int[] childEnds = new int[16];
+        private String[] childNames = new String[16];
+
+        Scanner(ByteBuffer content) {
+            this.content = content;
+            this.limit = content.limit();
+        }
+
+        void scan() {
+            int position = startsWith(0, UTF8_BOM) ? UTF8_BOM.length : 0;
+            if (this.limit >= 2 && (this.content.get(0) == 0 || this.content.get(1) == 0
+                    || (this.content.get(0) & 0xFF) == 0xFE || (this.content.get(0) & 0xFF) == 0xFF)) {
+                throw new JaxbRuntimeException("[JU190772315] Spliced document should be UTF-8 encoded (UTF-16 found)");
+            }
+            // Prolog
+            while (true) {
+                position = skipWhitespace(position);
+                if (startsWith(position, PI_START)) {
+                    final int end = find(position, PI_END) + PI_END.length;
+                    checkEncoding(position, end);
+                    position = end;
+                } else if (startsWith(position, COMMENT_START)) {
+                    position = find(position, COMMENT_END) + COMMENT_END.length;
+                } else if (startsWith(position, DOCTYPE_START)) {
+                    position = skipDoctype(position);
+                } else if (position < this.limit && this.content.get(position) == '<') {
+                    break;
+                } else {
+                    throw malformed(position, "root element is expected");
+                }
+            }
+            this.rootName = readName(position + 1);
+            this.rootStartTagEnd = skipTag(position);
+            if (isEmptyElementTag(this.rootStartTagEnd)) {
+                return;
+            }
+            // Root content
+            position = this.rootStartTagEnd;
+            while (true) {
+                final int tagStart = find(position, (byte) '<');
+                final int markupEnd = skipNonElementMarkup(tagStart);
+                if (markupEnd > 0) {
+                    position = markupEnd;
+                } else if (startsWith(tagStart, END_TAG_START)) {
+                    return;
+                } else {
+                    position = skipElement(tagStart);
+                    addChild(tagStart, position);
+                }
+            }
+        }
+
+        private void addChild(int start, int end) {
+            if (this.childCount == this.childStarts.length) {
+                this.childStarts = Arrays.copyOf(this.childStarts, this.childCount * 2);
+                this.childEnds = Arrays.copyOf(this.childEnds, this.childCount * 2);
+                this.childNames = Arrays.copyOf(this.childNames, this.childCount * 2);
+            }
+            this.childStarts[this.childCount] = start;
+            this.childEnds[this.childCount] = end;
+            this.childNames[this.childCount] = readName(start + 1);
+            this.childCount++;
+        }
+
+        /**
+         * @return Position after element started at <code>position</code> (including its end tag).
+         */
+        private int skipElement(int position) {
+            int end = skipTag(position);
+            if (isEmptyElementTag(end)) {
+                return end;
+            }
+            int depth = 1;
+            while (true) {
+                final int tagStart = find(end, (byte) '<');
+                final int markupEnd = skipNonElementMarkup(tagStart);
+                if (markupEnd > 0) {
+                    end = markupEnd;
+                    continue;
+                }
+                end = skipTag(tagStart);
+                if (startsWith(tagStart, END_TAG_START)) {
+                    if (--depth == 0) {
+                        return end;
+                    }
+                } else if (!isEmptyElementTag(end)) {
+                    depth++;
+                }
+            }
+        }
+
+        /**
+         * @return Position after comment, CDATA section or processing instruction started at <code>position</code>,
+         * 0 if there is element tag at <code>position</code>.
+         */
+        private int skipNonElementMarkup(int position) {
+            if (startsWith(position, COMMENT_START)) {
+                return find(position, COMMENT_END) + COMMENT_END.length;
+            }
+            if (startsWith(position, CDATA_START)) {
+                return find(position, CDATA_END) + CDATA_END.length;
+            }
+            if (startsWith(position, PI_START)) {
+                return find(position, PI_END) + PI_END.length;
+            }
+            return 0;
+        }
+
+        /**
+         * @return Position after tag started at <code>position</code> ('&gt;' in quoted attribute values is skipped).
+         */
+        private int skipTag(int position) {
+            byte quote = 0;
+            for (int i = position + 1; i < this.limit; i++) {
+                final byte b = this.content.get(i);
+                if (quote != 0) {
+                    if (b == quote) {
+                        quote = 0;
+                    }
+                } else if (b == '"' || b == '\'') {
+                    quote = b;
+                } else if (b == '>') {
+                    return i + 1;
+                }
+            }
+            throw malformed(position, "tag is not closed");
+        }
+
+        private int skipDoctype(int position) {
+            int bracketDepth = 0;
+            for (int i = position + DOCTYPE_START.length; i < this.limit; i++) {
+                final byte b = this.content.get(i);
+                if (b == '[') {
+                    bracketDepth++;
+                } else if (b == ']') {
+                    bracketDepth--;
+                } else if (b == '>' && bracketDepth == 0) {
+                    return i + 1;
+                }
+            }
+            throw malformed(position, "DOCTYPE is not closed");
+        }
+
+        private boolean isEmptyElementTag(int tagEnd) {
+            return this.content.get(tagEnd - 2) == '/';
+        }
+
+        private String readName(int position) {
+            int end = position;
+            while (end < this.limit) {
+                final byte b = this.content.get(end);
+                if (b == '>' || b == '/' || b == ' ' || b == '\t' || b == '\n' || b == '\r') {
+                    break;
+                }
+                end++;
+            }
+            if (end == position) {
+                throw malformed(position, "element name is expected");
+            }
+            final byte[] name = new byte[end - position];
+            final ByteBuffer nameBuffer = this.content.duplicate();
+            nameBuffer.position(position);
+            nameBuffer.get(name);
+            return new String(name, StandardCharsets.UTF_8);
+        }
+
+        private void checkEncoding(int start, int end) {
+            final byte[] declaration = new byte[end - start];
+            final ByteBuffer declarationBuffer = this.content.duplicate();
+            declarationBuffer.position(start);
+            declarationBuffer.get(declaration);
+            final String declarationText = new String(declaration, StandardCharsets.US_ASCII);
+            if (!declarationText.startsWith("<?xml ")) {
+                return;
+            }
+            final Matcher matcher = ENCODING_PATTERN.matcher(declarationText);
+            if (matcher.find() && !"UTF-8".equalsIgnoreCase(matcher.group(1))) {
+                throw new JaxbRuntimeException("[JU190772316] Spliced document should be UTF-8 encoded: " + matcher.group(1));
+            }
+        }
+
+        private int skipWhitespace(int position) {
+            while (position < this.limit) {
+                final byte b = this.content.get(position);
+                if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                    break;
+                }
+                position++;
+            }
+            return position;
+        }
+
+        private int find(int position, byte b) {
+            for (int i = position; i < this.limit; i++) {
+                if (this.content.get(i) == b) {
+                    return i;
+                }
+            }
+            throw malformed(position, "document end is reached before root element end");
+        }
+
+        private int find(int position, byte[] pattern) {
+            for (int i = position; i <= this.limit - pattern.length; i++) {
+                if (startsWith(i, pattern)) {
+                    return i;
+                }
+            }
+            throw malformed(position, "'" + new String(pattern, StandardCharsets.US_ASCII) + "' is not found");
+        }
+
+        private boolean startsWith(int position, byte[] pattern) {
+            if (position + pattern.length > this.limit) {
+                return false;
+            }
+            for (int i = 0; i < pattern.length; i++) {
+                if (this.content.get(position + i) != pattern[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static JaxbRuntimeException malformed(int position, String message) {
+            return new JaxbRuntimeException("[JU190772317] Malformed XML at byte " + position + ": " + message);
+        }
+    }
+
+}
@@ -5,10 +5,22 @@ import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -24,8 +36,15 @@ public class UnmarshallHelper<T> extends MarshallingHelperBase {
     private static final Class<UnmarshallHelper> MODULE = UnmarshallHelper.class;
     private static final Logger LOG = Logger.getLogger(MODULE.getName());
 
+    private final ConcurrentMap<JAXBContext, JaxbObjectPool<Unmarshaller>> unmarshallerPools = new ConcurrentHashMap<>();
+    private volatile long mappedReadThreshold = XmlFiles.NO_MAPPED_READS;
+    private volatile XMLInputFactory xmlInputFactory;
+    private volatile XmlCompression compression = XmlCompression.NONE;
+    private final UnmarshallResultCache resultCache;
+
     public UnmarshallHelper() {
         super();
+        this.resultCache = null;
     }
 
     /**
@@ -33,6 +52,7 @@ public class UnmarshallHelper<T> extends MarshallingHelperBase {
      */
     public UnmarshallHelper(boolean validationErrorTolerant) {
         super(validationErrorTolerant, null);
+        this.resultCache = null;
     }
 
     /**
@@ -40,10 +60,139 @@ public class UnmarshallHelper<T> extends MarshallingHelperBase {
      */
     public UnmarshallHelper(String xmlSchemaResourceUrl) {
         super(xmlSchemaResourceUrl);
+        this.resultCache = null;
     }
 
     public UnmarshallHelper(boolean validationErrorTolerant, String xmlSchemaResourceUrl) {
         super(validationErrorTolerant, xmlSchemaResourceUrl);
+        this.resultCache = null;
+    }
+
+    private UnmarshallHelper(Builder<T> builder) {
+        super(builder);
+        this.mappedReadThreshold = builder.mappedReadThreshold;
+        this.xmlInputFactory = builder.xmlInputFactory;
+        this.compression = builder.compression;
+        this.resultCache = builder.resultCache;
+    }
+
+    /**
+     * Usage sample:
+     * <pre>
+     * UnmarshallHelper&lt;Sample&gt; helper = UnmarshallHelper.builder(Sample.class)
+     *         .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd").build();
+     * Sample sample = helper.unmarshallFromResourcePath("sample.xml");
+     * </pre>
+     *
+     * @param entityClass Class of entities to unmarshall.
+     * @param <T>         Entity type.
+     * @return Builder of immutable helper which is safe to be shared between threads.
+     */
+    public static <T> Builder<T> builder(Class<T> entityClass) {
+        return new Builder<>(entityClass);
+    }
+
+    /**
+     * NOTE: Only for helpers created by builder. Result is taken from result cache if it's set.
+     *
+     * @param resourcePath
+     * @return unmarshalled entity
+     * @throws JaxbRuntimeException
+     */
+    public T unmarshallFromResourcePath(String resourcePath)
+            throws JaxbRuntimeException {
+        if (this.resultCache != null) {
+            return this.resultCache.getFromResource(this, resourcePath);
+        }
+        return unmarshallFromResourcePath(resourcePath, getBoundJaxbContext());
+    }
+
+    /**
+     * NOTE: Only for helpers created by builder. Result is taken from result cache if it's set.
+     *
+     * @param filePath
+     * @return unmarshalled entity
+     * @throws JaxbRuntimeException
+     */
+    public T unmarshallFromFilePath(String filePath)
+            throws JaxbRuntimeException {
+        return unmarshall(new File(filePath));
+    }
+
+    /**
+     * NOTE: Only for helpers created by builder. Result is taken from result cache if it's set.
+     *
+     * @param file
+     * @return unmarshalled entity
+     * @throws JaxbRuntimeException
+     */
+    public T unmarshall(File file)
+            throws JaxbRuntimeException {
+        if (this.resultCache != null) {
+            return this.resultCache.getFromFile(this, file);
+        }
+        return unmarshall(file, getBoundJaxbContext());
+    }
+
+    /**
+     * NOTE: Only for helpers created by builder.
+     *
+     * @param file
+     * @param compression File compression, e.g. {@link XmlCompression#AUTO}.
+     * @return unmarshalled entity
+     * @throws JaxbRuntimeException
+     */
+    public T unmarshall(File file, XmlCompression compression)
+            throws JaxbRuntimeException {
+        return unmarshall(file, getBoundJaxbContext(), compression);
+    }
+
+    /**
+     * NOTE: Only for helpers created by builder.
+     *
+     * @param inputStream
+     * @return unmarshalled entity
+     * @throws JaxbRuntimeException
+     */
+    public T unmarshall(InputStream inputStream)
+            throws JaxbRuntimeException {
+        return unmarshall(inputStream, getBoundJaxbContext());
+    }
+
+    /**
+     * NOTE: Only for helpers created by builder.
+     *
+     * @param bytes XML document.
+     * @return unmarshalled entity
+     * @throws JaxbRuntimeException
+     */
+    public T unmarshall(byte[] bytes)
+            throws JaxbRuntimeException {
+        return unmarshall(bytes, getBoundJaxbContext());
+    }
+
+    /**
+     * NOTE: Only for helpers created by builder.
+     *
+     * @param buffer XML document (remaining bytes of heap or direct buffer, its position is not changed).
+     * @return unmarshalled entity
+     * @throws JaxbRuntimeException
+     */
+    public T unmarshall(ByteBuffer buffer)
+            throws JaxbRuntimeException {
+        return unmarshall(buffer, getBoundJaxbContext());
+    }
+
+    /**
+     * NOTE: Only for helpers created by builder.
+     *
+     * @param xml XML document text.
+     * @return unmarshalled entity
+     * @throws JaxbRuntimeException
+     */
+    public T unmarshall(CharSequence xml)
+            throws JaxbRuntimeException {
+        return unmarshall(xml, getBoundJaxbContext());
     }
 
 
@@ -57,7 +206,7 @@ public class UnmarshallHelper<T> extends MarshallingHelperBase {
      */
     public T unmarshallFromResourcePath(String resourcePath, Class<T> entityClass)
             throws JaxbRuntimeException {
-        return unmarshall(JaxbUtils.getResourceInputStream(resourcePath), getJAXBContext(entityClass));
+        return unmarshall(JaxbUtils.getResourceInputStream(resourcePath), resolveJAXBContext(entityClass));
     }
 
     /**
@@ -90,7 +239,7 @@ public class UnmarshallHelper<T> extends MarshallingHelperBase {
      */
     public T unmarshall(File file, Class<T> entityClass)
             throws JaxbRuntimeException {
-        return unmarshall(file, getJAXBContext(entityClass));
+        return unmarshall(file, resolveJAXBContext(entityClass));
     }
 
     /**
@@ -101,17 +250,32 @@ public class UnmarshallHelper<T> extends MarshallingHelperBase {
      */
     public T unmarshall(File file, JAXBContext entityJaxbContext)
             throws JaxbRuntimeException {
+        return unmarshall(file, entityJaxbContext, this.compression);
+    }
+
+    /**
+     * @param file
+     * @param entityJaxbContext
+     * @param compression       File compression, e.g. {@link XmlCompression#AUTO}.
+     * @return unmarshalled entity
+     * @throws JaxbRuntimeException
+     */
+    public T unmarshall(File file, JAXBContext entityJaxbContext, XmlCompression compression)
+            throws JaxbRuntimeException {
         if (file == null) {
             throw new IllegalArgumentException("[JU342545] File for entity unmarshalling should not be null!");
         }
         if (entityJaxbContext == null) {
             throw new IllegalArgumentException("[JU980321] JAXBContext for entity unmarshalling should not be null!");
         }
-        try {
-            return unmarshall(new FileInputStream(file), entityJaxbContext);
-        } catch (FileNotFoundException e) {
+        if (compression == null) {
+            throw new IllegalArgumentException("[JU730412666] Compression of file for unmarshalling should not be null!");
+        }
+        try (InputStream inputStream = XmlFiles.newInputStream(file, this.mappedReadThreshold, compression)) {
+            return unmarshall(inputStream, entityJaxbContext);
+        } catch (IOException e) {
             throw new JaxbRuntimeException(
-                    String.format("[JU46325648] FileNotFoundException error occurred while unmarshalling from file '%s'. Message: %s"
+                    String.format("[JU46325648] IOException error occurred while unmarshalling from file '%s'. Message: %s"
                             , file.getAbsolutePath(), e.getMessage()), e
             );
         }
@@ -132,7 +296,7 @@ public class UnmarshallHelper<T> extends MarshallingHelperBase {
             throw new IllegalArgumentException("[JU3921744] Entity class for unmarshalling should not be null!");
         }
 
-        return unmarshall(inputStream, getJAXBContext(entityClass));
+        return unmarshall(inputStream, resolveJAXBContext(entityClass));
     }
 
     /**
@@ -149,43 +313,724 @@ public class UnmarshallHelper<T> extends MarshallingHelperBase {
         if (entityJaxbContext == null) {
             throw new IllegalArgumentException("[JU647299] JAXBContext for entity unmarshalling should not be null!");
         }
+        final CountingInputStream countingInputStream = getMetrics().isEnabled() ? new CountingInputStream(inputStream) : null;
+        return unmarshall(new StreamSource(countingInputStream == null ? inputStream : countingInputStream), entityJaxbContext
+                , countingInputStream, 0L);
+    }
 
-        T entity;
-        final Unmarshaller unmarshaller;
-        try {
-            unmarshaller = entityJaxbContext.createUnmarshaller();
-            final CollectingValidationEventHandler eventHandler = new CollectingValidationEventHandler();
-            unmarshaller.setEventHandler(eventHandler);
+    /**
+     * @param bytes             XML document.
+     * @param entityJaxbContext
+     * @return unmarshalled entity
+     * @throws JaxbRuntimeException
+     */
+    public T unmarshall(byte[] bytes, JAXBContext entityJaxbContext)
+            throws JaxbRuntimeException {
+        if (bytes == null) {
+            throw new IllegalArgumentException("[JU32431002] Bytes for entity unmarshalling should not be null!");
+        }
+        return unmarshall(ByteBuffer.wrap(bytes), entityJaxbContext);
+    }
 
-            if (!isValidationErrorTolerant()) {
-                loadXmlSchema();
-                unmarshaller.setSchema(getXmlSchema());
-            }
+    /**
+     * @param buffer            XML document (remaining bytes of heap or direct buffer, its position is not changed).
+     * @param entityJaxbContext
+     * @return unmarshalled entity
+     * @throws JaxbRuntimeException
+     */
+    public T unmarshall(ByteBuffer buffer, JAXBContext entityJaxbContext)
+            throws JaxbRuntimeException {
+        if (buffer == null) {
+            throw new IllegalArgumentException("[JU32431003] Buffer for entity unmarshalling should not be null!");
+        }
+        if (entityJaxbContext == null) {
+            throw new IllegalArgumentException("[JU647300] JAXBContext for entity unmarshalling should not be null!");
+        }
+        return unmarshall(new StreamSource(new ByteBufferInputStream(buffer)), entityJaxbContext, null, buffer.remaining());
+    }
 
-            Object entityElementObj;
-            entityElementObj = unmarshaller.unmarshal(inputStream);
-            // Validate unmarshall
-            final String unmarshallCombinedEventsMessage = eventHandler.getCombinedEventsMessage();
-            if (!"".equals(unmarshallCombinedEventsMessage)) {
-                if (isValidationErrorTolerant()) {
-                    LOG.warning("There are warns/errors while unmarshalling: [[ " + unmarshallCombinedEventsMessage + " ]]");
-                } else {
-                    throw new JaxbRuntimeException("[JU547445635] " + unmarshallCombinedEventsMessage);
-                }
-            }
+    /**
+     * @param xml               XML document text.
+     * @param entityJaxbContext
+     * @return unmarshalled entity
+     * @throws JaxbRuntimeException
+     */
+    public T unmarshall(CharSequence xml, JAXBContext entityJaxbContext)
+            throws JaxbRuntimeException {
+        if (xml == null) {
+            throw new IllegalArgumentException("[JU32431004] XML text for entity unmarshalling should not be null!");
+        }
+        if (entityJaxbContext == null) {
+            throw new IllegalArgumentException("[JU647301] JAXBContext for entity unmarshalling should not be null!");
+        }
+        return unmarshall(new StreamSource(new CharSequenceReader(xml)), entityJaxbContext, null, xml.length());
+    }
+
+    /**
+     * @param source              Stream or reader of XML document.
+     * @param entityJaxbContext
+     * @param countingInputStream Counter of read bytes or null if size is known.
+     * @param size                Size of document (bytes or characters for text) reported to metrics.
+     * @return unmarshalled entity
+     * @throws JaxbRuntimeException
+     */
+    private T unmarshall(StreamSource source, JAXBContext entityJaxbContext, CountingInputStream countingInputStream
+            , long size) throws JaxbRuntimeException {
+        T entity = null;
+        final JaxbMetrics metrics = getMetrics();
+        final long start = metrics.isEnabled() ? System.nanoTime() : 0L;
+        boolean succeeded = false;
+        final JaxbObjectPool<Unmarshaller> unmarshallerPool = getUnmarshallerPool(entityJaxbContext);
+        final Unmarshaller unmarshaller = unmarshallerPool.borrow();
+        boolean unmarshallerReusable = false;
+        CollectingValidationEventHandler eventHandler = null;
+        try {
+            eventHandler = (CollectingValidationEventHandler) unmarshaller.getEventHandler();
 
+            Object entityElementObj;
+            final XMLInputFactory currentXmlInputFactory = this.xmlInputFactory;
+            entityElementObj = currentXmlInputFactory == null ? unmarshaller.unmarshal(source)
+                    : unmarshall(unmarshaller, currentXmlInputFactory, source);
+            unmarshallerReusable = true;
             entity = (T) (entityElementObj instanceof JAXBElement ? ((JAXBElement<?>) entityElementObj)
                     .getValue() : entityElementObj);
+
+            // Validate unmarshall
+            handleValidationEvents(eventHandler);
+            succeeded = true;
         } catch (JAXBException e) {
+            final JaxbRuntimeException validationAbortedException = toValidationAbortedException(eventHandler, e);
+            if (validationAbortedException != null) {
+                throw validationAbortedException;
+            }
             throw new JaxbRuntimeException(
                     String.format("[JU98474554] Error occurred while unmarshalling entity. Message: %s"
                             , e.getMessage()), e
             );
 
+        } finally {
+            if (metrics.isEnabled()) {
+                final Class<?> entityClass = entity == null ? getMetricsEntityClass() : entity.getClass();
+                if (eventHandler != null) {
+                    recordValidationEvents(JaxbMetrics.Operation.UNMARSHALL, entityClass, eventHandler);
+                }
+                metrics.unmarshalled(entityClass, System.nanoTime() - start
+                        , countingInputStream == null ? size : countingInputStream.getCount(), succeeded);
+            }
+            if (unmarshallerReusable) {
+                unmarshallerPool.release(unmarshaller);
+            } else {
+                unmarshallerPool.invalidate(unmarshaller);
+            }
         }
 
         return entity;
     }
 
+    /**
+     * Streams records of (huge) XML document: only one record element is unmarshalled (and kept in memory) at a time.
+     * NOTE: Returned iterator should be closed, it closes <code>inputStream</code> as well.
+     *
+     * @param inputStream       XML document.
+     * @param recordClass       Record JAXB class.
+     * @param recordElementName Name of repeated record element.
+     * @return Records iterator.
+     * @throws JaxbRuntimeException
+     */
+    public XmlRecordIterator<T> unmarshallStreaming(InputStream inputStream, Class<T> recordClass, QName recordElementName)
+            throws JaxbRuntimeException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("[JU771204391] InputStream for records unmarshalling should not be null!");
+        }
+        if (recordClass == null) {
+            throw new IllegalArgumentException("[JU771204392] Record class for unmarshalling should not be null!");
+        }
+        if (recordElementName == null) {
+            throw new IllegalArgumentException("[JU771204393] Record element name for unmarshalling should not be null!");
+        }
+        return new XmlRecordIterator<>(this, getUnmarshallerPool(resolveJAXBContext(recordClass)), inputStream
+                , recordClass, XmlProjection.elements(recordElementName));
+    }
+
+    /**
+     * Same as {@link #unmarshallStreaming(InputStream, Class, QName)}, record element name is taken from
+     * <code>XmlRootElement</code> annotation of <code>recordClass</code>.
+     *
+     * @param inputStream XML document.
+     * @param recordClass Record JAXB class.
+     * @return Records iterator.
+     * @throws JaxbRuntimeException
+     */
+    public XmlRecordIterator<T> unmarshallStreaming(InputStream inputStream, Class<T> recordClass)
+            throws JaxbRuntimeException {
+        return unmarshallStreaming(inputStream, recordClass, JaxbUtils.getXmlRootElementName(recordClass));
+    }
+
+    /**
+     * @param file              XML document.
+     * @param recordClass       Record JAXB class.
+     * @param recordElementName Name of repeated record element.
+     * @return Records iterator (should be closed).
+     * @throws JaxbRuntimeException
+     * @see #unmarshallStreaming(InputStream, Class, QName)
+     */
+    public XmlRecordIterator<T> unmarshallStreaming(File file, Class<T> recordClass, QName recordElementName)
+            throws JaxbRuntimeException {
+        if (file == null) {
+            throw new IllegalArgumentException("[JU771204394] File for records unmarshalling should not be null!");
+        }
+        final InputStream inputStream;
+        try {
+            inputStream = openFile(file);
+        } catch (IOException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU771204395] IOException error occurred while unmarshalling records from file '%s'. Message: %s"
+                            , file.getAbsolutePath(), e.getMessage()), e
+            );
+        }
+        try {
+            return unmarshallStreaming(inputStream, recordClass, recordElementName);
+        } catch (RuntimeException e) {
+            XmlFiles.closeQuietly(inputStream);
+            throw e;
+        }
+    }
+
+    /**
+     * Unmarshalls only projected elements of XML document (e.g. header of huge document), other elements are skipped
+     * by StAX reader without binding them. See {@link XmlProjection}.
+     * NOTE1: Returned iterator should be closed, it closes <code>inputStream</code> as well.<br>
+     * NOTE2: If validation is on, projected element should be declared as global element in XML schema.
+     *
+     * @param inputStream    XML document.
+     * @param projectedClass JAXB class of projected elements (not necessarily bound class of this helper).
+     * @param projection     Elements to unmarshall.
+     * @param <P>            Projected type.
+     * @return Projected elements iterator.
+     * @throws JaxbRuntimeException
+     */
+    public <P> XmlRecordIterator<P> unmarshallProjected(InputStream inputStream, Class<P> projectedClass, XmlProjection projection)
+            throws JaxbRuntimeException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("[JU583064221] InputStream for projected unmarshalling should not be null!");
+        }
+        if (projectedClass == null) {
+            throw new IllegalArgumentException("[JU583064222] Projected class for unmarshalling should not be null!");
+        }
+        if (projection == null) {
+            throw new IllegalArgumentException("[JU583064223] Projection for unmarshalling should not be null!");
+        }
+        return new XmlRecordIterator<>(this, getUnmarshallerPool(resolveJAXBContext(projectedClass)), inputStream
+                , projectedClass, projection);
+    }
+
+    /**
+     * @param file           XML document.
+     * @param projectedClass JAXB class of projected elements.
+     * @param projection     Elements to unmarshall.
+     * @param <P>            Projected type.
+     * @return Projected elements iterator (should be closed).
+     * @throws JaxbRuntimeException
+     * @see #unmarshallProjected(InputStream, Class, XmlProjection)
+     */
+    public <P> XmlRecordIterator<P> unmarshallProjected(File file, Class<P> projectedClass, XmlProjection projection)
+            throws JaxbRuntimeException {
+        if (file == null) {
+            throw new IllegalArgumentException("[JU583064224] File for projected unmarshalling should not be null!");
+        }
+        final InputStream inputStream;
+        try {
+            inputStream = openFile(file);
+        } catch (IOException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU583064225] IOException error occurred while unmarshalling projection from file '%s'. Message: %s"
+                            , file.getAbsolutePath(), e.getMessage()), e
+            );
+        }
+        try {
+            return unmarshallProjected(inputStream, projectedClass, projection);
+        } catch (RuntimeException e) {
+            XmlFiles.closeQuietly(inputStream);
+            throw e;
+        }
+    }
+
+    /**
+     * Unmarshalls first projected element, the rest of document is not read at all.
+     * NOTE: <code>inputStream</code> is closed.
+     *
+     * @param inputStream    XML document.
+     * @param projectedClass JAXB class of projected element.
+     * @param projection     Element to unmarshall.
+     * @param <P>            Projected type.
+     * @return First projected element or null if there is no one.
+     * @throws JaxbRuntimeException
+     * @see #unmarshallProjected(InputStream, Class, XmlProjection)
+     */
+    public <P> P unmarshallFirstProjected(InputStream inputStream, Class<P> projectedClass, XmlProjection projection)
+            throws JaxbRuntimeException {
+        try (XmlRecordIterator<P> projected = unmarshallProjected(inputStream, projectedClass, projection)) {
+            return projected.hasNext() ? projected.next() : null;
+        }
+    }
+
+    /**
+     * @param file           XML document.
+     * @param projectedClass JAXB class of projected element.
+     * @param projection     Element to unmarshall.
+     * @param <P>            Projected type.
+     * @return First projected element or null if there is no one.
+     * @throws JaxbRuntimeException
+     * @see #unmarshallFirstProjected(InputStream, Class, XmlProjection)
+     */
+    public <P> P unmarshallFirstProjected(File file, Class<P> projectedClass, XmlProjection projection)
+            throws JaxbRuntimeException {
+        try (XmlRecordIterator<P> projected = unmarshallProjected(file, projectedClass, projection)) {
+            return projected.hasNext() ? projected.next() : null;
+        }
+    }
+
+    /**
+     * Unmarshalls records of (huge) XML document on many threads: reader thread splits document into chunks of records,
+     * executor threads unmarshall chunks concurrently. See {@link ParallelXmlRecordIterator} for details.
+     * NOTE: Returned iterator should be closed, it closes <code>inputStream</code> as well.
+     *
+     * @param inputStream       XML document.
+     * @param recordClass       Record JAXB class.
+     * @param recordElementName Name of repeated record element.
+     * @param options           Executor, chunk size, ordering etc.
+     * @return Records iterator.
+     * @throws JaxbRuntimeException
+     */
+    public ParallelXmlRecordIterator<T> unmarshallParallel(InputStream inputStream, Class<T> recordClass
+            , QName recordElementName, ParallelUnmarshallOptions options) throws JaxbRuntimeException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("[JU906627349] InputStream for records unmarshalling should not be null!");
+        }
+        if (recordClass == null) {
+            throw new IllegalArgumentException("[JU906627350] Record class for unmarshalling should not be null!");
+        }
+        if (recordElementName == null) {
+            throw new IllegalArgumentException("[JU906627351] Record element name for unmarshalling should not be null!");
+        }
+        if (options == null) {
+            throw new IllegalArgumentException("[JU906627352] Parallel unmarshalling options should not be null!");
+        }
+        return new ParallelXmlRecordIterator<>(this, getUnmarshallerPool(resolveJAXBContext(recordClass)), inputStream
+                , recordClass, recordElementName, options);
+    }
+
+    /**
+     * @param file              XML document.
+     * @param recordClass       Record JAXB class.
+     * @param recordElementName Name of repeated record element.
+     * @param options           Executor, chunk size, ordering etc.
+     * @return Records iterator (should be closed).
+     * @throws JaxbRuntimeException
+     * @see #unmarshallParallel(InputStream, Class, QName, ParallelUnmarshallOptions)
+     */
+    public ParallelXmlRecordIterator<T> unmarshallParallel(File file, Class<T> recordClass, QName recordElementName
+            , ParallelUnmarshallOptions options) throws JaxbRuntimeException {
+        if (file == null) {
+            throw new IllegalArgumentException("[JU906627353] File for records unmarshalling should not be null!");
+        }
+        final InputStream inputStream;
+        try {
+            inputStream = openFile(file);
+        } catch (IOException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU906627354] IOException error occurred while unmarshalling records from file '%s'. Message: %s"
+                            , file.getAbsolutePath(), e.getMessage()), e
+            );
+        }
+        try {
+            return unmarshallParallel(inputStream, recordClass, recordElementName, options);
+        } catch (RuntimeException e) {
+            XmlFiles.closeQuietly(inputStream);
+            throw e;
+        }
+    }
+
+    /**
+     * Unmarshalls many files on <code>executor</code> reusing JAXB context and pooled unmarshallers.
+     * Not more than {@value BatchRunner#DEFAULT_MAX_OPEN_FILES} files are open at the same time.
+     *
+     * @param files       Files to unmarshall.
+     * @param entityClass Entity class.
+     * @param executor    Executor to run on. If null, files are unmarshalled in caller thread.
+     * @return Per-file results or errors and throughput.
+     * @throws JaxbRuntimeException if interrupted.
+     */
+    public BatchResult<File, T> unmarshallFiles(Collection<File> files, Class<T> entityClass, Executor executor)
+            throws JaxbRuntimeException {
+        return unmarshallFiles(files, entityClass, executor, BatchRunner.DEFAULT_MAX_OPEN_FILES);
+    }
+
+    /**
+     * @param files        Files to unmarshall.
+     * @param entityClass  Entity class.
+     * @param executor     Executor to run on. If null, files are unmarshalled in caller thread.
+     * @param maxOpenFiles Max number of files open (and unmarshalled) at the same time.
+     * @return Per-file results or errors and throughput.
+     * @throws JaxbRuntimeException if interrupted.
+     * @see #unmarshallFiles(Collection, Class, Executor)
+     */
+    public BatchResult<File, T> unmarshallFiles(Collection<File> files, Class<T> entityClass, Executor executor
+            , int maxOpenFiles) throws JaxbRuntimeException {
+        if (entityClass == null) {
+            throw new IllegalArgumentException("[JU487302620] Entity class for unmarshalling should not be null!");
+        }
+        final JAXBContext entityJaxbContext = resolveJAXBContext(entityClass);
+        return new BatchRunner<>(new BatchRunner.ItemTask<File, T>() {
+            @Override
+            public T process(File file) {
+                try (InputStream inputStream = openFile(file)) {
+                    return unmarshall(inputStream, entityJaxbContext);
+                } catch (IOException e) {
+                    throw new JaxbRuntimeException(
+                            String.format("[JU487302621] IOException error occurred while unmarshalling from file '%s'. Message: %s"
+                                    , file.getAbsolutePath(), e.getMessage()), e
+                    );
+                }
+            }
+
+            @Override
+            public long getSize(File file) {
+                return file.length();
+            }
+        }, executor, maxOpenFiles).run(files);
+    }
+
+    /**
+     * Unmarshalls many streams on <code>executor</code> reusing JAXB context and pooled unmarshallers.
+     * NOTE: Every stream is closed once it's unmarshalled.
+     *
+     * @param inputStreams Streams to unmarshall.
+     * @param entityClass  Entity class.
+     * @param executor     Executor to run on. If null, streams are unmarshalled in caller thread.
+     * @return Per-stream results or errors and throughput.
+     * @throws JaxbRuntimeException if interrupted.
+     */
+    public BatchResult<InputStream, T> unmarshallStreams(Collection<? extends InputStream> inputStreams
+            , Class<T> entityClass, Executor executor) throws JaxbRuntimeException {
+        if (entityClass == null) {
+            throw new IllegalArgumentException("[JU487302622] Entity class for unmarshalling should not be null!");
+        }
+        final JAXBContext entityJaxbContext = resolveJAXBContext(entityClass);
+        return new BatchRunner<>(new BatchRunner.ItemTask<InputStream, T>() {
+            @Override
+            public T process(InputStream inputStream) {
+                try (InputStream closedInputStream = inputStream) {
+                    return unmarshall(closedInputStream, entityJaxbContext);
+                } catch (IOException e) {
+                    throw new JaxbRuntimeException("[JU487302623] IOException error occurred while closing stream: "
+                            + e.getMessage(), e);
+                }
+            }
+
+            @Override
+            public long getSize(InputStream inputStream) {
+                return 0L;
+            }
+        }, executor, BatchRunner.DEFAULT_MAX_OPEN_FILES).run(inputStreams);
+    }
+
+    /**
+     * Unmarshalls file on async executor (see {@link #setAsyncExecutor(Executor)}), caller thread is not blocked.
+     *
+     * @param file        File to unmarshall.
+     * @param entityClass Entity class.
+     * @return Future of unmarshalled entity. It's completed with {@link JaxbRuntimeException} on error,
+     * its cancellation interrupts unmarshalling.
+     */
+    public CompletableFuture<T> unmarshallAsync(final File file, final Class<T> entityClass) {
+        if (file == null) {
+            throw new IllegalArgumentException("[JU129750470] File for entity unmarshalling should not be null!");
+        }
+        if (entityClass == null) {
+            throw new IllegalArgumentException("[JU129750471] Entity class for unmarshalling should not be null!");
+        }
+        return supplyAsync(() -> unmarshall(file, entityClass));
+    }
+
+    /**
+     * @param file        File to unmarshall.
+     * @param entityClass Entity class.
+     * @param timeout     Max unmarshalling time.
+     * @param unit        Time unit of <code>timeout</code>.
+     * @return Future of unmarshalled entity. Unless it's done in time, it's completed with {@link JaxbRuntimeException}
+     * caused by {@link java.util.concurrent.TimeoutException} and unmarshalling is interrupted.
+     * @see #unmarshallAsync(File, Class)
+     */
+    public CompletableFuture<T> unmarshallAsync(File file, Class<T> entityClass, long timeout, TimeUnit unit) {
+        return AsyncSupport.withTimeout(unmarshallAsync(file, entityClass), timeout, unit);
+    }
+
+    /**
+     * NOTE: Stream is not closed.
+     *
+     * @param inputStream Stream to unmarshall.
+     * @param entityClass Entity class.
+     * @return Future of unmarshalled entity.
+     * @see #unmarshallAsync(File, Class)
+     */
+    public CompletableFuture<T> unmarshallAsync(final InputStream inputStream, final Class<T> entityClass) {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("[JU129750472] InputStream for entity unmarshalling should not be null!");
+        }
+        if (entityClass == null) {
+            throw new IllegalArgumentException("[JU129750473] Entity class for unmarshalling should not be null!");
+        }
+        return supplyAsync(() -> unmarshall(inputStream, entityClass));
+    }
+
+    /**
+     * @return Files of this size (bytes) or larger are read through memory mapping, negative value means never.
+     */
+    public long getMappedReadThreshold() {
+        return mappedReadThreshold;
+    }
+
+    /**
+     * @param mappedReadThreshold Files of this size (bytes) or larger are read through memory mapping,
+     *                            negative value (default) means never.
+     */
+    public void setMappedReadThreshold(long mappedReadThreshold) {
+        checkMutable();
+        this.mappedReadThreshold = mappedReadThreshold;
+    }
+
+    /**
+     * @return StAX factory documents are parsed by or null if JAXB provider parses them itself (default).
+     */
+    public XMLInputFactory getXmlInputFactory() {
+        return xmlInputFactory;
+    }
+
+    /**
+     * @param xmlInputFactory StAX factory documents are parsed by (e.g. one of {@link XmlParsers}), null means JAXB provider
+     *                        parses them itself. Factory is shared by all threads, so it should not be modified afterwards.
+     */
+    public void setXmlInputFactory(XMLInputFactory xmlInputFactory) {
+        checkMutable();
+        this.xmlInputFactory = xmlInputFactory;
+    }
+
+    /**
+     * @return Compression of files read by this helper.
+     */
+    public XmlCompression getCompression() {
+        return compression;
+    }
+
+    /**
+     * @return Cache of results of resource and file reads (null if results are not cached).
+     */
+    public UnmarshallResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * @param compression Compression of files read by this helper (default is {@link XmlCompression#NONE}).
+     */
+    public void setCompression(XmlCompression compression) {
+        checkMutable();
+        if (compression == null) {
+            throw new IllegalArgumentException("[JU730412667] Compression should not be null!");
+        }
+        this.compression = compression;
+    }
+
+    /**
+     * @return Statistics of unmarshaller pools of this helper (summed over all used JAXB contexts).
+     */
+    public PoolStatistics getPoolStatistics() {
+        PoolStatistics statistics = PoolStatistics.empty();
+        for (JaxbObjectPool<Unmarshaller> unmarshallerPool : this.unmarshallerPools.values()) {
+            statistics = statistics.plus(unmarshallerPool.getStatistics());
+        }
+        return statistics;
+    }
+
+    @Override
+    protected void onConfigurationChanged() {
+        for (JaxbObjectPool<Unmarshaller> unmarshallerPool : this.unmarshallerPools.values()) {
+            unmarshallerPool.close();
+        }
+        this.unmarshallerPools.clear();
+    }
+
+    /**
+     * @return StAX factory of streaming (record) parsing: configured one or shared default one.
+     */
+    XMLInputFactory resolveXmlInputFactory() {
+        final XMLInputFactory currentXmlInputFactory = this.xmlInputFactory;
+        return currentXmlInputFactory == null ? XmlParsers.getDefaultXmlInputFactory() : currentXmlInputFactory;
+    }
+
+    private static Object unmarshall(Unmarshaller unmarshaller, XMLInputFactory xmlInputFactory, StreamSource source)
+            throws JAXBException {
+        final XMLStreamReader xmlStreamReader;
+        try {
+            xmlStreamReader = source.getReader() == null ? xmlInputFactory.createXMLStreamReader(source.getInputStream())
+                    : xmlInputFactory.createXMLStreamReader(source.getReader());
+        } catch (XMLStreamException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU98474555] Error occurred while opening XML stream. Message: %s", e.getMessage()), e);
+        }
+        try {
+            return unmarshaller.unmarshal(xmlStreamReader);
+        } finally {
+            try {
+                xmlStreamReader.close();
+            } catch (XMLStreamException e) {
+                // Underlying stream is not closed by reader, nothing to release
+            }
+        }
+    }
+
+    /**
+     * @param file File to read.
+     * @return Buffered (or memory-mapped, see {@link #setMappedReadThreshold(long)}) stream of file,
+     * decompressed on the fly (see {@link #setCompression(XmlCompression)}).
+     * @throws IOException if file can't be opened.
+     */
+    private InputStream openFile(File file) throws IOException {
+        return XmlFiles.newInputStream(file, this.mappedReadThreshold, this.compression);
+    }
+
+    /**
+     * Logs (if tolerant) or throws collected validation events.
+     *
+     * @param eventHandler Handler of just finished unmarshalling.
+     * @throws JaxbRuntimeException if there are events and helper is not tolerant to validation errors.
+     */
+    void handleValidationEvents(CollectingValidationEventHandler eventHandler) throws JaxbRuntimeException {
+        // Success path: nothing is built
+        if (eventHandler.hasEvents()) {
+            if (isValidationErrorTolerant()) {
+                if (LOG.isLoggable(Level.WARNING)) {
+                    LOG.warning("There are warns/errors while unmarshalling: [[ " + eventHandler.getCombinedEventsMessage() + " ]]");
+                }
+            } else {
+                throw new JaxbRuntimeException("[JU547445635] " + eventHandler.getCombinedEventsMessage());
+            }
+        }
+    }
+
+    /**
+     * @param entityJaxbContext
+     * @return Pool of unmarshallers preconfigured with current helper settings.
+     */
+    JaxbObjectPool<Unmarshaller> getUnmarshallerPool(final JAXBContext entityJaxbContext) {
+        JaxbObjectPool<Unmarshaller> unmarshallerPool = this.unmarshallerPools.get(entityJaxbContext);
+        if (unmarshallerPool == null) {
+            final JaxbObjectPool<Unmarshaller> newUnmarshallerPool = new JaxbObjectPool<Unmarshaller>("unmarshallers"
+                    , getPoolSize(), getPoolBorrowTimeoutMillis()) {
+                @Override
+                protected Unmarshaller create() throws JAXBException {
+                    return createUnmarshaller(entityJaxbContext);
+                }
+
+                @Override
+                protected void reset(Unmarshaller unmarshaller) throws JAXBException {
+                    ((CollectingValidationEventHandler) unmarshaller.getEventHandler()).reset();
+                }
+            };
+            unmarshallerPool = this.unmarshallerPools.putIfAbsent(entityJaxbContext, newUnmarshallerPool);
+            if (unmarshallerPool == null) {
+                unmarshallerPool = newUnmarshallerPool;
+            }
+        }
+        return unmarshallerPool;
+    }
+
+    /**
+     * @param entityJaxbContext
+     * @return New unmarshaller with schema and event handler applied.
+     */
+    private Unmarshaller createUnmarshaller(JAXBContext entityJaxbContext) throws JAXBException {
+        final Unmarshaller unmarshaller = entityJaxbContext.createUnmarshaller();
+        unmarshaller.setEventHandler(getValidationPolicy().createEventHandler());
+
+        if (!isValidationErrorTolerant()) {
+            loadXmlSchema();
+            unmarshaller.setSchema(getXmlSchema());
+        }
+        return unmarshaller;
+    }
+
+    //---------------------------------------
+    // Builder:
+
+    /**
+     * Builder of immutable {@link UnmarshallHelper}.
+     *
+     * @param <T> Entity type.
+     */
+    public static final class Builder<T> extends MarshallingHelperBase.Builder<T, UnmarshallHelper<T>, Builder<T>> {
+        private long mappedReadThreshold = XmlFiles.NO_MAPPED_READS;
+        private XMLInputFactory xmlInputFactory;
+        private XmlCompression compression = XmlCompression.NONE;
+        private UnmarshallResultCache resultCache;
+
+        private Builder(Class<T> entityClass) {
+            super(entityClass);
+        }
+
+        /**
+         * @param mappedReadThreshold Files of this size (bytes) or larger are read through memory mapping
+         *                            (e.g. 0 to map all files), negative value (default) means never.
+         * @return this builder
+         */
+        public Builder<T> mappedReadThreshold(long mappedReadThreshold) {
+            this.mappedReadThreshold = mappedReadThreshold;
+            return this;
+        }
+
+        /**
+         * @param xmlInputFactory StAX factory documents are parsed by, e.g. {@link XmlParsers#getDefaultXmlInputFactory()}
+         *                        or Woodstox/Aalto one by {@link XmlParsers#newXmlInputFactory(String)}.
+         *                        If not set, JAXB provider parses documents itself.
+         * @return this builder
+         */
+        public Builder<T> xmlInputFactory(XMLInputFactory xmlInputFactory) {
+            this.xmlInputFactory = xmlInputFactory;
+            return this;
+        }
+
+        /**
+         * @param compression Compression of read files (all file based methods, including streaming ones),
+         *                    e.g. {@link XmlCompression#AUTO}. Memory-mapped reads apply to plain files only.
+         * @return this builder
+         */
+        public Builder<T> compression(XmlCompression compression) {
+            if (compression == null) {
+                throw new IllegalArgumentException("[JU730412669] Compression should not be null!");
+            }
+            this.compression = compression;
+            return this;
+        }
+
+        /**
+         * @param resultCache Cache of results of <code>unmarshallFromResourcePath</code>, <code>unmarshallFromFilePath</code>
+         *                    and <code>unmarshall(File)</code> (may be shared by helpers), null (default) - no caching.
+         * @return this builder
+         */
+        public Builder<T> resultCache(UnmarshallResultCache resultCache) {
+            this.resultCache = resultCache;
+            return this;
+        }
+
+        @Override
+        protected Builder<T> self() {
+            return this;
+        }
+
+        @Override
+        public UnmarshallHelper<T> build() throws JaxbRuntimeException {
+            return new UnmarshallHelper<>(this);
+        }
+    }
 
 }
@@ -0,0 +1,650 @@
+package com.meriosol.jaxb;
+
+import javax.xml.bind.JAXBContext;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.jar.JarEntry;
+
+/**
+ * Bounded (LRU) cache of unmarshalled documents, for configuration and reference documents read again and again
+ * by <code>UnmarshallHelper.unmarshallFromResourcePath</code>/<code>unmarshallFromFilePath</code>.
+ * It's set on helper by builder and can be shared by helpers (results are kept per JAXB context and helper settings
+ * result depends on: validation schema and policy, compression).<br>
+ * Documents are identified by {@link KeyMode}: path plus modification time and size (changed file is read again)
+ * or content hash (document is read and hashed, but not parsed). Results are kept by {@link StorageMode}.<br>
+ * NOTE1: Entries are evicted when there are more than {@link #getMaxEntries()} of them or their documents
+ * take more than {@link #getMaxWeightBytes()} bytes. Larger documents are not cached (larger files are streamed
+ * as without cache, they are not read into heap to be hashed or kept off-heap).<br>
+ * NOTE2: Loading is done out of lock, concurrent callers may unmarshall the same document twice.<br>
+ * NOTE3: Cached results are shared. With copy-on-read (default) every caller gets own copy by {@link JaxbCopier},
+ * otherwise results must not be changed by callers.
+ * Usage sample:
+ * <pre>
+ * UnmarshallResultCache cache = UnmarshallResultCache.builder().maxEntries(64).storageMode(StorageMode.SOFT).build();
+ * UnmarshallHelper&lt;Sample&gt; helper = UnmarshallHelper.builder(Sample.class).resultCache(cache).build();
+ * Sample sample = helper.unmarshallFromResourcePath("sample.xml"); // parsed once
+ * </pre>
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class UnmarshallResultCache {
+    static final int DEFAULT_MAX_ENTRIES = 256;
+    static final long DEFAULT_MAX_WEIGHT_BYTES = 64L * 1024 * 1024;
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * How documents are identified.
+     */
+    public enum KeyMode {
+        /**
+         * File (resource URL) path plus its modification time and size. Document is not read on hit.
+         */
+        PATH_AND_MTIME,
+        /**
+         * Hash (SHA-256) of document bytes. Document is read on every call, but parsed only once per content,
+         * so the same content under different paths is cached once.
+         */
+        CONTENT_HASH
+    }
+
+    /**
+     * How results are kept.
+     */
+    public enum StorageMode {
+        /**
+         * Unmarshalled result is kept as is.
+         */
+        STRONG,
+        /**
+         * Unmarshalled result is held softly, so it's dropped under memory pressure (and read again on next call).
+         */
+        SOFT,
+        /**
+         * Document bytes are kept in direct (off-heap) buffer and unmarshalled on every hit, so heap holds no results
+         * and file or resource is not read again. Results are always new, copy-on-read doesn't apply.
+         */
+        OFF_HEAP
+    }
+
+    private final Map<CacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxEntries;
+    private final long maxWeightBytes;
+    private final KeyMode keyMode;
+    private final StorageMode storageMode;
+    private final boolean copyOnRead;
+    private long weightBytes;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong collectedCount = new AtomicLong();
+
+    private UnmarshallResultCache(Builder builder) {
+        this.maxEntries = builder.maxEntries;
+        this.maxWeightBytes = builder.maxWeightBytes;
+        this.keyMode = builder.keyMode;
+        this.storageMode = builder.storageMode;
+        this.copyOnRead = builder.copyOnRead;
+    }
+
+    /**
+     * @return Builder of cache (by default up to 256 results of documents taking up to 64 MB,
+     * {@link KeyMode#PATH_AND_MTIME}, {@link StorageMode#STRONG}, copy-on-read).
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param helper Helper created by builder.
+     * @param file   XML file (compressed as set on helper).
+     * @param <T>    Entity type.
+     * @return Cached (or just unmarshalled) result.
+     * @throws JaxbRuntimeException if document can't be read or unmarshalled.
+     */
+    <T> T getFromFile(final UnmarshallHelper<T> helper, final File file) throws JaxbRuntimeException {
+        if (file == null) {
+            throw new IllegalArgumentException("[JU448193201] File for entity unmarshalling should not be null!");
+        }
+        final JAXBContext context = helper.getBoundJaxbContext();
+        if (file.length() > this.maxWeightBytes) {
+            // Not cached anyway: streamed as usual, never read into heap
+            this.missCount.incrementAndGet();
+            return helper.unmarshall(file, context);
+        }
+        final XmlCompression compression = helper.getCompression();
+        final String settings = getSettings(helper);
+        CacheKey key = null;
+        if (this.keyMode == KeyMode.PATH_AND_MTIME) {
+            key = new CacheKey(context, settings, "file:" + file.getAbsolutePath()
+                    , stamp(file.lastModified(), file.length()));
+            final T result = lookup(helper, key);
+            if (result != null) {
+                return result;
+            }
+        }
+        if (this.keyMode == KeyMode.CONTENT_HASH || this.storageMode == StorageMode.OFF_HEAP) {
+            final byte[] document;
+            try {
+                document = Files.readAllBytes(file.toPath());
+            } catch (IOException e) {
+                throw new JaxbRuntimeException(
+                        String.format("[JU448193202] IOException error occurred while reading file '%s'. Message: %s"
+                                , file.getAbsolutePath(), e.getMessage()), e
+                );
+            }
+            if (key == null) {
+                key = new CacheKey(context, settings, hash(document), 0L);
+                final T result = lookup(helper, key);
+                if (result != null) {
+                    return result;
+                }
+            }
+            return load(helper, key, document, compression, null);
+        }
+        return load(helper, key, null, null, new Loader<T>() {
+            @Override
+            public T load() {
+                return helper.unmarshall(file, context);
+            }
+
+            @Override
+            public long weight() {
+                return file.length();
+            }
+        });
+    }
+
+    /**
+     * @param helper       Helper created by builder.
+     * @param resourcePath Classpath resource path.
+     * @param <T>          Entity type.
+     * @return Cached (or just unmarshalled) result.
+     * @throws JaxbRuntimeException if document can't be read or unmarshalled.
+     */
+    <T> T getFromResource(final UnmarshallHelper<T> helper, final String resourcePath) throws JaxbRuntimeException {
+        if (resourcePath == null) {
+            throw new IllegalArgumentException("[JU448193203] ResourcePath should not be null!");
+        }
+        final JAXBContext context = helper.getBoundJaxbContext();
+        final String settings = getSettings(helper);
+        if (this.keyMode == KeyMode.CONTENT_HASH) {
+            final byte[] document = readResource(resourcePath);
+            final CacheKey key = new CacheKey(context, settings, hash(document), 0L);
+            final T result = lookup(helper, key);
+            return result != null ? result : load(helper, key, document, XmlCompression.NONE, null);
+        }
+        final URL url = JaxbUtils.getResourceURL(resourcePath);
+        if (url == null) {
+            throw new IllegalArgumentException(String.format("[JU448193204] Resource '%s' is not found", resourcePath));
+        }
+        final long[] lastModifiedAndLength = getLastModifiedAndLength(url);
+        final CacheKey key = new CacheKey(context, settings, url.toExternalForm()
+                , stamp(lastModifiedAndLength[0], lastModifiedAndLength[1]));
+        final T result = lookup(helper, key);
+        if (result != null) {
+            return result;
+        }
+        if (this.storageMode == StorageMode.OFF_HEAP) {
+            if (lastModifiedAndLength[1] > this.maxWeightBytes) {
+                this.missCount.incrementAndGet();
+                return helper.unmarshallFromResourcePath(resourcePath, context);
+            }
+            return load(helper, key, readResource(resourcePath), XmlCompression.NONE, null);
+        }
+        return load(helper, key, null, null, new Loader<T>() {
+            @Override
+            public T load() {
+                return helper.unmarshallFromResourcePath(resourcePath, context);
+            }
+
+            @Override
+            public long weight() {
+                return Math.max(lastModifiedAndLength[1], 0L);
+            }
+        });
+    }
+
+    /**
+     * @return Max number of cached results.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return Max total size (bytes) of cached documents.
+     */
+    public long getMaxWeightBytes() {
+        return maxWeightBytes;
+    }
+
+    public KeyMode getKeyMode() {
+        return keyMode;
+    }
+
+    public StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    /**
+     * @return True if callers get own copies of cached results.
+     */
+    public boolean isCopyOnRead() {
+        return copyOnRead;
+    }
+
+    /**
+     * @return How many times result was taken from cache.
+     */
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    /**
+     * @return How many times document had to be unmarshalled (including changed documents and collected results).
+     */
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    /**
+     * @return Hits of all lookups (0 if there were no lookups).
+     */
+    public double getHitRate() {
+        final long hits = getHitCount();
+        final long total = hits + getMissCount();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * @return How many results were evicted by size or weight limits (or replaced by newer version of document).
+     */
+    public long getEvictionCount() {
+        return this.evictionCount.get();
+    }
+
+    /**
+     * @return How many soft held results were dropped by garbage collector.
+     */
+    public long getCollectedCount() {
+        return this.collectedCount.get();
+    }
+
+    /**
+     * @return Number of cached results.
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * @return Total size (bytes) of cached documents.
+     */
+    public long getWeightBytes() {
+        synchronized (this.entries) {
+            return this.weightBytes;
+        }
+    }
+
+    /**
+     * Drops all cached results. Statistics are kept.
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+            this.weightBytes = 0L;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "UnmarshallResultCache{size=" + size() + ", weightBytes=" + getWeightBytes() + ", hits=" + getHitCount()
+                + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + ", collected=" + getCollectedCount() + "}";
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    /**
+     * @return Cached result (own copy or unmarshalled from off-heap document) or null if there is no current one.
+     */
+    private <T> T lookup(UnmarshallHelper<T> helper, CacheKey key) {
+        final ByteBuffer document;
+        final XmlCompression compression;
+        final Object result;
+        synchronized (this.entries) {
+            final CacheEntry entry = this.entries.get(key);
+            if (entry == null || entry.stamp != key.stamp) {
+                return null;
+            }
+            document = entry.document == null ? null : entry.document.duplicate();
+            compression = entry.compression;
+            result = entry.getResult();
+            if (document == null && result == null) {
+                this.collectedCount.incrementAndGet();
+                removeEntry(key);
+                return null;
+            }
+            this.hitCount.incrementAndGet();
+        }
+        if (document != null) {
+            return unmarshall(helper, key.context, document, compression);
+        }
+        return copyOnRead(result);
+    }
+
+    /**
+     * @param document Bytes of document (if they are read already), otherwise loader is used.
+     */
+    private <T> T load(UnmarshallHelper<T> helper, CacheKey key, byte[] document, XmlCompression compression
+            , Loader<T> loader) {
+        this.missCount.incrementAndGet();
+        final T result;
+        final long weight;
+        if (document != null) {
+            result = unmarshall(helper, key.context, ByteBuffer.wrap(document), compression);
+            weight = document.length;
+        } else {
+            result = loader.load();
+            weight = loader.weight();
+        }
+        if (weight > this.maxWeightBytes) {
+            return result;
+        }
+        final CacheEntry newEntry;
+        if (this.storageMode == StorageMode.OFF_HEAP) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(document.length);
+            buffer.put(document).flip();
+            newEntry = new CacheEntry(key.stamp, weight, null, buffer, compression);
+        } else if (this.storageMode == StorageMode.SOFT) {
+            newEntry = new CacheEntry(key.stamp, weight, new SoftReference<Object>(result), null, null);
+        } else {
+            newEntry = new CacheEntry(key.stamp, weight, result, null, null);
+        }
+        synchronized (this.entries) {
+            if (removeEntry(key) != null) {
+                // Older version of document (or concurrently loaded result)
+                this.evictionCount.incrementAndGet();
+            }
+            this.entries.put(key, newEntry);
+            this.weightBytes += weight;
+            evictEldestEntries();
+        }
+        return this.storageMode == StorageMode.OFF_HEAP ? result : this.<T>copyOnRead(result);
+    }
+
+    private static <T> T unmarshall(UnmarshallHelper<T> helper, JAXBContext context, ByteBuffer document
+            , XmlCompression compression) {
+        if (compression == XmlCompression.NONE) {
+            return helper.unmarshall(document, context);
+        }
+        try (InputStream inputStream = compression.decompress(new ByteBufferInputStream(document))) {
+            return helper.unmarshall(inputStream, context);
+        } catch (IOException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU448193212] IOException error occurred while decompressing cached document. Message: %s"
+                            , e.getMessage()), e
+            );
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T copyOnRead(Object result) {
+        return this.copyOnRead ? (T) JaxbCopier.getInstance().copy(result) : (T) result;
+    }
+
+    private CacheEntry removeEntry(CacheKey key) {
+        final CacheEntry entry = this.entries.remove(key);
+        if (entry != null) {
+            this.weightBytes -= entry.weight;
+        }
+        return entry;
+    }
+
+    private void evictEldestEntries() {
+        final Iterator<CacheEntry> iterator = this.entries.values().iterator();
+        while (iterator.hasNext() && (this.entries.size() > this.maxEntries || this.weightBytes > this.maxWeightBytes)) {
+            this.weightBytes -= iterator.next().weight;
+            iterator.remove();
+            this.evictionCount.incrementAndGet();
+        }
+    }
+
+    private static byte[] readResource(String resourcePath) throws JaxbRuntimeException {
+        try (InputStream inputStream = JaxbUtils.getResourceInputStream(resourcePath)) {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(READ_BUFFER_SIZE);
+            final byte[] buffer = new byte[READ_BUFFER_SIZE];
+            int count;
+            while ((count = inputStream.read(buffer)) > 0) {
+                outputStream.write(buffer, 0, count);
+            }
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU448193205] IOException error occurred while reading resource '%s'. Message: %s"
+                            , resourcePath, e.getMessage()), e
+            );
+        }
+    }
+
+    /**
+     * Connections are not left open: jar entries are looked up in (cached) jar file, other connections are closed.
+     *
+     * @return Modification time and size of resource (jar entry's ones for jar resources), -1 if they are not known.
+     */
+    static long[] getLastModifiedAndLength(URL url) throws JaxbRuntimeException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                final Path path = Paths.get(url.toURI());
+                if (Files.isRegularFile(path)) {
+                    return new long[]{Files.getLastModifiedTime(path).toMillis(), Files.size(path)};
+                }
+            } catch (URISyntaxException | IllegalArgumentException | IOException e) {
+                // Not a local file path, checked by connection below
+            }
+        }
+        try {
+            final URLConnection connection = url.openConnection();
+            if (connection instanceof JarURLConnection) {
+                final JarURLConnection jarConnection = (JarURLConnection) connection;
+                final JarEntry jarEntry = jarConnection.getJarEntry();
+                if (!jarConnection.getUseCaches()) {
+                    jarConnection.getJarFile().close();
+                }
+                return jarEntry == null ? new long[]{-1L, -1L} : new long[]{jarEntry.getTime(), jarEntry.getSize()};
+            }
+            try (InputStream inputStream = connection.getInputStream()) {
+                // Stream is opened only to close connection
+                return new long[]{connection.getLastModified(), connection.getContentLengthLong()};
+            }
+        } catch (IOException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU448193206] IOException error occurred while checking resource '%s'. Message: %s"
+                            , url, e.getMessage()), e
+            );
+        }
+    }
+
+    /**
+     * @return Helper settings unmarshalling result depends on (the same document may be valid for one helper and
+     * rejected by other).
+     */
+    private static String getSettings(UnmarshallHelper<?> helper) {
+        return (helper.isValidationErrorTolerant() ? "-" : helper.getXmlSchemaResourceUrl()) + '|'
+                + helper.getValidationPolicy() + '|' + helper.getCompression();
+    }
+
+    private static long stamp(long lastModified, long length) {
+        return 31 * lastModified + length;
+    }
+
+    private static String hash(byte[] document) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            return Base64.getEncoder().encodeToString(digest.digest(document)) + ':' + document.length;
+        } catch (NoSuchAlgorithmException e) {
+            throw new JaxbRuntimeException("[JU448193207] " + HASH_ALGORITHM + " is not supported by JVM", e);
+        }
+    }
+
+    /**
+     * Loads result not read as bytes yet.
+     */
+    private interface Loader<T> {
+        T load();
+
+        long weight();
+    }
+
+    /**
+     * JAXB context (by identity) + helper settings + document id (path or content hash). Version of document (stamp)
+     * is not part of key, so changed document replaces its older result.
+     */
+    private static final class CacheKey {
+        private final JAXBContext context;
+        private final String settings;
+        private final String id;
+        private final long stamp;
+        private final int hashCode;
+
+        CacheKey(JAXBContext context, String settings, String id, long stamp) {
+            this.context = context;
+            this.settings = settings;
+            this.id = id;
+            this.stamp = stamp;
+            this.hashCode = 31 * (31 * System.identityHashCode(context) + settings.hashCode()) + id.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey other = (CacheKey) obj;
+            return this.context == other.context && this.id.equals(other.id) && this.settings.equals(other.settings);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    private static final class CacheEntry {
+        private final long stamp;
+        private final long weight;
+        private final Object result;
+        private final ByteBuffer document;
+        private final XmlCompression compression;
+
+        CacheEntry(long stamp, long weight, Object result, ByteBuffer document, XmlCompression compression) {
+            this.stamp = stamp;
+            this.weight = weight;
+            this.result = result;
+            this.document = document;
+            this.compression = compression;
+        }
+
+        Object getResult() {
+            return this.result instanceof SoftReference ? ((SoftReference<?>) this.result).get() : this.result;
+        }
+    }
+
+    //---------------------------------------
+    // Builder:
+
+    /**
+     * Builder of {@link UnmarshallResultCache}.
+     */
+    public static final class Builder {
+        private int maxEntries = DEFAULT_MAX_ENTRIES;
+        private long maxWeightBytes = DEFAULT_MAX_WEIGHT_BYTES;
+        private KeyMode keyMode = KeyMode.PATH_AND_MTIME;
+        private StorageMode storageMode = StorageMode.STRONG;
+        private boolean copyOnRead = true;
+
+        private Builder() {
+        }
+
+        /**
+         * @param maxEntries Max number of cached results, least recently used ones are evicted.
+         * @return this builder
+         */
+        public Builder maxEntries(int maxEntries) {
+            if (maxEntries <= 0) {
+                throw new IllegalArgumentException("[JU448193208] Max number of cached results should be positive!");
+            }
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * @param maxWeightBytes Max total size (bytes) of cached documents, least recently used results are evicted.
+         * @return this builder
+         */
+        public Builder maxWeightBytes(long maxWeightBytes) {
+            if (maxWeightBytes <= 0) {
+                throw new IllegalArgumentException("[JU448193209] Max weight of cached results should be positive!");
+            }
+            this.maxWeightBytes = maxWeightBytes;
+            return this;
+        }
+
+        public Builder keyMode(KeyMode keyMode) {
+            if (keyMode == null) {
+                throw new IllegalArgumentException("[JU448193210] Key mode should not be null!");
+            }
+            this.keyMode = keyMode;
+            return this;
+        }
+
+        public Builder storageMode(StorageMode storageMode) {
+            if (storageMode == null) {
+                throw new IllegalArgumentException("[JU448193211] Storage mode should not be null!");
+            }
+            this.storageMode = storageMode;
+            return this;
+        }
+
+        /**
+         * @param copyOnRead True (default) if every caller should get own copy of cached result.
+         * @return this builder
+         */
+        public Builder copyOnRead(boolean copyOnRead) {
+            this.copyOnRead = copyOnRead;
+            return this;
+        }
+
+        public UnmarshallResultCache build() {
+            return new UnmarshallResultCache(this);
+        }
+    }
+
+}
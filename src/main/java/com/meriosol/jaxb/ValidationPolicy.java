@@ -0,0 +1,114 @@
+package com.meriosol.jaxb;
+
+import javax.xml.bind.ValidationEvent;
+
+/**
+ * How validation events are handled while (un-)marshalling: collect everything (default), abort on first error
+ * or abort after N errors. Aborted operation fails right away with {@link JaxbRuntimeException} reporting
+ * location of aborting event, so garbage documents are not parsed to the end.<br>
+ * NOTE: Fatal error always aborts operation.
+ * Usage sample:
+ * <pre>
+ * UnmarshallHelper&lt;Sample&gt; helper = UnmarshallHelper.builder(Sample.class)
+ *         .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd")
+ *         .validationPolicy(ValidationPolicy.failFast()).build();
+ * </pre>
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class ValidationPolicy {
+    private static final int NO_ERRORS_LIMIT = 0;
+    private static final ValidationPolicy COLLECT_ALL = new ValidationPolicy(NO_ERRORS_LIMIT, ValidationEvent.WARNING
+            , CollectingValidationEventHandler.DEFAULT_MAX_STORED_EVENTS);
+    private static final ValidationPolicy FAIL_FAST = new ValidationPolicy(1, ValidationEvent.WARNING
+            , CollectingValidationEventHandler.DEFAULT_MAX_STORED_EVENTS);
+
+    private final int maxErrors;
+    private final int severityThreshold;
+    private final int maxStoredEvents;
+
+    private ValidationPolicy(int maxErrors, int severityThreshold, int maxStoredEvents) {
+        this.maxErrors = maxErrors;
+        this.severityThreshold = severityThreshold;
+        this.maxStoredEvents = maxStoredEvents;
+    }
+
+    /**
+     * @return Policy collecting all events, operation is aborted only by fatal error (default).
+     */
+    public static ValidationPolicy collectAll() {
+        return COLLECT_ALL;
+    }
+
+    /**
+     * @return Policy aborting operation on first ERROR or FATAL_ERROR.
+     */
+    public static ValidationPolicy failFast() {
+        return FAIL_FAST;
+    }
+
+    /**
+     * @param maxErrors Number of errors (ERROR or FATAL_ERROR) operation is aborted at.
+     * @return Policy aborting operation once <code>maxErrors</code> errors occurred.
+     */
+    public static ValidationPolicy stopAfterErrors(int maxErrors) {
+        if (maxErrors <= 0) {
+            throw new IllegalArgumentException("[JU615209481] Max number of errors should be positive!");
+        }
+        return new ValidationPolicy(maxErrors, ValidationEvent.WARNING, CollectingValidationEventHandler.DEFAULT_MAX_STORED_EVENTS);
+    }
+
+    /**
+     * @param severityThreshold Min severity of reported events ({@link ValidationEvent#WARNING}, {@link ValidationEvent#ERROR}
+     *                          or {@link ValidationEvent#FATAL_ERROR}), e.g. ERROR to ignore warnings.
+     * @return Copy of this policy with given threshold.
+     */
+    public ValidationPolicy withSeverityThreshold(int severityThreshold) {
+        if (severityThreshold < ValidationEvent.WARNING || severityThreshold > ValidationEvent.FATAL_ERROR) {
+            throw new IllegalArgumentException("[JU615209482] Unknown validation event severity: " + severityThreshold);
+        }
+        return new ValidationPolicy(this.maxErrors, severityThreshold, this.maxStoredEvents);
+    }
+
+    /**
+     * @param maxStoredEvents Max number of events kept for error message (the rest is only counted).
+     * @return Copy of this policy with given limit.
+     */
+    public ValidationPolicy withMaxStoredEvents(int maxStoredEvents) {
+        if (maxStoredEvents < 0) {
+            throw new IllegalArgumentException("[JU615209483] Max number of stored validation events should not be negative!");
+        }
+        return new ValidationPolicy(this.maxErrors, this.severityThreshold, maxStoredEvents);
+    }
+
+    /**
+     * @return Number of errors operation is aborted at (0 means it's aborted only by fatal error).
+     */
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    public int getSeverityThreshold() {
+        return severityThreshold;
+    }
+
+    public int getMaxStoredEvents() {
+        return maxStoredEvents;
+    }
+
+    /**
+     * @return New handler implementing this policy (handler is not thread-safe, it's owned by single (un-)marshaller).
+     */
+    CollectingValidationEventHandler createEventHandler() {
+        return new CollectingValidationEventHandler(this.severityThreshold, this.maxErrors, this.maxStoredEvents);
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationPolicy{maxErrors=" + maxErrors + ", severityThreshold=" + severityThreshold
+                + ", maxStoredEvents=" + maxStoredEvents + "}";
+    }
+
+}
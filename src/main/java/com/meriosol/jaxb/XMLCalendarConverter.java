@@ -1,19 +1,57 @@
 package com.meriosol.jaxb;
 
 import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeConstants;
 import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Date;
 import java.util.GregorianCalendar;
 
 /**
  * Date converter. Can be used in JAXB (un-)marshalling.<br>
+ * NOTE1: DatatypeFactory lookup (service loader) is done once per thread, not on every conversion.<br>
+ * NOTE2: java.time conversions go field by field, no GregorianCalendar is created. Bound classes can skip
+ * XMLGregorianCalendar altogether by {@link XmlTimeAdapters}.<br>
+ * NOTE3: In java.time conversions XML values without timezone are read as UTC ones (the same as {@link XmlTimeAdapters}
+ * do), so result doesn't depend on default timezone of JVM. {@link #convertToDate(XMLGregorianCalendar)} keeps
+ * GregorianCalendar behaviour (default timezone).
  *
  * @author meriosol
  * @version 0.1
  * @since 06/04/14
  */
 public class XMLCalendarConverter {
+    private static final int NANOS_PER_MILLI = 1000000;
+    /**
+     * DatatypeFactory is not guaranteed to be thread-safe, so each thread has its own one.
+     */
+    private static final ThreadLocal<DatatypeFactory> DATATYPE_FACTORY = new ThreadLocal<DatatypeFactory>() {
+        @Override
+        protected DatatypeFactory initialValue() {
+            try {
+                return DatatypeFactory.newInstance();
+            } catch (DatatypeConfigurationException e) {
+                throw new JaxbRuntimeException(
+                        String.format("[JU92833358] Error occurred while creating datatype factory! Message: %s"
+                                , e.getMessage()), e
+                );
+            }
+        }
+    };
+
+    /**
+     * @return DatatypeFactory of current thread (created on first call).
+     */
+    public static DatatypeFactory getDatatypeFactory() {
+        return DATATYPE_FACTORY.get();
+    }
+
     /**
      * @param date
      * @return XML Gregorian Calendar
@@ -25,16 +63,7 @@ public class XMLCalendarConverter {
 
         GregorianCalendar gregorianCalendar = new GregorianCalendar();
         gregorianCalendar.setTime(date);
-        XMLGregorianCalendar xmlGregorianCalendar;
-        try {
-            xmlGregorianCalendar = DatatypeFactory.newInstance().newXMLGregorianCalendar(gregorianCalendar);
-        } catch (DatatypeConfigurationException e) {
-            throw new JaxbRuntimeException(
-                    String.format("[JU92833357] Error occurred while converting date '%s' into XML one! Message: %s"
-                            , date, e.getMessage()), e
-            );
-        }
-        return xmlGregorianCalendar;
+        return getDatatypeFactory().newXMLGregorianCalendar(gregorianCalendar);
     }
 
     /**
@@ -49,4 +78,99 @@ public class XMLCalendarConverter {
         GregorianCalendar gregorianCalendar = xmlGregorianCalendar.toGregorianCalendar();
         return gregorianCalendar.getTime();
     }
+
+    /**
+     * @param instant
+     * @return XML date-time in UTC.
+     */
+    public static XMLGregorianCalendar convertToXmlDate(Instant instant) {
+        if (instant == null) {
+            throw new IllegalArgumentException("[JU8694254] Instant should not be null!");
+        }
+        return convertToXmlDate(instant.atOffset(ZoneOffset.UTC));
+    }
+
+    /**
+     * @param dateTime
+     * @return XML date-time with the same offset.
+     */
+    public static XMLGregorianCalendar convertToXmlDate(OffsetDateTime dateTime) {
+        if (dateTime == null) {
+            throw new IllegalArgumentException("[JU8694255] Date-time should not be null!");
+        }
+        final int offsetMinutes = dateTime.getOffset().getTotalSeconds() / 60;
+        final int nanos = dateTime.getNano();
+        if (nanos % NANOS_PER_MILLI == 0) {
+            return getDatatypeFactory().newXMLGregorianCalendar(dateTime.getYear(), dateTime.getMonthValue()
+                    , dateTime.getDayOfMonth(), dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond()
+                    , nanos / NANOS_PER_MILLI, offsetMinutes);
+        }
+        final XMLGregorianCalendar xmlGregorianCalendar = getDatatypeFactory().newXMLGregorianCalendarDate(
+                dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(), offsetMinutes);
+        xmlGregorianCalendar.setTime(dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond()
+                , BigDecimal.valueOf(nanos, 9));
+        return xmlGregorianCalendar;
+    }
+
+    /**
+     * @param date
+     * @return XML date (no time and timezone).
+     */
+    public static XMLGregorianCalendar convertToXmlDate(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("[JU8694256] Local date should not be null!");
+        }
+        return getDatatypeFactory().newXMLGregorianCalendarDate(date.getYear(), date.getMonthValue()
+                , date.getDayOfMonth(), DatatypeConstants.FIELD_UNDEFINED);
+    }
+
+    /**
+     * @param xmlGregorianCalendar XML date or date-time (missing time is midnight, missing timezone is UTC).
+     * @return Date-time with offset of XML one.
+     */
+    public static OffsetDateTime convertToOffsetDateTime(XMLGregorianCalendar xmlGregorianCalendar) {
+        if (xmlGregorianCalendar == null) {
+            throw new IllegalArgumentException("[JU4932535] XMLGregorianCalendar should not be null!");
+        }
+        final LocalDateTime localDateTime = LocalDateTime.of(xmlGregorianCalendar.getYear()
+                , xmlGregorianCalendar.getMonth(), xmlGregorianCalendar.getDay()
+                , definedOrZero(xmlGregorianCalendar.getHour()), definedOrZero(xmlGregorianCalendar.getMinute())
+                , definedOrZero(xmlGregorianCalendar.getSecond()), getNanos(xmlGregorianCalendar));
+        final int offsetMinutes = xmlGregorianCalendar.getTimezone();
+        if (offsetMinutes == DatatypeConstants.FIELD_UNDEFINED) {
+            return localDateTime.atOffset(ZoneOffset.UTC);
+        }
+        return localDateTime.atOffset(ZoneOffset.ofTotalSeconds(offsetMinutes * 60));
+    }
+
+    /**
+     * @param xmlGregorianCalendar XML date or date-time (see {@link #convertToOffsetDateTime(XMLGregorianCalendar)}).
+     * @return Instant
+     */
+    public static Instant convertToInstant(XMLGregorianCalendar xmlGregorianCalendar) {
+        return convertToOffsetDateTime(xmlGregorianCalendar).toInstant();
+    }
+
+    /**
+     * @param xmlGregorianCalendar XML date or date-time (time and timezone are ignored).
+     * @return Local date
+     */
+    public static LocalDate convertToLocalDate(XMLGregorianCalendar xmlGregorianCalendar) {
+        if (xmlGregorianCalendar == null) {
+            throw new IllegalArgumentException("[JU4932536] XMLGregorianCalendar should not be null!");
+        }
+        return LocalDate.of(xmlGregorianCalendar.getYear(), xmlGregorianCalendar.getMonth(), xmlGregorianCalendar.getDay());
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    private static int definedOrZero(int field) {
+        return field == DatatypeConstants.FIELD_UNDEFINED ? 0 : field;
+    }
+
+    private static int getNanos(XMLGregorianCalendar xmlGregorianCalendar) {
+        final BigDecimal fractionalSecond = xmlGregorianCalendar.getFractionalSecond();
+        return fractionalSecond == null ? 0 : fractionalSecond.movePointRight(9).intValue();
+    }
 }
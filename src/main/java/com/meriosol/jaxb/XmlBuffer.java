@@ -0,0 +1,203 @@
+package com.meriosol.jaxb;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Growable in-memory target of marshalling. Unlike <code>ByteArrayOutputStream</code> it's not synchronized
+ * and its content is exposed without copying ({@link #asByteBuffer()}).<br>
+ * NOTE1: Byte arrays of buffers taken by {@link #acquire()} (e.g. returned by <code>MarshallHelper.marshallToBuffer</code>)
+ * are returned to process-wide pool once buffers are closed, so steady-state marshalling allocates no new arrays.
+ * Every {@link #acquire()} returns new buffer instance (lease of pooled array), so repeated close of already
+ * closed buffer is no-op even if its array is already used by other buffer.
+ * Buffer (and views of its content) must not be used after it's closed.<br>
+ * NOTE2: Buffer is confined to single thread. No thread locals are used by pool, so it's fine for virtual threads.
+ * Usage sample:
+ * <pre>
+ * try (XmlBuffer xmlBuffer = sampleMarshallHelper.marshallToBuffer(sample)) {
+ *     channel.write(xmlBuffer.asByteBuffer());
+ * }
+ * </pre>
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class XmlBuffer extends OutputStream {
+    static final int DEFAULT_CAPACITY = 8 * 1024;
+    /**
+     * Larger buffers are not returned to pool, so single huge document doesn't pin its memory.
+     */
+    static final int MAX_POOLED_CAPACITY = 1024 * 1024;
+    static final int MAX_POOLED_BUFFERS = 64;
+
+    private static final byte[] NO_BYTES = new byte[0];
+    private static final Queue<byte[]> IDLE_BUFFERS = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger IDLE_BUFFER_COUNT = new AtomicInteger();
+    private static final AtomicLong ALLOCATED_BUFFER_COUNT = new AtomicLong();
+
+    private final boolean pooled;
+    private byte[] bytes;
+    private int size;
+    private boolean released;
+
+    /**
+     * Not pooled buffer (closing it does nothing).
+     *
+     * @param initialCapacity Initial size of buffer (it grows as needed).
+     */
+    public XmlBuffer(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    private XmlBuffer(int initialCapacity, boolean pooled) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("[JU417730581] Buffer capacity should not be negative!");
+        }
+        this.bytes = new byte[initialCapacity];
+        this.pooled = pooled;
+        ALLOCATED_BUFFER_COUNT.incrementAndGet();
+    }
+
+    private XmlBuffer(byte[] pooledBytes) {
+        this.bytes = pooledBytes;
+        this.pooled = true;
+    }
+
+    /**
+     * @return Empty buffer using array from pool (or new one if pool is empty).
+     * The array is returned to pool by {@link #close()}.
+     */
+    public static XmlBuffer acquire() {
+        final byte[] pooledBytes = IDLE_BUFFERS.poll();
+        if (pooledBytes == null) {
+            return new XmlBuffer(DEFAULT_CAPACITY, true);
+        }
+        IDLE_BUFFER_COUNT.decrementAndGet();
+        return new XmlBuffer(pooledBytes);
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(this.size + 1);
+        this.bytes[this.size++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > buffer.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(this.size + length);
+        System.arraycopy(buffer, offset, this.bytes, this.size, length);
+        this.size += length;
+    }
+
+    /**
+     * @param outputStream Stream to write buffer content to.
+     * @throws IOException if writing fails.
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        checkNotReleased();
+        outputStream.write(this.bytes, 0, this.size);
+    }
+
+    /**
+     * @return Number of written bytes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Discards content, capacity is kept.
+     */
+    public void reset() {
+        checkNotReleased();
+        this.size = 0;
+    }
+
+    /**
+     * @return Read-only view of content (no copying), valid until buffer is written, reset or closed.
+     */
+    public ByteBuffer asByteBuffer() {
+        checkNotReleased();
+        return ByteBuffer.wrap(this.bytes, 0, this.size).asReadOnlyBuffer();
+    }
+
+    /**
+     * @return Copy of content.
+     */
+    public byte[] toByteArray() {
+        checkNotReleased();
+        return Arrays.copyOf(this.bytes, this.size);
+    }
+
+    /**
+     * @param charset Content encoding.
+     * @return Content as text.
+     */
+    public String toString(Charset charset) {
+        checkNotReleased();
+        return new String(this.bytes, 0, this.size, charset);
+    }
+
+    /**
+     * Returns array of pooled buffer to pool. Does nothing for not pooled one or if it's already closed.
+     */
+    @Override
+    public void close() {
+        if (!this.pooled || this.released) {
+            return;
+        }
+        final byte[] pooledBytes = this.bytes;
+        this.released = true;
+        this.bytes = NO_BYTES;
+        this.size = 0;
+        if (pooledBytes.length > MAX_POOLED_CAPACITY) {
+            return;
+        }
+        if (IDLE_BUFFER_COUNT.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+            IDLE_BUFFERS.offer(pooledBytes);
+        } else {
+            IDLE_BUFFER_COUNT.decrementAndGet();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "XmlBuffer{size=" + this.size + ", capacity=" + this.bytes.length + ", pooled=" + this.pooled + "}";
+    }
+
+    /**
+     * @return Number of buffer arrays created in this process (to check pooling).
+     */
+    static long getAllocatedBufferCount() {
+        return ALLOCATED_BUFFER_COUNT.get();
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        checkNotReleased();
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("[JU417730582] XML buffer can't be larger than 2 GB");
+        }
+        if (minCapacity > this.bytes.length) {
+            final int newCapacity = (int) Math.min(Math.max((long) this.bytes.length * 2, minCapacity), Integer.MAX_VALUE - 8);
+            this.bytes = Arrays.copyOf(this.bytes, Math.max(newCapacity, minCapacity));
+        }
+    }
+
+    private void checkNotReleased() {
+        if (this.released) {
+            throw new IllegalStateException("[JU417730583] XML buffer is already returned to pool!");
+        }
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.meriosol.jaxb;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compression of XML files. Documents are (de-)compressed on the fly, so memory usage doesn't depend on document size
+ * (e.g. multi-GB <code>.xml.gz</code> can be read by <code>UnmarshallHelper.unmarshallStreaming</code>).<br>
+ * NOTE: Only JDK codecs are supported (gzip and zlib deflate).
+ * Usage sample:
+ * <pre>
+ * MarshallHelper&lt;Sample&gt; helper = MarshallHelper.builder(Sample.class)
+ *         .compression(XmlCompression.GZIP).compressionLevel(Deflater.BEST_SPEED).build();
+ * </pre>
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public enum XmlCompression {
+    /**
+     * Plain XML.
+     */
+    NONE,
+    /**
+     * Gzip (RFC 1952), e.g. <code>.xml.gz</code>. Concatenated gzip members are read as one document.
+     */
+    GZIP,
+    /**
+     * Zlib deflate (RFC 1950), e.g. <code>.xml.zz</code>.
+     */
+    DEFLATE,
+    /**
+     * Detected: by file extension (<code>.gz</code>, <code>.gzip</code>, <code>.zz</code>, <code>.zlib</code>,
+     * <code>.deflate</code>), otherwise by magic bytes while reading. Written files without known extension are not compressed.
+     */
+    AUTO;
+
+    /**
+     * Default compression level (zlib default, i.e. 6). {@link Deflater#BEST_SPEED} is usually better for throughput.
+     */
+    public static final int DEFAULT_LEVEL = Deflater.DEFAULT_COMPRESSION;
+
+    private static final int GZIP_MAGIC = 0x8B1F;
+    private static final int ZLIB_DEFLATE_METHOD = 8;
+
+    /**
+     * @param fileName File name.
+     * @return Compression of file by its extension, {@link #NONE} if extension is unknown.
+     */
+    public static XmlCompression forFileName(String fileName) {
+        if (fileName == null) {
+            throw new IllegalArgumentException("[JU730412661] File name should not be null!");
+        }
+        final String lowerCaseName = fileName.toLowerCase(Locale.ROOT);
+        if (lowerCaseName.endsWith(".gz") || lowerCaseName.endsWith(".gzip")) {
+            return GZIP;
+        }
+        if (lowerCaseName.endsWith(".zz") || lowerCaseName.endsWith(".zlib") || lowerCaseName.endsWith(".deflate")) {
+            return DEFLATE;
+        }
+        return NONE;
+    }
+
+    /**
+     * @param inputStream Compressed (or plain) document.
+     * @return Stream of decompressed document. For {@link #AUTO} compression is detected by magic bytes
+     * (stream is buffered if it doesn't support mark).
+     * @throws IOException if compressed stream header can't be read.
+     */
+    public InputStream decompress(InputStream inputStream) throws IOException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("[JU730412662] InputStream to decompress should not be null!");
+        }
+        switch (this) {
+            case GZIP:
+                return new GZIPInputStream(inputStream, XmlFiles.BUFFER_SIZE);
+            case DEFLATE:
+                return new OwnInflaterInputStream(inputStream);
+            case AUTO:
+                final InputStream markableInputStream = inputStream.markSupported() ? inputStream
+                        : new BufferedInputStream(inputStream, XmlFiles.BUFFER_SIZE);
+                return detect(markableInputStream).decompress(markableInputStream);
+            default:
+                return inputStream;
+        }
+    }
+
+    /**
+     * @param outputStream Target stream.
+     * @param level        Compression level: 0-9 or {@link #DEFAULT_LEVEL}.
+     * @return Compressing stream (it should be closed to write compressed document end).
+     * @throws IOException if compressed stream header can't be written.
+     */
+    public OutputStream compress(OutputStream outputStream, int level) throws IOException {
+        if (outputStream == null) {
+            throw new IllegalArgumentException("[JU730412663] OutputStream to compress should not be null!");
+        }
+        checkLevel(level);
+        switch (this) {
+            case GZIP:
+                return new LeveledGzipOutputStream(outputStream, level);
+            case DEFLATE:
+                return new OwnDeflaterOutputStream(outputStream, level);
+            case AUTO:
+                throw new IllegalArgumentException("[JU730412664] Compression of output stream can't be detected, it should be set explicitly!");
+            default:
+                return outputStream;
+        }
+    }
+
+    /**
+     * @param level Compression level.
+     * @throws IllegalArgumentException if level is not supported by zlib.
+     */
+    static void checkLevel(int level) {
+        if (level != DEFAULT_LEVEL && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("[JU730412665] Compression level should be 0-9 or -1 (default): " + level);
+        }
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    /**
+     * @param inputStream Stream supporting mark.
+     * @return Compression by first 2 bytes (XML document can't start with them), stream position is not changed.
+     */
+    private static XmlCompression detect(InputStream inputStream) throws IOException {
+        inputStream.mark(2);
+        final int first = inputStream.read();
+        final int second = inputStream.read();
+        inputStream.reset();
+        if (first < 0 || second < 0) {
+            return NONE;
+        }
+        if ((second << 8 | first) == GZIP_MAGIC) {
+            return GZIP;
+        }
+        if ((first & 0x0F) == ZLIB_DEFLATE_METHOD && (first << 8 | second) % 31 == 0) {
+            return DEFLATE;
+        }
+        return NONE;
+    }
+
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+        LeveledGzipOutputStream(OutputStream outputStream, int level) throws IOException {
+            super(outputStream, XmlFiles.BUFFER_SIZE);
+            this.def.setLevel(level);
+        }
+    }
+
+    /**
+     * Releases native memory of its deflater once closed (JDK stream does it only for its default deflater).
+     */
+    private static final class OwnDeflaterOutputStream extends DeflaterOutputStream {
+        OwnDeflaterOutputStream(OutputStream outputStream, int level) {
+            super(outputStream, new Deflater(level), XmlFiles.BUFFER_SIZE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                this.def.end();
+            }
+        }
+    }
+
+    /**
+     * Releases native memory of its inflater once closed.
+     */
+    private static final class OwnInflaterInputStream extends InflaterInputStream {
+        private boolean closed;
+
+        OwnInflaterInputStream(InputStream inputStream) {
+            super(inputStream, new Inflater(), XmlFiles.BUFFER_SIZE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            try {
+                super.close();
+            } finally {
+                this.inf.end();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,206 @@
+package com.meriosol.jaxb;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * NIO based opening of XML files: buffered streams, memory-mapped reads and compressed files.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+final class XmlFiles {
+    /**
+     * Buffer size of file streams: large enough to read/write file by few syscalls per MB.
+     */
+    static final int BUFFER_SIZE = 64 * 1024;
+    /**
+     * Disables memory-mapped reads.
+     */
+    static final long NO_MAPPED_READS = -1L;
+    /**
+     * Max size of single mapped region of file.
+     */
+    static final int MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+
+    private XmlFiles() {
+    }
+
+    /**
+     * @param file File to read.
+     * @return Buffered stream of file.
+     * @throws IOException if file can't be opened.
+     */
+    static InputStream newInputStream(File file) throws IOException {
+        return new BufferedInputStream(Files.newInputStream(file.toPath()), BUFFER_SIZE);
+    }
+
+    /**
+     * @param file                File to read.
+     * @param mappedReadThreshold Files of this size or larger are memory-mapped (negative disables mapping).
+     * @return Buffered or memory-mapped stream of file.
+     * @throws IOException if file can't be opened.
+     */
+    static InputStream newInputStream(File file, long mappedReadThreshold) throws IOException {
+        if (mappedReadThreshold >= 0 && file.length() >= mappedReadThreshold) {
+            return new MappedFileInputStream(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+        }
+        return newInputStream(file);
+    }
+
+    /**
+     * @param file File to write (created or truncated).
+     * @return Buffered stream of file.
+     * @throws IOException if file can't be opened.
+     */
+    static OutputStream newOutputStream(File file) throws IOException {
+        return new BufferedOutputStream(Files.newOutputStream(file.toPath()), BUFFER_SIZE);
+    }
+
+    /**
+     * @param file                File to read.
+     * @param mappedReadThreshold Plain files of this size or larger are memory-mapped (negative disables mapping).
+     * @param compression         File compression.
+     * @return Decompressing, buffered or memory-mapped stream of file.
+     * @throws IOException if file can't be opened.
+     */
+    static InputStream newInputStream(File file, long mappedReadThreshold, XmlCompression compression) throws IOException {
+        final XmlCompression fileCompression = compression == XmlCompression.AUTO
+                && XmlCompression.forFileName(file.getName()) != XmlCompression.NONE
+                ? XmlCompression.forFileName(file.getName()) : compression;
+        if (fileCompression == XmlCompression.NONE) {
+            return newInputStream(file, mappedReadThreshold);
+        }
+        // Decompressed bytes are inflated straight into parser buffer, only compressed ones are buffered
+        final InputStream inputStream = newInputStream(file);
+        try {
+            return fileCompression.decompress(inputStream);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(inputStream);
+            throw e;
+        }
+    }
+
+    /**
+     * @param file        File to write (created or truncated).
+     * @param compression File compression ({@link XmlCompression#AUTO} - by file extension).
+     * @param level       Compression level.
+     * @return Buffered (and compressing) stream of file.
+     * @throws IOException if file can't be opened.
+     */
+    static OutputStream newOutputStream(File file, XmlCompression compression, int level) throws IOException {
+        final XmlCompression fileCompression = compression == XmlCompression.AUTO
+                ? XmlCompression.forFileName(file.getName()) : compression;
+        if (fileCompression == XmlCompression.NONE) {
+            return newOutputStream(file);
+        }
+        final OutputStream outputStream = Files.newOutputStream(file.toPath());
+        try {
+            // Deflater is fed by large chunks: it's much slower on small writes of marshaller
+            return new BufferedOutputStream(fileCompression.compress(outputStream, level), BUFFER_SIZE);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(outputStream);
+            throw e;
+        }
+    }
+
+    /**
+     * Closes stream after failure, so close error doesn't hide original one.
+     *
+     * @param closeable Stream to close.
+     */
+    static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Original error is more important
+        }
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    /**
+     * Reads file through memory mapped regions (of {@value #MAPPED_REGION_SIZE} bytes max), so file content is not copied
+     * from kernel to heap buffers.<br>
+     * NOTE: Mapped regions are released by GC, not once stream is closed.
+     */
+    static final class MappedFileInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long size;
+        private long regionEnd;
+        private MappedByteBuffer region;
+
+        MappedFileInputStream(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        @Override
+        public int read() throws IOException {
+            return nextRegion() ? this.region.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!nextRegion()) {
+                return -1;
+            }
+            final int count = Math.min(length, this.region.remaining());
+            this.region.get(buffer, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            long skipped = 0;
+            while (skipped < count && nextRegion()) {
+                final int regionSkip = (int) Math.min(count - skipped, this.region.remaining());
+                this.region.position(this.region.position() + regionSkip);
+                skipped += regionSkip;
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return this.region == null ? 0 : this.region.remaining();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.region = null;
+            this.channel.close();
+        }
+
+        /**
+         * @return False if file end is reached, otherwise current region has remaining bytes.
+         */
+        private boolean nextRegion() throws IOException {
+            if (this.region != null && this.region.hasRemaining()) {
+                return true;
+            }
+            if (this.regionEnd >= this.size) {
+                return false;
+            }
+            final long regionSize = Math.min(MAPPED_REGION_SIZE, this.size - this.regionEnd);
+            this.region = this.channel.map(FileChannel.MapMode.READ_ONLY, this.regionEnd, regionSize);
+            this.regionEnd += regionSize;
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.meriosol.jaxb;
+
+import javax.xml.stream.XMLInputFactory;
+import java.util.logging.Logger;
+
+/**
+ * Cached and preconfigured StAX parser factories.<br>
+ * Factory lookup (system property, service loader) is done once, not per parsed document. Found factory is the fastest
+ * one on class path as long as it registers itself as StAX service (e.g. Woodstox or Aalto), otherwise JDK one.<br>
+ * NOTE: Factories are configured to be namespace aware, to not load DTDs and to not expand external entities.
+ * Created factories are not modified afterwards, so they are shared by all threads.
+ * Usage sample:
+ * <pre>
+ * UnmarshallHelper&lt;Sample&gt; helper = UnmarshallHelper.builder(Sample.class)
+ *         .xmlInputFactory(XmlParsers.newXmlInputFactory("com.ctc.wstx.stax.WstxInputFactory")).build();
+ * </pre>
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class XmlParsers {
+    private static final Class<XmlParsers> MODULE = XmlParsers.class;
+    private static final Logger LOG = Logger.getLogger(MODULE.getName());
+
+    private XmlParsers() {
+    }
+
+    /**
+     * @return Shared configured factory found by standard StAX lookup.
+     */
+    public static XMLInputFactory getDefaultXmlInputFactory() {
+        return DefaultXmlInputFactoryHolder.XML_INPUT_FACTORY;
+    }
+
+    /**
+     * @param factoryClassName Class name of StAX implementation, e.g. <code>com.ctc.wstx.stax.WstxInputFactory</code>
+     *                         (Woodstox) or <code>com.fasterxml.aalto.stax.InputFactoryImpl</code> (Aalto).
+     * @return New configured factory (keep it and reuse it).
+     * @throws JaxbRuntimeException if implementation is not on class path.
+     */
+    public static XMLInputFactory newXmlInputFactory(String factoryClassName) throws JaxbRuntimeException {
+        if (factoryClassName == null || "".equals(factoryClassName)) {
+            throw new IllegalArgumentException("[JU803511627] XMLInputFactory class name should not be null or empty!");
+        }
+        try {
+            final Class<?> factoryClass = Class.forName(factoryClassName, true, MODULE.getClassLoader());
+            return configure((XMLInputFactory) factoryClass.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU803511628] Error occurred while creating XMLInputFactory '%s'. Message: %s"
+                            , factoryClassName, e.getMessage()), e
+            );
+        }
+    }
+
+    /**
+     * Makes factory namespace aware and disables DTDs and external entities.
+     *
+     * @param xmlInputFactory Factory to configure.
+     * @return The same factory.
+     */
+    public static XMLInputFactory configure(XMLInputFactory xmlInputFactory) {
+        if (xmlInputFactory == null) {
+            throw new IllegalArgumentException("[JU803511629] XMLInputFactory should not be null!");
+        }
+        xmlInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return xmlInputFactory;
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    private static final class DefaultXmlInputFactoryHolder {
+        private static final XMLInputFactory XML_INPUT_FACTORY = createDefaultXmlInputFactory();
+
+        private static XMLInputFactory createDefaultXmlInputFactory() {
+            final XMLInputFactory xmlInputFactory = configure(XMLInputFactory.newFactory());
+            LOG.fine("XMLInputFactory in use: " + xmlInputFactory.getClass().getName());
+            return xmlInputFactory;
+        }
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.meriosol.jaxb;
+
+import javax.xml.namespace.QName;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Selects elements of XML document to unmarshall, everything else is skipped at StAX level (neither bound nor kept).
+ * Two kinds of projection:
+ * <ul>
+ * <li>{@link #path(String)} - absolute element path like <code>/catalog/header</code>. Subtrees off the path are skipped
+ * without looking into them, so cost is proportional to the path and projected elements, not to the document.</li>
+ * <li>{@link #elements(QName...)} - elements with given names at any depth (whole document is scanned,
+ * but only matching elements are bound).</li>
+ * </ul>
+ * Usage sample:
+ * <pre>
+ * Header header = helper.unmarshallFirstProjected(inputStream, Header.class, XmlProjection.path("/catalog/header"));
+ * </pre>
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class XmlProjection {
+    private static final String ANY_NAME = "*";
+
+    /**
+     * What to do with element.
+     */
+    enum Match {
+        /**
+         * Element is projected: unmarshall it.
+         */
+        MATCH,
+        /**
+         * Element may contain projected elements: look into it.
+         */
+        DESCEND,
+        /**
+         * Element doesn't contain projected elements: skip it with its content.
+         */
+        SKIP
+    }
+
+    private final boolean anyDepth;
+    // Path segments or element names (null namespace - any namespace, "*" local name - any element):
+    private final String[] namespaces;
+    private final String[] localNames;
+
+    private XmlProjection(boolean anyDepth, String[] namespaces, String[] localNames) {
+        this.anyDepth = anyDepth;
+        this.namespaces = namespaces;
+        this.localNames = localNames;
+    }
+
+    /**
+     * @param path Absolute path of projected elements: "/"-separated element names, starting from root element.
+     *             Name is local name (any namespace), <code>{namespace}localName</code> or <code>*</code> (any element),
+     *             e.g. <code>/catalog/*&#47;id</code>.
+     * @return Path projection.
+     */
+    public static XmlProjection path(String path) {
+        if (path == null || !path.startsWith("/") || path.length() == 1) {
+            throw new IllegalArgumentException("[JU583064211] Projection path should be absolute element path like '/root/child': " + path);
+        }
+        final List<String> namespaces = new ArrayList<>();
+        final List<String> localNames = new ArrayList<>();
+        int start = 1;
+        while (start <= path.length()) {
+            final int nameStart = path.startsWith("{", start) ? path.indexOf('}', start) : start;
+            if (nameStart < 0) {
+                throw new IllegalArgumentException("[JU583064214] Namespace is not closed by '}' in projection path: " + path);
+            }
+            int end = path.indexOf('/', nameStart);
+            if (end < 0) {
+                end = path.length();
+            }
+            final String segment = path.substring(start, end);
+            if (segment.isEmpty()) {
+                throw new IllegalArgumentException("[JU583064212] Projection path should not have empty segments: " + path);
+            }
+            if (segment.startsWith("{")) {
+                final QName name = QName.valueOf(segment);
+                namespaces.add(name.getNamespaceURI());
+                localNames.add(name.getLocalPart());
+            } else {
+                namespaces.add(null);
+                localNames.add(segment);
+            }
+            start = end + 1;
+        }
+        return new XmlProjection(false, namespaces.toArray(new String[0]), localNames.toArray(new String[0]));
+    }
+
+    /**
+     * @param segments Absolute path of projected elements, starting from root element.
+     * @return Path projection.
+     */
+    public static XmlProjection path(QName... segments) {
+        return new XmlProjection(false, getNamespaces(segments), getLocalNames(segments));
+    }
+
+    /**
+     * @param names Names of projected elements. Namespace should match as well.
+     * @return Projection of elements with given names at any depth (elements nested into projected ones are bound
+     * as their part).
+     */
+    public static XmlProjection elements(QName... names) {
+        return new XmlProjection(true, getNamespaces(names), getLocalNames(names));
+    }
+
+    /**
+     * @param depth        Number of enclosing elements (all of them were {@link Match#DESCEND}ed into).
+     * @param namespaceURI Element namespace ("" if there is no one).
+     * @param localName    Element local name.
+     * @return What to do with element.
+     */
+    Match match(int depth, String namespaceURI, String localName) {
+        if (this.anyDepth) {
+            for (int i = 0; i < this.localNames.length; i++) {
+                if (matches(i, namespaceURI, localName)) {
+                    return Match.MATCH;
+                }
+            }
+            return Match.DESCEND;
+        }
+        if (depth >= this.localNames.length || !matches(depth, namespaceURI, localName)) {
+            return Match.SKIP;
+        }
+        return depth == this.localNames.length - 1 ? Match.MATCH : Match.DESCEND;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder stringBuilder = new StringBuilder(this.anyDepth ? "elements" : "path").append('(');
+        for (int i = 0; i < this.localNames.length; i++) {
+            stringBuilder.append(this.anyDepth ? (i == 0 ? "" : ", ") : "/");
+            if (this.namespaces[i] != null && !this.namespaces[i].isEmpty()) {
+                stringBuilder.append('{').append(this.namespaces[i]).append('}');
+            }
+            stringBuilder.append(this.localNames[i]);
+        }
+        return stringBuilder.append(')').toString();
+    }
+
+    private boolean matches(int index, String namespaceURI, String localName) {
+        return (ANY_NAME.equals(this.localNames[index]) || this.localNames[index].equals(localName))
+                && (this.namespaces[index] == null || this.namespaces[index].equals(namespaceURI));
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    private static String[] getNamespaces(QName[] names) {
+        checkNames(names);
+        final String[] namespaces = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            namespaces[i] = names[i].getNamespaceURI();
+        }
+        return namespaces;
+    }
+
+    private static String[] getLocalNames(QName[] names) {
+        final String[] localNames = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            localNames[i] = names[i].getLocalPart();
+        }
+        return localNames;
+    }
+
+    private static void checkNames(QName[] names) {
+        if (names == null || names.length == 0 || Arrays.asList(names).contains(null)) {
+            throw new IllegalArgumentException("[JU583064213] Projection element names should not be null or empty!");
+        }
+    }
+
+}
@@ -0,0 +1,220 @@
+package com.meriosol.jaxb;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over repeated (record) or projected (see {@link XmlProjection}) elements of XML document, unmarshalling
+ * only one record at a time.
+ * Whatever the document size, memory usage is proportional to the single record.<br>
+ * Usage sample:
+ * <pre>
+ * try (XmlRecordIterator&lt;Record&gt; records = helper.unmarshallStreaming(inputStream, Record.class, recordName)) {
+ *     while (records.hasNext()) {
+ *         process(records.next());
+ *     }
+ * }
+ * </pre>
+ * NOTE1: Iterator is not thread-safe. It holds pooled unmarshaller of its helper until it's closed (or exhausted).<br>
+ * NOTE2: Closing iterator closes underlying input stream as well.<br>
+ * NOTE3: If validation is on, record element should be declared as global element in XML schema.
+ *
+ * @param <T> Record type.
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class XmlRecordIterator<T> implements Iterator<T>, Closeable {
+    private final UnmarshallHelper<?> helper;
+    private final Class<T> recordClass;
+    private final XmlProjection projection;
+    private final InputStream inputStream;
+    private final XMLStreamReader xmlStreamReader;
+    private final JaxbObjectPool<Unmarshaller> unmarshallerPool;
+    private Unmarshaller unmarshaller;
+    private boolean positionedAtRecord;
+    private int depth;
+    private boolean closed;
+    private long recordCount;
+
+    XmlRecordIterator(UnmarshallHelper<?> helper, JaxbObjectPool<Unmarshaller> unmarshallerPool, InputStream inputStream
+            , Class<T> recordClass, XmlProjection projection) throws JaxbRuntimeException {
+        this.helper = helper;
+        this.recordClass = recordClass;
+        this.projection = projection;
+        this.inputStream = inputStream;
+        this.unmarshallerPool = unmarshallerPool;
+        try {
+            this.unmarshaller = unmarshallerPool.borrow();
+        } catch (RuntimeException e) {
+            closeQuietly(inputStream);
+            throw e;
+        }
+        try {
+            this.xmlStreamReader = helper.resolveXmlInputFactory().createXMLStreamReader(inputStream);
+        } catch (XMLStreamException e) {
+            closeQuietly(inputStream);
+            unmarshallerPool.release(this.unmarshaller);
+            throw new JaxbRuntimeException(
+                    String.format("[JU771204386] Error occurred while opening XML stream for records '%s'. Message: %s"
+                            , projection, e.getMessage()), e
+            );
+        }
+    }
+
+    @Override
+    public boolean hasNext() throws JaxbRuntimeException {
+        if (this.closed) {
+            return false;
+        }
+        try {
+            if (moveToNextRecord()) {
+                return true;
+            }
+        } catch (XMLStreamException e) {
+            close();
+            throw new JaxbRuntimeException(
+                    String.format("[JU771204387] Error occurred while looking for record '%s' after %d records. Message: %s"
+                            , this.projection, this.recordCount, e.getMessage()), e
+            );
+        }
+        close();
+        return false;
+    }
+
+    @Override
+    public T next() throws JaxbRuntimeException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("[JU771204388] No more records '" + this.projection + "'");
+        }
+        this.positionedAtRecord = false;
+        final T entity;
+        CollectingValidationEventHandler eventHandler = null;
+        try {
+            eventHandler = (CollectingValidationEventHandler) this.unmarshaller.getEventHandler();
+            entity = this.unmarshaller.unmarshal(this.xmlStreamReader, this.recordClass).getValue();
+            this.helper.handleValidationEvents(eventHandler);
+            eventHandler.reset();
+        } catch (JAXBException e) {
+            final JaxbRuntimeException validationAbortedException = this.helper.toValidationAbortedException(eventHandler, e);
+            close();
+            if (validationAbortedException != null) {
+                throw validationAbortedException;
+            }
+            throw new JaxbRuntimeException(
+                    String.format("[JU771204389] Error occurred while unmarshalling record '%s' #%d. Message: %s"
+                            , this.projection, this.recordCount + 1, e.getMessage()), e
+            );
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+        this.recordCount++;
+        return entity;
+    }
+
+    /**
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("[JU771204390] Records can't be removed from XML stream!");
+    }
+
+    /**
+     * @return Number of records returned so far.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Releases unmarshaller and closes underlying stream. Safe to be called more than once.
+     */
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            this.xmlStreamReader.close();
+        } catch (XMLStreamException e) {
+            // Nothing to do, input stream is closed below anyway
+        }
+        closeQuietly(this.inputStream);
+        this.unmarshallerPool.release(this.unmarshaller);
+        this.unmarshaller = null;
+    }
+
+    /**
+     * Skips elements which are not projected (with their content) and goes into ones which may contain projected elements.
+     * NOTE: Unmarshaller leaves reader right after end of record, which can be start of the next record.
+     *
+     * @return True if reader is at start of record element.
+     */
+    private boolean moveToNextRecord() throws XMLStreamException {
+        if (this.positionedAtRecord) {
+            return true;
+        }
+        int event = this.xmlStreamReader.getEventType();
+        while (true) {
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (this.projection.match(this.depth, nullToEmpty(this.xmlStreamReader.getNamespaceURI())
+                        , this.xmlStreamReader.getLocalName())) {
+                    case MATCH:
+                        this.positionedAtRecord = true;
+                        return true;
+                    case DESCEND:
+                        this.depth++;
+                        break;
+                    default:
+                        skipElement();
+                        break;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                this.depth--;
+            }
+            if (!this.xmlStreamReader.hasNext()) {
+                return false;
+            }
+            event = this.xmlStreamReader.next();
+        }
+    }
+
+    /**
+     * Moves reader from element start to its end. Content is only tokenized (text is not requested, so not created).
+     */
+    private void skipElement() throws XMLStreamException {
+        int level = 1;
+        while (level > 0) {
+            final int event = this.xmlStreamReader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                level++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                level--;
+            }
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Nothing to do
+        }
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.meriosol.jaxb;
+
+import javax.xml.XMLConstants;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes XML document with many repeated (record) elements one record at a time:
+ * root element is opened first, each record is marshalled as fragment once it arrives and root is closed at the end.
+ * Whatever the number of records, memory usage is proportional to the single record.<br>
+ * Usage sample:
+ * <pre>
+ * try (XmlRecordWriter&lt;Record&gt; records = helper.marshallStreaming(outputStream, Record.class, rootName)) {
+ *     for (Record record : source) {
+ *         records.write(record);
+ *     }
+ * }
+ * </pre>
+ * NOTE1: Writer is not thread-safe. It holds pooled (fragment) marshaller of its helper until it's closed.<br>
+ * NOTE2: Closing writer closes underlying output stream as well.<br>
+ * NOTE3: Once record can't be written (e.g. it's invalid), document is incomplete: writer rejects further records
+ * and closing it doesn't write document end.
+ *
+ * @param <T> Record type.
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class XmlRecordWriter<T> implements Closeable, Flushable {
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+    private static final String ENCODING = "UTF-8";
+
+    private final MarshallHelper<?> helper;
+    private final QName rootElementName;
+    private final OutputStream outputStream;
+    private final XMLStreamWriter xmlStreamWriter;
+    private final JaxbObjectPool<Marshaller> marshallerPool;
+    private Marshaller marshaller;
+    private boolean closed;
+    private boolean failed;
+    private long recordCount;
+
+    XmlRecordWriter(MarshallHelper<?> helper, JaxbObjectPool<Marshaller> marshallerPool, OutputStream outputStream
+            , QName rootElementName, String schemaLocation) throws JaxbRuntimeException {
+        this.helper = helper;
+        this.rootElementName = rootElementName;
+        this.outputStream = outputStream;
+        this.marshallerPool = marshallerPool;
+        try {
+            this.marshaller = marshallerPool.borrow();
+        } catch (RuntimeException e) {
+            closeQuietly(outputStream);
+            throw e;
+        }
+        try {
+            final XMLStreamWriter plainXmlStreamWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(outputStream, ENCODING);
+            this.xmlStreamWriter = helper.isFormattedOutput() ? new IndentingXmlStreamWriter(plainXmlStreamWriter)
+                    : plainXmlStreamWriter;
+            writeRootStart(schemaLocation);
+        } catch (XMLStreamException e) {
+            closeQuietly(outputStream);
+            marshallerPool.invalidate(this.marshaller);
+            throw new JaxbRuntimeException(
+                    String.format("[JU358013492] Error occurred while opening XML stream for root '%s'. Message: %s"
+                            , rootElementName, e.getMessage()), e
+            );
+        }
+    }
+
+    /**
+     * Marshalls <code>entity</code> as next child of root element.
+     *
+     * @param entity Record to write.
+     * @throws JaxbRuntimeException
+     */
+    public void write(T entity) throws JaxbRuntimeException {
+        if (entity == null) {
+            throw new IllegalArgumentException("[JU358013493] Record for marshalling should not be null!");
+        }
+        if (this.closed) {
+            throw new IllegalStateException("[JU358013494] Records writer is already closed!");
+        }
+        if (this.failed) {
+            throw new IllegalStateException("[JU358013498] Records writer failed on record #" + (this.recordCount + 1)
+                    + ", document is incomplete!");
+        }
+        CollectingValidationEventHandler eventHandler = null;
+        boolean written = false;
+        try {
+            eventHandler = (CollectingValidationEventHandler) this.marshaller.getEventHandler();
+            this.marshaller.marshal(entity, this.xmlStreamWriter);
+            this.helper.handleValidationEvents(eventHandler);
+            written = true;
+        } catch (JAXBException e) {
+            final JaxbRuntimeException validationAbortedException = this.helper.toValidationAbortedException(eventHandler, e);
+            if (validationAbortedException != null) {
+                throw validationAbortedException;
+            }
+            throw new JaxbRuntimeException(
+                    String.format("[JU358013495] Error occurred while marshalling record of class '%s' #%d. Message: %s"
+                            , entity.getClass().getName(), this.recordCount + 1, e.getMessage()), e
+            );
+        } finally {
+            if (eventHandler != null) {
+                eventHandler.reset();
+            }
+            // Part of record may be written already
+            this.failed = !written;
+        }
+        this.recordCount++;
+    }
+
+    /**
+     * @return Number of records written so far.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        try {
+            this.xmlStreamWriter.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException("[JU358013496] Error occurred while flushing XML stream: " + e.getMessage(), e);
+        }
+        this.outputStream.flush();
+    }
+
+    /**
+     * @return True if record could not be written, so document is incomplete.
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Closes root element and document, releases marshaller and closes underlying stream. Safe to be called more than once.
+     * If writer failed, document end is not written and marshaller (its state is not known) is dropped from pool.
+     *
+     * @throws JaxbRuntimeException if document end can't be written.
+     */
+    @Override
+    public void close() throws JaxbRuntimeException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        if (this.failed) {
+            closeQuietly(this.outputStream);
+            this.marshallerPool.invalidate(this.marshaller);
+            this.marshaller = null;
+            return;
+        }
+        try {
+            this.xmlStreamWriter.writeEndElement();
+            this.xmlStreamWriter.writeEndDocument();
+            this.xmlStreamWriter.close();
+            this.outputStream.close();
+        } catch (XMLStreamException | IOException e) {
+            closeQuietly(this.outputStream);
+            throw new JaxbRuntimeException(
+                    String.format("[JU358013497] Error occurred while closing root '%s' after %d records. Message: %s"
+                            , this.rootElementName, this.recordCount, e.getMessage()), e
+            );
+        } finally {
+            this.marshallerPool.release(this.marshaller);
+            this.marshaller = null;
+        }
+    }
+
+    private void writeRootStart(String schemaLocation) throws XMLStreamException {
+        final String namespace = this.rootElementName.getNamespaceURI();
+        this.xmlStreamWriter.writeStartDocument(ENCODING, "1.0");
+        this.xmlStreamWriter.setDefaultNamespace(namespace);
+        this.xmlStreamWriter.writeStartElement(XMLConstants.DEFAULT_NS_PREFIX, this.rootElementName.getLocalPart(), namespace);
+        this.xmlStreamWriter.writeDefaultNamespace(namespace);
+        if (schemaLocation != null) {
+            this.xmlStreamWriter.writeNamespace("xsi", XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI);
+            this.xmlStreamWriter.writeAttribute("xsi", XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "schemaLocation", schemaLocation);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Nothing to do
+        }
+    }
+
+}
@@ -0,0 +1,230 @@
+package com.meriosol.jaxb;
+
+import javax.xml.validation.Schema;
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide cache of compiled XML schemas keyed by schema URL.<br>
+ * Compiled {@link Schema} is immutable and thread-safe, so one instance is shared by all helpers (and threads).<br>
+ * NOTE1: Concurrent callers asking for the same schema share single compilation.<br>
+ * NOTE2: If modification check is on, schemas located in file system are recompiled once their file is changed.
+ * Imported/included schemas are not tracked.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class XmlSchemaRegistry {
+    private static final Class<XmlSchemaRegistry> MODULE = XmlSchemaRegistry.class;
+    private static final Logger LOG = Logger.getLogger(MODULE.getName());
+
+    private static final XmlSchemaRegistry INSTANCE = new XmlSchemaRegistry();
+
+    private final ConcurrentMap<String, SchemaEntry> schemas = new ConcurrentHashMap<>();
+    private volatile boolean modificationCheckEnabled;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong compileTimeNanos = new AtomicLong();
+
+    XmlSchemaRegistry() {
+    }
+
+    /**
+     * @return Registry shared by all helpers of this process.
+     */
+    public static XmlSchemaRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param xmlSchemaResourceUrl Schema name (assuming schema in classpath).
+     * @return Cached (or newly compiled) schema.
+     * @throws JaxbRuntimeException if schema can't be compiled.
+     */
+    public Schema getSchema(String xmlSchemaResourceUrl) throws JaxbRuntimeException {
+        if (xmlSchemaResourceUrl == null || "".equals(xmlSchemaResourceUrl)) {
+            throw new IllegalArgumentException("[JU19033223] XML schema URL should not be null or empty!");
+        }
+        final URL schemaUrl = JaxbUtils.getResourceURL(xmlSchemaResourceUrl);
+        if (schemaUrl == null) {
+            throw new IllegalArgumentException("[JU74527197] Schema URL is null for xml schema " + xmlSchemaResourceUrl);
+        }
+        return getSchema(schemaUrl);
+    }
+
+    /**
+     * @param schemaUrl Schema location.
+     * @return Cached (or newly compiled) schema.
+     * @throws JaxbRuntimeException if schema can't be compiled.
+     */
+    public Schema getSchema(URL schemaUrl) throws JaxbRuntimeException {
+        if (schemaUrl == null) {
+            throw new IllegalArgumentException("[JU380671452] Schema URL should not be null!");
+        }
+        final String key = schemaUrl.toExternalForm();
+        while (true) {
+            final SchemaEntry entry = this.schemas.get(key);
+            if (entry != null) {
+                if (!this.modificationCheckEnabled || !entry.isModified()) {
+                    this.hitCount.incrementAndGet();
+                    return entry.await();
+                }
+                LOG.info("XML schema was modified and will be recompiled: " + key);
+                final SchemaEntry newEntry = new SchemaEntry(schemaUrl);
+                if (this.schemas.replace(key, entry, newEntry)) {
+                    return compile(key, newEntry);
+                }
+                continue;
+            }
+            final SchemaEntry newEntry = new SchemaEntry(schemaUrl);
+            if (this.schemas.putIfAbsent(key, newEntry) == null) {
+                return compile(key, newEntry);
+            }
+        }
+    }
+
+    /**
+     * @return True if schema files are checked for modification on every lookup.
+     */
+    public boolean isModificationCheckEnabled() {
+        return modificationCheckEnabled;
+    }
+
+    /**
+     * @param modificationCheckEnabled If true, schemas located in file system are recompiled once file is changed.
+     */
+    public void setModificationCheckEnabled(boolean modificationCheckEnabled) {
+        this.modificationCheckEnabled = modificationCheckEnabled;
+    }
+
+    /**
+     * @return How many times schema was found in cache.
+     */
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    /**
+     * @return How many times schema had to be compiled.
+     */
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    /**
+     * @return Total time spent in schema compilation, nanoseconds.
+     */
+    public long getCompileTimeNanos() {
+        return this.compileTimeNanos.get();
+    }
+
+    /**
+     * @return Number of cached schemas.
+     */
+    public int size() {
+        return this.schemas.size();
+    }
+
+    /**
+     * Drops all cached schemas. Statistics are kept.
+     */
+    public void clear() {
+        this.schemas.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "XmlSchemaRegistry{size=" + this.schemas.size() + ", hits=" + getHitCount() + ", misses="
+                + getMissCount() + ", compileTimeMs=" + (getCompileTimeNanos() / 1000000L) + "}";
+    }
+
+    private Schema compile(String key, SchemaEntry entry) {
+        this.missCount.incrementAndGet();
+        final long start = System.nanoTime();
+        try {
+            entry.compilation.run();
+            return entry.await();
+        } catch (JaxbRuntimeException e) {
+            // Don't cache failures, next caller will retry:
+            this.schemas.remove(key, entry);
+            throw e;
+        } finally {
+            this.compileTimeNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    /**
+     * Schema being compiled (shared by concurrent callers) or already compiled one.
+     */
+    private static final class SchemaEntry {
+        private final URL schemaUrl;
+        private final File schemaFile;
+        private final long lastModified;
+        private final FutureTask<Schema> compilation;
+
+        SchemaEntry(final URL schemaUrl) {
+            this.schemaUrl = schemaUrl;
+            this.schemaFile = toFile(schemaUrl);
+            this.lastModified = this.schemaFile == null ? 0L : this.schemaFile.lastModified();
+            this.compilation = new FutureTask<>(new Callable<Schema>() {
+                @Override
+                public Schema call() {
+                    return JaxbUtils.compileXmlSchema(schemaUrl);
+                }
+            });
+        }
+
+        boolean isModified() {
+            return this.schemaFile != null && this.schemaFile.lastModified() != this.lastModified;
+        }
+
+        Schema await() {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return this.compilation.get();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        final Throwable cause = e.getCause();
+                        if (cause instanceof JaxbRuntimeException) {
+                            throw (JaxbRuntimeException) cause;
+                        }
+                        throw new JaxbRuntimeException("[JU380671453] Error while compiling schema '" + this.schemaUrl + "'"
+                                , cause instanceof Exception ? (Exception) cause : e);
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private static File toFile(URL url) {
+            if (!"file".equals(url.getProtocol())) {
+                return null;
+            }
+            try {
+                return new File(url.toURI());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+}
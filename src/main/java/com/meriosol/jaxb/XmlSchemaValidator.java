@@ -0,0 +1,694 @@
+package com.meriosol.jaxb;
+
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.AttributesImpl;
+
+import javax.xml.bind.ValidationEvent;
+import javax.xml.bind.helpers.ValidationEventImpl;
+import javax.xml.bind.helpers.ValidationEventLocatorImpl;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.EndElement;
+import javax.xml.stream.events.Namespace;
+import javax.xml.stream.events.ProcessingInstruction;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import javax.xml.transform.Source;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+import javax.xml.validation.ValidatorHandler;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Validates XML documents against XML schema without binding them: document is streamed through schema validator,
+ * so memory usage doesn't depend on document size and no objects are created for its content.<br>
+ * NOTE1: Schema is taken from {@link XmlSchemaRegistry}, so it's the same compiled schema helpers validate with.
+ * Validators are pooled (reused by threads one by one), events are handled by {@link ValidationPolicy}.<br>
+ * NOTE2: Invalid document is not an error: it's reported by {@link Result}. Exception is thrown only if document
+ * can't be read.
+ * Usage sample:
+ * <pre>
+ * XmlSchemaValidator validator = XmlSchemaValidator.builder("sample.xsd").validationPolicy(ValidationPolicy.failFast()).build();
+ * XmlSchemaValidator.Result result = validator.validate(file);
+ * if (!result.isValid()) {
+ *     reject(result.getEvents());
+ * }
+ * </pre>
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class XmlSchemaValidator {
+    private final String xmlSchemaResourceUrl;
+    private final Schema xmlSchema;
+    private final ValidationPolicy validationPolicy;
+    private final XMLInputFactory xmlInputFactory;
+    private final XmlCompression compression;
+    private final JaxbObjectPool<PooledValidator> validatorPool;
+
+    private XmlSchemaValidator(Builder builder) {
+        this.xmlSchemaResourceUrl = builder.xmlSchemaResourceUrl;
+        this.xmlSchema = builder.xmlSchema != null ? builder.xmlSchema : JaxbUtils.loadXmlSchema(builder.xmlSchemaResourceUrl);
+        this.validationPolicy = builder.validationPolicy;
+        this.xmlInputFactory = builder.xmlInputFactory;
+        this.compression = builder.compression;
+        this.validatorPool = new JaxbObjectPool<PooledValidator>("validators", builder.poolSize, builder.poolBorrowTimeoutMillis) {
+            @Override
+            protected PooledValidator create() {
+                return new PooledValidator(XmlSchemaValidator.this.xmlSchema.newValidator()
+                        , XmlSchemaValidator.this.xmlSchema.newValidatorHandler()
+                        , XmlSchemaValidator.this.validationPolicy.createEventHandler());
+            }
+
+            @Override
+            protected void reset(PooledValidator pooledValidator) {
+                pooledValidator.eventHandler.reset();
+            }
+        };
+    }
+
+    /**
+     * @param xmlSchemaResourceUrl Schema location (class path resource or URL), see {@link JaxbUtils#loadXmlSchema(String)}.
+     * @return Builder of validator which is safe to be shared between threads.
+     */
+    public static Builder builder(String xmlSchemaResourceUrl) {
+        if (xmlSchemaResourceUrl == null || "".equals(xmlSchemaResourceUrl)) {
+            throw new IllegalArgumentException("[JU251977401] XML schema resource URL should not be null or empty!");
+        }
+        return new Builder(xmlSchemaResourceUrl, null);
+    }
+
+    /**
+     * @param xmlSchema Compiled schema.
+     * @return Builder of validator which is safe to be shared between threads.
+     */
+    public static Builder builder(Schema xmlSchema) {
+        if (xmlSchema == null) {
+            throw new IllegalArgumentException("[JU251977402] XML schema should not be null!");
+        }
+        return new Builder(null, xmlSchema);
+    }
+
+    /**
+     * @param inputStream XML document (not closed).
+     * @return Validation outcome.
+     * @throws JaxbRuntimeException if document can't be read.
+     */
+    public Result validate(InputStream inputStream) throws JaxbRuntimeException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("[JU251977403] InputStream for validation should not be null!");
+        }
+        if (this.xmlInputFactory == null) {
+            return validate(new StreamSource(inputStream));
+        }
+        final XMLStreamReader xmlStreamReader;
+        try {
+            xmlStreamReader = this.xmlInputFactory.createXMLStreamReader(inputStream);
+        } catch (XMLStreamException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU251977404] Error occurred while opening XML stream. Message: %s", e.getMessage()), e);
+        }
+        try {
+            return validate(new StAXSource(xmlStreamReader));
+        } finally {
+            try {
+                xmlStreamReader.close();
+            } catch (XMLStreamException e) {
+                // Underlying stream is not closed by reader, nothing to release
+            }
+        }
+    }
+
+    /**
+     * @param file XML document (decompressed on the fly if compression is set).
+     * @return Validation outcome.
+     * @throws JaxbRuntimeException if file can't be read.
+     */
+    public Result validate(File file) throws JaxbRuntimeException {
+        if (file == null) {
+            throw new IllegalArgumentException("[JU251977405] File for validation should not be null!");
+        }
+        try (InputStream inputStream = XmlFiles.newInputStream(file, XmlFiles.NO_MAPPED_READS, this.compression)) {
+            return validate(inputStream);
+        } catch (IOException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU251977406] IOException error occurred while validating file '%s'. Message: %s"
+                            , file.getAbsolutePath(), e.getMessage()), e
+            );
+        }
+    }
+
+    /**
+     * StAX documents are fed to validator handler directly: <code>Validator</code> would copy them by JDK identity
+     * transformer, which prints errors of aborted validation to stderr. StAX reader positioned at start element
+     * is validated up to its end element (subtree), the one at document start - up to document end.
+     *
+     * @param source XML document: stream, SAX, StAX or DOM source.
+     * @return Validation outcome.
+     * @throws JaxbRuntimeException if document can't be read.
+     */
+    public Result validate(Source source) throws JaxbRuntimeException {
+        if (source == null) {
+            throw new IllegalArgumentException("[JU251977407] Source for validation should not be null!");
+        }
+        final PooledValidator pooledValidator = this.validatorPool.borrow();
+        boolean validatorReusable = false;
+        try {
+            try {
+                if (source instanceof StAXSource && ((StAXSource) source).getXMLStreamReader() != null) {
+                    pooledValidator.validate(((StAXSource) source).getXMLStreamReader());
+                } else if (source instanceof StAXSource && ((StAXSource) source).getXMLEventReader() != null) {
+                    pooledValidator.validate(((StAXSource) source).getXMLEventReader());
+                } else {
+                    pooledValidator.validator.validate(source);
+                }
+            } catch (SAXException e) {
+                // Malformed document or aborted validation: handler already has its events
+                if (pooledValidator.eventHandler.getErrorCount() + pooledValidator.eventHandler.getFatalErrorCount() == 0) {
+                    throw new JaxbRuntimeException(
+                            String.format("[JU251977408] Error occurred while validating document. Message: %s", e.getMessage()), e);
+                }
+            }
+            validatorReusable = true;
+            return new Result(pooledValidator.eventHandler);
+        } catch (IOException e) {
+            throw new JaxbRuntimeException(
+                    String.format("[JU251977409] IOException error occurred while validating document. Message: %s"
+                            , e.getMessage()), e
+            );
+        } finally {
+            if (validatorReusable) {
+                this.validatorPool.release(pooledValidator);
+            } else {
+                this.validatorPool.invalidate(pooledValidator);
+            }
+        }
+    }
+
+    /**
+     * Validates many files on <code>executor</code> reusing pooled validators.
+     * Not more than {@value BatchRunner#DEFAULT_MAX_OPEN_FILES} files are open at the same time.
+     *
+     * @param files    Files to validate.
+     * @param executor Executor to run on. If null, files are validated in caller thread.
+     * @return Per-file outcomes (unreadable files are failed items, invalid ones are not).
+     * @throws JaxbRuntimeException if interrupted.
+     */
+    public BatchResult<File, Result> validateFiles(Collection<File> files, Executor executor) throws JaxbRuntimeException {
+        return new BatchRunner<>(new BatchRunner.ItemTask<File, Result>() {
+            @Override
+            public Result process(File file) {
+                return validate(file);
+            }
+
+            @Override
+            public long getSize(File file) {
+                return file.length();
+            }
+        }, executor, BatchRunner.DEFAULT_MAX_OPEN_FILES).run(files);
+    }
+
+    public String getXmlSchemaResourceUrl() {
+        return xmlSchemaResourceUrl;
+    }
+
+    public ValidationPolicy getValidationPolicy() {
+        return validationPolicy;
+    }
+
+    /**
+     * @return Statistics of validator pool.
+     */
+    public PoolStatistics getPoolStatistics() {
+        return this.validatorPool.getStatistics();
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    /**
+     * Validator (and validator handler for StAX documents) with its own event handler (all are confined to borrowing thread).
+     */
+    private static final class PooledValidator implements ErrorHandler {
+        private final Validator validator;
+        private final ValidatorHandler validatorHandler;
+        private final CollectingValidationEventHandler eventHandler;
+
+        PooledValidator(Validator validator, ValidatorHandler validatorHandler, CollectingValidationEventHandler eventHandler) {
+            this.validator = validator;
+            this.validatorHandler = validatorHandler;
+            this.eventHandler = eventHandler;
+            validator.setErrorHandler(this);
+            validatorHandler.setErrorHandler(this);
+        }
+
+        /**
+         * Feeds StAX events to validator handler as SAX ones: from current start element to its end element
+         * or from document start to its end. Malformed document is reported as fatal error.
+         */
+        void validate(final XMLStreamReader xmlStreamReader) throws SAXException {
+            final ValidatorHandler handler = this.validatorHandler;
+            handler.setDocumentLocator(new StaxLocator() {
+                @Override
+                Location getLocation() {
+                    return xmlStreamReader.getLocation();
+                }
+            });
+            try {
+                final boolean subtree = xmlStreamReader.getEventType() == XMLStreamConstants.START_ELEMENT;
+                int eventType = subtree ? XMLStreamConstants.START_ELEMENT : nextEventType(xmlStreamReader);
+                int depth = 0;
+                handler.startDocument();
+                while (eventType != XMLStreamConstants.END_DOCUMENT) {
+                    switch (eventType) {
+                        case XMLStreamConstants.START_ELEMENT:
+                            depth++;
+                            for (int i = 0; i < xmlStreamReader.getNamespaceCount(); i++) {
+                                handler.startPrefixMapping(nullToEmpty(xmlStreamReader.getNamespacePrefix(i))
+                                        , nullToEmpty(xmlStreamReader.getNamespaceURI(i)));
+                            }
+                            final AttributesImpl attributes = new AttributesImpl();
+                            for (int i = 0; i < xmlStreamReader.getAttributeCount(); i++) {
+                                final QName attributeName = xmlStreamReader.getAttributeName(i);
+                                attributes.addAttribute(nullToEmpty(attributeName.getNamespaceURI()), attributeName.getLocalPart()
+                                        , toQualifiedName(attributeName), nullToEmpty(xmlStreamReader.getAttributeType(i))
+                                        , xmlStreamReader.getAttributeValue(i));
+                            }
+                            handler.startElement(nullToEmpty(xmlStreamReader.getNamespaceURI()), xmlStreamReader.getLocalName()
+                                    , toQualifiedName(xmlStreamReader.getName()), attributes);
+                            break;
+                        case XMLStreamConstants.END_ELEMENT:
+                            depth--;
+                            handler.endElement(nullToEmpty(xmlStreamReader.getNamespaceURI()), xmlStreamReader.getLocalName()
+                                    , toQualifiedName(xmlStreamReader.getName()));
+                            for (int i = 0; i < xmlStreamReader.getNamespaceCount(); i++) {
+                                handler.endPrefixMapping(nullToEmpty(xmlStreamReader.getNamespacePrefix(i)));
+                            }
+                            break;
+                        case XMLStreamConstants.CHARACTERS:
+                        case XMLStreamConstants.CDATA:
+                        case XMLStreamConstants.SPACE:
+                            handler.characters(xmlStreamReader.getTextCharacters(), xmlStreamReader.getTextStart()
+                                    , xmlStreamReader.getTextLength());
+                            break;
+                        case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                            handler.processingInstruction(xmlStreamReader.getPITarget(), xmlStreamReader.getPIData());
+                            break;
+                        default:
+                            break;
+                    }
+                    if (subtree && depth == 0) {
+                        break;
+                    }
+                    eventType = nextEventType(xmlStreamReader);
+                }
+                handler.endDocument();
+            } catch (XMLStreamException e) {
+                throw toParseException(e);
+            }
+        }
+
+        /**
+         * The same as {@link #validate(XMLStreamReader)} for event reader.
+         */
+        void validate(final XMLEventReader xmlEventReader) throws SAXException {
+            final ValidatorHandler handler = this.validatorHandler;
+            final XMLEvent[] currentEvent = new XMLEvent[1];
+            handler.setDocumentLocator(new StaxLocator() {
+                @Override
+                Location getLocation() {
+                    return currentEvent[0] == null ? null : currentEvent[0].getLocation();
+                }
+            });
+            try {
+                final boolean subtree = xmlEventReader.hasNext() && xmlEventReader.peek().isStartElement();
+                int depth = 0;
+                handler.startDocument();
+                while (xmlEventReader.hasNext()) {
+                    final XMLEvent event = xmlEventReader.nextEvent();
+                    currentEvent[0] = event;
+                    switch (event.getEventType()) {
+                        case XMLStreamConstants.START_ELEMENT:
+                            depth++;
+                            final StartElement startElement = event.asStartElement();
+                            for (Iterator<?> namespaces = startElement.getNamespaces(); namespaces.hasNext(); ) {
+                                final Namespace namespace = (Namespace) namespaces.next();
+                                handler.startPrefixMapping(nullToEmpty(namespace.getPrefix())
+                                        , nullToEmpty(namespace.getNamespaceURI()));
+                            }
+                            final AttributesImpl attributes = new AttributesImpl();
+                            for (Iterator<?> eventAttributes = startElement.getAttributes(); eventAttributes.hasNext(); ) {
+                                final Attribute attribute = (Attribute) eventAttributes.next();
+                                final QName attributeName = attribute.getName();
+                                attributes.addAttribute(nullToEmpty(attributeName.getNamespaceURI()), attributeName.getLocalPart()
+                                        , toQualifiedName(attributeName), nullToEmpty(attribute.getDTDType())
+                                        , attribute.getValue());
+                            }
+                            handler.startElement(nullToEmpty(startElement.getName().getNamespaceURI())
+                                    , startElement.getName().getLocalPart(), toQualifiedName(startElement.getName()), attributes);
+                            break;
+                        case XMLStreamConstants.END_ELEMENT:
+                            depth--;
+                            final EndElement endElement = event.asEndElement();
+                            handler.endElement(nullToEmpty(endElement.getName().getNamespaceURI())
+                                    , endElement.getName().getLocalPart(), toQualifiedName(endElement.getName()));
+                            for (Iterator<?> namespaces = endElement.getNamespaces(); namespaces.hasNext(); ) {
+                                handler.endPrefixMapping(nullToEmpty(((Namespace) namespaces.next()).getPrefix()));
+                            }
+                            break;
+                        case XMLStreamConstants.CHARACTERS:
+                        case XMLStreamConstants.CDATA:
+                        case XMLStreamConstants.SPACE:
+                            final char[] text = event.asCharacters().getData().toCharArray();
+                            handler.characters(text, 0, text.length);
+                            break;
+                        case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                            final ProcessingInstruction processingInstruction = (ProcessingInstruction) event;
+                            handler.processingInstruction(processingInstruction.getTarget(), processingInstruction.getData());
+                            break;
+                        default:
+                            break;
+                    }
+                    if (subtree && depth == 0) {
+                        break;
+                    }
+                }
+                handler.endDocument();
+            } catch (XMLStreamException e) {
+                throw toParseException(e);
+            }
+        }
+
+        /**
+         * @return Malformed document error (already reported as fatal one).
+         */
+        private SAXParseException toParseException(XMLStreamException e) throws SAXException {
+            final Location location = e.getLocation();
+            final SAXParseException parseException = location == null ? new SAXParseException(e.getMessage(), null, e)
+                    : new SAXParseException(e.getMessage(), location.getPublicId(), location.getSystemId()
+                    , location.getLineNumber(), location.getColumnNumber(), e);
+            fatalError(parseException);
+            return parseException;
+        }
+
+        private static int nextEventType(XMLStreamReader xmlStreamReader) throws XMLStreamException {
+            return xmlStreamReader.hasNext() ? xmlStreamReader.next() : XMLStreamConstants.END_DOCUMENT;
+        }
+
+        @Override
+        public void warning(SAXParseException exception) throws SAXException {
+            handle(ValidationEvent.WARNING, exception);
+        }
+
+        @Override
+        public void error(SAXParseException exception) throws SAXException {
+            handle(ValidationEvent.ERROR, exception);
+        }
+
+        @Override
+        public void fatalError(SAXParseException exception) throws SAXException {
+            handle(ValidationEvent.FATAL_ERROR, exception);
+        }
+
+        private void handle(int severity, SAXParseException exception) throws SAXParseException {
+            if (!this.eventHandler.handleEvent(new ValidationEventImpl(severity, exception.getMessage()
+                    , new ValidationEventLocatorImpl(exception), exception))) {
+                throw exception;
+            }
+        }
+
+        private static String toQualifiedName(QName name) {
+            final String prefix = name.getPrefix();
+            return prefix == null || prefix.isEmpty() ? name.getLocalPart() : prefix + ':' + name.getLocalPart();
+        }
+
+        private static String nullToEmpty(String value) {
+            return value == null ? "" : value;
+        }
+    }
+
+    /**
+     * Current location of StAX reader (validation events are located by it).
+     */
+    private abstract static class StaxLocator implements Locator {
+
+        /**
+         * @return Location or null if it's unknown.
+         */
+        abstract Location getLocation();
+
+        @Override
+        public String getPublicId() {
+            final Location location = getLocation();
+            return location == null ? null : location.getPublicId();
+        }
+
+        @Override
+        public String getSystemId() {
+            final Location location = getLocation();
+            return location == null ? null : location.getSystemId();
+        }
+
+        @Override
+        public int getLineNumber() {
+            final Location location = getLocation();
+            return location == null ? -1 : location.getLineNumber();
+        }
+
+        @Override
+        public int getColumnNumber() {
+            final Location location = getLocation();
+            return location == null ? -1 : location.getColumnNumber();
+        }
+    }
+
+    //---------------------------------------
+    // Result:
+
+    /**
+     * Validation event: severity, message and location.
+     */
+    public static final class Event {
+        private final int severity;
+        private final String message;
+        private final int lineNumber;
+        private final int columnNumber;
+
+        private Event(int severity, String message, int lineNumber, int columnNumber) {
+            this.severity = severity;
+            this.message = message;
+            this.lineNumber = lineNumber;
+            this.columnNumber = columnNumber;
+        }
+
+        /**
+         * @return {@link ValidationEvent#WARNING}, {@link ValidationEvent#ERROR} or {@link ValidationEvent#FATAL_ERROR}.
+         */
+        public int getSeverity() {
+            return severity;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * @return Line number or -1 if not known.
+         */
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * @return Column number or -1 if not known.
+         */
+        public int getColumnNumber() {
+            return columnNumber;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + CollectingValidationEventHandler.getSeverityName(this.severity) + "] " + this.message
+                    + " (line " + this.lineNumber + ", column " + this.columnNumber + ")";
+        }
+    }
+
+    /**
+     * Validation outcome of single document.
+     */
+    public static final class Result {
+        private final List<Event> events;
+        private final int reportedCount;
+        private final int warningCount;
+        private final int errorCount;
+        private final int fatalErrorCount;
+        private final boolean aborted;
+
+        private Result(CollectingValidationEventHandler eventHandler) {
+            final int storedCount = eventHandler.getStoredCount();
+            if (storedCount == 0) {
+                this.events = Collections.emptyList();
+            } else {
+                final List<Event> storedEvents = new ArrayList<>(storedCount);
+                for (int i = 0; i < storedCount; i++) {
+                    storedEvents.add(new Event(eventHandler.getStoredSeverity(i), eventHandler.getStoredMessage(i)
+                            , eventHandler.getStoredLineNumber(i), eventHandler.getStoredColumnNumber(i)));
+                }
+                this.events = Collections.unmodifiableList(storedEvents);
+            }
+            this.reportedCount = eventHandler.getReportedCount();
+            this.warningCount = eventHandler.getWarningCount();
+            this.errorCount = eventHandler.getErrorCount();
+            this.fatalErrorCount = eventHandler.getFatalErrorCount();
+            this.aborted = eventHandler.isAborted();
+        }
+
+        /**
+         * @return True if there were no errors (warnings are allowed).
+         */
+        public boolean isValid() {
+            return this.errorCount == 0 && this.fatalErrorCount == 0;
+        }
+
+        /**
+         * @return True if validation was stopped before document end (by fatal error or errors limit of policy).
+         */
+        public boolean isAborted() {
+            return aborted;
+        }
+
+        /**
+         * @return Stored events (at or above severity threshold, not more than max stored events of policy).
+         */
+        public List<Event> getEvents() {
+            return events;
+        }
+
+        /**
+         * @return Number of events at or above severity threshold (stored and dropped).
+         */
+        public int getReportedCount() {
+            return reportedCount;
+        }
+
+        public int getWarningCount() {
+            return warningCount;
+        }
+
+        public int getErrorCount() {
+            return errorCount;
+        }
+
+        public int getFatalErrorCount() {
+            return fatalErrorCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{valid=" + isValid() + ", aborted=" + this.aborted + ", warnings=" + this.warningCount
+                    + ", errors=" + this.errorCount + ", fatalErrors=" + this.fatalErrorCount + ", events=" + this.events + "}";
+        }
+    }
+
+    //---------------------------------------
+    // Builder:
+
+    /**
+     * Builder of {@link XmlSchemaValidator}.
+     */
+    public static final class Builder {
+        private final String xmlSchemaResourceUrl;
+        private final Schema xmlSchema;
+        private ValidationPolicy validationPolicy = ValidationPolicy.collectAll();
+        private XMLInputFactory xmlInputFactory;
+        private XmlCompression compression = XmlCompression.NONE;
+        private int poolSize = MarshallingHelperBase.DEFAULT_POOL_SIZE;
+        private long poolBorrowTimeoutMillis = MarshallingHelperBase.DEFAULT_POOL_BORROW_TIMEOUT_MILLIS;
+
+        private Builder(String xmlSchemaResourceUrl, Schema xmlSchema) {
+            this.xmlSchemaResourceUrl = xmlSchemaResourceUrl;
+            this.xmlSchema = xmlSchema;
+        }
+
+        /**
+         * @param validationPolicy How events are handled (default is {@link ValidationPolicy#collectAll()}).
+         * @return this builder
+         */
+        public Builder validationPolicy(ValidationPolicy validationPolicy) {
+            if (validationPolicy == null) {
+                throw new IllegalArgumentException("[JU251977410] Validation policy should not be null!");
+            }
+            this.validationPolicy = validationPolicy;
+            return this;
+        }
+
+        /**
+         * @param xmlInputFactory StAX factory streams are parsed by (e.g. one of {@link XmlParsers}).
+         *                        If not set, schema validator parses them itself (SAX).
+         * @return this builder
+         */
+        public Builder xmlInputFactory(XMLInputFactory xmlInputFactory) {
+            this.xmlInputFactory = xmlInputFactory;
+            return this;
+        }
+
+        /**
+         * @param compression Compression of validated files, e.g. {@link XmlCompression#AUTO}.
+         * @return this builder
+         */
+        public Builder compression(XmlCompression compression) {
+            if (compression == null) {
+                throw new IllegalArgumentException("[JU730412672] Compression should not be null!");
+            }
+            this.compression = compression;
+            return this;
+        }
+
+        /**
+         * @param poolSize Max number of validators in use at the same time.
+         * @return this builder
+         */
+        public Builder poolSize(int poolSize) {
+            this.poolSize = poolSize;
+            return this;
+        }
+
+        /**
+         * @param poolBorrowTimeoutMillis How long to wait for free validator.
+         * @return this builder
+         */
+        public Builder poolBorrowTimeoutMillis(long poolBorrowTimeoutMillis) {
+            this.poolBorrowTimeoutMillis = poolBorrowTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * @return Validator (schema is loaded while building).
+         * @throws JaxbRuntimeException if schema can't be loaded.
+         */
+        public XmlSchemaValidator build() throws JaxbRuntimeException {
+            return new XmlSchemaValidator(this);
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.meriosol.jaxb;
+
+import javax.xml.bind.annotation.adapters.XmlAdapter;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * JAXB adapters binding xs:dateTime/xs:date values straight to java.time types, so neither XMLGregorianCalendar
+ * nor GregorianCalendar is created per value.<br>
+ * Usage sample (bound class field):
+ * <pre>
+ * &#64;XmlAttribute(name = "created")
+ * &#64;XmlJavaTypeAdapter(XmlTimeAdapters.InstantAdapter.class)
+ * protected Instant created;
+ * </pre>
+ * NOTE1: Values without timezone are read as UTC ones, the same as in
+ * {@link XMLCalendarConverter#convertToOffsetDateTime(javax.xml.datatype.XMLGregorianCalendar)}.<br>
+ * NOTE2: End of day "24:00:00" is read as 00:00:00 of the next day.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public final class XmlTimeAdapters {
+
+    private XmlTimeAdapters() {
+    }
+
+    /**
+     * xs:dateTime to/from Instant (written in UTC).
+     */
+    public static class InstantAdapter extends XmlAdapter<String, Instant> {
+        @Override
+        public Instant unmarshal(String value) {
+            return value == null ? null : parseDateTime(value).toInstant();
+        }
+
+        @Override
+        public String marshal(Instant value) {
+            return value == null ? null : DateTimeFormatter.ISO_INSTANT.format(value);
+        }
+    }
+
+    /**
+     * xs:dateTime to/from OffsetDateTime (offset is kept).
+     */
+    public static class OffsetDateTimeAdapter extends XmlAdapter<String, OffsetDateTime> {
+        @Override
+        public OffsetDateTime unmarshal(String value) {
+            return value == null ? null : parseDateTime(value);
+        }
+
+        @Override
+        public String marshal(OffsetDateTime value) {
+            return value == null ? null : DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value);
+        }
+    }
+
+    /**
+     * xs:date to/from LocalDate (timezone of XML value is ignored).
+     */
+    public static class LocalDateAdapter extends XmlAdapter<String, LocalDate> {
+        @Override
+        public LocalDate unmarshal(String value) {
+            return value == null ? null : LocalDate.from(DateTimeFormatter.ISO_DATE.parse(value.trim()));
+        }
+
+        @Override
+        public String marshal(LocalDate value) {
+            return value == null ? null : DateTimeFormatter.ISO_LOCAL_DATE.format(value);
+        }
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    /**
+     * Common "yyyy-MM-ddTHH:mm:ss[.S*][Z|+HH:mm]" form is parsed by fixed positions,
+     * the rest (e.g. negative or 5+ digit years) - by DateTimeFormatter.
+     */
+    private static OffsetDateTime parseDateTime(String value) {
+        final String dateTime = value.trim();
+        final int timeStart = dateTime.indexOf('T');
+        if (timeStart > 0 && dateTime.startsWith("24:00:00", timeStart + 1)) {
+            // Neither OffsetDateTime nor strict formatter accepts hour 24
+            final OffsetDateTime startOfDay = parseDateTime(dateTime.substring(0, timeStart + 1) + "00"
+                    + dateTime.substring(timeStart + 3));
+            if (startOfDay.getNano() != 0) {
+                throw new DateTimeException("Only 24:00:00 is allowed as end of day: " + dateTime);
+            }
+            return startOfDay.plusDays(1);
+        }
+        final int length = dateTime.length();
+        if (length >= 19 && dateTime.charAt(4) == '-' && dateTime.charAt(7) == '-' && dateTime.charAt(10) == 'T'
+                && dateTime.charAt(13) == ':' && dateTime.charAt(16) == ':') {
+            final int year = parseDigits(dateTime, 0, 4);
+            final int month = parseDigits(dateTime, 5, 7);
+            final int day = parseDigits(dateTime, 8, 10);
+            final int hour = parseDigits(dateTime, 11, 13);
+            final int minute = parseDigits(dateTime, 14, 16);
+            final int second = parseDigits(dateTime, 17, 19);
+            int position = 19;
+            int nanos = 0;
+            if (position < length && dateTime.charAt(position) == '.') {
+                int nanosFactor = 100000000;
+                position++;
+                while (position < length && Character.isDigit(dateTime.charAt(position))) {
+                    nanos += (dateTime.charAt(position++) - '0') * nanosFactor;
+                    nanosFactor /= 10;
+                }
+            }
+            final ZoneOffset offset = parseOffset(dateTime, position);
+            if (year >= 0 && month >= 0 && day >= 0 && hour >= 0 && minute >= 0 && second >= 0 && offset != null) {
+                return OffsetDateTime.of(year, month, day, hour, minute, second, nanos, offset);
+            }
+        }
+        final TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parse(dateTime);
+        if (parsed.isSupported(ChronoField.OFFSET_SECONDS)) {
+            return OffsetDateTime.from(parsed);
+        }
+        return LocalDateTime.from(parsed).atOffset(ZoneOffset.UTC);
+    }
+
+    /**
+     * @return Offset at position (UTC if there is no one) or null if it's not "Z" or "+HH:mm".
+     */
+    private static ZoneOffset parseOffset(String dateTime, int position) {
+        final int length = dateTime.length();
+        if (position == length || (position == length - 1 && dateTime.charAt(position) == 'Z')) {
+            return ZoneOffset.UTC;
+        }
+        final char sign = dateTime.charAt(position);
+        if (position == length - 6 && (sign == '+' || sign == '-') && dateTime.charAt(position + 3) == ':') {
+            final int hours = parseDigits(dateTime, position + 1, position + 3);
+            final int minutes = parseDigits(dateTime, position + 4, position + 6);
+            if (hours >= 0 && hours <= 14 && minutes >= 0 && minutes < 60) {
+                final int seconds = (hours * 60 + minutes) * 60;
+                return ZoneOffset.ofTotalSeconds(sign == '-' ? -seconds : seconds);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Number or -1 if there are not only digits.
+     */
+    private static int parseDigits(String text, int start, int end) {
+        int number = 0;
+        for (int i = start; i < end; i++) {
+            final char digit = text.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            number = number * 10 + (digit - '0');
+        }
+        return number;
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests async marshalling/unmarshalling.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class AsyncTest {
+
+    @Test
+    public void testAsyncRoundTrip() throws Exception {
+        File file = File.createTempFile("sample.async", ".xml");
+        file.deleteOnExit();
+        Sample sample = new Sample();
+        sample.setId(7);
+        sample.setTitle("Async");
+
+        MarshallHelper<Sample> sampleMarshallHelper = MarshallHelper.builder(Sample.class).build();
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).build();
+        Sample result = sampleMarshallHelper.marshallAsync(file, sample)
+                .thenCompose(ignored -> sampleUnmarshallHelper.unmarshallAsync(file, Sample.class))
+                .get(30, TimeUnit.SECONDS);
+        assertEquals(7, result.getId());
+        assertEquals("Async", result.getTitle());
+    }
+
+    @Test
+    public void testAsyncErrorIsMapped() throws Exception {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).build();
+        try {
+            sampleUnmarshallHelper.unmarshallAsync(new File("nonexistent_sample_file_5270341.xml"), Sample.class).get();
+            fail("Unmarshalling of nonexistent file should fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof JaxbRuntimeException);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testAsyncErrorCompletesFuture() throws Exception {
+        CompletableFuture<Sample> future = AsyncSupport.supplyAsync(() -> {
+            throw new StackOverflowError("Deep graph");
+        }, null);
+        try {
+            future.get();
+            fail("Error should complete future");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof StackOverflowError);
+        }
+    }
+
+    @Test
+    public void testAsyncTimeoutInterruptsUnmarshalling() throws Exception {
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        InputStream stalledInputStream = new InputStream() {
+            @Override
+            public int read() throws InterruptedIOException {
+                try {
+                    Thread.sleep(60000L);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw new InterruptedIOException();
+                }
+                return -1;
+            }
+        };
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).build();
+        CompletableFuture<Sample> future = AsyncSupport.withTimeout(
+                sampleUnmarshallHelper.unmarshallAsync(stalledInputStream, Sample.class), 100, TimeUnit.MILLISECONDS);
+        try {
+            future.get(30, TimeUnit.SECONDS);
+            fail("Unmarshalling should time out");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof JaxbRuntimeException);
+            assertTrue(e.getCause().getCause() instanceof TimeoutException);
+        }
+        assertTrue("Unmarshalling should be interrupted", interrupted.await(30, TimeUnit.SECONDS));
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests batch marshalling/unmarshalling of many files.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class BatchTest {
+    private static final int FILE_COUNT = 40;
+
+    @Test
+    public void testFilesRoundTrip() throws Exception {
+        Map<File, Sample> samplesByFile = new LinkedHashMap<>();
+        for (int i = 0; i < FILE_COUNT; i++) {
+            File file = File.createTempFile("sample.batch." + i, ".xml");
+            file.deleteOnExit();
+            Sample sample = new Sample();
+            sample.setId(i);
+            sample.setTitle("Batch" + i);
+            samplesByFile.put(file, sample);
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            MarshallHelper<Sample> sampleMarshallHelper = MarshallHelper.builder(Sample.class).build();
+            BatchResult<File, Void> marshallResult = sampleMarshallHelper.marshallFiles(samplesByFile, executorService, 8);
+            assertEquals(0, marshallResult.getFailureCount());
+            assertTrue(marshallResult.getTotalBytes() > 0);
+            assertTrue(marshallResult.getBytesPerSecond() > 0);
+
+            List<File> files = new ArrayList<>(samplesByFile.keySet());
+            files.add(new File("nonexistent_sample_file_3958471.xml"));
+            UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class)
+                    .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd").build();
+            BatchResult<File, Sample> unmarshallResult = sampleUnmarshallHelper.unmarshallFiles(files, Sample.class
+                    , executorService, 8);
+
+            assertEquals(FILE_COUNT, unmarshallResult.getSuccessCount());
+            assertEquals(1, unmarshallResult.getFailureCount());
+            assertEquals(FILE_COUNT - 1, unmarshallResult.getResults().get(FILE_COUNT - 1).getId());
+            assertTrue(unmarshallResult.getFailures().get(0).getError() instanceof JaxbRuntimeException);
+            assertTrue(unmarshallResult.getTotalBytes() > 0);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.meriosol.jaxb;
+
+import org.junit.Test;
+
+import javax.xml.bind.ValidationEvent;
+import javax.xml.bind.helpers.ValidationEventImpl;
+import javax.xml.bind.helpers.ValidationEventLocatorImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests capped, counted and thresholded validation events collection.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class CollectingValidationEventHandlerTest {
+
+    @Test
+    public void testEventsAreCappedAndCounted() {
+        CollectingValidationEventHandler eventHandler = new CollectingValidationEventHandler(ValidationEvent.WARNING, 0, 2);
+        assertFalse(eventHandler.hasEvents());
+        assertEquals("", eventHandler.getCombinedEventsMessage());
+
+        assertTrue(eventHandler.handleEvent(event(ValidationEvent.WARNING, "w1", 1)));
+        assertTrue(eventHandler.handleEvent(event(ValidationEvent.ERROR, "e1", 2)));
+        assertTrue(eventHandler.handleEvent(event(ValidationEvent.ERROR, "e2", 3)));
+        assertFalse(eventHandler.handleEvent(event(ValidationEvent.FATAL_ERROR, "f1", 4)));
+
+        assertEquals(1, eventHandler.getWarningCount());
+        assertEquals(2, eventHandler.getErrorCount());
+        assertEquals(1, eventHandler.getFatalErrorCount());
+        assertEquals(4, eventHandler.getReportedCount());
+        String message = eventHandler.getCombinedEventsMessage();
+        assertTrue(message, message.contains("[WARNING] w1") && message.contains("[ERROR] e1") && !message.contains("e2"));
+        assertTrue(message, message.contains("2 more event(s)"));
+
+        eventHandler.reset();
+        assertFalse(eventHandler.hasEvents());
+        assertEquals(0, eventHandler.getErrorCount());
+    }
+
+    @Test
+    public void testThresholdAndFailFast() {
+        CollectingValidationEventHandler eventHandler = new CollectingValidationEventHandler(ValidationEvent.ERROR, 1, 10);
+        assertTrue(eventHandler.handleEvent(event(ValidationEvent.WARNING, "w1", 1)));
+        assertFalse("Warnings below threshold are not reported", eventHandler.hasEvents());
+        assertEquals(1, eventHandler.getWarningCount());
+        assertFalse("Parsing should be aborted on 1st error", eventHandler.handleEvent(event(ValidationEvent.ERROR, "e1", 2)));
+        assertTrue(eventHandler.hasEvents());
+    }
+
+    private static ValidationEvent event(int severity, String message, int lineNumber) {
+        ValidationEventLocatorImpl locator = new ValidationEventLocatorImpl();
+        locator.setLineNumber(lineNumber);
+        locator.setColumnNumber(1);
+        return new ValidationEventImpl(severity, message, locator);
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import javax.xml.namespace.QName;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.Deflater;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests reading and writing compressed XML files.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class CompressionTest {
+    private static final String SAMPLE_SCHEMA_NS = "http://com/meriosol/sample/schema";
+    private static final QName SAMPLES_ELEMENT_NAME = new QName(SAMPLE_SCHEMA_NS, "samples");
+    private static final int SAMPLE_COUNT = 10000;
+
+    @Test
+    public void testGzipDetectedByExtension() throws Exception {
+        File file = File.createTempFile("sample.compressed", ".xml.gz");
+        file.deleteOnExit();
+        MarshallHelper.builder(Sample.class).build().marshall(file, createSample(42), XmlCompression.AUTO);
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        assertEquals(0x1F, bytes[0] & 0xFF);
+        assertEquals(0x8B, bytes[1] & 0xFF);
+
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class)
+                .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd").build();
+        assertEquals(42, sampleUnmarshallHelper.unmarshall(file, XmlCompression.AUTO).getId());
+        assertEquals(42, sampleUnmarshallHelper.unmarshall(file, XmlCompression.GZIP).getId());
+    }
+
+    @Test
+    public void testCompressionDetectedByMagicBytes() throws Exception {
+        MarshallHelper<Sample> sampleMarshallHelper = MarshallHelper.builder(Sample.class).build();
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class)
+                .compression(XmlCompression.AUTO).mappedReadThreshold(0).build();
+        for (XmlCompression compression : new XmlCompression[]{XmlCompression.NONE, XmlCompression.GZIP, XmlCompression.DEFLATE}) {
+            File file = File.createTempFile("sample.compressed", ".bin");
+            file.deleteOnExit();
+            sampleMarshallHelper.marshall(file, createSample(7), compression);
+            assertEquals(compression.name(), 7, sampleUnmarshallHelper.unmarshall(file).getId());
+        }
+    }
+
+    @Test
+    public void testStreamingCompressedRecords() throws Exception {
+        File file = File.createTempFile("samples.compressed", ".xml.zz");
+        file.deleteOnExit();
+        MarshallHelper<Sample> sampleMarshallHelper = MarshallHelper.builder(Sample.class)
+                .compression(XmlCompression.AUTO).compressionLevel(Deflater.BEST_SPEED).build();
+        try (XmlRecordWriter<Sample> samples = sampleMarshallHelper.marshallStreaming(file, Sample.class, SAMPLES_ELEMENT_NAME)) {
+            for (int i = 0; i < SAMPLE_COUNT; i++) {
+                samples.write(createSample(i));
+            }
+        }
+        assertTrue("Repeated records should be compressed well", file.length() < SAMPLE_COUNT * 10L);
+
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class)
+                .compression(XmlCompression.DEFLATE).build();
+        long expectedId = 0;
+        try (XmlRecordIterator<Sample> samples = sampleUnmarshallHelper.unmarshallStreaming(file, Sample.class
+                , new QName(SAMPLE_SCHEMA_NS, "sample"))) {
+            while (samples.hasNext()) {
+                assertEquals(expectedId++, samples.next().getId());
+            }
+        }
+        assertEquals(SAMPLE_COUNT, expectedId);
+    }
+
+    @Test
+    public void testConcatenatedGzipMembers() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        for (String part : new String[]{"<sample xmlns=\"" + SAMPLE_SCHEMA_NS + "\" id=\"5\">", "<title>Parts</title></sample>"}) {
+            try (OutputStream gzipOutputStream = XmlCompression.GZIP.compress(new NonClosingOutputStream(outputStream)
+                    , XmlCompression.DEFAULT_LEVEL)) {
+                gzipOutputStream.write(part.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        try (InputStream inputStream = XmlCompression.AUTO.decompress(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            Sample sample = UnmarshallHelper.builder(Sample.class).build().unmarshall(inputStream);
+            assertEquals("Parts", sample.getTitle());
+        }
+    }
+
+    @Test
+    public void testWrongSettings() throws Exception {
+        try {
+            MarshallHelper.builder(Sample.class).compressionLevel(10);
+            fail("Level 10 should be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            XmlCompression.AUTO.compress(new ByteArrayOutputStream(), XmlCompression.DEFAULT_LEVEL);
+            fail("Output compression can't be detected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(XmlCompression.NONE, XmlCompression.forFileName("samples.xml"));
+        assertEquals(XmlCompression.GZIP, XmlCompression.forFileName("SAMPLES.XML.GZ"));
+    }
+
+    private static Sample createSample(long id) {
+        Sample sample = new Sample();
+        sample.setId(id);
+        sample.setTitle("Sample");
+        return sample;
+    }
+
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
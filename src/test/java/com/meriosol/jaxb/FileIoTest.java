@@ -0,0 +1,54 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests buffered and memory-mapped file reads.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class FileIoTest {
+
+    @Test
+    public void testMappedUnmarshalling() throws Exception {
+        File file = File.createTempFile("sample.mapped", ".xml");
+        file.deleteOnExit();
+        Sample sample = new Sample();
+        sample.setId(42);
+        sample.setTitle("Mapped");
+        MarshallHelper.builder(Sample.class).build().marshall(file, sample);
+
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class)
+                .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd").mappedReadThreshold(0).build();
+        Sample result = sampleUnmarshallHelper.unmarshall(file);
+        assertEquals(42, result.getId());
+        assertEquals("Mapped", result.getTitle());
+    }
+
+    @Test
+    public void testMappedStreamReadsWholeFile() throws Exception {
+        File file = File.createTempFile("sample.mapped.bytes", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "0123456789".getBytes(StandardCharsets.US_ASCII));
+
+        try (InputStream inputStream = XmlFiles.newInputStream(file, 0)) {
+            assertEquals('0', inputStream.read());
+            assertEquals(3, inputStream.skip(3));
+            byte[] buffer = new byte[16];
+            assertEquals(6, inputStream.read(buffer, 0, buffer.length));
+            assertEquals("456789", new String(buffer, 0, 6, StandardCharsets.US_ASCII));
+            assertEquals(-1, inputStream.read());
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests (un-)marshalling of in-memory documents: byte arrays, byte buffers, text and pooled XML buffers.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class InMemoryMarshallTest {
+    private static final String SAMPLE_XML = "<sample xmlns=\"http://com/meriosol/sample/schema\" id=\"42\"><title>In memory</title></sample>";
+
+    @Test
+    public void testUnmarshallFromMemory() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class)
+                .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd").build();
+        byte[] bytes = SAMPLE_XML.getBytes(StandardCharsets.UTF_8);
+        assertEquals(42, sampleUnmarshallHelper.unmarshall(bytes).getId());
+
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length + 3);
+        directBuffer.put(new byte[3]).put(bytes).flip();
+        directBuffer.position(3);
+        assertEquals("In memory", sampleUnmarshallHelper.unmarshall(directBuffer).getTitle());
+        assertEquals(3, directBuffer.position());
+
+        assertEquals(42, sampleUnmarshallHelper.unmarshall(new StringBuilder(SAMPLE_XML)).getId());
+    }
+
+    @Test
+    public void testRoundTripReusesBuffers() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).build();
+        MarshallHelper<Sample> sampleMarshallHelper = MarshallHelper.builder(Sample.class).build();
+        Sample sample = sampleUnmarshallHelper.unmarshall(SAMPLE_XML);
+        // Warm up pool
+        sampleMarshallHelper.marshallToBuffer(sample).close();
+
+        long allocatedBufferCount = XmlBuffer.getAllocatedBufferCount();
+        for (int i = 0; i < 100; i++) {
+            try (XmlBuffer xmlBuffer = sampleMarshallHelper.marshallToBuffer(sample)) {
+                assertTrue(xmlBuffer.toString(StandardCharsets.UTF_8).contains("In memory"));
+                assertEquals(42, sampleUnmarshallHelper.unmarshall(xmlBuffer.asByteBuffer()).getId());
+            }
+        }
+        assertEquals(allocatedBufferCount, XmlBuffer.getAllocatedBufferCount());
+    }
+
+    @Test
+    public void testClosedBufferIsNotUsable() {
+        XmlBuffer xmlBuffer = XmlBuffer.acquire();
+        xmlBuffer.write(1);
+        xmlBuffer.close();
+        xmlBuffer.close();
+        try {
+            xmlBuffer.asByteBuffer();
+            fail("Closed buffer should not be usable");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        // Not pooled buffer is usable after close
+        XmlBuffer notPooledBuffer = new XmlBuffer(0);
+        notPooledBuffer.write(new byte[]{1, 2, 3}, 1, 2);
+        notPooledBuffer.close();
+        assertEquals(2, notPooledBuffer.toByteArray().length);
+    }
+
+    @Test
+    public void testStaleCloseDoesNotReleaseReacquiredArray() {
+        XmlBuffer staleBuffer = XmlBuffer.acquire();
+        staleBuffer.close();
+        XmlBuffer buffer = XmlBuffer.acquire();
+        buffer.write(new byte[]{1, 2, 3}, 0, 3);
+        // Stale close must not return array of buffer in use to pool
+        staleBuffer.close();
+        try (XmlBuffer otherBuffer = XmlBuffer.acquire()) {
+            otherBuffer.write(new byte[]{7, 7, 7}, 0, 3);
+            assertArrayEquals(new byte[]{1, 2, 3}, buffer.toByteArray());
+        } finally {
+            buffer.close();
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.ObjectFactory;
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import javax.xml.bind.JAXBContext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests JAXB context caching.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class JaxbContextRegistryTest {
+
+    @Test
+    public void testContextIsCreatedOnce() {
+        JaxbContextRegistry registry = new JaxbContextRegistry();
+        JAXBContext context = registry.getContext(Sample.class);
+        assertSame("Context should be reused for the same class", context, registry.getContext(Sample.class));
+        assertEquals(1, registry.getMissCount());
+        assertEquals(1, registry.getHitCount());
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testClassSetOrderDoesNotMatter() {
+        JaxbContextRegistry registry = new JaxbContextRegistry();
+        JAXBContext context = registry.getContext(Sample.class, ObjectFactory.class);
+        assertSame(context, registry.getContext(ObjectFactory.class, Sample.class));
+        assertNotSame(context, registry.getContext(Sample.class));
+        assertEquals(2, registry.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoClasses() {
+        JaxbContextRegistry.getInstance().getContext();
+    }
+
+}
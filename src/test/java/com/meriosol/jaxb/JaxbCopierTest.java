@@ -0,0 +1,160 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests in-memory deep copies of bound objects.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class JaxbCopierTest {
+
+    @Test
+    public void testCopyIsIndependent() throws Exception {
+        Sample sample = createSample(1L);
+        Sample copy = JaxbCopier.getInstance().copy(sample);
+
+        assertNotSame(sample, copy);
+        assertEquals(1L, copy.getId());
+        assertEquals("Sample 1", copy.getTitle());
+        assertNotSame(sample.getCreated(), copy.getCreated());
+        assertEquals(sample.getCreated(), copy.getCreated());
+
+        copy.setTitle("Edited");
+        copy.getCreated().setYear(2001);
+        assertEquals("Sample 1", sample.getTitle());
+        assertEquals(2026, sample.getCreated().getYear());
+        assertNull(JaxbCopier.getInstance().copy(null));
+    }
+
+    @Test
+    public void testSharedReferencesStayShared() throws Exception {
+        Sample sample = createSample(2L);
+        List<Sample> samples = new ArrayList<>(Arrays.asList(sample, createSample(3L), sample));
+        List<Sample> copy = JaxbCopier.getInstance().copy(samples);
+
+        assertNotSame(samples, copy);
+        assertEquals(3, copy.size());
+        assertNotSame(sample, copy.get(0));
+        assertSame(copy.get(0), copy.get(2));
+        assertEquals(3L, copy.get(1).getId());
+    }
+
+    @Test
+    public void testJaxbElementCopy() throws Exception {
+        QName name = new QName("http://com/meriosol/sample/schema", "sample");
+        JAXBElement<Sample> element = new JAXBElement<>(name, Sample.class, createSample(4L));
+        JAXBElement<Sample> copy = JaxbCopier.getInstance().copy(element);
+
+        assertNotSame(element, copy);
+        assertSame(name, copy.getName());
+        assertEquals(Sample.class, copy.getDeclaredType());
+        assertNotSame(element.getValue(), copy.getValue());
+        assertEquals(4L, copy.getValue().getId());
+    }
+
+    @Test
+    public void testUnsupportedJdkClass() {
+        try {
+            JaxbCopier.getInstance().copy(Collections.singletonList(new Thread()));
+            fail("Thread should not be copied");
+        } catch (JaxbRuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("[JU562118407]"));
+        }
+    }
+
+    @Test
+    public void testSortedAndEnumCollections() {
+        CollectionHolder holder = new CollectionHolder();
+        holder.names = new TreeSet<>(Collections.reverseOrder());
+        holder.names.addAll(Arrays.asList("a", "c", "b"));
+        holder.concurrentNames = new ConcurrentSkipListSet<>(Collections.reverseOrder());
+        holder.concurrentNames.addAll(holder.names);
+        holder.sizes = new TreeMap<>(Collections.reverseOrder());
+        holder.sizes.put("a", 1);
+        holder.sizes.put("b", 2);
+        holder.units = new EnumMap<>(TimeUnit.class);
+        holder.units.put(TimeUnit.SECONDS, "s");
+        holder.unitSet = EnumSet.of(TimeUnit.DAYS);
+
+        CollectionHolder copy = JaxbCopier.getInstance().copy(holder);
+
+        assertNotSame(holder.names, copy.names);
+        assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<>(copy.names));
+        assertSame(holder.names.comparator(), copy.names.comparator());
+        assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<>(copy.concurrentNames));
+        assertEquals("b", copy.sizes.firstKey());
+        assertNotSame(holder.units, copy.units);
+        assertEquals(holder.units, copy.units);
+        assertNotSame(holder.unitSet, copy.unitSet);
+        assertEquals(holder.unitSet, copy.unitSet);
+    }
+
+    @Test
+    public void testNotFittingCollectionCopy() {
+        NoDefaultListHolder holder = new NoDefaultListHolder();
+        holder.items = new NoDefaultList(1);
+        try {
+            JaxbCopier.getInstance().copy(holder);
+            fail("List without no-arg constructor should not be copied");
+        } catch (JaxbRuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("[JU562118408]"));
+        }
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    private static Sample createSample(long id) throws Exception {
+        Sample sample = new Sample();
+        sample.setId(id);
+        sample.setTitle("Sample " + id);
+        XMLGregorianCalendar created = DatatypeFactory.newInstance().newXMLGregorianCalendar("2026-10-17T10:00:00Z");
+        sample.setCreated(created);
+        return sample;
+    }
+
+    static final class CollectionHolder {
+        private TreeSet<String> names;
+        private ConcurrentSkipListSet<String> concurrentNames;
+        private TreeMap<String, Integer> sizes;
+        private EnumMap<TimeUnit, String> units;
+        private EnumSet<TimeUnit> unitSet;
+    }
+
+    static final class NoDefaultListHolder {
+        private NoDefaultList items;
+    }
+
+    static final class NoDefaultList extends ArrayList<String> {
+        NoDefaultList(int initialCapacity) {
+            super(initialCapacity);
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests pooling of (un-)marshallers.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class JaxbObjectPoolTest {
+
+    @Test
+    public void testReleasedObjectIsReused() {
+        JaxbObjectPool<Object> pool = new CountingPool(2, 0);
+        Object first = pool.borrow();
+        pool.release(first);
+        assertSame(first, pool.borrow());
+        assertEquals(1, pool.getStatistics().getCreatedCount());
+        assertEquals(1, pool.getStatistics().getActiveCount());
+    }
+
+    @Test(expected = JaxbRuntimeException.class)
+    public void testBorrowTimeout() {
+        JaxbObjectPool<Object> pool = new CountingPool(1, 10);
+        pool.borrow();
+        pool.borrow();
+    }
+
+    @Test
+    public void testUnmarshallerIsPooled() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = new UnmarshallHelper<>("sample.xsd");
+        for (int i = 0; i < 3; i++) {
+            sampleUnmarshallHelper.unmarshallFromResourcePath("sample.xml", Sample.class);
+        }
+        PoolStatistics statistics = sampleUnmarshallHelper.getPoolStatistics();
+        assertEquals(1, statistics.getCreatedCount());
+        assertEquals(3, statistics.getBorrowCount());
+        assertEquals(0, statistics.getActiveCount());
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    private static class CountingPool extends JaxbObjectPool<Object> {
+        CountingPool(int maxSize, long borrowTimeoutMillis) {
+            super("test", maxSize, borrowTimeoutMillis);
+        }
+
+        @Override
+        protected Object create() {
+            return new Object();
+        }
+    }
+
+}
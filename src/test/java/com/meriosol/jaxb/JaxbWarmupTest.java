@@ -0,0 +1,63 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests startup warm-up.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class JaxbWarmupTest {
+
+    @Test
+    public void testContextsSchemasAndRoundTripsAreWarmedUp() {
+        MarshallHelper<Sample> sampleMarshallHelper = MarshallHelper.builder(Sample.class).build();
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class)
+                .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd").build();
+        Sample sample = new Sample();
+        sample.setId(1);
+        sample.setTitle("Warm");
+
+        JaxbWarmup.Report report = JaxbWarmup.builder().entityClasses(Sample.class).xmlSchemaResourceUrls("sample.xsd")
+                .roundTrips(20).sampleEntities(sample).helpers(sampleMarshallHelper, sampleUnmarshallHelper).build().run();
+
+        assertFalse(report.toString(), report.hasFailures());
+        assertEquals(1, report.getSteps(JaxbWarmup.StepKind.CONTEXT).size());
+        assertEquals(1, report.getSteps(JaxbWarmup.StepKind.SCHEMA).size());
+        assertEquals(1, report.getSteps(JaxbWarmup.StepKind.ROUND_TRIP).size());
+        assertTrue(report.getSteps(JaxbWarmup.StepKind.ROUND_TRIP).get(0).getElapsedNanos() > 0);
+        assertTrue("Pools should be filled", sampleUnmarshallHelper.getPoolStatistics().getIdleCount() > 0);
+        assertTrue("Pools should be filled", sampleMarshallHelper.getPoolStatistics().getIdleCount() > 0);
+    }
+
+    @Test
+    public void testFailedStepsAreReported() {
+        JaxbWarmup.Report report = JaxbWarmup.builder().entityClasses(Sample.class)
+                .xmlSchemaResourceUrls("nonexistent_sample_schema_path.xsd").roundTrips(1).build().run();
+
+        assertEquals(1, report.getFailures().size());
+        assertEquals(JaxbWarmup.StepKind.SCHEMA, report.getFailures().get(0).getKind());
+        // Default instance of root class is round-tripped without sample
+        assertFalse(report.getSteps(JaxbWarmup.StepKind.ROUND_TRIP).get(0).isFailed());
+    }
+
+    @Test
+    public void testNoDefaultInstanceRoundTripsWithSchema() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class)
+                .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd").build();
+
+        JaxbWarmup.Report report = JaxbWarmup.builder().entityClasses(Sample.class).roundTrips(1)
+                .helpers(null, sampleUnmarshallHelper).build().run();
+
+        assertFalse(report.toString(), report.hasFailures());
+        assertTrue(report.getSteps(JaxbWarmup.StepKind.ROUND_TRIP).isEmpty());
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests metrics reported by helpers.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class MetricsTest {
+    private static final String INVALID_SAMPLE = "<sample xmlns=\"http://com/meriosol/sample/schema\" id=\"wrong\"/>";
+
+    @Test
+    public void testOperationsAreRecorded() {
+        InMemoryJaxbMetrics metrics = new InMemoryJaxbMetrics();
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class)
+                .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd").metrics(metrics).build();
+        Sample sample = sampleUnmarshallHelper.unmarshallFromResourcePath("sample.xml");
+        try {
+            sampleUnmarshallHelper.unmarshall(new ByteArrayInputStream(INVALID_SAMPLE.getBytes(StandardCharsets.UTF_8)));
+            fail("Invalid sample should not be unmarshalled");
+        } catch (JaxbRuntimeException e) {
+            // expected
+        }
+
+        MarshallHelper<Sample> sampleMarshallHelper = MarshallHelper.builder(Sample.class).metrics(metrics).build();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        sampleMarshallHelper.marshall(outputStream, MarshallHelper.getJAXBContext(Sample.class), sample);
+
+        assertNotNull(metrics.getStatistics(JaxbMetrics.Operation.CONTEXT_ACQUISITION, Sample.class));
+        assertEquals(1, metrics.getStatistics(JaxbMetrics.Operation.SCHEMA_LOAD, "sample.xsd").getCount());
+        OperationStatistics unmarshallStatistics = metrics.getStatistics(JaxbMetrics.Operation.UNMARSHALL, Sample.class);
+        assertEquals(2, unmarshallStatistics.getCount());
+        assertEquals(1, unmarshallStatistics.getFailureCount());
+        assertTrue(unmarshallStatistics.getBytes() > INVALID_SAMPLE.length());
+        assertTrue(unmarshallStatistics.getErrorCount() + unmarshallStatistics.getFatalErrorCount() > 0);
+        assertTrue(unmarshallStatistics.getP99Nanos() <= unmarshallStatistics.getMaxNanos());
+        OperationStatistics marshallStatistics = metrics.getStatistics(JaxbMetrics.Operation.MARSHALL, Sample.class);
+        assertEquals(1, marshallStatistics.getCount());
+        assertEquals(outputStream.size(), marshallStatistics.getBytes());
+    }
+
+    @Test
+    public void testStatisticsArePublishedToJmx() throws Exception {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        JmxJaxbMetrics metrics = new JmxJaxbMetrics(mBeanServer, "com.meriosol.jaxb.test");
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).metrics(metrics).build();
+        sampleUnmarshallHelper.unmarshallFromResourcePath("sample.xml");
+
+        ObjectName objectName = metrics.getObjectName(metrics.getStatistics(JaxbMetrics.Operation.UNMARSHALL, Sample.class));
+        assertEquals(1L, mBeanServer.getAttribute(objectName, "Count"));
+        metrics.close();
+        assertFalse(mBeanServer.isRegistered(objectName));
+    }
+
+}
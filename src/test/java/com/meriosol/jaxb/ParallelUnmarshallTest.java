@@ -0,0 +1,116 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import javax.xml.namespace.QName;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests chunked unmarshalling of multi-record documents on many threads.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class ParallelUnmarshallTest {
+    private static final String SAMPLE_SCHEMA_NS = "http://com/meriosol/sample/schema";
+    private static final QName SAMPLE_ELEMENT_NAME = new QName(SAMPLE_SCHEMA_NS, "sample");
+    private static final int SAMPLE_COUNT = 5000;
+
+    @Test
+    public void testOrderedRecords() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class)
+                .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd").build();
+        ParallelUnmarshallOptions options = ParallelUnmarshallOptions.builder().parallelism(4).chunkSize(100).build();
+        long expectedId = 0;
+        try (ParallelXmlRecordIterator<Sample> samples = sampleUnmarshallHelper.unmarshallParallel(
+                createSamplesDocument(), Sample.class, SAMPLE_ELEMENT_NAME, options)) {
+            while (samples.hasNext()) {
+                assertEquals(expectedId++, samples.next().getId());
+            }
+        }
+        assertEquals(SAMPLE_COUNT, expectedId);
+    }
+
+    @Test
+    public void testUnorderedRecordsOnGivenExecutor() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).build();
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        try {
+            ParallelUnmarshallOptions options = ParallelUnmarshallOptions.builder().executor(executorService)
+                    .chunkSize(64).ordered(false).build();
+            BitSet seenIds = new BitSet(SAMPLE_COUNT);
+            try (ParallelXmlRecordIterator<Sample> samples = sampleUnmarshallHelper.unmarshallParallel(
+                    createSamplesDocument(), Sample.class, SAMPLE_ELEMENT_NAME, options)) {
+                while (samples.hasNext()) {
+                    seenIds.set((int) samples.next().getId());
+                }
+            }
+            assertEquals(SAMPLE_COUNT, seenIds.cardinality());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testRejectingExecutor() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).build();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.shutdown();
+        for (boolean ordered : new boolean[]{true, false}) {
+            ParallelUnmarshallOptions options = ParallelUnmarshallOptions.builder().executor(executorService)
+                    .chunkSize(64).ordered(ordered).build();
+            try (ParallelXmlRecordIterator<Sample> samples = sampleUnmarshallHelper.unmarshallParallel(
+                    createSamplesDocument(), Sample.class, SAMPLE_ELEMENT_NAME, options)) {
+                samples.next();
+                fail("Records should not be unmarshalled by shut down executor");
+            } catch (JaxbRuntimeException e) {
+                assertTrue(e.getCause() instanceof RejectedExecutionException);
+            }
+        }
+    }
+
+    @Test
+    public void testNestedRecordsOfResource() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).build();
+        int count = 0;
+        try (ParallelXmlRecordIterator<Sample> samples = sampleUnmarshallHelper.unmarshallParallel(
+                JaxbUtils.getResourceInputStream("samples.xml"), Sample.class, SAMPLE_ELEMENT_NAME
+                , ParallelUnmarshallOptions.builder().chunkSize(2).build())) {
+            while (samples.hasNext()) {
+                samples.next();
+                count++;
+            }
+        }
+        assertEquals(3, count);
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    private static ByteArrayInputStream createSamplesDocument() {
+        MarshallHelper<Sample> sampleMarshallHelper = MarshallHelper.builder(Sample.class).build();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (XmlRecordWriter<Sample> samples = sampleMarshallHelper.marshallStreaming(outputStream, Sample.class
+                , new QName(SAMPLE_SCHEMA_NS, "samples"))) {
+            for (int i = 0; i < SAMPLE_COUNT; i++) {
+                Sample sample = new Sample();
+                sample.setId(i);
+                sample.setTitle("Sample" + i);
+                samples.write(sample);
+            }
+        }
+        return new ByteArrayInputStream(outputStream.toByteArray());
+    }
+
+}
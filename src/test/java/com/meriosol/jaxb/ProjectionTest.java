@@ -0,0 +1,126 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import javax.xml.namespace.QName;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests projected unmarshalling.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class ProjectionTest {
+    private static final String SAMPLES_RESOURCE_PATH = "samples.xml";
+    private static final String SAMPLE_NAMESPACE = "http://com/meriosol/sample/schema";
+
+    @Test
+    public void testPathProjectionSkipsOtherSubtrees() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).build();
+        assertEquals(ids(2001L, 2002L), unmarshallIds(sampleUnmarshallHelper, XmlProjection.path("/samples/sample")));
+        assertEquals(ids(2003L), unmarshallIds(sampleUnmarshallHelper, XmlProjection.path("/samples/group/sample")));
+        assertEquals(ids(2003L), unmarshallIds(sampleUnmarshallHelper
+                , XmlProjection.path("/{" + SAMPLE_NAMESPACE + "}samples/*/sample")));
+        assertEquals(ids(), unmarshallIds(sampleUnmarshallHelper, XmlProjection.path("/other/sample")));
+    }
+
+    @Test
+    public void testElementsProjection() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).build();
+        assertEquals(ids(2001L, 2002L, 2003L), unmarshallIds(sampleUnmarshallHelper
+                , XmlProjection.elements(new QName(SAMPLE_NAMESPACE, "sample"))));
+    }
+
+    @Test
+    public void testFirstProjectedDoesNotReadTheRest() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).build();
+        StringBuilder xml = new StringBuilder("<samples xmlns=\"" + SAMPLE_NAMESPACE + "\"><sample id=\"1\"/>");
+        for (int i = 0; i < 1000; i++) {
+            xml.append("<sample id=\"").append(i + 2).append("\"><title>Skipped</title></sample>");
+        }
+        byte[] bytes = xml.append("</samples>").toString().getBytes(StandardCharsets.UTF_8);
+        ReadCountingInputStream inputStream = new ReadCountingInputStream(bytes);
+        Sample sample = sampleUnmarshallHelper.unmarshallFirstProjected(inputStream, Sample.class, XmlProjection.path("/samples/sample"));
+        assertEquals(1L, sample.getId());
+        assertTrue(inputStream.getReadCount() < bytes.length);
+        assertTrue(inputStream.isClosed());
+
+        assertNull(sampleUnmarshallHelper.unmarshallFirstProjected(new ByteArrayInputStream(bytes), Sample.class
+                , XmlProjection.path("/samples/group/sample")));
+    }
+
+    @Test
+    public void testWrongPaths() {
+        for (String path : new String[]{null, "samples", "/", "/samples//sample", "/{unclosed/sample"}) {
+            try {
+                XmlProjection.path(path);
+                fail("Path should be rejected: " + path);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+        assertEquals("path(/{urn:a}a/*)", XmlProjection.path("/{urn:a}a/*").toString());
+    }
+
+    private static List<Long> unmarshallIds(UnmarshallHelper<Sample> sampleUnmarshallHelper, XmlProjection projection) {
+        List<Long> ids = new ArrayList<>();
+        try (XmlRecordIterator<Sample> samples = sampleUnmarshallHelper.unmarshallProjected(
+                JaxbUtils.getResourceInputStream(SAMPLES_RESOURCE_PATH), Sample.class, projection)) {
+            while (samples.hasNext()) {
+                ids.add(samples.next().getId());
+            }
+        }
+        return ids;
+    }
+
+    private static List<Long> ids(Long... ids) {
+        List<Long> idList = new ArrayList<>();
+        for (Long id : ids) {
+            idList.add(id);
+        }
+        return idList;
+    }
+
+    private static final class ReadCountingInputStream extends ByteArrayInputStream {
+        private int readCount;
+        private boolean closed;
+
+        ReadCountingInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public synchronized int read(byte[] buffer, int offset, int length) {
+            final int count = super.read(buffer, offset, Math.min(length, 256));
+            this.readCount += Math.max(count, 0);
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.closed = true;
+            super.close();
+        }
+
+        int getReadCount() {
+            return readCount;
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+    }
+
+}
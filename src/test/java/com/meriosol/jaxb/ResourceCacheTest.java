@@ -0,0 +1,93 @@
+package com.meriosol.jaxb;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests resource lookup cache.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class ResourceCacheTest {
+    private static final String SAMPLE_RESOURCE_PATH = "sample.xml";
+
+    @Test
+    public void testUrlIsLookedUpOnce() {
+        ResourceCache resourceCache = new ResourceCache();
+        ClassLoader classLoader = getClass().getClassLoader();
+        URL url = resourceCache.getResourceURL(SAMPLE_RESOURCE_PATH, classLoader);
+        assertSame(url, resourceCache.getResourceURL(SAMPLE_RESOURCE_PATH, classLoader));
+        assertEquals(1, resourceCache.getMissCount());
+        assertEquals(1, resourceCache.getHitCount());
+        assertNull(resourceCache.getResourceURL("no_such_resource_679304738.xml", classLoader));
+        assertEquals(1, resourceCache.size());
+    }
+
+    @Test
+    public void testMissingResourceIsReported() {
+        try {
+            JaxbUtils.getResourceInputStream("no_such_resource_679304738.xml");
+            fail("Missing resource should be reported");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("no_such_resource_679304738.xml"));
+        }
+    }
+
+    @Test
+    public void testInMemoryMode() throws IOException {
+        ResourceCache resourceCache = new ResourceCache();
+        ClassLoader classLoader = getClass().getClassLoader();
+        resourceCache.setMaxResourceBytes(64 * 1024);
+        byte[] content = read(resourceCache.getResourceInputStream(SAMPLE_RESOURCE_PATH, classLoader));
+        InputStream cachedInputStream = resourceCache.getResourceInputStream(SAMPLE_RESOURCE_PATH, classLoader);
+        assertTrue(cachedInputStream instanceof ByteArrayInputStream);
+        assertArrayEquals(content, read(cachedInputStream));
+        assertEquals(1, resourceCache.getBytesHitCount());
+
+        // Too large resource is streamed as a whole, but not kept
+        resourceCache.setMaxResourceBytes(10);
+        assertArrayEquals(content, read(resourceCache.getResourceInputStream(SAMPLE_RESOURCE_PATH, classLoader)));
+        assertArrayEquals(content, read(resourceCache.getResourceInputStream(SAMPLE_RESOURCE_PATH, classLoader)));
+        assertEquals(1, resourceCache.getBytesHitCount());
+    }
+
+    @Test
+    public void testEntriesAreBounded() {
+        ResourceCache resourceCache = new ResourceCache();
+        ClassLoader classLoader = getClass().getClassLoader();
+        resourceCache.setMaxEntries(2);
+        resourceCache.getResourceURL("sample.xml", classLoader);
+        resourceCache.getResourceURL("sample.xsd", classLoader);
+        resourceCache.getResourceURL("samples.xml", classLoader);
+        assertEquals(2, resourceCache.size());
+        resourceCache.getResourceURL("sample.xml", classLoader);
+        assertEquals(4, resourceCache.getMissCount());
+    }
+
+    private static byte[] read(InputStream inputStream) throws IOException {
+        try (InputStream closedInputStream = inputStream) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[7];
+            int count;
+            while ((count = closedInputStream.read(buffer)) > 0) {
+                outputStream.write(buffer, 0, count);
+            }
+            return outputStream.toByteArray();
+        }
+    }
+
+}
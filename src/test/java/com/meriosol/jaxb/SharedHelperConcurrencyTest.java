@@ -0,0 +1,88 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests immutable helpers shared between many threads.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class SharedHelperConcurrencyTest {
+    private static final String SAMPLE_SCHEMA_NS = "http://com/meriosol/sample/schema";
+    private static final String SAMPLE_SCHEMA_URL = "sample.xsd";
+    private static final int THREAD_COUNT = 16;
+    private static final int ROUND_TRIPS_PER_THREAD = 50;
+
+    @Test
+    public void testSharedHelpersRoundTrip() throws Exception {
+        final MarshallHelper<Sample> sampleMarshallHelper = MarshallHelper.builder(Sample.class)
+                .validationErrorTolerant(false).xmlSchemaResourceUrl(SAMPLE_SCHEMA_URL)
+                .xmlSchemaNameSpace(SAMPLE_SCHEMA_NS).poolSize(4).build();
+        final UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class)
+                .validationErrorTolerant(false).xmlSchemaResourceUrl(SAMPLE_SCHEMA_URL).poolSize(4).build();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < THREAD_COUNT; t++) {
+                final long threadIdBase = t * 1000L;
+                futures.add(executorService.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        int roundTrips = 0;
+                        for (int i = 0; i < ROUND_TRIPS_PER_THREAD; i++) {
+                            Sample sample = new Sample();
+                            sample.setId(threadIdBase + i);
+                            sample.setTitle("Sample" + i);
+                            sample.setCreated(XMLCalendarConverter.convertToXmlDate(new Date()));
+
+                            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                            sampleMarshallHelper.marshall(outputStream, sampleMarshallHelper.getBoundJaxbContext(), sample);
+                            Sample loadedSample = sampleUnmarshallHelper.unmarshall(new ByteArrayInputStream(outputStream.toByteArray()));
+                            assertEquals(sample.getId(), loadedSample.getId());
+                            assertEquals(sample.getTitle(), loadedSample.getTitle());
+                            roundTrips++;
+                        }
+                        return roundTrips;
+                    }
+                }));
+            }
+            for (Future<Integer> future : futures) {
+                assertEquals(ROUND_TRIPS_PER_THREAD, future.get().intValue());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        assertTrue("Pool should not grow beyond its size", sampleUnmarshallHelper.getPoolStatistics().getCreatedCount() <= 4);
+        assertEquals(0, sampleMarshallHelper.getPoolStatistics().getActiveCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBuiltHelperIsImmutable() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).build();
+        sampleUnmarshallHelper.setXmlSchemaResourceUrl(SAMPLE_SCHEMA_URL);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testValidatingHelperWithoutSchema() {
+        UnmarshallHelper.builder(Sample.class).validationErrorTolerant(false).build();
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests re-marshalling of edited children only.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class SplicedXmlDocumentTest {
+    private static final String DOCUMENT_START = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<!-- <sample id=\"0\"/> -->\n<samples xmlns=\"http://com/meriosol/sample/schema\">\n    ";
+    private static final String FIRST_SAMPLE = "<sample id=\"1\"><title>First</title></sample>";
+    private static final String UNTOUCHED_PART = "\n    <!-- </samples> -->\n"
+            + "    <sample id=\"2\" note=\"a > b\"><title><![CDATA[<sample/>]]></title></sample>\n"
+            + "    <group><sample id=\"3\"/><group><sample id=\"4\"/></group></group>\n    <?pi <sample/>?>\n";
+    private static final String DOCUMENT = DOCUMENT_START + FIRST_SAMPLE + UNTOUCHED_PART + "</samples>\n";
+
+    @Test
+    public void testChildrenBounds() {
+        SplicedXmlDocument document = SplicedXmlDocument.of(DOCUMENT.getBytes(StandardCharsets.UTF_8));
+        assertEquals(3, document.getChildCount());
+        assertEquals("sample", document.getChildName(0));
+        assertEquals("group", document.getChildName(2));
+        assertEquals(2, document.indexOf("group"));
+        assertEquals(-1, document.indexOf("header"));
+
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).build();
+        assertEquals(2L, document.unmarshallChild(1, sampleUnmarshallHelper, Sample.class).getId());
+        assertFalse(document.isEdited(1));
+    }
+
+    @Test
+    public void testOnlyEditedChildIsMarshalled() {
+        SplicedXmlDocument document = SplicedXmlDocument.of(DOCUMENT.getBytes(StandardCharsets.UTF_8));
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).build();
+        Sample sample = document.editChild(0, sampleUnmarshallHelper, Sample.class);
+        assertEquals("First", sample.getTitle());
+        sample.setTitle("Edited");
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        document.writeTo(outputStream, MarshallHelper.builder(Sample.class).build());
+        String xml = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(xml, xml.startsWith(DOCUMENT_START + "<"));
+        assertTrue(xml, xml.endsWith(UNTOUCHED_PART + "</samples>\n"));
+        assertFalse(xml, xml.contains("First"));
+
+        Sample edited = SplicedXmlDocument.of(outputStream.toByteArray()).unmarshallChild(0, sampleUnmarshallHelper, Sample.class);
+        assertEquals(1L, edited.getId());
+        assertEquals("Edited", edited.getTitle());
+    }
+
+    @Test
+    public void testMappedDocumentWithoutEdits() throws Exception {
+        File file = File.createTempFile("samples.spliced", ".xml");
+        file.deleteOnExit();
+        Files.write(file.toPath(), DOCUMENT.getBytes(StandardCharsets.UTF_8));
+        File outputFile = File.createTempFile("samples.spliced.output", ".xml");
+        outputFile.deleteOnExit();
+
+        SplicedXmlDocument document = SplicedXmlDocument.read(file);
+        document.writeTo(outputFile, MarshallHelper.builder(Sample.class).build());
+        assertEquals(DOCUMENT, new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8));
+        try {
+            document.writeTo(file, MarshallHelper.builder(Sample.class).build());
+            fail("Mapped source file should not be overwritten");
+        } catch (IllegalArgumentException e) {
+            assertEquals(DOCUMENT, new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testEditedChildKeepsElementName() {
+        String xml = "<samples xmlns=\"http://com/meriosol/sample/schema\"><other id=\"1\"><title>Other</title></other>"
+                + "<sample id=\"2\"/></samples>";
+        SplicedXmlDocument document = SplicedXmlDocument.of(xml.getBytes(StandardCharsets.UTF_8));
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).build();
+        Sample sample = document.editChild(0, sampleUnmarshallHelper, Sample.class);
+        sample.setTitle("Edited");
+        assertSame(sample, document.unmarshallChild(0, sampleUnmarshallHelper, Sample.class));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        document.writeTo(outputStream, MarshallHelper.builder(Sample.class).build());
+        SplicedXmlDocument written = SplicedXmlDocument.of(outputStream.toByteArray());
+        assertEquals(2, written.getChildCount());
+        assertEquals(0, written.indexOf("other"));
+        assertEquals(1, written.indexOf("sample"));
+        assertEquals("Edited", written.unmarshallChild(0, sampleUnmarshallHelper, Sample.class).getTitle());
+    }
+
+    @Test
+    public void testUnsupportedDocuments() {
+        for (String xml : new String[]{"<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?><samples/>"
+                , "<samples><sample>", "text"}) {
+            try {
+                SplicedXmlDocument.of(xml.getBytes(StandardCharsets.ISO_8859_1));
+                fail("Document should be rejected: " + xml);
+            } catch (JaxbRuntimeException e) {
+                // expected
+            }
+        }
+        assertEquals(0, SplicedXmlDocument.of("<samples/>".getBytes(StandardCharsets.UTF_8)).getChildCount());
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.namespace.QName;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests record-by-record marshalling of multi-record documents.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class StreamingMarshallTest {
+    private static final String SAMPLE_SCHEMA_NS = "http://com/meriosol/sample/schema";
+    private static final QName SAMPLES_ELEMENT_NAME = new QName(SAMPLE_SCHEMA_NS, "samples");
+    private static final int SAMPLE_COUNT = 1000;
+
+    @Test
+    public void testWrittenRecordsCanBeStreamedBack() {
+        MarshallHelper<Sample> sampleMarshallHelper = MarshallHelper.builder(Sample.class)
+                .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd").xmlSchemaNameSpace(SAMPLE_SCHEMA_NS)
+                .formattedOutput(true).build();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (XmlRecordWriter<Sample> samples = sampleMarshallHelper.marshallStreaming(outputStream, Sample.class
+                , SAMPLES_ELEMENT_NAME)) {
+            for (int i = 0; i < SAMPLE_COUNT; i++) {
+                Sample sample = new Sample();
+                sample.setId(i);
+                sample.setTitle("Sample" + i);
+                sample.setCreated(XMLCalendarConverter.convertToXmlDate(new Date()));
+                samples.write(sample);
+            }
+        }
+        String xml = new String(outputStream.toByteArray());
+        assertTrue("Root should have schema location", xml.contains("schemaLocation=\"" + SAMPLE_SCHEMA_NS + " sample.xsd\""));
+        assertTrue("Output should be formatted", xml.contains("\n    <"));
+
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).build();
+        long expectedId = 0;
+        try (XmlRecordIterator<Sample> samples = sampleUnmarshallHelper.unmarshallStreaming(
+                new ByteArrayInputStream(outputStream.toByteArray()), Sample.class)) {
+            while (samples.hasNext()) {
+                assertEquals(expectedId++, samples.next().getId());
+            }
+        }
+        assertEquals(SAMPLE_COUNT, expectedId);
+        assertEquals(0, sampleMarshallHelper.getPoolStatistics().getActiveCount());
+    }
+
+    @Test
+    public void testInvalidRecordFailsWriter() throws Exception {
+        MarshallHelper<Sample> sampleMarshallHelper = MarshallHelper.builder(Sample.class)
+                .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd").build();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XmlRecordWriter<Sample> samples = sampleMarshallHelper.marshallStreaming(outputStream, Sample.class, SAMPLES_ELEMENT_NAME);
+        Sample sample = new Sample();
+        sample.setId(1L);
+        samples.write(sample);
+        Sample invalidSample = new Sample();
+        invalidSample.setId(2L);
+        // gYear is not valid dateTime
+        invalidSample.setCreated(DatatypeFactory.newInstance().newXMLGregorianCalendar("2026"));
+        try {
+            samples.write(invalidSample);
+            fail("Invalid record should not be written");
+        } catch (JaxbRuntimeException e) {
+            assertTrue(samples.isFailed());
+        }
+        try {
+            samples.write(sample);
+            fail("Failed writer should reject records");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        samples.close();
+        assertFalse(new String(outputStream.toByteArray()).contains("</samples>"));
+        assertEquals(1, samples.getRecordCount());
+        assertEquals(0, sampleMarshallHelper.getPoolStatistics().getActiveCount());
+        assertEquals(0, sampleMarshallHelper.getPoolStatistics().getIdleCount());
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests record-by-record unmarshalling of multi-record documents.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class StreamingUnmarshallTest {
+    private static final String SAMPLES_RESOURCE_PATH = "samples.xml";
+
+    @Test
+    public void testRecordsAreStreamed() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class).build();
+        List<Long> ids = new ArrayList<>();
+        try (XmlRecordIterator<Sample> samples = sampleUnmarshallHelper.unmarshallStreaming(
+                JaxbUtils.getResourceInputStream(SAMPLES_RESOURCE_PATH), Sample.class)) {
+            while (samples.hasNext()) {
+                ids.add(samples.next().getId());
+            }
+            assertEquals(3, samples.getRecordCount());
+        }
+        assertEquals(2001L, ids.get(0).longValue());
+        assertEquals(2003L, ids.get(2).longValue());
+        assertEquals("Unmarshaller should be back in pool", 0, sampleUnmarshallHelper.getPoolStatistics().getActiveCount());
+    }
+
+    @Test
+    public void testRecordsAreValidated() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class)
+                .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd").build();
+        int count = 0;
+        try (XmlRecordIterator<Sample> samples = sampleUnmarshallHelper.unmarshallStreaming(
+                JaxbUtils.getResourceInputStream(SAMPLES_RESOURCE_PATH), Sample.class)) {
+            while (samples.hasNext()) {
+                samples.next();
+                count++;
+            }
+            assertFalse(samples.hasNext());
+        }
+        assertEquals(3, count);
+    }
+
+}
@@ -0,0 +1,205 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests caching of unmarshalled documents.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class UnmarshallResultCacheTest {
+    private static final String SAMPLE_RESOURCE_PATH = "sample.xml";
+
+    @Test
+    public void testResourceIsParsedOnce() {
+        UnmarshallResultCache cache = UnmarshallResultCache.builder().build();
+        UnmarshallHelper<Sample> helper = UnmarshallHelper.builder(Sample.class).resultCache(cache).build();
+        Sample first = helper.unmarshallFromResourcePath(SAMPLE_RESOURCE_PATH);
+        first.setTitle("Changed by caller");
+        Sample second = helper.unmarshallFromResourcePath(SAMPLE_RESOURCE_PATH);
+
+        assertNotSame(first, second);
+        assertEquals("Sample", second.getTitle());
+        assertEquals(1001L, second.getId());
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(1L, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 0.0);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testSharedResultsWithoutCopyOnRead() {
+        UnmarshallResultCache cache = UnmarshallResultCache.builder().storageMode(UnmarshallResultCache.StorageMode.SOFT)
+                .copyOnRead(false).build();
+        UnmarshallHelper<Sample> helper = UnmarshallHelper.builder(Sample.class).resultCache(cache).build();
+        assertSame(helper.unmarshallFromResourcePath(SAMPLE_RESOURCE_PATH), helper.unmarshallFromResourcePath(SAMPLE_RESOURCE_PATH));
+    }
+
+    @Test
+    public void testChangedFileIsReadAgain() throws IOException {
+        File file = createSampleFile(1L);
+        try {
+            UnmarshallResultCache cache = UnmarshallResultCache.builder().build();
+            UnmarshallHelper<Sample> helper = UnmarshallHelper.builder(Sample.class).resultCache(cache).build();
+            assertEquals(1L, helper.unmarshallFromFilePath(file.getPath()).getId());
+            assertEquals(1L, helper.unmarshallFromFilePath(file.getPath()).getId());
+
+            writeSample(file, 22L);
+            file.setLastModified(file.lastModified() + 2000L);
+            assertEquals(22L, helper.unmarshallFromFilePath(file.getPath()).getId());
+            assertEquals(1L, cache.getHitCount());
+            assertEquals(2L, cache.getMissCount());
+            assertEquals(1L, cache.getEvictionCount());
+            assertEquals(1, cache.size());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testContentHashAndEviction() throws IOException {
+        File first = createSampleFile(1L);
+        File sameContent = createSampleFile(1L);
+        File other = createSampleFile(3L);
+        try {
+            UnmarshallResultCache cache = UnmarshallResultCache.builder().keyMode(UnmarshallResultCache.KeyMode.CONTENT_HASH)
+                    .maxEntries(1).build();
+            UnmarshallHelper<Sample> helper = UnmarshallHelper.builder(Sample.class).resultCache(cache).build();
+            helper.unmarshall(first);
+            assertEquals(1L, helper.unmarshall(sameContent).getId());
+            assertEquals(1L, cache.getHitCount());
+            assertEquals(first.length(), cache.getWeightBytes());
+
+            assertEquals(3L, helper.unmarshall(other).getId());
+            assertEquals(1L, cache.getEvictionCount());
+            assertEquals(1, cache.size());
+        } finally {
+            first.delete();
+            sameContent.delete();
+            other.delete();
+        }
+    }
+
+    @Test
+    public void testLargeFilesAreNotCached() throws IOException {
+        File file = createSampleFile(7L);
+        try {
+            for (UnmarshallResultCache.StorageMode storageMode : UnmarshallResultCache.StorageMode.values()) {
+                UnmarshallResultCache cache = UnmarshallResultCache.builder().keyMode(UnmarshallResultCache.KeyMode.CONTENT_HASH)
+                        .storageMode(storageMode).maxWeightBytes(file.length() - 1).build();
+                UnmarshallHelper<Sample> helper = UnmarshallHelper.builder(Sample.class).resultCache(cache).build();
+                assertEquals(7L, helper.unmarshall(file).getId());
+                assertEquals(7L, helper.unmarshall(file).getId());
+                assertEquals(0, cache.size());
+                assertEquals(0L, cache.getHitCount());
+                assertEquals(2L, cache.getMissCount());
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testOffHeapDocuments() throws IOException {
+        File file = createSampleFile(5L);
+        try {
+            UnmarshallResultCache cache = UnmarshallResultCache.builder().storageMode(UnmarshallResultCache.StorageMode.OFF_HEAP)
+                    .copyOnRead(false).build();
+            UnmarshallHelper<Sample> helper = UnmarshallHelper.builder(Sample.class).resultCache(cache).build();
+            Sample first = helper.unmarshall(file);
+            Sample second = helper.unmarshall(file);
+            assertNotSame(first, second);
+            assertEquals(5L, second.getId());
+            assertEquals(1L, cache.getHitCount());
+            assertEquals(file.length(), cache.getWeightBytes());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testResultsAreKeptPerHelperSettings() throws IOException {
+        File file = File.createTempFile("sample.cached", ".xml");
+        try {
+            String xml = "<sample xmlns=\"http://com/meriosol/sample/schema\" id=\"1\"><title>Sample</title><unexpected/></sample>";
+            Files.write(file.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+            UnmarshallResultCache cache = UnmarshallResultCache.builder().build();
+            UnmarshallHelper<Sample> tolerantHelper = UnmarshallHelper.builder(Sample.class).resultCache(cache).build();
+            UnmarshallHelper<Sample> validatingHelper = UnmarshallHelper.builder(Sample.class).resultCache(cache)
+                    .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd").build();
+            assertEquals(1L, tolerantHelper.unmarshallFromFilePath(file.getPath()).getId());
+            try {
+                validatingHelper.unmarshallFromFilePath(file.getPath());
+                fail("Invalid document should not be taken from result of not validating helper");
+            } catch (JaxbRuntimeException e) {
+                // expected
+            }
+            assertEquals(0L, cache.getHitCount());
+            assertEquals(1L, tolerantHelper.unmarshallFromFilePath(file.getPath()).getId());
+            assertEquals(1L, cache.getHitCount());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testResourceStampOfEncodedFileAndJarEntry() throws IOException {
+        File directory = Files.createTempDirectory("sample cached").toFile();
+        File file = new File(directory, "sample 1.xml");
+        File jarFile = new File(directory, "samples.jar");
+        try {
+            writeSample(file, 1L);
+            long[] fileStamp = UnmarshallResultCache.getLastModifiedAndLength(file.toURI().toURL());
+            assertEquals(file.lastModified(), fileStamp[0]);
+            assertEquals(file.length(), fileStamp[1]);
+
+            try (JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(jarFile))) {
+                JarEntry jarEntry = new JarEntry("sample.xml");
+                jarEntry.setTime(1400000000000L);
+                jarOutputStream.putNextEntry(jarEntry);
+                jarOutputStream.write(Files.readAllBytes(file.toPath()));
+                jarOutputStream.closeEntry();
+            }
+            long[] jarEntryStamp = UnmarshallResultCache.getLastModifiedAndLength(
+                    new URL("jar:" + jarFile.toURI() + "!/sample.xml"));
+            assertEquals(1400000000000L, jarEntryStamp[0]);
+            assertEquals(file.length(), jarEntryStamp[1]);
+        } finally {
+            file.delete();
+            jarFile.delete();
+            directory.delete();
+        }
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    private static File createSampleFile(long id) throws IOException {
+        File file = File.createTempFile("sample.cached", ".xml");
+        writeSample(file, id);
+        return file;
+    }
+
+    private static void writeSample(File file, long id) throws IOException {
+        String xml = "<sample xmlns=\"http://com/meriosol/sample/schema\" id=\"" + id + "\"><title>Sample</title></sample>";
+        Files.write(file.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import javax.xml.bind.ValidationEvent;
+import javax.xml.datatype.DatatypeFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests validation policies of helpers.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class ValidationPolicyTest {
+    private static final int UNEXPECTED_ELEMENT_COUNT = 5;
+
+    @Test
+    public void testCollectAllParsesWholeDocument() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class)
+                .validationPolicy(ValidationPolicy.collectAll()).build();
+        assertNotNull(sampleUnmarshallHelper.unmarshall(createSampleWithUnexpectedElements()));
+    }
+
+    @Test
+    public void testFailFastAbortsOnFirstError() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class)
+                .validationPolicy(ValidationPolicy.failFast()).build();
+        try {
+            sampleUnmarshallHelper.unmarshall(createSampleWithUnexpectedElements());
+            fail("Unmarshalling should be aborted on first error");
+        } catch (JaxbRuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("at line 2, column"));
+            assertTrue(e.getMessage(), e.getMessage().contains("after 1 error(s)"));
+        }
+    }
+
+    @Test
+    public void testStopAfterErrors() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class)
+                .validationPolicy(ValidationPolicy.stopAfterErrors(3).withMaxStoredEvents(1)).build();
+        try {
+            sampleUnmarshallHelper.unmarshall(createSampleWithUnexpectedElements());
+            fail("Unmarshalling should be aborted on third error");
+        } catch (JaxbRuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("at line 4, column"));
+            assertTrue(e.getMessage(), e.getMessage().contains("after 3 error(s)"));
+            assertTrue(e.getMessage(), e.getMessage().contains("and 2 more event(s)"));
+        }
+    }
+
+    @Test
+    public void testFailFastMarshalling() throws Exception {
+        MarshallHelper<Sample> sampleMarshallHelper = MarshallHelper.builder(Sample.class)
+                .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd")
+                .validationPolicy(ValidationPolicy.failFast()).build();
+        Sample sample = new Sample();
+        // Year only is not valid xs:dateTime
+        sample.setCreated(DatatypeFactory.newInstance().newXMLGregorianCalendar("2014"));
+        try {
+            sampleMarshallHelper.marshall(new ByteArrayOutputStream(), MarshallHelper.getJAXBContext(Sample.class), sample);
+            fail("Invalid sample should not be marshalled");
+        } catch (JaxbRuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("line"));
+        }
+    }
+
+    @Test
+    public void testPolicyArguments() {
+        try {
+            ValidationPolicy.stopAfterErrors(0);
+            fail("Zero errors limit should be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertFalse(ValidationPolicy.failFast().withSeverityThreshold(ValidationEvent.ERROR)
+                .createEventHandler().isAborted());
+    }
+
+    private static InputStream createSampleWithUnexpectedElements() {
+        StringBuilder xml = new StringBuilder("<sample xmlns=\"http://com/meriosol/sample/schema\" id=\"1\">\n");
+        for (int i = 0; i < UNEXPECTED_ELEMENT_COUNT; i++) {
+            xml.append("<unexpected/>\n");
+        }
+        xml.append("</sample>");
+        return new ByteArrayInputStream(xml.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.meriosol.jaxb;
+
+import org.junit.Test;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests date conversions and java.time adapters.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class XMLCalendarConverterTest {
+
+    @Test
+    public void testDatatypeFactoryIsCached() {
+        assertSame(XMLCalendarConverter.getDatatypeFactory(), XMLCalendarConverter.getDatatypeFactory());
+    }
+
+    @Test
+    public void testDateRoundTrip() {
+        Date date = new Date(1397000000123L);
+        assertEquals(date, XMLCalendarConverter.convertToDate(XMLCalendarConverter.convertToXmlDate(date)));
+    }
+
+    @Test
+    public void testJavaTimeRoundTrip() {
+        OffsetDateTime dateTime = OffsetDateTime.of(2014, 4, 6, 10, 20, 30, 123456789, ZoneOffset.ofHours(2));
+        XMLGregorianCalendar xmlDateTime = XMLCalendarConverter.convertToXmlDate(dateTime);
+        assertEquals("2014-04-06T10:20:30.123456789+02:00", xmlDateTime.toXMLFormat());
+        assertEquals(dateTime, XMLCalendarConverter.convertToOffsetDateTime(xmlDateTime));
+
+        Instant instant = Instant.ofEpochMilli(1397000000123L);
+        XMLGregorianCalendar xmlInstant = XMLCalendarConverter.convertToXmlDate(instant);
+        assertEquals("2014-04-08T23:33:20.123Z", xmlInstant.toXMLFormat());
+        assertEquals(instant, XMLCalendarConverter.convertToInstant(xmlInstant));
+
+        LocalDate date = LocalDate.of(2014, 4, 6);
+        XMLGregorianCalendar xmlDate = XMLCalendarConverter.convertToXmlDate(date);
+        assertEquals("2014-04-06", xmlDate.toXMLFormat());
+        assertEquals(date, XMLCalendarConverter.convertToLocalDate(xmlDate));
+    }
+
+    @Test
+    public void testXmlTimeAdapters() {
+        XmlTimeAdapters.InstantAdapter instantAdapter = new XmlTimeAdapters.InstantAdapter();
+        assertEquals(Instant.parse("2014-04-06T08:00:00Z"), instantAdapter.unmarshal(" 2014-04-06T10:00:00+02:00 "));
+        assertEquals(Instant.parse("2014-04-06T10:00:00Z"), instantAdapter.unmarshal("2014-04-06T10:00:00"));
+        assertEquals("2014-04-06T08:00:00Z", instantAdapter.marshal(Instant.parse("2014-04-06T08:00:00Z")));
+
+        XmlTimeAdapters.OffsetDateTimeAdapter dateTimeAdapter = new XmlTimeAdapters.OffsetDateTimeAdapter();
+        OffsetDateTime dateTime = dateTimeAdapter.unmarshal("2014-04-06T10:00:00.5-05:00");
+        assertEquals(ZoneOffset.ofHours(-5), dateTime.getOffset());
+        assertEquals("2014-04-06T10:00:00.5-05:00", dateTimeAdapter.marshal(dateTime));
+        // Not fixed-width form is parsed by formatter
+        assertEquals(OffsetDateTime.of(12014, 4, 6, 10, 0, 0, 0, ZoneOffset.UTC), dateTimeAdapter.unmarshal("+12014-04-06T10:00:00Z"));
+
+        XmlTimeAdapters.LocalDateAdapter dateAdapter = new XmlTimeAdapters.LocalDateAdapter();
+        assertEquals(LocalDate.of(2014, 4, 6), dateAdapter.unmarshal("2014-04-06Z"));
+        assertEquals("2014-04-06", dateAdapter.marshal(LocalDate.of(2014, 4, 6)));
+    }
+
+    @Test
+    public void testNoTimezoneAndEndOfDay() {
+        // Both converter and adapters read values without timezone as UTC ones
+        XMLGregorianCalendar xmlDateTime = XMLCalendarConverter.getDatatypeFactory()
+                .newXMLGregorianCalendar("2014-04-06T10:00:00");
+        assertEquals(OffsetDateTime.of(2014, 4, 6, 10, 0, 0, 0, ZoneOffset.UTC)
+                , XMLCalendarConverter.convertToOffsetDateTime(xmlDateTime));
+        assertEquals(XMLCalendarConverter.convertToInstant(xmlDateTime)
+                , new XmlTimeAdapters.InstantAdapter().unmarshal("2014-04-06T10:00:00"));
+
+        XmlTimeAdapters.OffsetDateTimeAdapter dateTimeAdapter = new XmlTimeAdapters.OffsetDateTimeAdapter();
+        assertEquals(OffsetDateTime.of(2015, 1, 1, 0, 0, 0, 0, ZoneOffset.ofHours(2))
+                , dateTimeAdapter.unmarshal("2014-12-31T24:00:00+02:00"));
+        assertEquals(OffsetDateTime.of(2014, 3, 1, 0, 0, 0, 0, ZoneOffset.UTC)
+                , dateTimeAdapter.unmarshal("2014-02-28T24:00:00.000"));
+        assertEquals(OffsetDateTime.of(12015, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC)
+                , dateTimeAdapter.unmarshal("+12014-12-31T24:00:00Z"));
+        try {
+            dateTimeAdapter.unmarshal("2014-12-31T24:00:00.5Z");
+            fail("Only 24:00:00 is end of day");
+        } catch (DateTimeException e) {
+            // expected
+        }
+    }
+
+}
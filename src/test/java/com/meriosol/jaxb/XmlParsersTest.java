@@ -0,0 +1,52 @@
+package com.meriosol.jaxb;
+
+import com.meriosol.jaxb.pojo.Sample;
+import org.junit.Test;
+
+import javax.xml.stream.XMLInputFactory;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests unmarshalling through cached StAX factories.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class XmlParsersTest {
+    private static final String INVALID_SAMPLE = "<sample xmlns=\"http://com/meriosol/sample/schema\" id=\"wrong\"/>";
+
+    @Test
+    public void testDefaultFactoryIsShared() {
+        XMLInputFactory xmlInputFactory = XmlParsers.getDefaultXmlInputFactory();
+        assertSame(xmlInputFactory, XmlParsers.getDefaultXmlInputFactory());
+        assertEquals(Boolean.FALSE, xmlInputFactory.getProperty(XMLInputFactory.SUPPORT_DTD));
+    }
+
+    @Test
+    public void testUnmarshallingThroughStax() {
+        UnmarshallHelper<Sample> sampleUnmarshallHelper = UnmarshallHelper.builder(Sample.class)
+                .validationErrorTolerant(false).xmlSchemaResourceUrl("sample.xsd")
+                .xmlInputFactory(XmlParsers.getDefaultXmlInputFactory()).build();
+        Sample sample = sampleUnmarshallHelper.unmarshallFromResourcePath("sample.xml");
+        assertEquals(sample.getId(), sampleUnmarshallHelper.unmarshall("<sample xmlns=\"http://com/meriosol/sample/schema\" id=\""
+                + sample.getId() + "\"/>").getId());
+        try {
+            sampleUnmarshallHelper.unmarshall(INVALID_SAMPLE.getBytes(StandardCharsets.UTF_8));
+            fail("Invalid sample should not be unmarshalled");
+        } catch (JaxbRuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("wrong"));
+        }
+    }
+
+    @Test(expected = JaxbRuntimeException.class)
+    public void testUnknownFactory() {
+        XmlParsers.newXmlInputFactory("com.meriosol.NoSuchInputFactory");
+    }
+
+}
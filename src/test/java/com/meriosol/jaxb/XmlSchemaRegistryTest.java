@@ -0,0 +1,72 @@
+package com.meriosol.jaxb;
+
+import org.junit.Test;
+
+import javax.xml.validation.Schema;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests compiled schema caching.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class XmlSchemaRegistryTest {
+    private static final String SAMPLE_SCHEMA_URL = "sample.xsd";
+
+    @Test
+    public void testSchemaIsCompiledOnce() {
+        XmlSchemaRegistry registry = new XmlSchemaRegistry();
+        Schema schema = registry.getSchema(SAMPLE_SCHEMA_URL);
+        assertSame(schema, registry.getSchema(SAMPLE_SCHEMA_URL));
+        assertEquals(1, registry.getMissCount());
+        assertEquals(1, registry.getHitCount());
+    }
+
+    @Test
+    public void testModifiedSchemaFileIsRecompiled() throws Exception {
+        File schemaFile = File.createTempFile("sample", ".xsd");
+        schemaFile.deleteOnExit();
+        copySampleSchema(schemaFile);
+        URL schemaUrl = schemaFile.toURI().toURL();
+
+        XmlSchemaRegistry registry = new XmlSchemaRegistry();
+        registry.setModificationCheckEnabled(true);
+        Schema schema = registry.getSchema(schemaUrl);
+        assertSame(schema, registry.getSchema(schemaUrl));
+
+        copySampleSchema(schemaFile);
+        schemaFile.setLastModified(schemaFile.lastModified() + 10000L);
+        assertNotSame(schema, registry.getSchema(schemaUrl));
+        assertEquals(2, registry.getMissCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonexistentSchema() {
+        new XmlSchemaRegistry().getSchema("nonexistent_sample_schema_path.xsd");
+    }
+
+    //---------------------------------------
+    // Utils:
+
+    private static void copySampleSchema(File target) throws Exception {
+        try (InputStream inputStream = JaxbUtils.getResourceInputStream(SAMPLE_SCHEMA_URL);
+             OutputStream outputStream = new FileOutputStream(target)) {
+            byte[] buffer = new byte[4096];
+            int count;
+            while ((count = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, count);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.meriosol.jaxb;
+
+import org.junit.Test;
+
+import javax.xml.bind.ValidationEvent;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stax.StAXSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests validation of documents without binding.
+ *
+ * @author meriosol
+ * @version 0.1
+ * @since 17/10/26
+ */
+public class XmlSchemaValidatorTest {
+    private static final String SAMPLE_SCHEMA_URL = "sample.xsd";
+    private static final String INVALID_SAMPLE = "<sample xmlns=\"http://com/meriosol/sample/schema\" id=\"1\">\n"
+            + "<title>Invalid</title>\n<unexpected/>\n<unexpected/>\n<unexpected/>\n</sample>";
+
+    @Test
+    public void testValidDocument() throws Exception {
+        XmlSchemaValidator validator = XmlSchemaValidator.builder(SAMPLE_SCHEMA_URL).build();
+        try (InputStream inputStream = JaxbUtils.getResourceInputStream("sample.xml")) {
+            XmlSchemaValidator.Result result = validator.validate(inputStream);
+            assertTrue(result.toString(), result.isValid());
+            assertTrue(result.getEvents().isEmpty());
+        }
+    }
+
+    @Test
+    public void testInvalidDocumentEvents() {
+        XmlSchemaValidator validator = XmlSchemaValidator.builder(SAMPLE_SCHEMA_URL).build();
+        XmlSchemaValidator.Result result = validator.validate(toInputStream(INVALID_SAMPLE));
+        assertFalse(result.isValid());
+        assertTrue(result.getErrorCount() > 0);
+        XmlSchemaValidator.Event event = result.getEvents().get(0);
+        assertEquals(ValidationEvent.ERROR, event.getSeverity());
+        assertEquals(3, event.getLineNumber());
+
+        XmlSchemaValidator failFastValidator = XmlSchemaValidator.builder(SAMPLE_SCHEMA_URL)
+                .validationPolicy(ValidationPolicy.failFast()).xmlInputFactory(XmlParsers.getDefaultXmlInputFactory()).build();
+        XmlSchemaValidator.Result failFastResult;
+        PrintStream stderr = System.err;
+        ByteArrayOutputStream stderrContent = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(stderrContent, true));
+        try {
+            failFastResult = failFastValidator.validate(toInputStream(INVALID_SAMPLE));
+        } finally {
+            System.setErr(stderr);
+        }
+        assertEquals("", stderrContent.toString());
+        assertTrue(failFastResult.isAborted());
+        assertEquals(1, failFastResult.getErrorCount());
+        assertEquals(3, failFastResult.getEvents().get(0).getLineNumber());
+        // Validator is reusable after aborted validation
+        assertTrue(failFastValidator.validate(toInputStream("<sample xmlns=\"http://com/meriosol/sample/schema\" id=\"2\"/>")).isValid());
+    }
+
+    @Test
+    public void testMalformedDocument() {
+        XmlSchemaValidator validator = XmlSchemaValidator.builder(SAMPLE_SCHEMA_URL).build();
+        XmlSchemaValidator.Result result = validator.validate(toInputStream("<sample xmlns=\"http://com/meriosol/sample/schema\">"));
+        assertFalse(result.isValid());
+        assertEquals(1, result.getFatalErrorCount());
+    }
+
+    @Test
+    public void testStaxDocuments() {
+        XmlSchemaValidator validator = XmlSchemaValidator.builder(SAMPLE_SCHEMA_URL)
+                .xmlInputFactory(XmlParsers.getDefaultXmlInputFactory()).build();
+        assertTrue(validator.validate(JaxbUtils.getResourceInputStream("sample.xml")).isValid());
+        XmlSchemaValidator.Result result = validator.validate(toInputStream(INVALID_SAMPLE));
+        XmlSchemaValidator.Result saxResult = XmlSchemaValidator.builder(SAMPLE_SCHEMA_URL).build()
+                .validate(toInputStream(INVALID_SAMPLE));
+        assertFalse(result.isAborted());
+        assertEquals(saxResult.getErrorCount(), result.getErrorCount());
+        assertEquals(saxResult.getEvents().toString(), result.getEvents().toString());
+        XmlSchemaValidator.Result malformedResult = validator.validate(
+                toInputStream("<sample xmlns=\"http://com/meriosol/sample/schema\">"));
+        assertEquals(1, malformedResult.getFatalErrorCount());
+    }
+
+    @Test
+    public void testStaxSubtrees() throws Exception {
+        String envelope = "<envelope><sample xmlns=\"http://com/meriosol/sample/schema\" id=\"1\"><title>First</title></sample>"
+                + "<sample xmlns=\"http://com/meriosol/sample/schema\" id=\"x\"/></envelope>";
+        XmlSchemaValidator validator = XmlSchemaValidator.builder(SAMPLE_SCHEMA_URL).build();
+
+        XMLStreamReader xmlStreamReader = XmlParsers.getDefaultXmlInputFactory().createXMLStreamReader(toInputStream(envelope));
+        xmlStreamReader.nextTag();
+        xmlStreamReader.nextTag();
+        XmlSchemaValidator.Result result = validator.validate(new StAXSource(xmlStreamReader));
+        assertTrue(result.toString(), result.isValid());
+        // Reader is left at end of validated subtree
+        assertEquals(XMLStreamConstants.END_ELEMENT, xmlStreamReader.getEventType());
+        assertEquals("sample", xmlStreamReader.getLocalName());
+        xmlStreamReader.nextTag();
+        assertFalse(validator.validate(new StAXSource(xmlStreamReader)).isValid());
+
+        XMLEventReader xmlEventReader = XmlParsers.getDefaultXmlInputFactory().createXMLEventReader(toInputStream(envelope));
+        xmlEventReader.nextEvent();
+        xmlEventReader.nextTag();
+        result = validator.validate(new StAXSource(xmlEventReader));
+        assertTrue(result.toString(), result.isValid());
+        assertTrue(xmlEventReader.peek().isStartElement());
+        assertFalse(validator.validate(new StAXSource(xmlEventReader)).isValid());
+
+        XmlSchemaValidator.Result documentResult = validator.validate(new StAXSource(
+                XmlParsers.getDefaultXmlInputFactory().createXMLEventReader(toInputStream(INVALID_SAMPLE))));
+        XmlSchemaValidator.Result saxResult = validator.validate(toInputStream(INVALID_SAMPLE));
+        assertEquals(saxResult.getEvents().toString(), documentResult.getEvents().toString());
+    }
+
+    @Test
+    public void testParallelFileValidation() throws Exception {
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            File file = File.createTempFile("sample.validated", ".xml");
+            file.deleteOnExit();
+            String xml = i % 2 == 0 ? "<sample xmlns=\"http://com/meriosol/sample/schema\" id=\"" + i + "\"/>" : INVALID_SAMPLE;
+            Files.write(file.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+            files.add(file);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            XmlSchemaValidator validator = XmlSchemaValidator.builder(SAMPLE_SCHEMA_URL).poolSize(4).build();
+            BatchResult<File, XmlSchemaValidator.Result> batchResult = validator.validateFiles(files, executor);
+            assertFalse(batchResult.hasFailures());
+            for (int i = 0; i < files.size(); i++) {
+                assertEquals(i % 2 == 0, batchResult.getItems().get(i).getResult().isValid());
+            }
+            assertTrue(validator.getPoolStatistics().getCreatedCount() <= 4);
+            assertEquals(0, validator.getPoolStatistics().getActiveCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static InputStream toInputStream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+}